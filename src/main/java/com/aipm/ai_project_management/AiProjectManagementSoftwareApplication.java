@@ -14,7 +14,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 	    "com.aipm.ai_project_management.modules.projects.repository",
 	    "com.aipm.ai_project_management.modules.team.repository",
 	    "com.aipm.ai_project_management.modules.ai.repository",
-	    "com.aipm.ai_project_management.modules.notifications.repository"
+	    "com.aipm.ai_project_management.modules.notifications.repository",
+	    "com.aipm.ai_project_management.integration.email"
 	})
 @EntityScan(basePackages = {
 	    "com.aipm.ai_project_management.modules.auth.entity",
@@ -24,7 +25,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 	    "com.aipm.ai_project_management.modules.projects.entity",
 	    "com.aipm.ai_project_management.modules.team.entity",
 	    "com.aipm.ai_project_management.modules.ai.entity",
-	    "com.aipm.ai_project_management.modules.notifications.entity"
+	    "com.aipm.ai_project_management.modules.notifications.entity",
+	    "com.aipm.ai_project_management.integration.email"
 	})
 
 public class AiProjectManagementSoftwareApplication {
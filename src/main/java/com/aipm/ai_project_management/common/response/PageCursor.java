@@ -0,0 +1,43 @@
+package com.aipm.ai_project_management.common.response;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key of the last row returned
+ * (createdAt or dueDate) and its id as a tie-breaker. {@code sortKey} may be null
+ * for listings that continue into rows without a value for the sort column.
+ * <p>
+ * Clients only ever see the encoded form and must treat it as opaque.
+ */
+public record PageCursor(LocalDateTime sortKey, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (sortKey != null ? sortKey.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a missing cursor (first page)
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String key = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PageCursor(key.isEmpty() ? null : LocalDateTime.parse(key), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "Invalid page cursor");
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package com.aipm.ai_project_management.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.data.domain.Page;
+
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * Page of results in one of two modes:
+ * <ul>
+ *   <li>offset - built from a Spring {@link Page}, with page numbers and totals;</li>
+ *   <li>cursor - built with {@link #ofKeyset}, without a count query. Totals are reported
+ *       as -1 and the next page is requested with {@code nextCursor}.</li>
+ * </ul>
+ */
 public class PageResponse<T> {
     
     private List<T> content;
@@ -13,6 +24,9 @@ public class PageResponse<T> {
     private boolean last;
     private boolean first;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    
     // Constructors
     public PageResponse() {
     }
@@ -43,6 +57,22 @@ public class PageResponse<T> {
         return new PageResponse<>(page);
     }
     
+    /**
+     * Cursor-mode page from rows fetched with a limit of {@code pageSize + 1};
+     * the extra row only tells whether another page exists and is not returned.
+     */
+    public static <E, T> PageResponse<T> ofKeyset(List<E> rows, int pageSize, boolean first,
+                                                  Function<List<E>, List<T>> mapper, Function<E, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        
+        PageResponse<T> response = new PageResponse<>(mapper.apply(pageRows), 0, -1, -1L, pageSize, !hasNext, first);
+        if (hasNext) {
+            response.setNextCursor(cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode());
+        }
+        return response;
+    }
+    
     // Getters and Setters
     public List<T> getContent() {
         return content;
@@ -99,5 +129,12 @@ public class PageResponse<T> {
     public void setFirst(boolean first) {
         this.first = first;
     }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
-
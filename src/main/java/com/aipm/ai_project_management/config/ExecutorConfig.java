@@ -0,0 +1,91 @@
+package com.aipm.ai_project_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for chunked bulk task updates. When the queue is full the caller
+     * runs the chunk itself, which naturally throttles very large requests.
+     */
+    @Bean(name = "bulkTaskExecutor")
+    public ThreadPoolTaskExecutor bulkTaskExecutor(@Value("${app.tasks.bulk.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 4);
+        executor.setThreadNamePrefix("bulk-task-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs system-wide notification fan-outs off the request thread. A single worker keeps
+     * broadcasts from competing with each other for database connections.
+     */
+    @Bean(name = "notificationFanoutExecutor")
+    public ThreadPoolTaskExecutor notificationFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs portfolio insight generation one project per task. Sized well below the connection
+     * pool so a large batch leaves room for request traffic; overflow runs on the caller.
+     */
+    @Bean(name = "insightExecutor")
+    public ThreadPoolTaskExecutor insightExecutor(@Value("${app.ai.insights.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 8);
+        executor.setThreadNamePrefix("insight-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Evaluates automation rules after task and project changes commit. Kept small because most
+     * evaluations are cheap. A full queue rejects the task; the rule engine counts that and
+     * evaluates the event on the publishing thread.
+     */
+    @Bean(name = "automationExecutor")
+    public ThreadPoolTaskExecutor automationExecutor(@Value("${app.automation.parallelism:2}") int parallelism,
+                                                     @Value("${app.automation.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("automation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Work-stealing pool for Monte Carlo forecasts. Simulations are pure CPU work on in-memory
+     * arrays, so they get their own pool rather than sharing the common one with request threads.
+     */
+    @Bean(name = "forecastPool", destroyMethod = "shutdown")
+    public ForkJoinPool forecastPool(@Value("${app.ai.forecast.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,331 @@
+package com.aipm.ai_project_management.integration.email;
+
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous email delivery.
+ * <p>
+ * Messages are persisted to the {@code outbound_emails} outbox and their ids handed to a bounded
+ * in-memory queue once the writing transaction commits. A small worker pool drains the queue in
+ * batches and sends each batch over a single SMTP connection. Failed messages are retried with
+ * exponential backoff. A periodic poll picks up retries, messages that did not fit in the queue
+ * and anything left over from before a restart.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final JavaMailSender mailSender;
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Long> queue;
+    // Ids currently queued or being sent, so the poller does not queue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final int workerCount;
+    private volatile boolean running = true;
+
+    private final Timer batchTimer;
+    private final Timer deliveryLatency;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Counter lostClaimCounter;
+
+    @Value("${spring.mail.from:noreply@aipm.com}")
+    private String fromEmail;
+
+    @Value("${app.email.dispatch.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.email.dispatch.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${app.email.dispatch.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.email.dispatch.stale-claim-seconds:300}")
+    private long staleClaimSeconds;
+
+    public EmailDispatcher(JavaMailSender mailSender,
+                           OutboundEmailRepository outboundEmailRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.email.dispatch.queue-capacity:1000}") int queueCapacity,
+                           @Value("${app.email.dispatch.workers:2}") int workerCount) {
+        this.mailSender = mailSender;
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("email-dispatch-"));
+
+        meterRegistry.gauge("email.queue.depth", queue, BlockingQueue::size);
+        this.batchTimer = Timer.builder("email.send.batch")
+                .description("Time to deliver one batch over a single SMTP connection")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("email.send.latency")
+                .description("Time from enqueue to successful delivery")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("email.send", "outcome", "sent");
+        this.retryCounter = meterRegistry.counter("email.send", "outcome", "retry");
+        this.failedCounter = meterRegistry.counter("email.send", "outcome", "failed");
+        this.overflowCounter = meterRegistry.counter("email.queue.overflow");
+        this.lostClaimCounter = meterRegistry.counter("email.claim.lost");
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::runWorker);
+        }
+        logger.info("Email dispatcher started with {} workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        // Anything still queued stays PENDING in the outbox and is picked up after restart
+    }
+
+    /**
+     * Store an email for delivery. Joins the caller's transaction when there is one, and the
+     * message is only handed to the workers after that transaction commits.
+     */
+    public void enqueue(String to, String subject, String body, boolean html) {
+        OutboundEmail email = outboundEmailRepository.save(new OutboundEmail(to, subject, body, html));
+        Long id = email.getId();
+
+        AfterCommit.run(() -> offer(id));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.dispatch.poll-interval-ms:10000}")
+    public void pollOutbox() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(tx -> {
+            int released = outboundEmailRepository.releaseStaleClaims(now.minusSeconds(staleClaimSeconds),
+                    OutboundEmail.Status.SENDING, OutboundEmail.Status.PENDING);
+            if (released > 0) {
+                logger.warn("Released {} stale email claims", released);
+            }
+        });
+
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> dueIds = outboundEmailRepository.findDueIds(OutboundEmail.Status.PENDING, now, PageRequest.of(0, capacity));
+        for (Long id : dueIds) {
+            offer(id);
+        }
+    }
+
+    private void offer(Long id) {
+        if (!inFlight.add(id)) {
+            return;
+        }
+        if (!queue.offer(id)) {
+            // Left PENDING in the outbox; the next poll retries once there is room
+            inFlight.remove(id);
+            overflowCounter.increment();
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                Long first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Long> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    deliverBatch(batch);
+                } finally {
+                    batch.forEach(inFlight::remove);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Email worker failed to process a batch", e);
+            }
+        }
+    }
+
+    void deliverBatch(List<Long> ids) {
+        String token = UUID.randomUUID().toString();
+        List<OutboundEmail> claimed = transactionTemplate.execute(tx -> {
+            outboundEmailRepository.claim(ids, token, LocalDateTime.now(),
+                    OutboundEmail.Status.SENDING, OutboundEmail.Status.PENDING);
+            return outboundEmailRepository.findByClaimToken(token);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        Map<MimeMessage, OutboundEmail> messages = new IdentityHashMap<>();
+        Map<OutboundEmail, String> failures = new IdentityHashMap<>();
+        for (OutboundEmail email : claimed) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                // One send call reuses a single SMTP connection for the whole batch
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                for (Map.Entry<Object, Exception> failed : e.getFailedMessages().entrySet()) {
+                    OutboundEmail email = messages.get(failed.getKey());
+                    if (email != null) {
+                        failures.put(email, failed.getValue().getMessage());
+                    }
+                }
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, e.getMessage()));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(email -> failures.put(email, e.getMessage()));
+            } finally {
+                sample.stop(batchTimer);
+            }
+        }
+
+        recordOutcome(claimed, token, failures);
+    }
+
+    /**
+     * Writes each outcome only while the batch still holds the claim. A batch slower than the
+     * stale-claim timeout may have had its rows released and claimed by another batch, whose
+     * outcome must not be overwritten.
+     */
+    void recordOutcome(List<OutboundEmail> claimed, String token, Map<OutboundEmail, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboundEmail email : claimed) {
+            String error = failures.get(email);
+            if (error == null) {
+                email.setStatus(OutboundEmail.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboundEmail.Status.FAILED);
+                email.setLastError(truncate(error));
+            } else {
+                email.setStatus(OutboundEmail.Status.PENDING);
+                email.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis(email.getAttempts()))));
+                email.setLastError(truncate(error));
+            }
+        }
+
+        Set<Long> recorded = new HashSet<>();
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (OutboundEmail email : claimed) {
+                int updated = outboundEmailRepository.completeClaim(email.getId(), token, email.getStatus(),
+                        email.getNextAttemptAt(), email.getLastError(), email.getSentAt());
+                if (updated > 0) {
+                    recorded.add(email.getId());
+                }
+            }
+        });
+
+        for (OutboundEmail email : claimed) {
+            if (!recorded.contains(email.getId())) {
+                lostClaimCounter.increment();
+                logger.warn("Claim on email {} to {} was lost before its outcome ({}) was recorded",
+                        email.getId(), email.getRecipient(), email.getStatus());
+            } else if (email.getStatus() == OutboundEmail.Status.SENT) {
+                sentCounter.increment();
+                deliveryLatency.record(Duration.between(email.getCreatedAt(), now));
+            } else if (email.getStatus() == OutboundEmail.Status.FAILED) {
+                failedCounter.increment();
+                logger.error("Giving up on email {} to {} after {} attempts: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), email.getLastError());
+            } else {
+                retryCounter.increment();
+                logger.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                        email.getId(), email.getRecipient(), email.getAttempts(), email.getNextAttemptAt(),
+                        email.getLastError());
+            }
+        }
+    }
+
+    // initial * 2^(attempts - 1), capped
+    long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(maxBackoffMs, initialBackoffMs * (1L << exponent));
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.isHtml(), "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), email.isHtml());
+        return message;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return "Unknown error";
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -2,15 +2,11 @@ package com.aipm.ai_project_management.integration.email;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import java.util.Map;
 
 @Service
@@ -18,11 +14,9 @@ public class EmailServiceImpl implements EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
+    // Delivery happens asynchronously; callers only pay for writing the outbox row
     @Autowired
-    private JavaMailSender emailSender;
-
-    @Value("${spring.mail.from:noreply@aipm.com}")
-    private String fromEmail;
+    private EmailDispatcher emailDispatcher;
 
     @Value("${app.name:AI Project Management}")
     private String appName;
@@ -41,7 +35,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Password reset email sent successfully to: {}", email);
+            logger.info("Password reset email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send password reset email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send password reset email", e);
@@ -59,7 +53,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Verification email sent successfully to: {}", email);
+            logger.info("Verification email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send verification email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send verification email", e);
@@ -75,7 +69,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Welcome email sent successfully to: {}", email);
+            logger.info("Welcome email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send welcome email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send welcome email", e);
@@ -87,14 +81,8 @@ public class EmailServiceImpl implements EmailService {
         logger.info("Sending email to: {} with subject: {}", to, subject);
         
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content);
-            
-            emailSender.send(message);
-            logger.info("Email sent successfully to: {}", to);
+            emailDispatcher.enqueue(to, subject, content, false);
+            logger.info("Email queued for: {}", to);
         } catch (Exception e) {
             logger.error("Failed to send email to {}: {}", to, e.getMessage());
             throw new RuntimeException("Failed to send email", e);
@@ -105,16 +93,8 @@ public class EmailServiceImpl implements EmailService {
     public void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException {
         logger.info("Sending HTML email to: {} with subject: {}", to, subject);
         
-        MimeMessage message = emailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        
-        helper.setFrom(fromEmail);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
-        
-        emailSender.send(message);
-        logger.info("HTML email sent successfully to: {}", to);
+        emailDispatcher.enqueue(to, subject, htmlContent, true);
+        logger.info("HTML email queued for: {}", to);
     }
 
     @Override
@@ -124,7 +104,7 @@ public class EmailServiceImpl implements EmailService {
         try {
             String htmlContent = processTemplate(templateName, variables);
             sendHtmlEmail(to, subject, htmlContent);
-            logger.info("Templated email sent successfully to: {}", to);
+            logger.info("Templated email queued for: {}", to);
         } catch (Exception e) {
             logger.error("Failed to send templated email to {}: {}", to, e.getMessage());
             throw new RuntimeException("Failed to send templated email", e);
@@ -140,7 +120,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Project notification email sent successfully to: {}", email);
+            logger.info("Project notification email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send project notification email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send project notification email", e);
@@ -156,7 +136,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Task assignment email sent successfully to: {}", email);
+            logger.info("Task assignment email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send task assignment email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send task assignment email", e);
@@ -172,7 +152,7 @@ public class EmailServiceImpl implements EmailService {
         
         try {
             sendHtmlEmail(email, subject, htmlContent);
-            logger.info("Deadline reminder email sent successfully to: {}", email);
+            logger.info("Deadline reminder email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Failed to send deadline reminder email to {}: {}", email, e.getMessage());
             throw new RuntimeException("Failed to send deadline reminder email", e);
@@ -0,0 +1,55 @@
+package com.aipm.ai_project_management.integration.email;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // Pending emails whose (re)try time has come, oldest first
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") OutboundEmail.Status status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    // Claim pending rows for one worker batch; rows already claimed elsewhere are skipped
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :sending, e.claimToken = :token, e.claimedAt = :now, " +
+           "e.attempts = e.attempts + 1 WHERE e.id IN :ids AND e.status = :pending")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("token") String token,
+              @Param("now") LocalDateTime now,
+              @Param("sending") OutboundEmail.Status sending,
+              @Param("pending") OutboundEmail.Status pending);
+
+    List<OutboundEmail> findByClaimToken(String claimToken);
+
+    // Record a delivery outcome; matches nothing once the claim was released and taken by another batch
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.claimToken = NULL, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :lastError, e.sentAt = :sentAt WHERE e.id = :id AND e.claimToken = :token")
+    int completeClaim(@Param("id") Long id,
+                      @Param("token") String token,
+                      @Param("status") OutboundEmail.Status status,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    // Return rows left in SENDING by a crashed worker to the pending queue
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :pending, e.claimToken = NULL " +
+           "WHERE e.status = :sending AND e.claimedAt < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff,
+                           @Param("sending") OutboundEmail.Status sending,
+                           @Param("pending") OutboundEmail.Status pending);
+
+    long countByStatus(OutboundEmail.Status status);
+}
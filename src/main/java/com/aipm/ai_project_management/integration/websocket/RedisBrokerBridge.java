@@ -0,0 +1,164 @@
+package com.aipm.ai_project_management.integration.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Copies broker broadcasts between application nodes over Redis pub/sub.
+ * <p>
+ * Each node keeps its own in-memory broker. Messages the application sends to {@code /topic/**}
+ * or {@code /user/**} are published to a Redis channel as well as delivered locally; every other
+ * node re-injects them into its own broker channel, where user destinations are resolved against
+ * that node's sessions. Replies bound to one session are never bridged.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "redis")
+public class RedisBrokerBridge implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisBrokerBridge.class);
+
+    // Marks messages that arrived from another node so they are not published again
+    static final String BRIDGED_HEADER = "aipmBridged";
+
+    private final AbstractSubscribableChannel brokerChannel;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final ChannelTopic topic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+    private final Counter failedCounter;
+
+    private RedisMessageListenerContainer listenerContainer;
+
+    public RedisBrokerBridge(@Qualifier("brokerChannel") AbstractSubscribableChannel brokerChannel,
+                             StringRedisTemplate redisTemplate,
+                             RedisConnectionFactory connectionFactory,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.websocket.broker.redis.channel:aipm:websocket:broadcast}") String channel) {
+        this.brokerChannel = brokerChannel;
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.topic = new ChannelTopic(channel);
+        this.publishedCounter = meterRegistry.counter("websocket.bridge.messages", "direction", "out");
+        this.receivedCounter = meterRegistry.counter("websocket.bridge.messages", "direction", "in");
+        this.failedCounter = meterRegistry.counter("websocket.bridge.failures");
+    }
+
+    @PostConstruct
+    public void start() {
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener((message, pattern) -> receive(message.getBody()), topic);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        brokerChannel.addInterceptor(this);
+        logger.info("WebSocket broker bridge {} listening on Redis channel {}", nodeId, topic.getTopic());
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        brokerChannel.removeInterceptor(this);
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (shouldBridge(message)) {
+            publish(message);
+        }
+        return message;
+    }
+
+    private boolean shouldBridge(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        if (headers.containsKey(BRIDGED_HEADER) || !(message.getPayload() instanceof byte[])) {
+            return false;
+        }
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+                || SimpMessageHeaderAccessor.getSessionId(headers) != null) {
+            return false;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        return destination != null && (destination.startsWith("/topic/") || destination.startsWith("/user/"));
+    }
+
+    private void publish(Message<?> message) {
+        MimeType contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+        BridgedMessage envelope = new BridgedMessage(
+                nodeId,
+                SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                contentType != null ? contentType.toString() : null,
+                (byte[]) message.getPayload());
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(envelope));
+            publishedCounter.increment();
+        } catch (IOException | RuntimeException e) {
+            // Local subscribers still get the message; only other nodes miss it
+            failedCounter.increment();
+            logger.warn("Failed to bridge WebSocket message for {}: {}", envelope.destination(), e.getMessage());
+        }
+    }
+
+    private void receive(byte[] body) {
+        BridgedMessage envelope;
+        try {
+            envelope = objectMapper.readValue(body, BridgedMessage.class);
+        } catch (IOException e) {
+            failedCounter.increment();
+            logger.warn("Ignoring malformed bridged WebSocket message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(envelope.origin())) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(envelope.destination());
+        if (envelope.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(envelope.contentType()));
+        }
+        accessor.setHeader(BRIDGED_HEADER, Boolean.TRUE);
+        brokerChannel.send(MessageBuilder.createMessage(envelope.payload(), accessor.getMessageHeaders()));
+        receivedCounter.increment();
+    }
+
+    record BridgedMessage(String origin, String destination, String contentType, byte[] payload) {
+    }
+}
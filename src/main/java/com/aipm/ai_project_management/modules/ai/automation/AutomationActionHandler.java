@@ -0,0 +1,85 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.aipm.ai_project_management.modules.notifications.service.NotificationFanoutService;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Applies rule actions. Each action runs in its own new transaction, never the caller's: rules
+ * can be evaluated in the commit callback of the change that triggered them, whose transaction
+ * has already committed and would silently drop further writes. Task changes publish a
+ * {@link TaskChangedEvent} like the task service does, so broadcasts and dashboards see them.
+ */
+@Component
+public class AutomationActionHandler implements AutomationActions {
+
+    private final NotificationFanoutService notificationFanoutService;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public AutomationActionHandler(NotificationFanoutService notificationFanoutService,
+                                   TaskRepository taskRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.notificationFanoutService = notificationFanoutService;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void notify(Collection<Long> recipientIds, String title, String message,
+                       NotificationEntity.NotificationType type) {
+        transactionTemplate.executeWithoutResult(tx ->
+                notificationFanoutService.fanOutToRecipients(new ArrayList<>(recipientIds), title, message, type));
+    }
+
+    @Override
+    public void assignTask(Long taskId, Long assigneeId) {
+        updateTask(taskId, task -> !Objects.equals(task.getAssigneeId(), assigneeId),
+                task -> task.setAssigneeId(assigneeId));
+    }
+
+    @Override
+    public void setTaskPriority(Long taskId, TaskPriority priority) {
+        updateTask(taskId, task -> task.getPriority() != priority, task -> task.setPriority(priority));
+    }
+
+    @Override
+    public void addTaskLabel(Long taskId, String label) {
+        updateTask(taskId, task -> !task.getLabels().contains(label), task -> task.getLabels().add(label));
+    }
+
+    // Skips the write (and the event) when the task already has the value
+    private void updateTask(Long taskId, Predicate<Task> needsChange, Consumer<Task> change) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+            if (!needsChange.test(task)) {
+                return;
+            }
+            change.accept(task);
+            Task saved = taskRepository.save(task);
+            eventPublisher.publishEvent(new TaskChangedEvent(saved.getId(), saved.getProjectId(),
+                    EntityChangeType.UPDATED, saved.getStatus(), saved.getStatus()));
+        });
+    }
+}
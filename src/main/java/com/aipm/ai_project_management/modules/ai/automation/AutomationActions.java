@@ -0,0 +1,20 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+
+import java.util.Collection;
+
+/**
+ * Side effects available to compiled rule actions.
+ */
+public interface AutomationActions {
+
+    void notify(Collection<Long> recipientIds, String title, String message, NotificationEntity.NotificationType type);
+
+    void assignTask(Long taskId, Long assigneeId);
+
+    void setTaskPriority(Long taskId, TaskPriority priority);
+
+    void addTaskLabel(Long taskId, String label);
+}
@@ -0,0 +1,108 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
+import com.aipm.ai_project_management.modules.ai.repository.AutomationRuleRepository;
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled automation rules by project (project rules plus global rules, in priority order).
+ * <p>
+ * A rule is compiled once and reused for as long as its {@code updatedAt} is unchanged, so
+ * reloading a project's rule list only recompiles rules that were edited or toggled. The service
+ * evicts entries after a rule change commits; the TTL picks up changes made on other nodes.
+ */
+@Component
+public class AutomationRuleCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutomationRuleCache.class);
+
+    // ConcurrentHashMap has no null keys; tasks without a project only see global rules
+    private static final Long NO_PROJECT = -1L;
+
+    private final AutomationRuleRepository automationRuleRepository;
+    private final AutomationRuleCompiler compiler;
+    private final Map<Long, ProjectRules> rulesByProject = new ConcurrentHashMap<>();
+    private final Map<Long, CompiledRule> compiledById = new ConcurrentHashMap<>();
+
+    @Value("${app.automation.rules.cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public AutomationRuleCache(AutomationRuleRepository automationRuleRepository, AutomationRuleCompiler compiler) {
+        this.automationRuleRepository = automationRuleRepository;
+        this.compiler = compiler;
+    }
+
+    /**
+     * Active rules that apply to the project, highest priority first.
+     */
+    public List<CompiledRule> rulesFor(Long projectId) {
+        Long key = projectId != null ? projectId : NO_PROJECT;
+        ProjectRules cached = rulesByProject.get(key);
+        LocalDateTime now = LocalDateTime.now();
+        if (cached != null && cached.loadedAt().plusSeconds(ttlSeconds).isAfter(now)) {
+            return cached.rules();
+        }
+
+        List<AutomationRuleEntity> entities = automationRuleRepository.findApplicableRulesForProject(projectId);
+        List<CompiledRule> rules = new ArrayList<>(entities.size());
+        for (AutomationRuleEntity entity : entities) {
+            rules.add(compiledById.compute(entity.getId(), (id, existing) ->
+                    existing != null && Objects.equals(existing.version(), entity.getUpdatedAt())
+                            ? existing
+                            : compile(entity)));
+        }
+        List<CompiledRule> loaded = List.copyOf(rules);
+        rulesByProject.put(key, new ProjectRules(loaded, now));
+        return loaded;
+    }
+
+    /**
+     * Drop a rule and the project lists that may contain it. A null project id means the rule is
+     * (or was) global, which affects every project.
+     */
+    public void evictRule(Long ruleId, Long... projectIds) {
+        compiledById.remove(ruleId);
+        for (Long projectId : projectIds) {
+            if (projectId == null) {
+                rulesByProject.clear();
+                return;
+            }
+            rulesByProject.remove(projectId);
+        }
+    }
+
+    /**
+     * Same as {@link #evictRule} but deferred until the current transaction commits, so a reload
+     * racing with the change cannot cache the old version.
+     */
+    public void evictRuleAfterCommit(Long ruleId, Long... projectIds) {
+        AfterCommit.run(() -> evictRule(ruleId, projectIds));
+    }
+
+    public void clear() {
+        rulesByProject.clear();
+        compiledById.clear();
+    }
+
+    private CompiledRule compile(AutomationRuleEntity entity) {
+        CompiledRule rule = compiler.compileOrInvalid(entity);
+        if (!rule.isValid()) {
+            logger.warn("Automation rule {} does not compile and is skipped: {}", entity.getId(), rule.error());
+        }
+        return rule;
+    }
+
+    private record ProjectRules(List<CompiledRule> rules, LocalDateTime loadedAt) {
+    }
+}
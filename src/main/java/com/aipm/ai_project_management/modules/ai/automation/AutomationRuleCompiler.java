@@ -0,0 +1,455 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the JSON stored on {@link AutomationRuleEntity} into a {@link CompiledRule}.
+ * <p>
+ * {@code triggerConditions} names the events and an optional condition tree:
+ * <pre>
+ * {"events": ["TASK_STATUS_CHANGED"],
+ *  "conditions": {"all": [{"field": "task.status", "op": "eq", "value": "DONE"},
+ *                         {"not": {"field": "task.labels", "op": "contains", "value": "chore"}}]}}
+ * </pre>
+ * Nodes are {@code all}, {@code any}, {@code not} or a comparison with one of {@code eq, ne, in,
+ * not_in, gt, gte, lt, lte, contains, exists, within_days, past}. String comparisons ignore case.
+ * When {@code events} is missing it defaults from the rule type where there is an obvious choice.
+ * <p>
+ * {@code actions} is an array of {@code notify} (with {@code to}, {@code title}, {@code message}
+ * and optional {@code notificationType}), {@code assign} ({@code userId}), {@code set_priority}
+ * and {@code add_label} ({@code value}). Titles and messages may reference facts as
+ * {@code {task.title}}.
+ */
+@Component
+public class AutomationRuleCompiler {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-zA-Z]+\\.[a-zA-Z]+)}");
+
+    private final ObjectMapper objectMapper;
+
+    public AutomationRuleCompiler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Compile a rule, throwing {@link ValidationException} when its JSON is invalid.
+     */
+    public CompiledRule compile(AutomationRuleEntity rule) {
+        JsonNode trigger = parse("triggerConditions", rule.getTriggerConditions(), true);
+        JsonNode actionsNode = parse("actions", rule.getActions(), false);
+
+        Set<RuleEvent> events = compileEvents(trigger, rule.getType());
+        Predicate<RuleFacts> condition = trigger.has("conditions")
+                ? compileCondition(trigger.get("conditions"))
+                : facts -> true;
+
+        if (!actionsNode.isArray() || actionsNode.isEmpty()) {
+            throw new ValidationException("actions", "Actions must be a non-empty JSON array");
+        }
+        boolean taskEventsOnly = events.stream().allMatch(RuleEvent::isTaskEvent);
+        List<CompiledRule.Action> actions = new ArrayList<>();
+        for (JsonNode action : actionsNode) {
+            actions.add(compileAction(action, taskEventsOnly));
+        }
+
+        return new CompiledRule(rule.getId(), rule.getName(), rule.getProjectId(), rule.getUpdatedAt(),
+                events, condition, List.copyOf(actions), null);
+    }
+
+    /**
+     * Compile a rule, returning an invalid placeholder instead of throwing so one bad rule
+     * cannot stop the others.
+     */
+    public CompiledRule compileOrInvalid(AutomationRuleEntity rule) {
+        try {
+            return compile(rule);
+        } catch (ValidationException e) {
+            return CompiledRule.invalid(rule.getId(), rule.getName(), rule.getProjectId(), rule.getUpdatedAt(), e.getMessage());
+        }
+    }
+
+    private JsonNode parse(String field, String json, boolean object) {
+        if (json == null || json.isBlank()) {
+            throw new ValidationException(field, field + " is required");
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (object && !node.isObject()) {
+                throw new ValidationException(field, field + " must be a JSON object");
+            }
+            return node;
+        } catch (JsonProcessingException e) {
+            throw new ValidationException(field, field + " is not valid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // ==================== Events ====================
+
+    private Set<RuleEvent> compileEvents(JsonNode trigger, AutomationRuleEntity.RuleType type) {
+        JsonNode eventsNode = trigger.get("events");
+        if (eventsNode == null) {
+            Set<RuleEvent> defaults = defaultEvents(type);
+            if (defaults.isEmpty()) {
+                throw new ValidationException("triggerConditions", "events are required for rule type " + type);
+            }
+            return defaults;
+        }
+        Set<RuleEvent> events = EnumSet.noneOf(RuleEvent.class);
+        for (JsonNode event : elements(eventsNode)) {
+            try {
+                events.add(RuleEvent.valueOf(event.asText().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("triggerConditions", "Unknown event: " + event.asText());
+            }
+        }
+        if (events.isEmpty()) {
+            throw new ValidationException("triggerConditions", "At least one event is required");
+        }
+        return events;
+    }
+
+    private static Set<RuleEvent> defaultEvents(AutomationRuleEntity.RuleType type) {
+        if (type == null) {
+            return Set.of();
+        }
+        return switch (type) {
+            case TASK_AUTO_ASSIGNMENT -> EnumSet.of(RuleEvent.TASK_CREATED);
+            case STATUS_CHANGE_TRIGGER -> EnumSet.of(RuleEvent.TASK_STATUS_CHANGED);
+            case DEADLINE_NOTIFICATION, PROGRESS_UPDATE -> EnumSet.of(RuleEvent.TASK_CREATED, RuleEvent.TASK_UPDATED);
+            case BUDGET_ALERT -> EnumSet.of(RuleEvent.PROJECT_UPDATED);
+            default -> Set.of();
+        };
+    }
+
+    // ==================== Conditions ====================
+
+    private Predicate<RuleFacts> compileCondition(JsonNode node) {
+        if (node.has("all")) {
+            List<Predicate<RuleFacts>> children = compileChildren(node.get("all"));
+            return facts -> {
+                for (Predicate<RuleFacts> child : children) {
+                    if (!child.test(facts)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        if (node.has("any")) {
+            List<Predicate<RuleFacts>> children = compileChildren(node.get("any"));
+            return facts -> {
+                for (Predicate<RuleFacts> child : children) {
+                    if (child.test(facts)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        if (node.has("not")) {
+            return compileCondition(node.get("not")).negate();
+        }
+        return compileComparison(node);
+    }
+
+    private List<Predicate<RuleFacts>> compileChildren(JsonNode array) {
+        if (!array.isArray()) {
+            throw new ValidationException("triggerConditions", "all/any must hold an array of conditions");
+        }
+        List<Predicate<RuleFacts>> children = new ArrayList<>();
+        array.forEach(child -> children.add(compileCondition(child)));
+        return children;
+    }
+
+    private Predicate<RuleFacts> compileComparison(JsonNode node) {
+        String field = requireField(node.path("field").asText(null));
+        String op = node.path("op").asText("eq").toLowerCase(Locale.ROOT);
+        JsonNode value = node.get("value");
+
+        switch (op) {
+            case "eq" -> {
+                String expected = normalizeJson(value);
+                return facts -> equalsNormalized(facts.get(field), expected);
+            }
+            case "ne" -> {
+                String expected = normalizeJson(value);
+                return facts -> !equalsNormalized(facts.get(field), expected);
+            }
+            case "in", "not_in" -> {
+                if (value == null || !value.isArray()) {
+                    throw new ValidationException("triggerConditions", op + " on " + field + " needs an array value");
+                }
+                Set<String> allowed = new HashSet<>();
+                value.forEach(item -> allowed.add(normalizeJson(item)));
+                boolean negate = op.equals("not_in");
+                return facts -> allowed.contains(normalize(facts.get(field))) != negate;
+            }
+            case "gt", "gte", "lt", "lte" -> {
+                return compileOrdering(field, op, value);
+            }
+            case "contains" -> {
+                String expected = normalizeJson(value);
+                return facts -> {
+                    Object actual = facts.get(field);
+                    if (actual instanceof Collection<?> items) {
+                        return items.stream().anyMatch(item -> expected.equals(normalize(item)));
+                    }
+                    return actual != null && normalize(actual).contains(expected);
+                };
+            }
+            case "exists" -> {
+                boolean expected = value == null || value.asBoolean(true);
+                return facts -> {
+                    Object actual = facts.get(field);
+                    boolean present = actual != null && !(actual instanceof Collection<?> items && items.isEmpty());
+                    return present == expected;
+                };
+            }
+            case "within_days" -> {
+                if (value == null || !value.isNumber()) {
+                    throw new ValidationException("triggerConditions", "within_days on " + field + " needs a number of days");
+                }
+                long days = value.asLong();
+                return facts -> {
+                    LocalDateTime actual = toDateTime(facts.get(field));
+                    LocalDateTime now = LocalDateTime.now();
+                    return actual != null && !actual.isBefore(now) && !actual.isAfter(now.plusDays(days));
+                };
+            }
+            case "past" -> {
+                return facts -> {
+                    LocalDateTime actual = toDateTime(facts.get(field));
+                    return actual != null && actual.isBefore(LocalDateTime.now());
+                };
+            }
+            default -> throw new ValidationException("triggerConditions", "Unknown operator: " + op);
+        }
+    }
+
+    private Predicate<RuleFacts> compileOrdering(String field, String op, JsonNode value) {
+        Predicate<Integer> accepts = switch (op) {
+            case "gt" -> c -> c > 0;
+            case "gte" -> c -> c >= 0;
+            case "lt" -> c -> c < 0;
+            default -> c -> c <= 0;
+        };
+        if (value != null && value.isNumber()) {
+            double expected = value.asDouble();
+            return facts -> facts.get(field) instanceof Number actual
+                    && accepts.test(Double.compare(actual.doubleValue(), expected));
+        }
+        LocalDateTime expected = value != null ? parseDateTime(value.asText()) : null;
+        if (expected == null) {
+            throw new ValidationException("triggerConditions", op + " on " + field + " needs a number or ISO date");
+        }
+        return facts -> {
+            LocalDateTime actual = toDateTime(facts.get(field));
+            return actual != null && accepts.test(actual.compareTo(expected));
+        };
+    }
+
+    // ==================== Actions ====================
+
+    private CompiledRule.Action compileAction(JsonNode node, boolean taskEventsOnly) {
+        String type = node.path("type").asText("").toLowerCase(Locale.ROOT);
+        if (!type.equals("notify") && !taskEventsOnly) {
+            throw new ValidationException("actions", "Action " + type + " needs task events only");
+        }
+        switch (type) {
+            case "notify" -> {
+                List<Function<RuleFacts, Long>> recipients = compileRecipients(node.get("to"));
+                Function<RuleFacts, String> title = compileTemplate(node.path("title").asText("Automation rule triggered"));
+                Function<RuleFacts, String> message = compileTemplate(requireText(node, "message"));
+                NotificationEntity.NotificationType notificationType = parseEnum(NotificationEntity.NotificationType.class,
+                        node.path("notificationType").asText("SYSTEM_ALERT"), "notificationType");
+                return (facts, actions) -> {
+                    Set<Long> ids = new LinkedHashSet<>();
+                    for (Function<RuleFacts, Long> recipient : recipients) {
+                        Long id = recipient.apply(facts);
+                        if (id != null) {
+                            ids.add(id);
+                        }
+                    }
+                    if (!ids.isEmpty()) {
+                        actions.notify(ids, title.apply(facts), message.apply(facts), notificationType);
+                    }
+                };
+            }
+            case "assign" -> {
+                if (!node.path("userId").canConvertToLong()) {
+                    throw new ValidationException("actions", "assign needs a numeric userId");
+                }
+                long userId = node.get("userId").asLong();
+                return (facts, actions) -> actions.assignTask(requireTaskId(facts), userId);
+            }
+            case "set_priority" -> {
+                TaskPriority priority = parseEnum(TaskPriority.class, requireText(node, "value"), "value");
+                return (facts, actions) -> actions.setTaskPriority(requireTaskId(facts), priority);
+            }
+            case "add_label" -> {
+                String label = requireText(node, "value");
+                return (facts, actions) -> actions.addTaskLabel(requireTaskId(facts), label);
+            }
+            default -> throw new ValidationException("actions", "Unknown action type: " + type);
+        }
+    }
+
+    private List<Function<RuleFacts, Long>> compileRecipients(JsonNode to) {
+        if (to == null || to.isNull()) {
+            throw new ValidationException("actions", "notify needs recipients in 'to'");
+        }
+        List<Function<RuleFacts, Long>> recipients = new ArrayList<>();
+        for (JsonNode recipient : elements(to)) {
+            if (recipient.canConvertToLong()) {
+                long userId = recipient.asLong();
+                recipients.add(facts -> userId);
+                continue;
+            }
+            String path = switch (recipient.asText()) {
+                case "assignee" -> "task.assigneeId";
+                case "reporter" -> "task.reporterId";
+                case "projectManager" -> "project.managerId";
+                default -> throw new ValidationException("actions", "Unknown recipient: " + recipient.asText());
+            };
+            recipients.add(facts -> facts.getLong(path));
+        }
+        return recipients;
+    }
+
+    private Function<RuleFacts, String> compileTemplate(String template) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        List<Function<RuleFacts, String>> parts = new ArrayList<>();
+        int last = 0;
+        while (matcher.find()) {
+            String literal = template.substring(last, matcher.start());
+            String path = requireField(matcher.group(1));
+            parts.add(facts -> literal);
+            parts.add(facts -> {
+                Object value = facts.get(path);
+                return value != null ? value.toString() : "";
+            });
+            last = matcher.end();
+        }
+        if (parts.isEmpty()) {
+            return facts -> template;
+        }
+        String tail = template.substring(last);
+        parts.add(facts -> tail);
+        return facts -> {
+            StringBuilder text = new StringBuilder();
+            parts.forEach(part -> text.append(part.apply(facts)));
+            return text.toString();
+        };
+    }
+
+    private static Long requireTaskId(RuleFacts facts) {
+        Long taskId = facts.getLong("task.id");
+        if (taskId == null) {
+            throw new IllegalStateException("Task action without a task in the event");
+        }
+        return taskId;
+    }
+
+    // ==================== Helpers ====================
+
+    // A single value is accepted wherever a list is expected
+    private static List<JsonNode> elements(JsonNode node) {
+        List<JsonNode> elements = new ArrayList<>();
+        if (node.isArray()) {
+            node.forEach(elements::add);
+        } else {
+            elements.add(node);
+        }
+        return elements;
+    }
+
+    private static String requireField(String field) {
+        if (field == null || !RuleFacts.KNOWN_FIELDS.contains(field)) {
+            throw new ValidationException("triggerConditions", "Unknown field: " + field);
+        }
+        return field;
+    }
+
+    private static String requireText(JsonNode node, String name) {
+        String text = node.path(name).asText(null);
+        if (text == null || text.isBlank()) {
+            throw new ValidationException("actions", node.path("type").asText() + " needs '" + name + "'");
+        }
+        return text;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("actions", "Invalid " + field + ": " + value);
+        }
+    }
+
+    private static boolean equalsNormalized(Object actual, String expected) {
+        return expected == null ? actual == null : expected.equals(normalize(actual));
+    }
+
+    private static String normalizeJson(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isNumber() ? normalize(value.decimalValue()) : normalize(value.asText());
+    }
+
+    // Numbers compare by value (5 equals 5.0), everything else as lower-case text
+    static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Number number) {
+            return BigDecimal.valueOf(number.doubleValue()).stripTrailingZeros().toPlainString();
+        }
+        return value.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        return null;
+    }
+
+    private static LocalDateTime parseDateTime(String text) {
+        try {
+            return text.length() <= 10 ? LocalDate.parse(text).atStartOfDay() : LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates compiled automation rules against committed task and project changes.
+ * <p>
+ * Change events are handed to a small executor so evaluation never runs on the request thread.
+ * Task and project facts are loaded lazily, once per event, and only if a rule for the event
+ * needs them. Changes made by rule actions publish their own task events; those are ignored here
+ * so that rules cannot trigger each other in a loop.
+ */
+@Component
+public class AutomationRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutomationRuleEngine.class);
+
+    // Set while this thread applies rule actions; events they raise are not evaluated again
+    private static final ThreadLocal<Boolean> APPLYING_ACTIONS = ThreadLocal.withInitial(() -> false);
+
+    private final AutomationRuleCache ruleCache;
+    private final AutomationRuleCompiler compiler;
+    private final AutomationActions actions;
+    private final RuleExecutionCounters counters;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Timer evaluationTimer;
+
+    public AutomationRuleEngine(AutomationRuleCache ruleCache,
+                                AutomationRuleCompiler compiler,
+                                AutomationActions actions,
+                                RuleExecutionCounters counters,
+                                TaskRepository taskRepository,
+                                ProjectRepository projectRepository,
+                                @Qualifier("automationExecutor") ThreadPoolTaskExecutor executor,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.ruleCache = ruleCache;
+        this.compiler = compiler;
+        this.actions = actions;
+        this.counters = counters;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.executor = executor;
+        // Never joins the transaction of a commit callback, which has already committed
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.evaluationTimer = Timer.builder("automation.rules.evaluation")
+                .description("Time to evaluate automation rules for one change event")
+                .register(meterRegistry);
+    }
+
+    // ==================== Event listeners ====================
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (APPLYING_ACTIONS.get()) {
+            return;
+        }
+        dispatch(() -> evaluate(taskEvents(event), event.projectId(), taskLoaders(event)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (APPLYING_ACTIONS.get()) {
+            return;
+        }
+        RuleEvent ruleEvent = switch (event.changeType()) {
+            case CREATED -> RuleEvent.PROJECT_CREATED;
+            case UPDATED -> RuleEvent.PROJECT_UPDATED;
+            case DELETED -> RuleEvent.PROJECT_DELETED;
+        };
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        loaders.put(RuleFacts.PROJECT, () -> loadProject(event.projectId()));
+        dispatch(() -> evaluate(EnumSet.of(ruleEvent), event.projectId(), loaders));
+    }
+
+    /**
+     * Evaluate rules for an event described by name and a map holding {@code taskId} and/or
+     * {@code projectId}. Runs asynchronously like the change listeners.
+     */
+    public void evaluateAsync(String eventType, Object eventData) {
+        Set<RuleEvent> events = parseEvents(eventType);
+        Map<?, ?> data = eventData instanceof Map<?, ?> map ? map : Map.of();
+        Long taskId = toLong(data.get("taskId"));
+        Long projectId = toLong(data.get("projectId"));
+
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        if (taskId != null) {
+            loaders.put(RuleFacts.TASK, () -> loadTask(taskId, null));
+        }
+        if (projectId != null) {
+            loaders.put(RuleFacts.PROJECT, () -> loadProject(projectId));
+        }
+        dispatch(() -> evaluate(events, projectId, loaders));
+    }
+
+    // ==================== Evaluation ====================
+
+    /**
+     * Queues an evaluation. When the queue is full the calling thread evaluates it instead of
+     * dropping it; that may be a commit callback, which is safe because facts are read and
+     * actions applied in new transactions.
+     */
+    private void dispatch(Runnable evaluation) {
+        try {
+            executor.execute(evaluation);
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("automation.rules.rejected").increment();
+            logger.warn("Automation queue is full, evaluating on {}", Thread.currentThread().getName());
+            evaluation.run();
+        }
+    }
+
+    void evaluate(Set<RuleEvent> events, Long projectId, Map<String, Supplier<Map<String, Object>>> loaders) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            RuleFacts facts = new RuleFacts(events, projectId, loaders);
+            for (CompiledRule rule : ruleCache.rulesFor(projectId)) {
+                if (rule.isValid() && rule.handles(events)) {
+                    apply(rule, facts);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Automation rule evaluation failed for {} in project {}", events, projectId, e);
+        } finally {
+            sample.stop(evaluationTimer);
+        }
+    }
+
+    private void apply(CompiledRule rule, RuleFacts facts) {
+        APPLYING_ACTIONS.set(true);
+        try {
+            if (!rule.condition().test(facts)) {
+                return;
+            }
+            for (CompiledRule.Action action : rule.actions()) {
+                action.execute(facts, actions);
+            }
+            counters.recordSuccess(rule.id());
+            meterRegistry.counter("automation.rules.executions", "outcome", "success").increment();
+        } catch (RuntimeException e) {
+            counters.recordFailure(rule.id(), e.getMessage());
+            meterRegistry.counter("automation.rules.executions", "outcome", "failure").increment();
+            logger.warn("Automation rule {} ({}) failed: {}", rule.id(), rule.name(), e.getMessage());
+        } finally {
+            APPLYING_ACTIONS.remove();
+        }
+    }
+
+    /**
+     * Compile a rule and evaluate its conditions against test data without running any actions.
+     * The test data may carry {@code event}, literal {@code task}/{@code project} sections, or
+     * {@code taskId}/{@code projectId} to evaluate against live records.
+     */
+    public DryRunResult dryRun(AutomationRuleEntity entity, Object testData) {
+        CompiledRule rule = compiler.compile(entity);
+        Map<?, ?> data = testData instanceof Map<?, ?> map ? map : Map.of();
+
+        Set<RuleEvent> events = data.get("event") != null ? parseEvents(data.get("event").toString()) : rule.events();
+        Long taskId = toLong(data.get("taskId"));
+        Long projectId = toLong(data.get("projectId"));
+
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        if (data.get(RuleFacts.TASK) instanceof Map<?, ?> task) {
+            loaders.put(RuleFacts.TASK, () -> stringKeys(task));
+        } else if (taskId != null) {
+            loaders.put(RuleFacts.TASK, () -> loadTask(taskId, null));
+        }
+        if (data.get(RuleFacts.PROJECT) instanceof Map<?, ?> project) {
+            loaders.put(RuleFacts.PROJECT, () -> stringKeys(project));
+        } else if (projectId != null) {
+            loaders.put(RuleFacts.PROJECT, () -> loadProject(projectId));
+        }
+
+        boolean eventMatched = rule.handles(events);
+        boolean conditionsMet = rule.condition().test(new RuleFacts(events, projectId, loaders));
+        return new DryRunResult(eventMatched, conditionsMet, rule.actions().size());
+    }
+
+    public record DryRunResult(boolean eventMatched, boolean conditionsMet, int actionCount) {
+
+        public boolean wouldExecute() {
+            return eventMatched && conditionsMet;
+        }
+    }
+
+    // ==================== Facts ====================
+
+    private static Set<RuleEvent> taskEvents(TaskChangedEvent event) {
+        return switch (event.changeType()) {
+            case CREATED -> EnumSet.of(RuleEvent.TASK_CREATED);
+            case DELETED -> EnumSet.of(RuleEvent.TASK_DELETED);
+            case UPDATED -> event.previousStatus() != null && event.previousStatus() != event.currentStatus()
+                    ? EnumSet.of(RuleEvent.TASK_UPDATED, RuleEvent.TASK_STATUS_CHANGED)
+                    : EnumSet.of(RuleEvent.TASK_UPDATED);
+        };
+    }
+
+    private Map<String, Supplier<Map<String, Object>>> taskLoaders(TaskChangedEvent event) {
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        loaders.put(RuleFacts.TASK, () -> {
+            Map<String, Object> task = event.changeType() != EntityChangeType.DELETED
+                    ? loadTask(event.taskId(), event)
+                    : null;
+            if (task == null) {
+                // Deleted (or already gone): only what the event carries is known
+                task = new HashMap<>();
+                task.put("id", event.taskId());
+                task.put("projectId", event.projectId());
+                task.put("status", event.currentStatus());
+            }
+            task.put("previousStatus", event.previousStatus());
+            return task;
+        });
+        if (event.projectId() != null) {
+            loaders.put(RuleFacts.PROJECT, () -> loadProject(event.projectId()));
+        }
+        return loaders;
+    }
+
+    private Map<String, Object> loadTask(Long taskId, TaskChangedEvent event) {
+        return readOnlyTransaction.execute(tx -> taskRepository.findById(taskId).map(task -> {
+            Map<String, Object> facts = taskFacts(task);
+            if (event != null) {
+                facts.put("previousStatus", event.previousStatus());
+            }
+            return facts;
+        }).orElse(null));
+    }
+
+    private Map<String, Object> loadProject(Long projectId) {
+        return readOnlyTransaction.execute(tx -> projectRepository.findById(projectId)
+                .map(AutomationRuleEngine::projectFacts)
+                .orElse(null));
+    }
+
+    // Called inside the read-only transaction so the lazy label collection can be read
+    private static Map<String, Object> taskFacts(Task task) {
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("id", task.getId());
+        facts.put("title", task.getTitle());
+        facts.put("status", task.getStatus());
+        facts.put("priority", task.getPriority());
+        facts.put("projectId", task.getProjectId());
+        facts.put("assigneeId", task.getAssigneeId());
+        facts.put("reporterId", task.getReporterId());
+        facts.put("dueDate", task.getDueDate());
+        facts.put("estimatedHours", task.getEstimatedHours());
+        facts.put("loggedHours", task.getLoggedHours());
+        facts.put("progress", task.getProgress());
+        facts.put("labels", task.getLabels() != null ? Set.copyOf(task.getLabels()) : Set.of());
+        return facts;
+    }
+
+    private static Map<String, Object> projectFacts(Project project) {
+        Map<String, Object> facts = new HashMap<>();
+        facts.put("id", project.getId());
+        facts.put("name", project.getName());
+        facts.put("status", project.getStatus());
+        facts.put("priority", project.getPriority());
+        facts.put("managerId", project.getManagerId());
+        facts.put("budget", project.getBudget());
+        facts.put("spent", project.getSpent());
+        facts.put("progress", project.getProgress());
+        facts.put("startDate", project.getStartDate());
+        facts.put("endDate", project.getEndDate());
+        BigDecimal budget = project.getBudget();
+        if (budget != null && budget.signum() > 0 && project.getSpent() != null) {
+            facts.put("burnRatio", project.getSpent().divide(budget, 4, RoundingMode.HALF_UP));
+        }
+        return facts;
+    }
+
+    // ==================== Helpers ====================
+
+    private static Set<RuleEvent> parseEvents(String eventType) {
+        String name = eventType.toUpperCase(Locale.ROOT);
+        // Event names used before rules were compiled
+        if (name.equals("STATUS_CHANGED")) {
+            return EnumSet.of(RuleEvent.TASK_UPDATED, RuleEvent.TASK_STATUS_CHANGED);
+        }
+        try {
+            RuleEvent event = RuleEvent.valueOf(name);
+            return event == RuleEvent.TASK_STATUS_CHANGED
+                    ? EnumSet.of(RuleEvent.TASK_UPDATED, RuleEvent.TASK_STATUS_CHANGED)
+                    : EnumSet.of(event);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("eventType", "Unknown event type: " + eventType);
+        }
+    }
+
+    private static Map<String, Object> stringKeys(Map<?, ?> values) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        values.forEach((key, value) -> copy.put(String.valueOf(key), value));
+        return copy;
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("eventData", "Not a valid id: " + text);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An automation rule parsed once into a condition and a list of actions.
+ *
+ * @param version the rule's {@code updatedAt} when compiled; a different value means the rule changed
+ * @param error   set instead of condition and actions when the stored JSON does not compile
+ */
+public record CompiledRule(Long id,
+                           String name,
+                           Long projectId,
+                           LocalDateTime version,
+                           Set<RuleEvent> events,
+                           Predicate<RuleFacts> condition,
+                           List<Action> actions,
+                           String error) {
+
+    @FunctionalInterface
+    public interface Action {
+        void execute(RuleFacts facts, AutomationActions actions);
+    }
+
+    public static CompiledRule invalid(Long id, String name, Long projectId, LocalDateTime version, String error) {
+        return new CompiledRule(id, name, projectId, version, Set.of(), facts -> false, List.of(), error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public boolean handles(Set<RuleEvent> raised) {
+        for (RuleEvent event : raised) {
+            if (events.contains(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+/**
+ * Change events automation rules can listen for. A task update that moves the status raises
+ * both {@link #TASK_UPDATED} and {@link #TASK_STATUS_CHANGED}.
+ */
+public enum RuleEvent {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_STATUS_CHANGED,
+    TASK_DELETED,
+    PROJECT_CREATED,
+    PROJECT_UPDATED,
+    PROJECT_DELETED;
+
+    public boolean isTaskEvent() {
+        return name().startsWith("TASK_");
+    }
+}
@@ -0,0 +1,118 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers rule execution counts in memory and writes them to {@code automation_rules} in one
+ * JDBC batch per flush, instead of saving the rule entity after every execution. Counts are
+ * added to the stored values, so flushes from several nodes combine correctly.
+ */
+@Component
+public class RuleExecutionCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleExecutionCounters.class);
+
+    private static final String FLUSH_SQL = "UPDATE automation_rules SET "
+            + "execution_count = COALESCE(execution_count, 0) + ?, "
+            + "success_count = COALESCE(success_count, 0) + ?, "
+            + "failure_count = COALESCE(failure_count, 0) + ?, "
+            + "last_executed_at = ?, "
+            + "last_error = COALESCE(?, last_error) "
+            + "WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    public RuleExecutionCounters(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void recordSuccess(Long ruleId) {
+        record(ruleId, new Pending(1, 1, 0, LocalDateTime.now(), null));
+    }
+
+    public void recordFailure(Long ruleId, String error) {
+        record(ruleId, new Pending(1, 0, 1, LocalDateTime.now(), truncate(error)));
+    }
+
+    /**
+     * Counts recorded on this node that have not been written yet.
+     */
+    public Pending pending(Long ruleId) {
+        return pending.get(ruleId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.automation.counters.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ruleIds = new ArrayList<>();
+        List<Pending> counts = new ArrayList<>();
+        for (Long ruleId : pending.keySet()) {
+            Pending removed = pending.remove(ruleId);
+            if (removed != null) {
+                ruleIds.add(ruleId);
+                counts.add(removed);
+            }
+        }
+
+        List<Object[]> args = new ArrayList<>(ruleIds.size());
+        for (int i = 0; i < ruleIds.size(); i++) {
+            Pending count = counts.get(i);
+            args.add(new Object[] {count.executions(), count.successes(), count.failures(),
+                    Timestamp.valueOf(count.lastExecutedAt()), count.lastError(), ruleIds.get(i)});
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, args);
+        } catch (RuntimeException e) {
+            // Put the counts back so the next flush retries them
+            for (int i = 0; i < ruleIds.size(); i++) {
+                record(ruleIds.get(i), counts.get(i));
+            }
+            logger.warn("Failed to flush automation rule counters for {} rules: {}", ruleIds.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void record(Long ruleId, Pending delta) {
+        pending.merge(ruleId, delta, Pending::plus);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return "Unknown error";
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    public record Pending(long executions, long successes, long failures, LocalDateTime lastExecutedAt,
+                          String lastError) {
+
+        Pending plus(Pending other) {
+            boolean otherLater = other.lastExecutedAt.isAfter(lastExecutedAt);
+            return new Pending(executions + other.executions, successes + other.successes,
+                    failures + other.failures,
+                    otherLater ? other.lastExecutedAt : lastExecutedAt,
+                    other.lastError != null && (otherLater || lastError == null) ? other.lastError : lastError);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Values a rule is evaluated against, addressed as {@code section.field} (for example
+ * {@code task.status}). Sections are loaded on first access, so a rule that only looks at the
+ * task never loads the project. Instances are used by one thread at a time.
+ */
+public final class RuleFacts {
+
+    public static final String TASK = "task";
+    public static final String PROJECT = "project";
+
+    // Every field a rule may reference; checked when rules are compiled
+    public static final Set<String> KNOWN_FIELDS = Set.of(
+            "task.id", "task.title", "task.status", "task.previousStatus", "task.priority", "task.projectId",
+            "task.assigneeId", "task.reporterId", "task.dueDate", "task.estimatedHours", "task.loggedHours",
+            "task.progress", "task.labels",
+            "project.id", "project.name", "project.status", "project.priority", "project.managerId",
+            "project.budget", "project.spent", "project.burnRatio", "project.progress", "project.startDate",
+            "project.endDate");
+
+    private final Set<RuleEvent> events;
+    private final Long projectId;
+    private final Map<String, Supplier<Map<String, Object>>> loaders;
+    private final Map<String, Map<String, Object>> sections = new HashMap<>();
+
+    public RuleFacts(Set<RuleEvent> events, Long projectId, Map<String, Supplier<Map<String, Object>>> loaders) {
+        this.events = events;
+        this.projectId = projectId;
+        this.loaders = loaders;
+    }
+
+    public Set<RuleEvent> getEvents() {
+        return events;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public boolean hasSection(String section) {
+        return loaders.containsKey(section);
+    }
+
+    public Object get(String path) {
+        int dot = path.indexOf('.');
+        String section = path.substring(0, dot);
+        Map<String, Object> values = sections.computeIfAbsent(section, name -> {
+            Supplier<Map<String, Object>> loader = loaders.get(name);
+            Map<String, Object> loaded = loader != null ? loader.get() : null;
+            return loaded != null ? loaded : Collections.emptyMap();
+        });
+        return values.get(path.substring(dot + 1));
+    }
+
+    public Long getLong(String path) {
+        Object value = get(path);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+}
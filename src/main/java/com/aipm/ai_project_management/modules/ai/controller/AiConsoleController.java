@@ -4,10 +4,14 @@ import com.aipm.ai_project_management.common.response.ApiResponse;
 import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.ai.dto.AiInsightDTO;
 import com.aipm.ai_project_management.modules.ai.dto.AutomationRuleDTO;
+import com.aipm.ai_project_management.modules.ai.dto.PredictionAccuracyDTO;
+import com.aipm.ai_project_management.modules.ai.dto.ProjectForecastDTO;
 import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity;
 import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
 import com.aipm.ai_project_management.modules.ai.service.AiService;
 import com.aipm.ai_project_management.modules.ai.service.AutomationRuleService;
+import com.aipm.ai_project_management.modules.ai.service.ForecastService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -33,6 +37,9 @@ public class AiConsoleController {
     @Autowired
     private AutomationRuleService automationRuleService;
     
+    @Autowired
+    private ForecastService forecastService;
+    
     // ==================== AI INSIGHTS ENDPOINTS ====================
     
     @PostMapping("/insights/project/{projectId}/generate")
@@ -65,6 +72,15 @@ public class AiConsoleController {
         return ResponseEntity.ok(ApiResponse.success("Team insights generated successfully", insights));
     }
     
+    @PostMapping("/insights/portfolio/generate")
+    @Operation(summary = "Generate AI insights for all active projects")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> generatePortfolioInsights() {
+        
+        int generated = aiService.generateActiveProjectInsights();
+        return ResponseEntity.ok(ApiResponse.success("Portfolio insights generated successfully", generated));
+    }
+    
     @GetMapping("/insights")
     @Operation(summary = "Get active AI insights")
     @PreAuthorize("hasRole('TEAM_MEMBER') or hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
@@ -146,4 +162,36 @@ public class AiConsoleController {
         AutomationRuleDTO rule = automationRuleService.toggleRuleStatus(ruleId);
         return ResponseEntity.ok(ApiResponse.success("Automation rule status toggled successfully", rule));
     }
-}
\ No newline at end of file
+    
+    // ==================== FORECAST ENDPOINTS ====================
+    
+    @PostMapping("/forecasts/project/{projectId}")
+    @Operation(summary = "Forecast a project's completion date and cost at completion")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ProjectForecastDTO>> forecastProject(
+            @Parameter(description = "Project ID") @PathVariable Long projectId,
+            @Parameter(description = "Number of simulations") @RequestParam(required = false) Integer simulations) {
+        
+        ProjectForecastDTO forecast = forecastService.forecastProject(projectId, simulations);
+        return ResponseEntity.ok(ApiResponse.success("Project forecast generated successfully", forecast));
+    }
+    
+    @GetMapping("/forecasts/accuracy")
+    @Operation(summary = "Get accuracy of stored predictions against actual outcomes")
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PredictionAccuracyDTO>> getForecastAccuracy(
+            @Parameter(description = "Prediction type") @RequestParam(defaultValue = "COMPLETION_DATE") AiPredictionEntity.PredictionType type) {
+        
+        PredictionAccuracyDTO accuracy = forecastService.getAccuracy(type);
+        return ResponseEntity.ok(ApiResponse.success("Forecast accuracy retrieved successfully", accuracy));
+    }
+    
+    @PostMapping("/forecasts/backfill")
+    @Operation(summary = "Record actual outcomes on predictions of completed projects")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> backfillForecastActuals() {
+        
+        int resolved = forecastService.backfillActuals();
+        return ResponseEntity.ok(ApiResponse.success("Forecast actuals backfilled successfully", resolved));
+    }
+}
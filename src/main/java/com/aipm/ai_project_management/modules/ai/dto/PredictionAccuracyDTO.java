@@ -0,0 +1,82 @@
+package com.aipm.ai_project_management.modules.ai.dto;
+
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity;
+
+/**
+ * How well stored predictions of one type matched their outcomes. A prediction counts as
+ * accurate when the actual value fell inside its P10-P90 range; the mean absolute error is in
+ * {@code errorUnit} and covers the most recently evaluated predictions.
+ */
+public class PredictionAccuracyDTO {
+
+    private AiPredictionEntity.PredictionType predictionType;
+    private long total;
+    private long evaluated;
+    private long accurate;
+    private Double accuracyRate;
+    private Double meanAbsoluteError;
+    private String errorUnit;
+
+    public PredictionAccuracyDTO() {
+    }
+
+    public PredictionAccuracyDTO(AiPredictionEntity.PredictionType predictionType) {
+        this.predictionType = predictionType;
+    }
+
+    public AiPredictionEntity.PredictionType getPredictionType() {
+        return predictionType;
+    }
+
+    public void setPredictionType(AiPredictionEntity.PredictionType predictionType) {
+        this.predictionType = predictionType;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(long evaluated) {
+        this.evaluated = evaluated;
+    }
+
+    public long getAccurate() {
+        return accurate;
+    }
+
+    public void setAccurate(long accurate) {
+        this.accurate = accurate;
+    }
+
+    public Double getAccuracyRate() {
+        return accuracyRate;
+    }
+
+    public void setAccuracyRate(Double accuracyRate) {
+        this.accuracyRate = accuracyRate;
+    }
+
+    public Double getMeanAbsoluteError() {
+        return meanAbsoluteError;
+    }
+
+    public void setMeanAbsoluteError(Double meanAbsoluteError) {
+        this.meanAbsoluteError = meanAbsoluteError;
+    }
+
+    public String getErrorUnit() {
+        return errorUnit;
+    }
+
+    public void setErrorUnit(String errorUnit) {
+        this.errorUnit = errorUnit;
+    }
+}
@@ -0,0 +1,257 @@
+package com.aipm.ai_project_management.modules.ai.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Monte Carlo forecast of a project's remaining work. Percentiles are over all simulations;
+ * {@code historyScope} says whether estimate accuracy came from the project itself, the whole
+ * organization or a default prior, and {@code historySamples} how many finished tasks it used.
+ */
+public class ProjectForecastDTO {
+
+    private Long projectId;
+    private LocalDateTime generatedAt;
+    private int simulations;
+    private long elapsedMs;
+    private int openTasks;
+    private String historyScope;
+    private int historySamples;
+    private int throughputWeeks;
+    private Double weeklyHoursMean;
+    private Double remainingHoursP10;
+    private Double remainingHoursP50;
+    private Double remainingHoursP90;
+    private LocalDate completionDateP10;
+    private LocalDate completionDateP50;
+    private LocalDate completionDateP80;
+    private LocalDate completionDateP90;
+    private BigDecimal budget;
+    private BigDecimal spent;
+    private Double hourlyRate;
+    private BigDecimal costAtCompletionP10;
+    private BigDecimal costAtCompletionP50;
+    private BigDecimal costAtCompletionP90;
+    private Double overrunProbability;
+    private Double confidence;
+    private Long completionPredictionId;
+    private Long budgetPredictionId;
+
+    public ProjectForecastDTO() {
+    }
+
+    public ProjectForecastDTO(Long projectId, LocalDateTime generatedAt, int simulations) {
+        this.projectId = projectId;
+        this.generatedAt = generatedAt;
+        this.simulations = simulations;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public int getSimulations() {
+        return simulations;
+    }
+
+    public void setSimulations(int simulations) {
+        this.simulations = simulations;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public int getOpenTasks() {
+        return openTasks;
+    }
+
+    public void setOpenTasks(int openTasks) {
+        this.openTasks = openTasks;
+    }
+
+    public String getHistoryScope() {
+        return historyScope;
+    }
+
+    public void setHistoryScope(String historyScope) {
+        this.historyScope = historyScope;
+    }
+
+    public int getHistorySamples() {
+        return historySamples;
+    }
+
+    public void setHistorySamples(int historySamples) {
+        this.historySamples = historySamples;
+    }
+
+    public int getThroughputWeeks() {
+        return throughputWeeks;
+    }
+
+    public void setThroughputWeeks(int throughputWeeks) {
+        this.throughputWeeks = throughputWeeks;
+    }
+
+    public Double getWeeklyHoursMean() {
+        return weeklyHoursMean;
+    }
+
+    public void setWeeklyHoursMean(Double weeklyHoursMean) {
+        this.weeklyHoursMean = weeklyHoursMean;
+    }
+
+    public Double getRemainingHoursP10() {
+        return remainingHoursP10;
+    }
+
+    public void setRemainingHoursP10(Double remainingHoursP10) {
+        this.remainingHoursP10 = remainingHoursP10;
+    }
+
+    public Double getRemainingHoursP50() {
+        return remainingHoursP50;
+    }
+
+    public void setRemainingHoursP50(Double remainingHoursP50) {
+        this.remainingHoursP50 = remainingHoursP50;
+    }
+
+    public Double getRemainingHoursP90() {
+        return remainingHoursP90;
+    }
+
+    public void setRemainingHoursP90(Double remainingHoursP90) {
+        this.remainingHoursP90 = remainingHoursP90;
+    }
+
+    public LocalDate getCompletionDateP10() {
+        return completionDateP10;
+    }
+
+    public void setCompletionDateP10(LocalDate completionDateP10) {
+        this.completionDateP10 = completionDateP10;
+    }
+
+    public LocalDate getCompletionDateP50() {
+        return completionDateP50;
+    }
+
+    public void setCompletionDateP50(LocalDate completionDateP50) {
+        this.completionDateP50 = completionDateP50;
+    }
+
+    public LocalDate getCompletionDateP80() {
+        return completionDateP80;
+    }
+
+    public void setCompletionDateP80(LocalDate completionDateP80) {
+        this.completionDateP80 = completionDateP80;
+    }
+
+    public LocalDate getCompletionDateP90() {
+        return completionDateP90;
+    }
+
+    public void setCompletionDateP90(LocalDate completionDateP90) {
+        this.completionDateP90 = completionDateP90;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    public void setBudget(BigDecimal budget) {
+        this.budget = budget;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public Double getHourlyRate() {
+        return hourlyRate;
+    }
+
+    public void setHourlyRate(Double hourlyRate) {
+        this.hourlyRate = hourlyRate;
+    }
+
+    public BigDecimal getCostAtCompletionP10() {
+        return costAtCompletionP10;
+    }
+
+    public void setCostAtCompletionP10(BigDecimal costAtCompletionP10) {
+        this.costAtCompletionP10 = costAtCompletionP10;
+    }
+
+    public BigDecimal getCostAtCompletionP50() {
+        return costAtCompletionP50;
+    }
+
+    public void setCostAtCompletionP50(BigDecimal costAtCompletionP50) {
+        this.costAtCompletionP50 = costAtCompletionP50;
+    }
+
+    public BigDecimal getCostAtCompletionP90() {
+        return costAtCompletionP90;
+    }
+
+    public void setCostAtCompletionP90(BigDecimal costAtCompletionP90) {
+        this.costAtCompletionP90 = costAtCompletionP90;
+    }
+
+    public Double getOverrunProbability() {
+        return overrunProbability;
+    }
+
+    public void setOverrunProbability(Double overrunProbability) {
+        this.overrunProbability = overrunProbability;
+    }
+
+    public Double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(Double confidence) {
+        this.confidence = confidence;
+    }
+
+    public Long getCompletionPredictionId() {
+        return completionPredictionId;
+    }
+
+    public void setCompletionPredictionId(Long completionPredictionId) {
+        this.completionPredictionId = completionPredictionId;
+    }
+
+    public Long getBudgetPredictionId() {
+        return budgetPredictionId;
+    }
+
+    public void setBudgetPredictionId(Long budgetPredictionId) {
+        this.budgetPredictionId = budgetPredictionId;
+    }
+}
@@ -0,0 +1,504 @@
+package com.aipm.ai_project_management.modules.ai.engine;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightPriority;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Turns aggregated project, task, time and skill figures into insights. Holds no state and does
+ * no I/O; {@code InsightGenerationService} loads the inputs and stores the results.
+ * <p>
+ * Confidence scores reflect how much evidence backs each finding: facts already in the data
+ * (over budget, past due) score close to 1, projections score lower when they rest on little
+ * completed work or on an irregular delivery rate.
+ */
+@Component
+public class InsightCalculator {
+
+    static final String GENERATOR = "insight-engine-v1";
+
+    // Completed weeks of throughput considered for velocity
+    public static final int VELOCITY_WEEKS = 6;
+
+    private final ObjectMapper objectMapper;
+
+    public InsightCalculator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // ==================== Inputs ====================
+
+    public record StatusStats(long count, double estimatedHours, double loggedHours) {
+    }
+
+    public record ProjectMetrics(Long projectId,
+                                 String name,
+                                 BigDecimal budget,
+                                 BigDecimal spent,
+                                 LocalDate startDate,
+                                 LocalDate endDate,
+                                 Map<TaskStatus, StatusStats> statusStats,
+                                 List<LocalDateTime> recentCompletions,
+                                 LocalDate today) {
+
+        long total() {
+            return statusStats.entrySet().stream()
+                    .filter(e -> e.getKey() != TaskStatus.CANCELLED)
+                    .mapToLong(e -> e.getValue().count())
+                    .sum();
+        }
+
+        long done() {
+            StatusStats done = statusStats.get(TaskStatus.DONE);
+            return done != null ? done.count() : 0;
+        }
+
+        // Share of work complete, weighted by estimates when most tasks have one
+        double percentComplete() {
+            double estimatedTotal = 0;
+            double estimatedDone = 0;
+            for (Map.Entry<TaskStatus, StatusStats> entry : statusStats.entrySet()) {
+                if (entry.getKey() == TaskStatus.CANCELLED) {
+                    continue;
+                }
+                estimatedTotal += entry.getValue().estimatedHours();
+                if (entry.getKey() == TaskStatus.DONE) {
+                    estimatedDone += entry.getValue().estimatedHours();
+                }
+            }
+            long total = total();
+            if (total == 0) {
+                return 0;
+            }
+            return estimatedTotal > 0 ? estimatedDone / estimatedTotal : (double) done() / total;
+        }
+    }
+
+    public record AssigneeLoad(Long userId, String name, long openTasks, double remainingHours, double recentHours) {
+    }
+
+    /**
+     * @param openTasksByLabel demand: open tasks per lower-cased label
+     * @param skilledMembers   supply: members at intermediate level or above per lower-cased skill
+     */
+    public record SkillInventory(Map<String, Long> openTasksByLabel, Map<String, Integer> skilledMembers, int memberCount) {
+    }
+
+    public record TaskMetrics(Long taskId,
+                              String title,
+                              TaskStatus status,
+                              LocalDateTime createdAt,
+                              LocalDateTime dueDate,
+                              int progress,
+                              Double estimatedHours,
+                              double loggedHours,
+                              LocalDateTime now) {
+    }
+
+    // ==================== Project ====================
+
+    /**
+     * Earned-value budget check: cost performance so far projected to completion.
+     */
+    public Optional<AiInsightEntity> budgetBurn(ProjectMetrics project) {
+        if (project.budget() == null || project.spent() == null || project.budget().signum() <= 0) {
+            return Optional.empty();
+        }
+        double budget = project.budget().doubleValue();
+        double spent = project.spent().doubleValue();
+        double complete = project.percentComplete();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("budget", round(budget));
+        data.put("spent", round(spent));
+        data.put("burnRatio", round(spent / budget));
+        data.put("percentComplete", round(complete));
+
+        if (spent > budget) {
+            data.put("overrun", round(spent - budget));
+            return Optional.of(insight(InsightType.PROJECT_RISK_ALERT, InsightPriority.CRITICAL,
+                    "Project over budget",
+                    String.format("%s has spent %s against a budget of %s (%d%% over) with %d%% of the work complete.",
+                            project.name(), money(spent), money(budget),
+                            Math.round((spent / budget - 1) * 100), Math.round(complete * 100)),
+                    "PROJECT", project.projectId(), 0.99, data));
+        }
+        if (complete <= 0 || spent <= 0) {
+            return Optional.empty();
+        }
+
+        double forecast = spent / complete;
+        double overrunRatio = forecast / budget - 1;
+        data.put("costPerformanceIndex", round(complete * budget / spent));
+        data.put("forecastAtCompletion", round(forecast));
+        if (overrunRatio < 0.05) {
+            return Optional.empty();
+        }
+
+        InsightPriority priority = overrunRatio >= 0.25 ? InsightPriority.HIGH : InsightPriority.MEDIUM;
+        // Early in a project the cost rate says little about the final figure
+        double confidence = clamp(0.45 + 0.5 * Math.min(1.0, complete / 0.6), 0.45, 0.95);
+        return Optional.of(insight(InsightType.BUDGET_FORECAST, priority,
+                "Budget overrun forecast",
+                String.format("%s has spent %s of %s with %d%% of the work complete. At the current cost rate it will "
+                                + "finish at about %s, %d%% over budget.",
+                        project.name(), money(spent), money(budget), Math.round(complete * 100),
+                        money(forecast), Math.round(overrunRatio * 100)),
+                "PROJECT", project.projectId(), confidence, data));
+    }
+
+    /**
+     * Projects the finish date from recent weekly throughput and compares it with the end date.
+     */
+    public Optional<AiInsightEntity> scheduleSlippage(ProjectMetrics project) {
+        long remaining = project.total() - project.done();
+        if (project.endDate() == null || remaining <= 0) {
+            return Optional.empty();
+        }
+
+        LocalDate today = project.today();
+        double[] weekly = weeklyThroughput(project.recentCompletions(), today);
+        double velocity = mean(weekly);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("remainingTasks", remaining);
+        data.put("weeklyVelocity", round(velocity));
+        data.put("plannedEnd", project.endDate().toString());
+
+        if (today.isAfter(project.endDate())) {
+            long daysLate = ChronoUnit.DAYS.between(project.endDate(), today);
+            data.put("daysPastEnd", daysLate);
+            return Optional.of(insight(InsightType.DEADLINE_PREDICTION, InsightPriority.CRITICAL,
+                    "Project past its end date",
+                    String.format("%s passed its end date %d days ago with %d tasks still open.",
+                            project.name(), daysLate, remaining),
+                    "PROJECT", project.projectId(), 0.99, data));
+        }
+
+        if (velocity <= 0) {
+            double confidence = clamp(0.5 + 0.05 * remaining, 0.5, 0.85);
+            return Optional.of(insight(InsightType.DEADLINE_PREDICTION, InsightPriority.HIGH,
+                    "No recent delivery",
+                    String.format("%s completed no tasks in the last %d weeks and has %d open tasks before %s.",
+                            project.name(), VELOCITY_WEEKS, remaining, project.endDate()),
+                    "PROJECT", project.projectId(), confidence, data));
+        }
+
+        long daysNeeded = (long) Math.ceil(remaining / velocity * 7);
+        LocalDate projectedEnd = today.plusDays(daysNeeded);
+        long slippageDays = ChronoUnit.DAYS.between(project.endDate(), projectedEnd);
+        data.put("projectedEnd", projectedEnd.toString());
+        data.put("slippageDays", slippageDays);
+        if (slippageDays <= 0) {
+            return Optional.empty();
+        }
+
+        InsightPriority priority = slippageDays > 30 ? InsightPriority.CRITICAL
+                : slippageDays > 14 ? InsightPriority.HIGH : InsightPriority.MEDIUM;
+        // Irregular weeks and few completions both make the projection less reliable
+        double variation = coefficientOfVariation(weekly);
+        double sampleFactor = Math.min(1.0, project.recentCompletions().size() / 10.0);
+        double confidence = clamp((0.9 - 0.3 * Math.min(variation, 1.5)) * (0.6 + 0.4 * sampleFactor), 0.3, 0.9);
+        return Optional.of(insight(InsightType.DEADLINE_PREDICTION, priority,
+                "Schedule slippage predicted",
+                String.format("%s is finishing %.1f tasks a week with %d open. At that pace it ends around %s, "
+                                + "%d days after the planned %s.",
+                        project.name(), velocity, remaining, projectedEnd, slippageDays, project.endDate()),
+                "PROJECT", project.projectId(), confidence, data));
+    }
+
+    // ==================== Workload ====================
+
+    /**
+     * Flags assignees whose open work is well above the group average.
+     */
+    public Optional<AiInsightEntity> workloadImbalance(String entityType, Long entityId, String scopeName,
+                                                       List<AssigneeLoad> loads) {
+        if (loads.size() < 3) {
+            return Optional.empty();
+        }
+        boolean useHours = loads.stream().filter(load -> load.remainingHours() > 0).count() * 2 >= loads.size();
+        double[] values = loads.stream()
+                .mapToDouble(load -> useHours ? load.remainingHours() : load.openTasks())
+                .toArray();
+        double mean = mean(values);
+        double stdDev = stdDev(values, mean);
+        if (mean <= 0 || stdDev <= 0) {
+            return Optional.empty();
+        }
+
+        List<AssigneeLoad> overloaded = new ArrayList<>();
+        double maxZ = 0;
+        for (int i = 0; i < loads.size(); i++) {
+            double z = (values[i] - mean) / stdDev;
+            if (z >= 1.0 && values[i] >= mean * 1.4) {
+                overloaded.add(loads.get(i));
+                maxZ = Math.max(maxZ, z);
+            }
+        }
+        if (overloaded.isEmpty()) {
+            return Optional.empty();
+        }
+        overloaded.sort(Comparator.comparingDouble((AssigneeLoad load) -> useHours ? load.remainingHours() : load.openTasks()).reversed());
+        AssigneeLoad lightest = loads.stream()
+                .min(Comparator.comparingDouble(load -> useHours ? load.remainingHours() : load.openTasks()))
+                .orElseThrow();
+
+        AssigneeLoad top = overloaded.get(0);
+        double topValue = useHours ? top.remainingHours() : top.openTasks();
+        String unit = useHours ? "hours of open work" : "open tasks";
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("metric", useHours ? "remainingHours" : "openTasks");
+        data.put("mean", round(mean));
+        data.put("overloaded", overloaded.stream().map(load -> Map.of(
+                "userId", load.userId(),
+                "openTasks", load.openTasks(),
+                "remainingHours", round(load.remainingHours()),
+                "recentHours", round(load.recentHours()))).collect(Collectors.toList()));
+        data.put("lightestUserId", lightest.userId());
+
+        InsightPriority priority = topValue >= mean * 2 ? InsightPriority.HIGH : InsightPriority.MEDIUM;
+        double confidence = clamp(0.5 + 0.15 * maxZ + 0.02 * loads.size(), 0.5, 0.95);
+        return Optional.of(insight(InsightType.WORKLOAD_BALANCE, priority,
+                "Workload imbalance",
+                String.format("%s has %s %s in %s, %d%% above the average of %s. %s has the least (%s).",
+                        displayName(top), formatAmount(topValue), unit, scopeName,
+                        Math.round((topValue / mean - 1) * 100), formatAmount(mean),
+                        displayName(lightest), formatAmount(useHours ? lightest.remainingHours() : lightest.openTasks())),
+                entityType, entityId, confidence, data));
+    }
+
+    // ==================== Skills ====================
+
+    /**
+     * Compares labels on open tasks with the skills of the people who can work on them.
+     */
+    public Optional<AiInsightEntity> skillGaps(String entityType, Long entityId, String scopeName, SkillInventory inventory) {
+        if (inventory.memberCount() == 0 || inventory.openTasksByLabel().isEmpty()) {
+            return Optional.empty();
+        }
+        List<Map.Entry<String, Long>> missing = new ArrayList<>();
+        List<Map.Entry<String, Long>> thin = new ArrayList<>();
+        for (Map.Entry<String, Long> demand : inventory.openTasksByLabel().entrySet()) {
+            int skilled = inventory.skilledMembers().getOrDefault(demand.getKey(), 0);
+            if (skilled == 0 && demand.getValue() >= 2) {
+                missing.add(demand);
+            } else if (skilled == 1 && demand.getValue() >= 5) {
+                thin.add(demand);
+            }
+        }
+        if (missing.isEmpty() && thin.isEmpty()) {
+            return Optional.empty();
+        }
+        Comparator<Map.Entry<String, Long>> byDemand = Map.Entry.<String, Long>comparingByValue().reversed();
+        missing.sort(byDemand);
+        thin.sort(byDemand);
+
+        long affectedTasks = missing.stream().mapToLong(Map.Entry::getValue).sum();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("missingSkills", toMap(missing));
+        data.put("singleExpertSkills", toMap(thin));
+        data.put("members", inventory.memberCount());
+
+        StringBuilder description = new StringBuilder();
+        if (!missing.isEmpty()) {
+            description.append(String.format("No one in %s has intermediate or better %s skills, needed by %d open tasks.",
+                    scopeName, joinKeys(missing), affectedTasks));
+        }
+        if (!thin.isEmpty()) {
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(String.format("Only one person covers %s.", joinKeys(thin)));
+        }
+
+        InsightPriority priority = affectedTasks >= 5 ? InsightPriority.HIGH : InsightPriority.MEDIUM;
+        // Labels are only a proxy for required skills, so confidence stays moderate
+        long evidence = affectedTasks + thin.stream().mapToLong(Map.Entry::getValue).sum();
+        double confidence = clamp(0.45 + 0.04 * evidence, 0.45, 0.85);
+        return Optional.of(insight(InsightType.SKILL_GAP_ANALYSIS, priority, "Skill gap identified",
+                description.toString(), entityType, entityId, confidence, data));
+    }
+
+    // ==================== Task ====================
+
+    public List<AiInsightEntity> taskInsights(TaskMetrics task) {
+        List<AiInsightEntity> insights = new ArrayList<>();
+        if (task.status() != null && task.status().isCompleted()) {
+            return insights;
+        }
+        deadlineRisk(task).ifPresent(insights::add);
+        estimateOverrun(task).ifPresent(insights::add);
+        return insights;
+    }
+
+    private Optional<AiInsightEntity> deadlineRisk(TaskMetrics task) {
+        if (task.dueDate() == null || task.createdAt() == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("dueDate", task.dueDate().toString());
+        data.put("progress", task.progress());
+
+        if (task.now().isAfter(task.dueDate())) {
+            long daysLate = ChronoUnit.DAYS.between(task.dueDate(), task.now());
+            data.put("daysOverdue", daysLate);
+            return Optional.of(insight(InsightType.DEADLINE_PREDICTION,
+                    daysLate > 7 ? InsightPriority.CRITICAL : InsightPriority.HIGH,
+                    "Task overdue",
+                    String.format("\"%s\" was due %d days ago and is %d%% complete.", task.title(), daysLate, task.progress()),
+                    "TASK", task.taskId(), 0.99, data));
+        }
+
+        long window = ChronoUnit.MINUTES.between(task.createdAt(), task.dueDate());
+        if (window <= 0) {
+            return Optional.empty();
+        }
+        double elapsed = ChronoUnit.MINUTES.between(task.createdAt(), task.now()) / (double) window;
+        double behind = elapsed - task.progress() / 100.0;
+        data.put("expectedProgress", Math.round(elapsed * 100));
+        if (elapsed < 0.5 || behind < 0.25) {
+            return Optional.empty();
+        }
+        // The later in the window, the less room there is to catch up
+        double confidence = clamp(0.4 + 0.5 * elapsed * Math.min(1.0, behind * 2), 0.4, 0.9);
+        return Optional.of(insight(InsightType.DEADLINE_PREDICTION,
+                behind >= 0.5 ? InsightPriority.HIGH : InsightPriority.MEDIUM,
+                "Task at risk of missing its due date",
+                String.format("\"%s\" is %d%% complete with %d%% of the time to its due date %s already used.",
+                        task.title(), task.progress(), Math.round(elapsed * 100), task.dueDate().toLocalDate()),
+                "TASK", task.taskId(), confidence, data));
+    }
+
+    private Optional<AiInsightEntity> estimateOverrun(TaskMetrics task) {
+        if (task.estimatedHours() == null || task.estimatedHours() <= 0 || task.loggedHours() <= 0) {
+            return Optional.empty();
+        }
+        double estimate = task.estimatedHours();
+        double logged = task.loggedHours();
+        // With progress reported, project total effort from the hours per percent so far
+        double projected = task.progress() > 0 ? logged / (task.progress() / 100.0) : logged;
+        double overrun = projected / estimate - 1;
+        if (overrun < 0.1) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("estimatedHours", round(estimate));
+        data.put("loggedHours", round(logged));
+        data.put("projectedHours", round(projected));
+
+        boolean alreadyOver = logged > estimate;
+        double confidence = alreadyOver ? 0.95 : clamp(0.35 + 0.6 * task.progress() / 100.0, 0.35, 0.9);
+        return Optional.of(insight(InsightType.PERFORMANCE_ANALYSIS,
+                overrun >= 0.5 ? InsightPriority.HIGH : InsightPriority.MEDIUM,
+                "Effort above estimate",
+                String.format("\"%s\" has %s of %s estimated hours logged at %d%% progress, projecting about %s hours (%d%% over).",
+                        task.title(), formatAmount(logged), formatAmount(estimate), task.progress(),
+                        formatAmount(projected), Math.round(overrun * 100)),
+                "TASK", task.taskId(), confidence, data));
+    }
+
+    // ==================== Helpers ====================
+
+    // Completions per week for the last VELOCITY_WEEKS full weeks, oldest first
+    static double[] weeklyThroughput(List<LocalDateTime> completions, LocalDate today) {
+        double[] weeks = new double[VELOCITY_WEEKS];
+        for (LocalDateTime completedAt : completions) {
+            long daysAgo = ChronoUnit.DAYS.between(completedAt.toLocalDate(), today);
+            int bucket = (int) (daysAgo / 7);
+            if (daysAgo >= 0 && bucket < VELOCITY_WEEKS) {
+                weeks[VELOCITY_WEEKS - 1 - bucket]++;
+            }
+        }
+        return weeks;
+    }
+
+    private AiInsightEntity insight(InsightType type, InsightPriority priority, String title, String description,
+                                    String entityType, Long entityId, double confidence, Map<String, Object> data) {
+        AiInsightEntity insight = new AiInsightEntity(type, title, description);
+        insight.setPriority(priority);
+        insight.setRelatedEntityType(entityType);
+        insight.setRelatedEntityId(entityId);
+        insight.setConfidenceScore(round(confidence));
+        insight.setGeneratedBy(GENERATOR);
+        insight.setInsightData(toJson(data));
+        return insight;
+    }
+
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Long> toMap(List<Map.Entry<String, Long>> entries) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+
+    private static String joinKeys(List<Map.Entry<String, Long>> entries) {
+        return entries.stream().limit(3).map(Map.Entry::getKey).collect(Collectors.joining(", "));
+    }
+
+    private static String displayName(AssigneeLoad load) {
+        return load.name() != null ? load.name() : "User " + load.userId();
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+
+    private static double stdDev(double[] values, double mean) {
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return values.length == 0 ? 0 : Math.sqrt(sum / values.length);
+    }
+
+    private static double coefficientOfVariation(double[] values) {
+        double mean = mean(values);
+        return mean == 0 ? 0 : stdDev(values, mean) / mean;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String money(double value) {
+        return String.format("%,.0f", value);
+    }
+
+    private static String formatAmount(double value) {
+        return value == Math.rint(value) ? String.format("%.0f", value) : String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,163 @@
+package com.aipm.ai_project_management.modules.ai.engine;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo forecast of remaining effort, completion time and cost for a set of open tasks.
+ * <p>
+ * Each simulation scales every open task's estimate by an actual/estimate ratio drawn from
+ * finished work, subtracts what is already logged, and then burns the remaining hours down
+ * with weekly throughputs drawn from recent history. Simulations are split across a ForkJoin
+ * pool; each leaf uses its own {@link SplittableRandom} seeded from its range, so a given seed
+ * gives the same result regardless of how the work was split. Everything runs on primitive
+ * arrays.
+ */
+@Component
+public class MonteCarloForecaster {
+
+    // Simulations per leaf task; small enough to balance, large enough to amortise forking
+    private static final int LEAF_SIZE = 256;
+
+    // Runs that would take longer than this are cut off (the team would have to change anyway)
+    static final double MAX_WEEKS = 520;
+
+    private final ForkJoinPool pool;
+
+    public MonteCarloForecaster(@Qualifier("forecastPool") ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Inputs to a forecast.
+     *
+     * @param openEstimates  estimated hours of each open task
+     * @param openLogged     hours already logged on each open task
+     * @param estimateRatios actual/estimate ratios of finished tasks; at least one
+     * @param weeklyHours    hours delivered per recent week; at least one, with a positive sum
+     * @param hourlyRate     cost of one hour of work
+     * @param spent          cost incurred so far
+     * @param budget         project budget, or 0 when there is none
+     */
+    public record ForecastInput(double[] openEstimates,
+                                double[] openLogged,
+                                double[] estimateRatios,
+                                double[] weeklyHours,
+                                double hourlyRate,
+                                double spent,
+                                double budget) {
+    }
+
+    public record Distribution(double p10, double p50, double p80, double p90, double mean) {
+    }
+
+    public record ForecastResult(int simulations,
+                                 Distribution remainingHours,
+                                 Distribution weeksToComplete,
+                                 Distribution costAtCompletion,
+                                 double overrunProbability) {
+    }
+
+    public ForecastResult simulate(ForecastInput input, int simulations, long seed) {
+        if (input.estimateRatios().length == 0 || input.weeklyHours().length == 0
+                || Arrays.stream(input.weeklyHours()).sum() <= 0) {
+            throw new IllegalArgumentException("Forecast needs estimate ratios and a positive weekly throughput");
+        }
+        double[] hours = new double[simulations];
+        double[] weeks = new double[simulations];
+        pool.invoke(new SimulationTask(input, seed, hours, weeks, 0, simulations));
+
+        double[] cost = new double[simulations];
+        int overruns = 0;
+        for (int i = 0; i < simulations; i++) {
+            cost[i] = input.spent() + hours[i] * input.hourlyRate();
+            if (input.budget() > 0 && cost[i] > input.budget()) {
+                overruns++;
+            }
+        }
+        return new ForecastResult(simulations, distribution(hours), distribution(weeks), distribution(cost),
+                simulations > 0 ? (double) overruns / simulations : 0);
+    }
+
+    // Sorts in place
+    static Distribution distribution(double[] values) {
+        if (values.length == 0) {
+            return new Distribution(0, 0, 0, 0, 0);
+        }
+        Arrays.sort(values);
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return new Distribution(percentile(values, 0.10), percentile(values, 0.50), percentile(values, 0.80),
+                percentile(values, 0.90), sum / values.length);
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static final class SimulationTask extends RecursiveAction {
+
+        private final ForecastInput input;
+        private final long seed;
+        private final double[] hours;
+        private final double[] weeks;
+        private final int from;
+        private final int to;
+
+        SimulationTask(ForecastInput input, long seed, double[] hours, double[] weeks, int from, int to) {
+            this.input = input;
+            this.seed = seed;
+            this.hours = hours;
+            this.weeks = weeks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SimulationTask(input, seed, hours, weeks, from, mid),
+                        new SimulationTask(input, seed, hours, weeks, mid, to));
+                return;
+            }
+            double[] estimates = input.openEstimates();
+            double[] logged = input.openLogged();
+            double[] ratios = input.estimateRatios();
+            double[] throughput = input.weeklyHours();
+            SplittableRandom random = new SplittableRandom(seed * 31 + from);
+
+            for (int s = from; s < to; s++) {
+                double remaining = 0;
+                for (int t = 0; t < estimates.length; t++) {
+                    double actual = estimates[t] * ratios[random.nextInt(ratios.length)];
+                    if (actual > logged[t]) {
+                        remaining += actual - logged[t];
+                    }
+                }
+                hours[s] = remaining;
+
+                double elapsed = 0;
+                while (remaining > 0 && elapsed < MAX_WEEKS) {
+                    double delivered = throughput[random.nextInt(throughput.length)];
+                    if (delivered >= remaining) {
+                        elapsed += remaining / delivered;
+                        remaining = 0;
+                    } else {
+                        remaining -= delivered;
+                        elapsed += 1;
+                    }
+                }
+                weeks[s] = Math.min(elapsed, MAX_WEEKS);
+            }
+        }
+    }
+}
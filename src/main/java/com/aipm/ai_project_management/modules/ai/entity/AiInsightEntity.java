@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_insights")
+@Table(name = "ai_insights", uniqueConstraints = @UniqueConstraint(
+        name = "uk_ai_insights_type_entity", columnNames = {"type", "related_entity_type", "related_entity_id"}))
 public class AiInsightEntity extends AuditableEntity {
 
     @Id
@@ -0,0 +1,157 @@
+package com.aipm.ai_project_management.modules.ai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A stored forecast. {@code predictedValue} holds the median outcome and {@code factors} the
+ * full distribution and inputs as JSON. Once the outcome is known {@code actualValue} is filled
+ * in and {@code isAccurate} records whether it fell inside the predicted range.
+ */
+@Entity
+@Table(name = "ai_predictions")
+public class AiPredictionEntity {
+
+    public enum EntityType {
+        PROJECT,
+        TASK
+    }
+
+    public enum PredictionType {
+        COMPLETION_DATE,
+        BUDGET_OVERRUN,
+        RISK_SCORE,
+        QUALITY_SCORE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "prediction_type", nullable = false)
+    private PredictionType predictionType;
+
+    @Column(name = "predicted_value")
+    private String predictedValue;
+
+    @Column(name = "actual_value")
+    private String actualValue;
+
+    @Column(name = "confidence_score")
+    private Double confidenceScore; // 0.0 to 1.0
+
+    @Column(name = "factors", columnDefinition = "TEXT")
+    private String factors; // JSON: percentiles, sample sizes and other inputs
+
+    @Column(name = "is_accurate")
+    private Boolean isAccurate;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AiPredictionEntity() {
+    }
+
+    public AiPredictionEntity(EntityType entityType, Long entityId, PredictionType predictionType) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.predictionType = predictionType;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public PredictionType getPredictionType() {
+        return predictionType;
+    }
+
+    public void setPredictionType(PredictionType predictionType) {
+        this.predictionType = predictionType;
+    }
+
+    public String getPredictedValue() {
+        return predictedValue;
+    }
+
+    public void setPredictedValue(String predictedValue) {
+        this.predictedValue = predictedValue;
+    }
+
+    public String getActualValue() {
+        return actualValue;
+    }
+
+    public void setActualValue(String actualValue) {
+        this.actualValue = actualValue;
+    }
+
+    public Double getConfidenceScore() {
+        return confidenceScore;
+    }
+
+    public void setConfidenceScore(Double confidenceScore) {
+        this.confidenceScore = confidenceScore;
+    }
+
+    public String getFactors() {
+        return factors;
+    }
+
+    public void setFactors(String factors) {
+        this.factors = factors;
+    }
+
+    public Boolean getIsAccurate() {
+        return isAccurate;
+    }
+
+    public void setIsAccurate(Boolean isAccurate) {
+        this.isAccurate = isAccurate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
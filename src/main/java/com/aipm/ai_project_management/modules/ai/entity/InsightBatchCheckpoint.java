@@ -0,0 +1,197 @@
+package com.aipm.ai_project_management.modules.ai.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of the scheduled insight batch. Between runs only {@code windowStart} matters: it
+ * is the point up to which changes have been processed. During a run the window end, phase and
+ * last processed id are saved after every chunk, so an interrupted run picks up where it stopped.
+ */
+@Entity
+@Table(name = "ai_insight_batch_checkpoints")
+public class InsightBatchCheckpoint {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Entity kinds in the order a run processes them
+    public enum Phase {
+        PROJECT,
+        TEAM,
+        TASK
+    }
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(name = "window_end")
+    private LocalDateTime windowEnd;
+
+    @Enumerated(EnumType.STRING)
+    private Phase phase;
+
+    @Column(name = "cursor_id")
+    private Long cursorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.COMPLETED;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_started_at")
+    private LocalDateTime lastStartedAt;
+
+    @Column(name = "last_finished_at")
+    private LocalDateTime lastFinishedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "entities_processed", nullable = false)
+    private int entitiesProcessed;
+
+    @Column(name = "insights_upserted", nullable = false)
+    private int insightsUpserted;
+
+    @Column(name = "insights_expired", nullable = false)
+    private int insightsExpired;
+
+    // Constructors
+    public InsightBatchCheckpoint() {
+    }
+
+    public InsightBatchCheckpoint(String jobName, LocalDateTime windowStart) {
+        this.jobName = jobName;
+        this.windowStart = windowStart;
+    }
+
+    public boolean isInterrupted() {
+        return status != Status.COMPLETED && windowEnd != null;
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    public Long getCursorId() {
+        return cursorId;
+    }
+
+    public void setCursorId(Long cursorId) {
+        this.cursorId = cursorId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public LocalDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public void setLastStartedAt(LocalDateTime lastStartedAt) {
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    public LocalDateTime getLastFinishedAt() {
+        return lastFinishedAt;
+    }
+
+    public void setLastFinishedAt(LocalDateTime lastFinishedAt) {
+        this.lastFinishedAt = lastFinishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public int getEntitiesProcessed() {
+        return entitiesProcessed;
+    }
+
+    public void setEntitiesProcessed(int entitiesProcessed) {
+        this.entitiesProcessed = entitiesProcessed;
+    }
+
+    public int getInsightsUpserted() {
+        return insightsUpserted;
+    }
+
+    public void setInsightsUpserted(int insightsUpserted) {
+        this.insightsUpserted = insightsUpserted;
+    }
+
+    public int getInsightsExpired() {
+        return insightsExpired;
+    }
+
+    public void setInsightsExpired(int insightsExpired) {
+        this.insightsExpired = insightsExpired;
+    }
+}
@@ -1,14 +1,19 @@
 package com.aipm.ai_project_management.modules.ai.repository;
 
+import com.aipm.ai_project_management.common.enums.TaskStatus;
 import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.team.entity.TeamMember;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -37,4 +42,86 @@ public interface AiInsightRepository extends JpaRepository<AiInsightEntity, Long
     
     @Query("SELECT COUNT(ai) FROM AiInsightEntity ai WHERE ai.relatedEntityType = :entityType AND ai.relatedEntityId = :entityId AND ai.status = 'ACTIVE'")
     long countActiveInsightsByEntity(@Param("entityType") String entityType, @Param("entityId") Long entityId);
-}
\ No newline at end of file
+    
+    // Every insight row of a set of entities, in any status, for upserting by (type, entity)
+    List<AiInsightEntity> findByRelatedEntityTypeAndRelatedEntityIdIn(String entityType, Collection<Long> entityIds);
+    
+    // Expire active insights of the given entities that a refresh did not produce again
+    @Modifying
+    @Query("UPDATE AiInsightEntity ai SET ai.status = :expired, ai.updatedAt = :now " +
+           "WHERE ai.relatedEntityType = :entityType AND ai.relatedEntityId IN :entityIds AND ai.status = :active AND ai.id NOT IN :keepIds")
+    int expireActiveByEntitiesExcept(@Param("entityType") String entityType,
+                                     @Param("entityIds") Collection<Long> entityIds,
+                                     @Param("keepIds") Collection<Long> keepIds,
+                                     @Param("active") AiInsightEntity.InsightStatus active,
+                                     @Param("expired") AiInsightEntity.InsightStatus expired,
+                                     @Param("now") LocalDateTime now);
+    
+    // Same as above when a refresh produced nothing for any of the entities
+    @Modifying
+    @Query("UPDATE AiInsightEntity ai SET ai.status = :expired, ai.updatedAt = :now " +
+           "WHERE ai.relatedEntityType = :entityType AND ai.relatedEntityId IN :entityIds AND ai.status = :active")
+    int expireActiveByEntities(@Param("entityType") String entityType,
+                               @Param("entityIds") Collection<Long> entityIds,
+                               @Param("active") AiInsightEntity.InsightStatus active,
+                               @Param("expired") AiInsightEntity.InsightStatus expired,
+                               @Param("now") LocalDateTime now);
+    
+    // Expire every active insight past its expiry time in one statement
+    @Modifying
+    @Query("UPDATE AiInsightEntity ai SET ai.status = :expired, ai.updatedAt = :now " +
+           "WHERE ai.status = :active AND ai.expiresAt IS NOT NULL AND ai.expiresAt < :now")
+    int expireActiveBefore(@Param("active") AiInsightEntity.InsightStatus active,
+                           @Param("expired") AiInsightEntity.InsightStatus expired,
+                           @Param("now") LocalDateTime now);
+    
+    // Change detection for the insight batch. Each query returns the next chunk of entity ids after a
+    // cursor that changed in (since, until] or hold active insights expiring before refreshBefore.
+    
+    // Projects edited, with task activity, or passing their end date in the window
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId AND (" +
+           "(p.updatedAt > :since AND p.updatedAt <= :until) " +
+           "OR (p.endDate >= :sinceDate AND p.endDate < :untilDate) " +
+           "OR EXISTS (SELECT t.id FROM Task t WHERE t.projectId = p.id AND t.updatedAt > :since AND t.updatedAt <= :until) " +
+           "OR EXISTS (SELECT ai.id FROM AiInsightEntity ai WHERE ai.relatedEntityType = 'PROJECT' AND ai.relatedEntityId = p.id " +
+           "AND ai.status = :active AND ai.expiresAt <= :refreshBefore)) " +
+           "ORDER BY p.id")
+    List<Long> findChangedProjectIds(@Param("afterId") Long afterId,
+                                     @Param("since") LocalDateTime since,
+                                     @Param("until") LocalDateTime until,
+                                     @Param("sinceDate") LocalDate sinceDate,
+                                     @Param("untilDate") LocalDate untilDate,
+                                     @Param("active") AiInsightEntity.InsightStatus active,
+                                     @Param("refreshBefore") LocalDateTime refreshBefore,
+                                     Pageable pageable);
+    
+    // Teams whose membership changed or whose members' tasks changed in the window
+    @Query("SELECT DISTINCT tm.team.id FROM TeamMember tm WHERE tm.team.id > :afterId AND tm.status = :memberStatus AND (" +
+           "(tm.updatedAt > :since AND tm.updatedAt <= :until) " +
+           "OR EXISTS (SELECT t.id FROM Task t WHERE t.assigneeId = tm.user.id AND t.updatedAt > :since AND t.updatedAt <= :until) " +
+           "OR EXISTS (SELECT ai.id FROM AiInsightEntity ai WHERE ai.relatedEntityType = 'TEAM' AND ai.relatedEntityId = tm.team.id " +
+           "AND ai.status = :active AND ai.expiresAt <= :refreshBefore)) " +
+           "ORDER BY tm.team.id")
+    List<Long> findChangedTeamIds(@Param("afterId") Long afterId,
+                                  @Param("memberStatus") TeamMember.Status memberStatus,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("until") LocalDateTime until,
+                                  @Param("active") AiInsightEntity.InsightStatus active,
+                                  @Param("refreshBefore") LocalDateTime refreshBefore,
+                                  Pageable pageable);
+    
+    // Tasks edited or reaching their due date in the window; closed ones are included so their insights expire
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId AND (" +
+           "(t.updatedAt > :since AND t.updatedAt <= :until) " +
+           "OR (t.dueDate > :since AND t.dueDate <= :until AND t.status NOT IN :closedStatuses) " +
+           "OR EXISTS (SELECT ai.id FROM AiInsightEntity ai WHERE ai.relatedEntityType = 'TASK' AND ai.relatedEntityId = t.id " +
+           "AND ai.status = :active AND ai.expiresAt <= :refreshBefore)) " +
+           "ORDER BY t.id")
+    List<Long> findChangedTaskIds(@Param("afterId") Long afterId,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("until") LocalDateTime until,
+                                  @Param("closedStatuses") Collection<TaskStatus> closedStatuses,
+                                  @Param("active") AiInsightEntity.InsightStatus active,
+                                  @Param("refreshBefore") LocalDateTime refreshBefore,
+                                  Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.aipm.ai_project_management.modules.ai.repository;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AiPredictionRepository extends JpaRepository<AiPredictionEntity, Long> {
+
+    // Prediction history of an entity, newest first
+    List<AiPredictionEntity> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(
+        AiPredictionEntity.EntityType entityType, Long entityId, Pageable pageable);
+
+    // Project predictions of the given types without an actual whose project has reached one of the given statuses
+    @Query("SELECT p FROM AiPredictionEntity p WHERE p.entityType = 'PROJECT' AND p.actualValue IS NULL " +
+           "AND p.id > :afterId AND p.predictionType IN :types " +
+           "AND p.entityId IN (SELECT pr.id FROM Project pr WHERE pr.status IN :statuses) ORDER BY p.id")
+    List<AiPredictionEntity> findUnresolvedProjectPredictions(@Param("afterId") Long afterId,
+                                                              @Param("types") Collection<AiPredictionEntity.PredictionType> types,
+                                                              @Param("statuses") Collection<ProjectStatus> statuses,
+                                                              Pageable pageable);
+
+    // Accuracy counts of a prediction type as [isAccurate, count]; null means not yet evaluated
+    @Query("SELECT p.isAccurate, COUNT(p) FROM AiPredictionEntity p WHERE p.predictionType = :type GROUP BY p.isAccurate")
+    List<Object[]> countByAccuracy(@Param("type") AiPredictionEntity.PredictionType type);
+
+    // Most recently evaluated predictions of a type, for error statistics
+    @Query("SELECT p FROM AiPredictionEntity p WHERE p.predictionType = :type AND p.actualValue IS NOT NULL ORDER BY p.createdAt DESC")
+    List<AiPredictionEntity> findEvaluated(@Param("type") AiPredictionEntity.PredictionType type, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.aipm.ai_project_management.modules.ai.repository;
+
+import com.aipm.ai_project_management.modules.ai.entity.InsightBatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface InsightBatchCheckpointRepository extends JpaRepository<InsightBatchCheckpoint, String> {
+
+    // Take the job lease when it is free, expired or already ours; returns 0 when another node holds it
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InsightBatchCheckpoint c SET c.leaseOwner = :owner, c.leaseUntil = :leaseUntil " +
+           "WHERE c.jobName = :jobName AND (c.leaseOwner IS NULL OR c.leaseOwner = :owner OR c.leaseUntil < :now)")
+    int acquireLease(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -24,6 +24,11 @@ public interface AiService {
      */
     List<AiInsightDTO> generateTeamInsights(Long teamId);
     
+    /**
+     * Generate AI insights for all planning and in-progress projects, returning the number stored
+     */
+    int generateActiveProjectInsights();
+    
     /**
      * Get all active insights
      */
@@ -57,7 +62,7 @@ public interface AiService {
     /**
      * Clean up expired insights
      */
-    void cleanupExpiredInsights();
+    int cleanupExpiredInsights();
     
     /**
      * Get insight statistics
@@ -0,0 +1,531 @@
+package com.aipm.ai_project_management.modules.ai.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.ai.dto.PredictionAccuracyDTO;
+import com.aipm.ai_project_management.modules.ai.dto.ProjectForecastDTO;
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster;
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster.Distribution;
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster.ForecastInput;
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster.ForecastResult;
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity.EntityType;
+import com.aipm.ai_project_management.modules.ai.entity.AiPredictionEntity.PredictionType;
+import com.aipm.ai_project_management.modules.ai.repository.AiPredictionRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Probabilistic completion-date and budget forecasts for projects, stored in {@code ai_predictions}.
+ * <p>
+ * Inputs come from a few aggregate queries: open tasks' estimates and logged hours, how far actual
+ * hours strayed from estimates on finished tasks, and weekly hours logged on the project recently.
+ * {@link MonteCarloForecaster} turns them into distributions, whose medians are stored as the
+ * predicted values and whose P10-P90 ranges go into the factors. Once a project completes, a
+ * nightly backfill records the actual outcome and whether it landed inside the range, which is
+ * what {@link #getAccuracy} reports on.
+ */
+@Service
+public class ForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForecastService.class);
+
+    private static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.DONE, TaskStatus.CANCELLED);
+
+    // Actual/estimate ratios when no finished task anywhere has both; estimates tend to run optimistic
+    private static final double[] DEFAULT_RATIOS = {0.8, 1.0, 1.0, 1.2, 1.5};
+
+    // Ratios outside this range are data-entry mistakes rather than estimation error
+    private static final double MIN_RATIO = 0.1;
+    private static final double MAX_RATIO = 10;
+
+    private static final int MIN_SIMULATIONS = 100;
+    private static final int BACKFILL_CHUNK = 200;
+    private static final int ERROR_SAMPLE = 1000;
+
+    private static final List<PredictionType> FORECAST_TYPES =
+            List.of(PredictionType.COMPLETION_DATE, PredictionType.BUDGET_OVERRUN);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectTeamMemberRepository projectTeamMemberRepository;
+    private final TaskRepository taskRepository;
+    private final TimeTrackingRepository timeTrackingRepository;
+    private final AiPredictionRepository aiPredictionRepository;
+    private final MonteCarloForecaster forecaster;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Value("${app.ai.forecast.simulations:10000}")
+    private int defaultSimulations;
+
+    @Value("${app.ai.forecast.max-simulations:100000}")
+    private int maxSimulations;
+
+    @Value("${app.ai.forecast.history-weeks:12}")
+    private int historyWeeks;
+
+    // Below this many finished tasks the project's own estimate accuracy is too noisy to use alone
+    @Value("${app.ai.forecast.min-project-samples:20}")
+    private int minProjectSamples;
+
+    @Value("${app.ai.forecast.org-samples:2000}")
+    private int orgSamples;
+
+    @Value("${app.ai.forecast.default-task-hours:8}")
+    private double defaultTaskHours;
+
+    @Value("${app.ai.forecast.weekly-hours-per-member:30}")
+    private double weeklyHoursPerMember;
+
+    @Value("${app.ai.forecast.default-hourly-rate:75}")
+    private double defaultHourlyRate;
+
+    @Value("${app.ai.forecast.backfill.enabled:true}")
+    private boolean backfillEnabled;
+
+    public ForecastService(ProjectRepository projectRepository,
+                           ProjectTeamMemberRepository projectTeamMemberRepository,
+                           TaskRepository taskRepository,
+                           TimeTrackingRepository timeTrackingRepository,
+                           AiPredictionRepository aiPredictionRepository,
+                           MonteCarloForecaster forecaster,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.projectTeamMemberRepository = projectTeamMemberRepository;
+        this.taskRepository = taskRepository;
+        this.timeTrackingRepository = timeTrackingRepository;
+        this.aiPredictionRepository = aiPredictionRepository;
+        this.forecaster = forecaster;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Forecasts a project and stores the completion-date prediction, plus a budget-overrun
+     * prediction when the project has a budget. Simulation runs outside any transaction.
+     */
+    public ProjectForecastDTO forecastProject(Long projectId, Integer simulations) {
+        int runs = simulations != null ? simulations : defaultSimulations;
+        if (runs < MIN_SIMULATIONS || runs > maxSimulations) {
+            throw new ValidationException("simulations",
+                    "Simulations must be between " + MIN_SIMULATIONS + " and " + maxSimulations);
+        }
+
+        LocalDate today = LocalDate.now();
+        Inputs inputs = readOnlyTransactionTemplate.execute(status -> loadInputs(projectId, today));
+
+        long started = System.nanoTime();
+        // Seeded per project and day so repeating a forecast on the same data gives the same answer
+        ForecastResult result = forecaster.simulate(inputs.forecast(), runs, projectId * 31 + today.toEpochDay());
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        ProjectForecastDTO dto = toDto(projectId, inputs, result, today, elapsedMs);
+        transactionTemplate.executeWithoutResult(status -> {
+            dto.setCompletionPredictionId(aiPredictionRepository.save(completionPrediction(dto, result)).getId());
+            if (dto.getBudget() != null) {
+                dto.setBudgetPredictionId(aiPredictionRepository.save(budgetPrediction(dto, result)).getId());
+            }
+        });
+        logger.debug("Forecast project {}: {} simulations over {} open tasks in {} ms, P50 {}",
+                projectId, runs, inputs.forecast().openEstimates().length, elapsedMs, dto.getCompletionDateP50());
+        return dto;
+    }
+
+    @Scheduled(cron = "${app.ai.forecast.backfill.cron:0 30 3 * * *}")
+    public void scheduledBackfill() {
+        if (backfillEnabled) {
+            backfillActuals();
+        }
+    }
+
+    /**
+     * Records actual outcomes on predictions of projects that have completed since they were made.
+     * Works through them in id order, one transaction per chunk.
+     *
+     * @return the number of predictions resolved
+     */
+    public int backfillActuals() {
+        int resolved = 0;
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<AiPredictionEntity> chunk = transactionTemplate.execute(status -> {
+                List<AiPredictionEntity> predictions = aiPredictionRepository.findUnresolvedProjectPredictions(
+                        cursor, FORECAST_TYPES, List.of(ProjectStatus.COMPLETED), PageRequest.of(0, BACKFILL_CHUNK));
+                Map<Long, Project> projects = projectRepository
+                        .findAllById(predictions.stream().map(AiPredictionEntity::getEntityId).collect(Collectors.toSet()))
+                        .stream().collect(Collectors.toMap(Project::getId, Function.identity()));
+                predictions.forEach(prediction -> resolve(prediction, projects.get(prediction.getEntityId())));
+                return predictions;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            resolved += (int) chunk.stream().filter(prediction -> prediction.getActualValue() != null).count();
+            afterId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < BACKFILL_CHUNK) {
+                break;
+            }
+        }
+        if (resolved > 0) {
+            logger.info("Backfilled actual outcomes on {} predictions", resolved);
+        }
+        return resolved;
+    }
+
+    public PredictionAccuracyDTO getAccuracy(PredictionType type) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            PredictionAccuracyDTO dto = new PredictionAccuracyDTO(type);
+            long total = 0;
+            long evaluated = 0;
+            long accurate = 0;
+            for (Object[] row : aiPredictionRepository.countByAccuracy(type)) {
+                long count = ((Number) row[1]).longValue();
+                total += count;
+                if (row[0] != null) {
+                    evaluated += count;
+                    accurate += Boolean.TRUE.equals(row[0]) ? count : 0;
+                }
+            }
+            dto.setTotal(total);
+            dto.setEvaluated(evaluated);
+            dto.setAccurate(accurate);
+            dto.setAccuracyRate(evaluated > 0 ? round((double) accurate / evaluated, 4) : null);
+
+            if (FORECAST_TYPES.contains(type)) {
+                double errorSum = 0;
+                int errors = 0;
+                for (AiPredictionEntity prediction : aiPredictionRepository.findEvaluated(type, PageRequest.of(0, ERROR_SAMPLE))) {
+                    Double error = absoluteError(prediction);
+                    if (error != null) {
+                        errorSum += error;
+                        errors++;
+                    }
+                }
+                dto.setMeanAbsoluteError(errors > 0 ? round(errorSum / errors, 2) : null);
+                dto.setErrorUnit(type == PredictionType.COMPLETION_DATE ? "days" : "currency");
+            }
+            return dto;
+        });
+    }
+
+    private Inputs loadInputs(Long projectId, LocalDate today) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        if (project.getStatus() == ProjectStatus.COMPLETED || project.getStatus() == ProjectStatus.CANCELLED) {
+            throw new ValidationException("projectId", "Project " + projectId + " is already " + project.getStatus());
+        }
+
+        // Open tasks without an estimate are assumed to be as big as the estimated ones
+        List<Object[]> openWork = taskRepository.findOpenWorkByProjectId(projectId, CLOSED_STATUSES);
+        double estimatedSum = 0;
+        int estimatedCount = 0;
+        for (Object[] row : openWork) {
+            if (row[0] != null && ((Number) row[0]).doubleValue() > 0) {
+                estimatedSum += ((Number) row[0]).doubleValue();
+                estimatedCount++;
+            }
+        }
+        double fallbackEstimate = estimatedCount > 0 ? estimatedSum / estimatedCount : defaultTaskHours;
+        double[] estimates = new double[openWork.size()];
+        double[] logged = new double[openWork.size()];
+        for (int i = 0; i < openWork.size(); i++) {
+            Object[] row = openWork.get(i);
+            double estimate = row[0] != null ? ((Number) row[0]).doubleValue() : 0;
+            estimates[i] = estimate > 0 ? estimate : fallbackEstimate;
+            logged[i] = row[1] != null ? ((Number) row[1]).doubleValue() : 0;
+        }
+
+        String historyScope = "PROJECT";
+        List<Object[]> history = timeTrackingRepository.sumHoursAgainstEstimateByProjectId(projectId, TaskStatus.DONE);
+        if (history.size() < minProjectSamples) {
+            List<Object[]> organization = timeTrackingRepository.sumHoursAgainstEstimate(TaskStatus.DONE, PageRequest.of(0, orgSamples));
+            if (organization.size() > history.size()) {
+                history = organization;
+                historyScope = "ORGANIZATION";
+            }
+        }
+        double[] ratios = estimateRatios(history);
+        if (ratios.length == 0) {
+            ratios = DEFAULT_RATIOS.clone();
+            historyScope = "DEFAULT";
+        }
+
+        double[] weeklyHours = weeklyHours(projectId, today);
+        int throughputWeeks = weeklyHours.length;
+        if (throughputWeeks == 0) {
+            // Nothing logged recently: assume the current team works its usual hours on the project
+            long members = projectTeamMemberRepository.countActiveByProjectId(projectId);
+            weeklyHours = new double[] {Math.max(1, members) * weeklyHoursPerMember};
+        }
+
+        double spent = project.getSpent() != null ? project.getSpent().doubleValue() : 0;
+        double budget = project.getBudget() != null ? project.getBudget().doubleValue() : 0;
+        ForecastInput forecast = new ForecastInput(estimates, logged, ratios, weeklyHours,
+                hourlyRate(projectId, spent), spent, budget);
+        return new Inputs(forecast, project.getBudget(), project.getSpent(), historyScope,
+                "DEFAULT".equals(historyScope) ? 0 : ratios.length, throughputWeeks);
+    }
+
+    private static double[] estimateRatios(List<Object[]> history) {
+        double[] ratios = new double[history.size()];
+        int count = 0;
+        for (Object[] row : history) {
+            double estimate = ((Number) row[0]).doubleValue();
+            double actual = row[1] != null ? ((Number) row[1]).doubleValue() : 0;
+            double ratio = actual / estimate;
+            if (ratio >= MIN_RATIO && ratio <= MAX_RATIO) {
+                ratios[count++] = ratio;
+            }
+        }
+        return Arrays.copyOf(ratios, count);
+    }
+
+    // Hours logged per week over the history window, starting from the first week with any time
+    // so a project younger than the window is not diluted by weeks before it began
+    private double[] weeklyHours(Long projectId, LocalDate today) {
+        LocalDate since = today.minusDays(7L * historyWeeks - 1);
+        double[] weeks = new double[historyWeeks];
+        for (Object[] row : timeTrackingRepository.sumHoursByDateForProjectSince(projectId, since)) {
+            int week = (int) (ChronoUnit.DAYS.between(since, (LocalDate) row[0]) / 7);
+            if (week >= 0 && week < historyWeeks && row[1] != null) {
+                weeks[week] += ((Number) row[1]).doubleValue();
+            }
+        }
+        int first = 0;
+        while (first < historyWeeks && weeks[first] <= 0) {
+            first++;
+        }
+        return Arrays.copyOfRange(weeks, first, historyWeeks);
+    }
+
+    // Rate from entries that carry one, else spend per logged hour, else the configured default
+    private double hourlyRate(Long projectId, double spent) {
+        List<Object[]> rated = timeTrackingRepository.sumRatedCostAndHoursByProjectId(projectId);
+        if (!rated.isEmpty() && rated.get(0)[0] != null && rated.get(0)[1] != null
+                && ((Number) rated.get(0)[1]).doubleValue() > 0) {
+            return ((Number) rated.get(0)[0]).doubleValue() / ((Number) rated.get(0)[1]).doubleValue();
+        }
+        Double totalHours = timeTrackingRepository.getTotalHoursByProjectId(projectId);
+        if (spent > 0 && totalHours != null && totalHours > 0) {
+            return spent / totalHours;
+        }
+        return defaultHourlyRate;
+    }
+
+    private ProjectForecastDTO toDto(Long projectId, Inputs inputs, ForecastResult result, LocalDate today, long elapsedMs) {
+        ForecastInput forecast = inputs.forecast();
+        Distribution hours = result.remainingHours();
+        Distribution weeks = result.weeksToComplete();
+        Distribution cost = result.costAtCompletion();
+
+        ProjectForecastDTO dto = new ProjectForecastDTO(projectId, LocalDateTime.now(), result.simulations());
+        dto.setElapsedMs(elapsedMs);
+        dto.setOpenTasks(forecast.openEstimates().length);
+        dto.setHistoryScope(inputs.historyScope());
+        dto.setHistorySamples(inputs.historySamples());
+        dto.setThroughputWeeks(inputs.throughputWeeks());
+        dto.setWeeklyHoursMean(round(Arrays.stream(forecast.weeklyHours()).average().orElse(0), 2));
+        dto.setRemainingHoursP10(round(hours.p10(), 1));
+        dto.setRemainingHoursP50(round(hours.p50(), 1));
+        dto.setRemainingHoursP90(round(hours.p90(), 1));
+        dto.setCompletionDateP10(completionDate(today, weeks.p10()));
+        dto.setCompletionDateP50(completionDate(today, weeks.p50()));
+        dto.setCompletionDateP80(completionDate(today, weeks.p80()));
+        dto.setCompletionDateP90(completionDate(today, weeks.p90()));
+        dto.setHourlyRate(round(forecast.hourlyRate(), 2));
+        dto.setSpent(inputs.spent());
+        dto.setCostAtCompletionP10(money(cost.p10()));
+        dto.setCostAtCompletionP50(money(cost.p50()));
+        dto.setCostAtCompletionP90(money(cost.p90()));
+        if (inputs.budget() != null && inputs.budget().signum() > 0) {
+            dto.setBudget(inputs.budget());
+            dto.setOverrunProbability(round(result.overrunProbability(), 4));
+        }
+        dto.setConfidence(confidence(inputs));
+        return dto;
+    }
+
+    // Grows with the number of finished tasks behind the estimate ratios and with weeks of throughput
+    // history; organisation-wide ratios and an assumed team capacity each count for less
+    private static double confidence(Inputs inputs) {
+        double scopeWeight = switch (inputs.historyScope()) {
+            case "PROJECT" -> 1.0;
+            case "ORGANIZATION" -> 0.7;
+            default -> 0.3;
+        };
+        double samples = inputs.historySamples();
+        double sampleWeight = scopeWeight * (samples + 5) / (samples + 25);
+        double weeks = inputs.throughputWeeks();
+        double historyWeight = 0.3 + 0.7 * weeks / (weeks + 4);
+        return round(0.2 + 0.75 * sampleWeight * historyWeight, 2);
+    }
+
+    private AiPredictionEntity completionPrediction(ProjectForecastDTO dto, ForecastResult result) {
+        Map<String, Object> factors = new LinkedHashMap<>();
+        factors.put("p10", dto.getCompletionDateP10().toString());
+        factors.put("p50", dto.getCompletionDateP50().toString());
+        factors.put("p80", dto.getCompletionDateP80().toString());
+        factors.put("p90", dto.getCompletionDateP90().toString());
+        factors.put("weeksP50", round(result.weeksToComplete().p50(), 2));
+        factors.put("remainingHoursP10", dto.getRemainingHoursP10());
+        factors.put("remainingHoursP50", dto.getRemainingHoursP50());
+        factors.put("remainingHoursP90", dto.getRemainingHoursP90());
+        factors.put("weeklyHoursMean", dto.getWeeklyHoursMean());
+        factors.put("throughputWeeks", dto.getThroughputWeeks());
+        factors.put("openTasks", dto.getOpenTasks());
+        factors.put("historyScope", dto.getHistoryScope());
+        factors.put("historySamples", dto.getHistorySamples());
+        factors.put("simulations", dto.getSimulations());
+
+        AiPredictionEntity prediction = new AiPredictionEntity(EntityType.PROJECT, dto.getProjectId(), PredictionType.COMPLETION_DATE);
+        prediction.setPredictedValue(dto.getCompletionDateP50().toString());
+        prediction.setConfidenceScore(dto.getConfidence());
+        prediction.setFactors(toJson(factors));
+        return prediction;
+    }
+
+    // Predicted value and range are the overrun (cost at completion minus budget); negative means under budget
+    private AiPredictionEntity budgetPrediction(ProjectForecastDTO dto, ForecastResult result) {
+        BigDecimal budget = dto.getBudget();
+        Map<String, Object> factors = new LinkedHashMap<>();
+        factors.put("p10", dto.getCostAtCompletionP10().subtract(budget));
+        factors.put("p50", dto.getCostAtCompletionP50().subtract(budget));
+        factors.put("p90", dto.getCostAtCompletionP90().subtract(budget));
+        factors.put("overrunProbability", dto.getOverrunProbability());
+        factors.put("budget", budget);
+        factors.put("spent", dto.getSpent());
+        factors.put("hourlyRate", dto.getHourlyRate());
+        factors.put("costMean", money(result.costAtCompletion().mean()));
+        factors.put("historyScope", dto.getHistoryScope());
+        factors.put("historySamples", dto.getHistorySamples());
+        factors.put("simulations", dto.getSimulations());
+
+        AiPredictionEntity prediction = new AiPredictionEntity(EntityType.PROJECT, dto.getProjectId(), PredictionType.BUDGET_OVERRUN);
+        prediction.setPredictedValue(dto.getCostAtCompletionP50().subtract(budget).toPlainString());
+        prediction.setConfidenceScore(dto.getConfidence());
+        prediction.setFactors(toJson(factors));
+        return prediction;
+    }
+
+    // actualEndDate is not maintained everywhere, so the last update of a completed project stands in for it
+    private void resolve(AiPredictionEntity prediction, Project project) {
+        if (project == null) {
+            return;
+        }
+        JsonNode factors = readFactors(prediction);
+        try {
+            if (prediction.getPredictionType() == PredictionType.COMPLETION_DATE) {
+                LocalDate actual = project.getActualEndDate() != null
+                        ? project.getActualEndDate()
+                        : project.getUpdatedAt().toLocalDate();
+                prediction.setActualValue(actual.toString());
+                if (factors != null && factors.hasNonNull("p10") && factors.hasNonNull("p90")) {
+                    prediction.setIsAccurate(!actual.isBefore(LocalDate.parse(factors.get("p10").asText()))
+                            && !actual.isAfter(LocalDate.parse(factors.get("p90").asText())));
+                }
+            } else if (prediction.getPredictionType() == PredictionType.BUDGET_OVERRUN) {
+                BigDecimal spent = project.getSpent() != null ? project.getSpent() : BigDecimal.ZERO;
+                BigDecimal budget = project.getBudget() != null ? project.getBudget() : BigDecimal.ZERO;
+                BigDecimal actual = spent.subtract(budget);
+                prediction.setActualValue(actual.toPlainString());
+                if (factors != null && factors.hasNonNull("p10") && factors.hasNonNull("p90")) {
+                    prediction.setIsAccurate(actual.compareTo(factors.get("p10").decimalValue()) >= 0
+                            && actual.compareTo(factors.get("p90").decimalValue()) <= 0);
+                }
+            }
+        } catch (DateTimeParseException e) {
+            logger.warn("Prediction {} has an unreadable range: {}", prediction.getId(), e.getMessage());
+        }
+    }
+
+    private static Double absoluteError(AiPredictionEntity prediction) {
+        if (prediction.getPredictedValue() == null || prediction.getActualValue() == null) {
+            return null;
+        }
+        try {
+            if (prediction.getPredictionType() == PredictionType.COMPLETION_DATE) {
+                return (double) Math.abs(ChronoUnit.DAYS.between(
+                        LocalDate.parse(prediction.getPredictedValue()), LocalDate.parse(prediction.getActualValue())));
+            }
+            return Math.abs(Double.parseDouble(prediction.getActualValue()) - Double.parseDouble(prediction.getPredictedValue()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private JsonNode readFactors(AiPredictionEntity prediction) {
+        if (prediction.getFactors() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(prediction.getFactors());
+        } catch (JsonProcessingException e) {
+            logger.warn("Prediction {} has unreadable factors: {}", prediction.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(Map<String, Object> factors) {
+        try {
+            return objectMapper.writeValueAsString(factors);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize forecast factors", e);
+        }
+    }
+
+    private static LocalDate completionDate(LocalDate today, double weeks) {
+        return today.plusDays((long) Math.ceil(weeks * 7));
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double round(double value, int places) {
+        return BigDecimal.valueOf(value).setScale(places, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private record Inputs(ForecastInput forecast,
+                          BigDecimal budget,
+                          BigDecimal spent,
+                          String historyScope,
+                          int historySamples,
+                          int throughputWeeks) {
+    }
+}
@@ -0,0 +1,245 @@
+package com.aipm.ai_project_management.modules.ai.service;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightStatus;
+import com.aipm.ai_project_management.modules.ai.entity.InsightBatchCheckpoint;
+import com.aipm.ai_project_management.modules.ai.entity.InsightBatchCheckpoint.Phase;
+import com.aipm.ai_project_management.modules.ai.repository.AiInsightRepository;
+import com.aipm.ai_project_management.modules.ai.repository.InsightBatchCheckpointRepository;
+import com.aipm.ai_project_management.modules.ai.service.InsightGenerationService.RefreshResult;
+import com.aipm.ai_project_management.modules.team.entity.TeamMember;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Scheduled, incremental insight generation across the whole portfolio.
+ * <p>
+ * Each run covers the change window from the previous run's end to now. Projects, teams and tasks
+ * that changed in the window (or whose insights are about to expire) are refreshed in chunks through
+ * {@link InsightGenerationService}, which computes a chunk in parallel and upserts the results.
+ * The checkpoint row records the window, phase and last id after every chunk, so a run interrupted
+ * by a crash or deploy resumes where it stopped; a lease on the same row keeps concurrent nodes from
+ * running the job twice. Each run ends by expiring every active insight past its expiry time.
+ */
+@Service
+public class InsightBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsightBatchService.class);
+
+    static final String JOB_NAME = "insight-batch";
+
+    // Watermark for the very first run, so it covers everything
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.DONE, TaskStatus.CANCELLED);
+
+    private final InsightGenerationService insightGenerationService;
+    private final AiInsightRepository aiInsightRepository;
+    private final InsightBatchCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Timer runTimer;
+    private final Counter upsertedCounter;
+    private final Counter staleExpiredCounter;
+    private final Counter ttlExpiredCounter;
+
+    @Value("${app.ai.insights.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ai.insights.batch.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${app.ai.insights.batch.lease-seconds:600}")
+    private long leaseSeconds;
+
+    // Insights expiring within this many hours of the window end are recomputed ahead of time
+    @Value("${app.ai.insights.batch.refresh-ahead-hours:24}")
+    private long refreshAheadHours;
+
+    public InsightBatchService(InsightGenerationService insightGenerationService,
+                               AiInsightRepository aiInsightRepository,
+                               InsightBatchCheckpointRepository checkpointRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.insightGenerationService = insightGenerationService;
+        this.aiInsightRepository = aiInsightRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        this.runTimer = Timer.builder("ai.insights.batch.duration")
+                .description("Time to process one insight batch run")
+                .register(meterRegistry);
+        this.upsertedCounter = meterRegistry.counter("ai.insights.upserted");
+        this.staleExpiredCounter = meterRegistry.counter("ai.insights.expired", "reason", "stale");
+        this.ttlExpiredCounter = meterRegistry.counter("ai.insights.expired", "reason", "ttl");
+    }
+
+    @Scheduled(fixedDelayString = "${app.ai.insights.batch.interval-ms:900000}",
+               initialDelayString = "${app.ai.insights.batch.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runBatch();
+        }
+    }
+
+    /**
+     * Run (or resume) one batch. Returns the checkpoint as left by the run, or {@code null} when
+     * another node holds the lease.
+     */
+    public InsightBatchCheckpoint runBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        InsightBatchCheckpoint checkpoint = acquire(now);
+        if (checkpoint == null) {
+            meterRegistry.counter("ai.insights.batch.runs", "outcome", "skipped").increment();
+            logger.debug("Insight batch skipped, another node holds the lease");
+            return null;
+        }
+
+        if (checkpoint.isInterrupted()) {
+            logger.info("Resuming insight batch window {} - {} at {} after id {}",
+                    checkpoint.getWindowStart(), checkpoint.getWindowEnd(), checkpoint.getPhase(), checkpoint.getCursorId());
+        } else {
+            checkpoint.setWindowEnd(now);
+            checkpoint.setPhase(Phase.PROJECT);
+            checkpoint.setCursorId(0L);
+            checkpoint.setEntitiesProcessed(0);
+            checkpoint.setInsightsUpserted(0);
+            checkpoint.setInsightsExpired(0);
+        }
+        checkpoint.setStatus(InsightBatchCheckpoint.Status.RUNNING);
+        checkpoint.setLastStartedAt(now);
+        checkpoint.setLastError(null);
+        checkpoint = save(checkpoint);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            for (Phase phase : Phase.values()) {
+                if (phase.ordinal() >= checkpoint.getPhase().ordinal()) {
+                    checkpoint = processPhase(checkpoint, phase);
+                }
+            }
+
+            int ttlExpired = transactionTemplate.execute(tx -> aiInsightRepository.expireActiveBefore(
+                    InsightStatus.ACTIVE, InsightStatus.EXPIRED, LocalDateTime.now()));
+            ttlExpiredCounter.increment(ttlExpired);
+
+            checkpoint.setInsightsExpired(checkpoint.getInsightsExpired() + ttlExpired);
+            checkpoint.setWindowStart(checkpoint.getWindowEnd());
+            checkpoint.setWindowEnd(null);
+            checkpoint.setPhase(null);
+            checkpoint.setCursorId(null);
+            checkpoint.setStatus(InsightBatchCheckpoint.Status.COMPLETED);
+            checkpoint.setLastFinishedAt(LocalDateTime.now());
+            checkpoint.setLeaseOwner(null);
+            checkpoint.setLeaseUntil(null);
+            checkpoint = save(checkpoint);
+
+            meterRegistry.counter("ai.insights.batch.runs", "outcome", "completed").increment();
+            logger.info("Insight batch completed: {} entities, {} insights upserted, {} expired",
+                    checkpoint.getEntitiesProcessed(), checkpoint.getInsightsUpserted(), checkpoint.getInsightsExpired());
+            return checkpoint;
+        } catch (RuntimeException e) {
+            // Window, phase and cursor stay as saved after the last chunk so the next run resumes
+            checkpoint.setStatus(InsightBatchCheckpoint.Status.FAILED);
+            checkpoint.setLastError(truncate(e.getMessage()));
+            checkpoint.setLastFinishedAt(LocalDateTime.now());
+            checkpoint.setLeaseOwner(null);
+            checkpoint.setLeaseUntil(null);
+            meterRegistry.counter("ai.insights.batch.runs", "outcome", "failed").increment();
+            logger.error("Insight batch failed in {} after id {}", checkpoint.getPhase(), checkpoint.getCursorId(), e);
+            return save(checkpoint);
+        } finally {
+            sample.stop(runTimer);
+        }
+    }
+
+    private InsightBatchCheckpoint processPhase(InsightBatchCheckpoint checkpoint, Phase phase) {
+        if (checkpoint.getPhase() != phase) {
+            checkpoint.setPhase(phase);
+            checkpoint.setCursorId(0L);
+        }
+        LocalDateTime since = checkpoint.getWindowStart();
+        LocalDateTime until = checkpoint.getWindowEnd();
+        LocalDateTime refreshBefore = until.plusHours(refreshAheadHours);
+        Counter entityCounter = meterRegistry.counter("ai.insights.batch.entities", "type", phase.name());
+
+        while (true) {
+            long afterId = checkpoint.getCursorId();
+            List<Long> ids = findChangedIds(phase, afterId, since, until, refreshBefore);
+            if (ids.isEmpty()) {
+                return checkpoint;
+            }
+
+            RefreshResult result = insightGenerationService.refresh(phase.name(), ids);
+            entityCounter.increment(ids.size());
+            upsertedCounter.increment(result.upserted().size());
+            staleExpiredCounter.increment(result.expired());
+
+            checkpoint.setCursorId(ids.get(ids.size() - 1));
+            checkpoint.setEntitiesProcessed(checkpoint.getEntitiesProcessed() + ids.size());
+            checkpoint.setInsightsUpserted(checkpoint.getInsightsUpserted() + result.upserted().size());
+            checkpoint.setInsightsExpired(checkpoint.getInsightsExpired() + result.expired());
+            checkpoint.setLeaseUntil(LocalDateTime.now().plusSeconds(leaseSeconds));
+            checkpoint = save(checkpoint);
+        }
+    }
+
+    private List<Long> findChangedIds(Phase phase, long afterId, LocalDateTime since, LocalDateTime until,
+                                      LocalDateTime refreshBefore) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        return switch (phase) {
+            case PROJECT -> aiInsightRepository.findChangedProjectIds(afterId, since, until,
+                    since.toLocalDate(), until.toLocalDate(), InsightStatus.ACTIVE, refreshBefore, chunk);
+            case TEAM -> aiInsightRepository.findChangedTeamIds(afterId, TeamMember.Status.active, since, until,
+                    InsightStatus.ACTIVE, refreshBefore, chunk);
+            case TASK -> aiInsightRepository.findChangedTaskIds(afterId, since, until, CLOSED_STATUSES,
+                    InsightStatus.ACTIVE, refreshBefore, chunk);
+        };
+    }
+
+    // Returns the checkpoint with the lease taken by this node, or null when another node holds it
+    private InsightBatchCheckpoint acquire(LocalDateTime now) {
+        try {
+            return transactionTemplate.execute(tx -> {
+                if (!checkpointRepository.existsById(JOB_NAME)) {
+                    checkpointRepository.saveAndFlush(new InsightBatchCheckpoint(JOB_NAME, BEGINNING));
+                }
+                int acquired = checkpointRepository.acquireLease(JOB_NAME, instanceId, now, now.plusSeconds(leaseSeconds));
+                return acquired == 1 ? checkpointRepository.findById(JOB_NAME).orElse(null) : null;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the checkpoint row at the same moment; it runs this round
+            return null;
+        }
+    }
+
+    private InsightBatchCheckpoint save(InsightBatchCheckpoint checkpoint) {
+        return transactionTemplate.execute(tx -> checkpointRepository.save(checkpoint));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return "Unknown error";
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -0,0 +1,375 @@
+package com.aipm.ai_project_management.modules.ai.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.AssigneeLoad;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.ProjectMetrics;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.SkillInventory;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.StatusStats;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.TaskMetrics;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightStatus;
+import com.aipm.ai_project_management.modules.ai.repository.AiInsightRepository;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
+import com.aipm.ai_project_management.modules.team.entity.Team;
+import com.aipm.ai_project_management.modules.team.entity.TeamMember;
+import com.aipm.ai_project_management.modules.team.entity.UserSkill;
+import com.aipm.ai_project_management.modules.team.repository.TeamMemberRepository;
+import com.aipm.ai_project_management.modules.team.repository.TeamRepository;
+import com.aipm.ai_project_management.modules.team.repository.UserSkillRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Computes insights from live project, task, time and skill data.
+ * <p>
+ * Each scope is read with a handful of aggregate queries in its own read-only transaction and
+ * handed to {@link InsightCalculator}. Results are upserted by (type, related entity), so
+ * regenerating never duplicates rows. Multi-entity refreshes spread the work over the bounded
+ * {@code insightExecutor}; a failing entity is logged and skipped so it cannot sink the batch.
+ */
+@Service
+public class InsightGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsightGenerationService.class);
+
+    public static final String ENTITY_PROJECT = "PROJECT";
+    public static final String ENTITY_TEAM = "TEAM";
+    public static final String ENTITY_TASK = "TASK";
+
+    private static final Set<TaskStatus> CLOSED_STATUSES = EnumSet.of(TaskStatus.DONE, TaskStatus.CANCELLED);
+    private static final Set<ProjectStatus> ACTIVE_PROJECT_STATUSES = EnumSet.of(ProjectStatus.PLANNING, ProjectStatus.IN_PROGRESS);
+
+    // Recent hours logged are reported alongside open work as a sign of current effort
+    private static final int RECENT_HOURS_DAYS = 14;
+
+    private final InsightCalculator calculator;
+    private final AiInsightRepository aiInsightRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectTeamMemberRepository projectTeamMemberRepository;
+    private final TaskRepository taskRepository;
+    private final TimeTrackingRepository timeTrackingRepository;
+    private final TeamRepository teamRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final UserSkillRepository userSkillRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final TaskExecutor insightExecutor;
+    private final int ttlDays;
+
+    public InsightGenerationService(InsightCalculator calculator,
+                                    AiInsightRepository aiInsightRepository,
+                                    ProjectRepository projectRepository,
+                                    ProjectTeamMemberRepository projectTeamMemberRepository,
+                                    TaskRepository taskRepository,
+                                    TimeTrackingRepository timeTrackingRepository,
+                                    TeamRepository teamRepository,
+                                    TeamMemberRepository teamMemberRepository,
+                                    UserSkillRepository userSkillRepository,
+                                    UserRepository userRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("insightExecutor") TaskExecutor insightExecutor,
+                                    @Value("${app.ai.insights.ttl-days:7}") int ttlDays) {
+        this.calculator = calculator;
+        this.aiInsightRepository = aiInsightRepository;
+        this.projectRepository = projectRepository;
+        this.projectTeamMemberRepository = projectTeamMemberRepository;
+        this.taskRepository = taskRepository;
+        this.timeTrackingRepository = timeTrackingRepository;
+        this.teamRepository = teamRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.userRepository = userRepository;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.insightExecutor = insightExecutor;
+        this.ttlDays = ttlDays;
+    }
+
+    /**
+     * Outcome of refreshing a chunk of entities.
+     */
+    public record RefreshResult(int entities, int failed, List<AiInsightEntity> upserted, int expired) {
+    }
+
+    public List<AiInsightEntity> generateForProject(Long projectId) {
+        return store(ENTITY_PROJECT, Map.of(projectId, readTemplate.execute(tx -> computeProject(projectId)))).upserted();
+    }
+
+    public List<AiInsightEntity> generateForTeam(Long teamId) {
+        return store(ENTITY_TEAM, Map.of(teamId, readTemplate.execute(tx -> computeTeam(teamId)))).upserted();
+    }
+
+    public List<AiInsightEntity> generateForTask(Long taskId) {
+        return store(ENTITY_TASK, Map.of(taskId, readTemplate.execute(tx -> computeTask(taskId)))).upserted();
+    }
+
+    /**
+     * Generate insights for every planning or in-progress project.
+     */
+    public int generateForActiveProjects() {
+        long start = System.currentTimeMillis();
+        List<Long> projectIds = projectRepository.findIdsByStatusIn(ACTIVE_PROJECT_STATUSES);
+        RefreshResult result = refresh(ENTITY_PROJECT, projectIds);
+        logger.info("Generated {} insights for {} projects in {} ms",
+                result.upserted().size(), result.entities(), System.currentTimeMillis() - start);
+        return result.upserted().size();
+    }
+
+    /**
+     * Recompute insights for a chunk of entities of one kind ({@code PROJECT}, {@code TEAM} or
+     * {@code TASK}). Entities are computed in parallel on the insight executor and written in a
+     * single transaction. Entities that fail are logged and left untouched; entities that no longer
+     * exist or no longer have findings get their active insights expired.
+     */
+    public RefreshResult refresh(String entityType, Collection<Long> entityIds) {
+        Map<Long, CompletableFuture<List<AiInsightEntity>>> futures = new LinkedHashMap<>();
+        for (Long entityId : new LinkedHashSet<>(entityIds)) {
+            futures.put(entityId, CompletableFuture.supplyAsync(
+                    () -> readTemplate.execute(tx -> compute(entityType, entityId)), insightExecutor));
+        }
+
+        Map<Long, List<AiInsightEntity>> computed = new LinkedHashMap<>();
+        int failed = 0;
+        for (Map.Entry<Long, CompletableFuture<List<AiInsightEntity>>> entry : futures.entrySet()) {
+            try {
+                computed.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof ResourceNotFoundException) {
+                    computed.put(entry.getKey(), List.of());
+                } else {
+                    failed++;
+                    logger.warn("Insight generation failed for {} {}", entityType, entry.getKey(), e.getCause());
+                }
+            }
+        }
+
+        RefreshResult stored = store(entityType, computed);
+        return new RefreshResult(futures.size(), failed, stored.upserted(), stored.expired());
+    }
+
+    private List<AiInsightEntity> compute(String entityType, Long entityId) {
+        return switch (entityType) {
+            case ENTITY_PROJECT -> computeProject(entityId);
+            case ENTITY_TEAM -> computeTeam(entityId);
+            case ENTITY_TASK -> computeTask(entityId);
+            default -> throw new IllegalArgumentException("Unsupported insight entity type: " + entityType);
+        };
+    }
+
+    /**
+     * Upsert insights by (type, entity): an existing row of the same type is refreshed in place
+     * instead of adding another. Active rows of these entities that were not produced again are
+     * expired with one update. The unique key on (type, entity) rejects a second insert when two
+     * runs race on a new insight; the losing run is retried once and then updates the winner's row.
+     */
+    private RefreshResult store(String entityType, Map<Long, List<AiInsightEntity>> computed) {
+        if (computed.isEmpty()) {
+            return new RefreshResult(0, 0, List.of(), 0);
+        }
+        try {
+            return writeTemplate.execute(tx -> upsert(entityType, computed));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Concurrent insight insert for {} {}, retrying", entityType, computed.keySet());
+            // Only new insights are saved from the computed lists; drop ids from the rolled back insert
+            computed.values().forEach(insights -> insights.forEach(insight -> insight.setId(null)));
+            return writeTemplate.execute(tx -> upsert(entityType, computed));
+        }
+    }
+
+    private RefreshResult upsert(String entityType, Map<Long, List<AiInsightEntity>> computed) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusDays(ttlDays);
+
+        Map<InsightKey, AiInsightEntity> existing = new HashMap<>();
+        for (AiInsightEntity row : aiInsightRepository.findByRelatedEntityTypeAndRelatedEntityIdIn(entityType, computed.keySet())) {
+            existing.put(new InsightKey(row.getType(), row.getRelatedEntityId()), row);
+        }
+
+        List<AiInsightEntity> toSave = new ArrayList<>();
+        for (Map.Entry<Long, List<AiInsightEntity>> entry : computed.entrySet()) {
+            for (AiInsightEntity fresh : entry.getValue()) {
+                fresh.setExpiresAt(expiresAt);
+                AiInsightEntity current = existing.get(new InsightKey(fresh.getType(), entry.getKey()));
+                toSave.add(current != null ? refreshFrom(current, fresh) : fresh);
+            }
+        }
+        List<AiInsightEntity> saved = aiInsightRepository.saveAllAndFlush(toSave);
+
+        List<Long> keepIds = saved.stream().map(AiInsightEntity::getId).toList();
+        int expired = keepIds.isEmpty()
+                ? aiInsightRepository.expireActiveByEntities(entityType, computed.keySet(),
+                        InsightStatus.ACTIVE, InsightStatus.EXPIRED, now)
+                : aiInsightRepository.expireActiveByEntitiesExcept(entityType, computed.keySet(), keepIds,
+                        InsightStatus.ACTIVE, InsightStatus.EXPIRED, now);
+        return new RefreshResult(computed.size(), 0, saved, expired);
+    }
+
+    // A dismissed insight stays dismissed while the finding persists; anything else becomes active again
+    private static AiInsightEntity refreshFrom(AiInsightEntity current, AiInsightEntity fresh) {
+        current.setTitle(fresh.getTitle());
+        current.setDescription(fresh.getDescription());
+        current.setInsightData(fresh.getInsightData());
+        current.setPriority(fresh.getPriority());
+        current.setConfidenceScore(fresh.getConfidenceScore());
+        current.setGeneratedBy(fresh.getGeneratedBy());
+        current.setExpiresAt(fresh.getExpiresAt());
+        if (current.getStatus() != InsightStatus.DISMISSED) {
+            current.setStatus(InsightStatus.ACTIVE);
+        }
+        return current;
+    }
+
+    private record InsightKey(AiInsightEntity.InsightType type, Long entityId) {
+    }
+
+    // ==================== Snapshots ====================
+
+    private List<AiInsightEntity> computeProject(Long projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        LocalDate today = LocalDate.now();
+
+        Map<TaskStatus, StatusStats> statusStats = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.aggregateInsightStatsByProjectId(projectId)) {
+            statusStats.put((TaskStatus) row[0], new StatusStats(
+                    ((Number) row[1]).longValue(), toDouble(row[2]), toDouble(row[3])));
+        }
+        List<LocalDateTime> completions = taskRepository.findUpdatedAtByProjectIdAndStatusSince(
+                projectId, TaskStatus.DONE, today.minusWeeks(InsightCalculator.VELOCITY_WEEKS).atStartOfDay());
+
+        ProjectMetrics metrics = new ProjectMetrics(projectId, project.getName(), project.getBudget(), project.getSpent(),
+                project.getStartDate(), project.getEndDate(), statusStats, completions, today);
+
+        List<AiInsightEntity> insights = new ArrayList<>();
+        calculator.budgetBurn(metrics).ifPresent(insights::add);
+        calculator.scheduleSlippage(metrics).ifPresent(insights::add);
+
+        List<Object[]> openWork = taskRepository.aggregateOpenWorkByAssignee(projectId, CLOSED_STATUSES);
+        calculator.workloadImbalance(ENTITY_PROJECT, projectId, project.getName(), toLoads(openWork, today))
+                .ifPresent(insights::add);
+
+        Set<Long> memberIds = new HashSet<>(projectTeamMemberRepository.findActiveUserIdsByProjectId(projectId));
+        openWork.forEach(row -> memberIds.add((Long) row[0]));
+        SkillInventory inventory = skillInventory(taskRepository.countOpenTasksByLabel(projectId, CLOSED_STATUSES), memberIds);
+        calculator.skillGaps(ENTITY_PROJECT, projectId, project.getName(), inventory).ifPresent(insights::add);
+        return insights;
+    }
+
+    private List<AiInsightEntity> computeTeam(Long teamId) {
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + teamId));
+        List<Long> memberIds = teamMemberRepository.findUserIdsByTeamIdAndStatus(teamId, TeamMember.Status.active);
+        List<AiInsightEntity> insights = new ArrayList<>();
+        if (memberIds.isEmpty()) {
+            return insights;
+        }
+
+        // Members without open tasks still count towards the team average
+        Map<Long, Object[]> openWork = new HashMap<>();
+        for (Object[] row : taskRepository.aggregateOpenWorkByAssigneeIn(memberIds, CLOSED_STATUSES)) {
+            openWork.put((Long) row[0], row);
+        }
+        List<Object[]> rows = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            rows.add(openWork.getOrDefault(memberId, new Object[]{memberId, 0L, 0.0}));
+        }
+        calculator.workloadImbalance(ENTITY_TEAM, teamId, team.getName(), toLoads(rows, LocalDate.now()))
+                .ifPresent(insights::add);
+
+        SkillInventory inventory = skillInventory(
+                taskRepository.countOpenTasksByLabelForAssignees(memberIds, CLOSED_STATUSES), memberIds);
+        calculator.skillGaps(ENTITY_TEAM, teamId, team.getName(), inventory).ifPresent(insights::add);
+        return insights;
+    }
+
+    private List<AiInsightEntity> computeTask(Long taskId) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        TaskMetrics metrics = new TaskMetrics(task.getId(), task.getTitle(), task.getStatus(), task.getCreatedAt(),
+                task.getDueDate(), task.getProgress() != null ? task.getProgress() : 0, task.getEstimatedHours(),
+                task.getLoggedHours() != null ? task.getLoggedHours() : 0.0, LocalDateTime.now());
+        return calculator.taskInsights(metrics);
+    }
+
+    // rows are [assigneeId, openTasks, remainingHours]
+    private List<AssigneeLoad> toLoads(List<Object[]> rows, LocalDate today) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> userIds = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : userRepository.findNamesByIdIn(userIds)) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+        Map<Long, Double> recentHours = new HashMap<>();
+        for (Object[] row : timeTrackingRepository.sumHoursByUserIdInSince(userIds, today.minusDays(RECENT_HOURS_DAYS))) {
+            recentHours.put((Long) row[0], toDouble(row[1]));
+        }
+
+        List<AssigneeLoad> loads = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long userId = (Long) row[0];
+            loads.add(new AssigneeLoad(userId, names.get(userId), ((Number) row[1]).longValue(),
+                    toDouble(row[2]), recentHours.getOrDefault(userId, 0.0)));
+        }
+        return loads;
+    }
+
+    // labelRows are [label, openTasks]; a member counts as skilled from intermediate level up
+    private SkillInventory skillInventory(List<Object[]> labelRows, Collection<Long> memberIds) {
+        Map<String, Long> demand = new HashMap<>();
+        for (Object[] row : labelRows) {
+            demand.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        Map<String, Set<Long>> skilledUsers = new HashMap<>();
+        if (!demand.isEmpty() && !memberIds.isEmpty()) {
+            for (Object[] row : userSkillRepository.findSkillRowsByUserIdIn(memberIds)) {
+                UserSkill.Level level = (UserSkill.Level) row[2];
+                if (level != null && level != UserSkill.Level.beginner) {
+                    skilledUsers.computeIfAbsent((String) row[1], skill -> new HashSet<>()).add((Long) row[0]);
+                }
+            }
+        }
+        Map<String, Integer> supply = new HashMap<>();
+        skilledUsers.forEach((skill, users) -> supply.put(skill, users.size()));
+        return new SkillInventory(demand, supply, memberIds.size());
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+}
@@ -1,6 +1,11 @@
 package com.aipm.ai_project_management.modules.ai.service.impl;
 
 import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.ai.automation.AutomationRuleCache;
+import com.aipm.ai_project_management.modules.ai.automation.AutomationRuleCompiler;
+import com.aipm.ai_project_management.modules.ai.automation.AutomationRuleEngine;
+import com.aipm.ai_project_management.modules.ai.automation.RuleExecutionCounters;
 import com.aipm.ai_project_management.modules.ai.dto.AutomationRuleDTO;
 import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
 import com.aipm.ai_project_management.modules.ai.repository.AutomationRuleRepository;
@@ -11,9 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +31,18 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
     @Autowired
     private AutomationRuleRepository automationRuleRepository;
     
+    @Autowired
+    private AutomationRuleCompiler automationRuleCompiler;
+    
+    @Autowired
+    private AutomationRuleCache automationRuleCache;
+    
+    @Autowired
+    private AutomationRuleEngine automationRuleEngine;
+    
+    @Autowired
+    private RuleExecutionCounters ruleExecutionCounters;
+    
     @Override
     public AutomationRuleDTO createRule(AutomationRuleDTO ruleDTO) {
         logger.info("Creating automation rule: {}", ruleDTO.getName());
@@ -41,7 +58,11 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
         rule.setSuccessCount(0L);
         rule.setFailureCount(0L);
         
+        // Rejects rules whose conditions or actions do not compile
+        automationRuleCompiler.compile(rule);
+        
         AutomationRuleEntity savedRule = automationRuleRepository.save(rule);
+        automationRuleCache.evictRuleAfterCommit(savedRule.getId(), savedRule.getProjectId());
         logger.info("Created automation rule with ID: {}", savedRule.getId());
         
         return convertToDTO(savedRule);
@@ -60,6 +81,8 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
             throw new IllegalArgumentException("Automation rule with name '" + ruleDTO.getName() + "' already exists");
         }
         
+        Long previousProjectId = existingRule.getProjectId();
+        
         // Update fields
         existingRule.setName(ruleDTO.getName());
         existingRule.setDescription(ruleDTO.getDescription());
@@ -69,7 +92,10 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
         existingRule.setPriority(ruleDTO.getPriority());
         existingRule.setProjectId(ruleDTO.getProjectId());
         
+        automationRuleCompiler.compile(existingRule);
+        
         AutomationRuleEntity updatedRule = automationRuleRepository.save(existingRule);
+        automationRuleCache.evictRuleAfterCommit(ruleId, previousProjectId, updatedRule.getProjectId());
         logger.info("Updated automation rule with ID: {}", ruleId);
         
         return convertToDTO(updatedRule);
@@ -94,6 +120,7 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
             .orElseThrow(() -> new ResourceNotFoundException("Automation rule not found with id: " + ruleId));
         
         automationRuleRepository.delete(rule);
+        automationRuleCache.evictRuleAfterCommit(ruleId, rule.getProjectId());
         logger.info("Deleted automation rule with ID: {}", ruleId);
     }
     
@@ -143,28 +170,12 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeRulesForEvent(String eventType, Object eventData) {
-        logger.info("Executing automation rules for event type: {}", eventType);
+        logger.info("Queueing automation rules for event type: {}", eventType);
         
-        // This is a simplified implementation
-        // In a real system, this would analyze the event and execute matching rules
-        List<AutomationRuleEntity> activeRules = automationRuleRepository.findByIsActiveOrderByPriorityDescCreatedAtDesc(true);
-        
-        for (AutomationRuleEntity rule : activeRules) {
-            try {
-                if (shouldExecuteRule(rule, eventType, eventData)) {
-                    executeRule(rule, eventData);
-                    rule.incrementExecutionCount();
-                    rule.recordSuccess();
-                    automationRuleRepository.save(rule);
-                }
-            } catch (Exception e) {
-                logger.error("Error executing rule {}: {}", rule.getId(), e.getMessage());
-                rule.incrementExecutionCount();
-                rule.recordFailure(e.getMessage());
-                automationRuleRepository.save(rule);
-            }
-        }
+        // Matching rules run on the automation executor; counters are flushed in batches
+        automationRuleEngine.evaluateAsync(eventType, eventData);
     }
     
     @Override
@@ -176,6 +187,7 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
         
         rule.setIsActive(!rule.getIsActive());
         AutomationRuleEntity updatedRule = automationRuleRepository.save(rule);
+        automationRuleCache.evictRuleAfterCommit(ruleId, rule.getProjectId());
         
         logger.info("Toggled rule {} status to: {}", ruleId, updatedRule.getIsActive());
         return convertToDTO(updatedRule);
@@ -189,7 +201,18 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
         AutomationRuleEntity rule = automationRuleRepository.findById(ruleId)
             .orElseThrow(() -> new ResourceNotFoundException("Automation rule not found with id: " + ruleId));
         
-        return new RuleExecutionStats(rule.getExecutionCount(), rule.getSuccessCount(), rule.getFailureCount());
+        long executions = rule.getExecutionCount() != null ? rule.getExecutionCount() : 0L;
+        long successes = rule.getSuccessCount() != null ? rule.getSuccessCount() : 0L;
+        long failures = rule.getFailureCount() != null ? rule.getFailureCount() : 0L;
+        
+        // Include executions on this node that have not been flushed yet
+        RuleExecutionCounters.Pending pending = ruleExecutionCounters.pending(ruleId);
+        if (pending != null) {
+            executions += pending.executions();
+            successes += pending.successes();
+            failures += pending.failures();
+        }
+        return new RuleExecutionStats(executions, successes, failures);
     }
     
     @Override
@@ -202,6 +225,7 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public RuleTestResult testRule(Long ruleId, Object testData) {
         logger.info("Testing automation rule with ID: {}", ruleId);
         
@@ -209,12 +233,18 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
             .orElseThrow(() -> new ResourceNotFoundException("Automation rule not found with id: " + ruleId));
         
         try {
-            // Simulate rule execution without actually performing actions
-            boolean wouldExecute = shouldExecuteRule(rule, "TEST_EVENT", testData);
-            String message = wouldExecute ? "Rule would be executed successfully" : "Rule conditions not met";
-            
-            return new RuleTestResult(wouldExecute, message, testData);
-        } catch (Exception e) {
+            // Evaluates the compiled conditions without performing any actions
+            AutomationRuleEngine.DryRunResult result = automationRuleEngine.dryRun(rule, testData);
+            String message;
+            if (!result.eventMatched()) {
+                message = "Rule does not listen for this event";
+            } else if (!result.conditionsMet()) {
+                message = "Rule conditions not met";
+            } else {
+                message = "Rule would execute " + result.actionCount() + " action(s)";
+            }
+            return new RuleTestResult(result.wouldExecute(), message, testData);
+        } catch (ValidationException e) {
             logger.error("Error testing rule {}: {}", ruleId, e.getMessage());
             return new RuleTestResult(false, "Rule test failed: " + e.getMessage(), null);
         }
@@ -222,61 +252,6 @@ public class AutomationRuleServiceImpl implements AutomationRuleService {
     
     // Private helper methods
     
-    private boolean shouldExecuteRule(AutomationRuleEntity rule, String eventType, Object eventData) {
-        // Simplified logic - in real implementation, this would parse trigger conditions
-        // and evaluate them against the event data
-        
-        if (!rule.getIsActive()) {
-            return false;
-        }
-        
-        // Parse trigger conditions (simplified)
-        String conditions = rule.getTriggerConditions();
-        if (conditions == null || conditions.isEmpty()) {
-            return false;
-        }
-        
-        // For demo purposes, simulate some conditions
-        switch (rule.getType()) {
-            case TASK_AUTO_ASSIGNMENT:
-                return eventType.equals("TASK_CREATED");
-            case STATUS_CHANGE_TRIGGER:
-                return eventType.equals("STATUS_CHANGED");
-            case DEADLINE_NOTIFICATION:
-                return eventType.equals("DEADLINE_APPROACHING");
-            default:
-                return false;
-        }
-    }
-    
-    private void executeRule(AutomationRuleEntity rule, Object eventData) {
-        // Simplified rule execution - in real implementation, this would parse
-        // and execute the actions defined in the rule
-        
-        logger.info("Executing rule: {} (Type: {})", rule.getName(), rule.getType());
-        
-        String actions = rule.getActions();
-        if (actions == null || actions.isEmpty()) {
-            logger.warn("No actions defined for rule: {}", rule.getId());
-            return;
-        }
-        
-        // Simulate action execution based on rule type
-        switch (rule.getType()) {
-            case TASK_AUTO_ASSIGNMENT:
-                logger.info("Simulating task auto-assignment");
-                break;
-            case STATUS_CHANGE_TRIGGER:
-                logger.info("Simulating status change trigger");
-                break;
-            case DEADLINE_NOTIFICATION:
-                logger.info("Simulating deadline notification");
-                break;
-            default:
-                logger.info("Executing custom rule action");
-        }
-    }
-    
     private AutomationRuleDTO convertToDTO(AutomationRuleEntity entity) {
         AutomationRuleDTO dto = new AutomationRuleDTO();
         dto.setId(entity.getId());
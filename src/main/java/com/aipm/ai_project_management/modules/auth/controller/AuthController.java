@@ -3,6 +3,7 @@ package com.aipm.ai_project_management.modules.auth.controller;
 import com.aipm.ai_project_management.common.response.ApiResponse;
 import com.aipm.ai_project_management.modules.auth.dto.*;
 import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
 import com.aipm.ai_project_management.modules.auth.security.UserPrincipal;
 import com.aipm.ai_project_management.modules.auth.service.AuthService;
 import com.aipm.ai_project_management.modules.auth.service.JwtService;
@@ -29,6 +30,9 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
     
+    @Autowired
+    private UserRepository userRepository;
+    
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user with email and password")
     public ResponseEntity<ApiResponse<LoginResponse>> login(
@@ -96,7 +100,10 @@ public class AuthController {
         dto.setId(principal.getId());
         dto.setEmail(principal.getEmail());
         dto.setName(principal.getName());
-        dto.setAvatar(principal.getAvatar());
+        // Stateless principals come from token claims, which leave the avatar out
+        dto.setAvatar(principal.getUser() != null
+                ? principal.getAvatar()
+                : userRepository.findAvatarById(principal.getId()).orElse(null));
         dto.setRole(principal.getRole());
 
         return ResponseEntity.ok(
@@ -81,6 +81,10 @@ public class User extends AuditableEntity implements UserDetails {
     @Column(name = "locked_until")
     private LocalDateTime lockedUntil;
     
+    // Running total of hours the user has logged, maintained by atomic UPDATEs
+    @Column(name = "logged_hours", updatable = false)
+    private Double loggedHours = 0.0;
+    
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_permissions", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "permission")
@@ -294,6 +298,14 @@ public class User extends AuditableEntity implements UserDetails {
         this.lockedUntil = lockedUntil;
     }
     
+    public Double getLoggedHours() {
+        return loggedHours;
+    }
+    
+    public void setLoggedHours(Double loggedHours) {
+        this.loggedHours = loggedHours;
+    }
+    
     public Set<String> getPermissions() {
         return permissions;
     }
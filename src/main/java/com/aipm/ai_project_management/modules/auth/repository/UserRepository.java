@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,7 +49,54 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.lockedUntil IS NOT NULL AND u.lockedUntil < :now")
     List<User> findUsersToUnlock(@Param("now") LocalDateTime now);
     
+    // Role only, without loading the user and its eager permissions
+    @Query("SELECT u.role FROM User u WHERE u.id = :userId")
+    Optional<UserRole> findRoleById(@Param("userId") Long userId);
     
+    // Avatar for principals built from token claims, which do not carry it
+    @Query("SELECT u.avatar FROM User u WHERE u.id = :userId")
+    Optional<String> findAvatarById(@Param("userId") Long userId);
     
-}
+    // Token revocation state as [active, lockedUntil, passwordChangedAt]
+    @Query("SELECT u.active, u.lockedUntil, u.passwordChangedAt FROM User u WHERE u.id = :userId")
+    List<Object[]> findAuthenticationStateById(@Param("userId") Long userId);
+    
+    // Display names for a set of users as [userId, name] rows
+    @Query("SELECT u.id, u.name FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Id-only keyset scan for fan-out, without loading users or their eager permissions
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Which of the given ids belong to existing users
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Apply a logged-hours delta in place so concurrent loggers cannot lose each other's updates
+    @Modifying
+    @Query("UPDATE User u SET u.loggedHours = COALESCE(u.loggedHours, 0) + :delta WHERE u.id = :userId")
+    int addLoggedHours(@Param("userId") Long userId, @Param("delta") double delta);
+    
+    // Reconciliation: users after a cursor whose running total differs from their time logs
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND ABS(COALESCE(u.loggedHours, 0) - " +
+           "COALESCE((SELECT SUM(t.hours) FROM TimeTracking t WHERE t.userId = u.id), 0)) > :tolerance ORDER BY u.id")
+    List<Long> findIdsWithLoggedHoursDrift(@Param("afterId") Long afterId, @Param("tolerance") double tolerance, Pageable pageable);
+    
+    // Reconciliation: recompute running totals from the time logs
+    @Modifying
+    @Query("UPDATE User u SET u.loggedHours = COALESCE((SELECT SUM(t.hours) FROM TimeTracking t WHERE t.userId = u.id), 0) " +
+           "WHERE u.id IN :ids")
+    int recomputeLoggedHours(@Param("ids") Collection<Long> ids);
+    
+    // Headcount of active users in any of the given roles
+    @Query("SELECT COUNT(u) FROM User u WHERE u.active = true AND u.role IN :roles")
+    long countActiveByRoleIn(@Param("roles") Collection<UserRole> roles);
+
+    // Typeahead rows for active users as [id, name, email]
+    @Query("SELECT u.id, u.name, u.email FROM User u WHERE u.active = true")
+    List<Object[]> findTypeaheadRows();
 
+    @Query("SELECT u.id, u.name, u.email FROM User u WHERE u.active = true AND u.id IN :ids")
+    List<Object[]> findTypeaheadRowsByIdIn(@Param("ids") Collection<Long> ids);
+}
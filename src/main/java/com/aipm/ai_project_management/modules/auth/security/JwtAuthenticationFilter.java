@@ -1,5 +1,7 @@
 package com.aipm.ai_project_management.modules.auth.security;
 
+import com.aipm.ai_project_management.common.enums.UserRole;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +9,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,6 +22,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,21 +37,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+    
+    // When enabled the principal is built from token claims instead of loading the user per request
+    @Value("${app.jwt.stateless-authentication:true}")
+    private boolean statelessAuthentication;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseValidClaims(jwt) : null;
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            if (claims != null) {
+                Long userId = Long.parseLong(claims.getSubject());
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId.toString());
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = statelessAuthentication
+                        ? buildPrincipalFromClaims(userId, claims)
+                        : userDetailsService.loadUserByUsername(userId.toString());
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -52,6 +73,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private UserDetails buildPrincipalFromClaims(Long userId, Claims claims) {
+        if (tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+            logger.debug("Rejected token for inactive, locked or re-credentialed user {}", userId);
+            return null;
+        }
+        
+        String role = claims.get("role", String.class);
+        if (role == null) {
+            // Tokens issued without identity claims still need the full lookup
+            return userDetailsService.loadUserByUsername(userId.toString());
+        }
+        
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
+        Object permissions = claims.get("permissions");
+        if (permissions instanceof Collection<?> permissionList) {
+            for (Object permission : permissionList) {
+                authorities.add(new SimpleGrantedAuthority(permission.toString()));
+            }
+        }
+        
+        return UserPrincipal.create(
+                userId,
+                claims.get("email", String.class),
+                claims.get("name", String.class),
+                UserRole.valueOf(role),
+                authorities);
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
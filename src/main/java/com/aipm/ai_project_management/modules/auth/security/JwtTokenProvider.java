@@ -3,6 +3,8 @@ package com.aipm.ai_project_management.modules.auth.security;
 import com.aipm.ai_project_management.modules.auth.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,8 +33,20 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration-in-ms}")
     private long refreshExpirationInMs;
     
+    // Built once - deriving the HMAC key and parser per request is measurable on hot paths
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
     
     public String generateToken(Authentication authentication) {
@@ -74,9 +88,7 @@ public class JwtTokenProvider {
     }
     
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
         
@@ -84,12 +96,19 @@ public class JwtTokenProvider {
     }
     
     public boolean validateToken(String authToken) {
+        return parseValidClaims(authToken) != null;
+    }
+    
+    /**
+     * Validate and parse a token in one pass.
+     *
+     * @return the token claims, or null if the token is invalid or expired
+     */
+    public Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return jwtParser
+                    .parseClaimsJws(authToken)
+                    .getBody();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -101,13 +120,11 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
     
     public LocalDateTime getExpirationFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = jwtParser
                 .parseClaimsJws(token)
                 .getBody();
         
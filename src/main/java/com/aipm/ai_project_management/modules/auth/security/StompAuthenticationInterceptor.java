@@ -0,0 +1,68 @@
+package com.aipm.ai_project_management.modules.auth.security;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Authenticates STOMP sessions from the {@code Authorization: Bearer} header of the CONNECT frame.
+ * The session principal is named after the user id, so {@code /user/{id}/queue/...} destinations
+ * reach every session of that user. Connections without a valid token stay anonymous and can only
+ * use public topics.
+ */
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthenticationInterceptor.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationCache tokenRevocationCache;
+
+    public StompAuthenticationInterceptor(JwtTokenProvider tokenProvider, TokenRevocationCache tokenRevocationCache) {
+        this.tokenProvider = tokenProvider;
+        this.tokenRevocationCache = tokenRevocationCache;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return message;
+        }
+
+        Claims claims = tokenProvider.parseValidClaims(bearerToken.substring(7));
+        if (claims == null) {
+            logger.debug("Rejected invalid token on STOMP CONNECT");
+            return message;
+        }
+        Long userId = Long.parseLong(claims.getSubject());
+        if (tokenRevocationCache.isRevoked(userId, claims.getIssuedAt())) {
+            logger.debug("Rejected revoked token on STOMP CONNECT for user {}", userId);
+            return message;
+        }
+
+        String role = claims.get("role", String.class);
+        List<SimpleGrantedAuthority> authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                : List.of();
+        accessor.setUser(new UsernamePasswordAuthenticationToken(userId.toString(), null, authorities));
+        return message;
+    }
+}
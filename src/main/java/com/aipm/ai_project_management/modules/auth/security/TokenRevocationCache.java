@@ -0,0 +1,89 @@
+package com.aipm.ai_project_management.modules.auth.security;
+
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-TTL cache of the account state needed to reject otherwise valid tokens:
+ * deactivated or locked users, and tokens issued before the last password change.
+ * Replaces a full user load (with eager permissions) on every authenticated request.
+ */
+@Component
+public class TokenRevocationCache {
+    
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Long, AccountState> states = new ConcurrentHashMap<>();
+    
+    public TokenRevocationCache(UserRepository userRepository,
+                                @Value("${app.jwt.revocation-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${app.jwt.revocation-cache.max-entries:50000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * @return true if a token for this user, issued at the given time, must be rejected
+     */
+    @Transactional(readOnly = true)
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        long now = System.currentTimeMillis();
+        AccountState state = states.get(userId);
+        if (state == null || state.expiresAt() <= now) {
+            state = loadState(userId, now + ttlMillis);
+            if (states.size() >= maxEntries) {
+                states.clear();
+            }
+            states.put(userId, state);
+        }
+        
+        if (!state.exists() || !state.active()) {
+            return true;
+        }
+        if (state.lockedUntil() != null && state.lockedUntil().isAfter(LocalDateTime.now())) {
+            return true;
+        }
+        return state.passwordChangedAtMillis() != null && issuedAt != null
+                && issuedAt.getTime() < state.passwordChangedAtMillis();
+    }
+    
+    /**
+     * Drops the cached state now and, inside a transaction, again after commit so a request
+     * racing the change cannot re-cache the old state for a full TTL.
+     */
+    public void evict(Long userId) {
+        states.remove(userId);
+        AfterCommit.run(() -> states.remove(userId));
+    }
+    
+    private AccountState loadState(Long userId, long expiresAt) {
+        // Single row projection: [active, lockedUntil, passwordChangedAt]
+        List<Object[]> rows = userRepository.findAuthenticationStateById(userId);
+        if (rows.isEmpty()) {
+            return new AccountState(false, false, null, null, expiresAt);
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime passwordChangedAt = (LocalDateTime) row[2];
+        // Tokens carry second precision, so compare against the start of that second
+        Long passwordChangedAtMillis = passwordChangedAt != null
+                ? passwordChangedAt.withNano(0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : null;
+        return new AccountState(true, (Boolean) row[0], (LocalDateTime) row[1], passwordChangedAtMillis, expiresAt);
+    }
+    
+    private record AccountState(boolean exists, boolean active, LocalDateTime lockedUntil,
+                                Long passwordChangedAtMillis, long expiresAt) {
+    }
+}
@@ -13,7 +13,8 @@ public class UserPrincipal implements UserDetails {
     private String name;
     private String avatar;
     private UserRole role;
-    private User user; // Reference to entity
+    private User user; // Reference to entity, null when built from token claims
+    private Collection<? extends GrantedAuthority> authorities;
 
     // Constructor
     public UserPrincipal(Long id, String email, String name, String avatar, UserRole role, User user) {
@@ -37,6 +38,14 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Static factory method for stateless authentication - no entity behind the principal
+    public static UserPrincipal create(Long id, String email, String name, UserRole role,
+                                       Collection<? extends GrantedAuthority> authorities) {
+        UserPrincipal principal = new UserPrincipal(id, email, name, null, role, null);
+        principal.authorities = authorities;
+        return principal;
+    }
+
     // Getters
     public Long getId() { return id; }
     public String getEmail() { return email; }
@@ -48,11 +57,11 @@ public class UserPrincipal implements UserDetails {
     // UserDetails methods (implement as needed)
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getAuthorities();
+        return user != null ? user.getAuthorities() : authorities;
     }
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return user != null ? user.getPassword() : null;
     }
     @Override
     public String getUsername() {
@@ -60,18 +69,18 @@ public class UserPrincipal implements UserDetails {
     }
     @Override
     public boolean isAccountNonExpired() {
-        return user.isAccountNonExpired();
+        return user == null || user.isAccountNonExpired();
     }
     @Override
     public boolean isAccountNonLocked() {
-        return user.isAccountNonLocked();
+        return user == null || user.isAccountNonLocked();
     }
     @Override
     public boolean isCredentialsNonExpired() {
-        return user.isCredentialsNonExpired();
+        return user == null || user.isCredentialsNonExpired();
     }
     @Override
     public boolean isEnabled() {
-        return user.isEnabled();
+        return user == null || user.isEnabled();
     }
 }
\ No newline at end of file
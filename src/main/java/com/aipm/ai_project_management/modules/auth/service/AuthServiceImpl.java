@@ -9,8 +9,11 @@ import com.aipm.ai_project_management.modules.auth.entity.UserSession;
 import com.aipm.ai_project_management.modules.auth.repository.SessionRepository;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
 import com.aipm.ai_project_management.modules.auth.security.JwtTokenProvider;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.UserChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -34,18 +37,21 @@ public class AuthServiceImpl implements AuthService {
     private final SessionRepository sessionRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Constructor to replace @RequiredArgsConstructor
     public AuthServiceImpl(AuthenticationManager authenticationManager, 
                           UserRepository userRepository,
                           SessionRepository sessionRepository,
                           PasswordEncoder passwordEncoder,
-                          JwtTokenProvider jwtTokenProvider) {
+                          JwtTokenProvider jwtTokenProvider,
+                          ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.sessionRepository = sessionRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -127,6 +133,7 @@ public class AuthServiceImpl implements AuthService {
                 .build();
         
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), EntityChangeType.CREATED));
         log.info("New user registered: {}", user.getEmail());
         
         // TODO: Send verification email
@@ -11,6 +11,7 @@ import com.aipm.ai_project_management.modules.auth.entity.User;
 import com.aipm.ai_project_management.modules.auth.repository.PasswordResetTokenRepository;
 import com.aipm.ai_project_management.modules.auth.repository.SessionRepository;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.auth.security.TokenRevocationCache;
 import com.aipm.ai_project_management.integration.email.EmailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,7 @@ public class PasswordServiceImpl implements PasswordService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final SessionRepository sessionRepository; // Added this missing dependency
+    private final TokenRevocationCache tokenRevocationCache;
     
     @Value("${app.password-reset.token-validity-hours}")
     private int tokenValidityHours = 24;
@@ -46,12 +48,14 @@ public class PasswordServiceImpl implements PasswordService {
                               PasswordResetTokenRepository tokenRepository,
                               PasswordEncoder passwordEncoder,
                               EmailService emailService,
-                              SessionRepository sessionRepository) {
+                              SessionRepository sessionRepository,
+                              TokenRevocationCache tokenRevocationCache) {
         this.userRepository = userRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.sessionRepository = sessionRepository;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
     
     @Override
@@ -103,8 +107,10 @@ public class PasswordServiceImpl implements PasswordService {
         
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordChangedAt(LocalDateTime.now());
         user.resetLoginAttempts();
         userRepository.save(user);
+        tokenRevocationCache.evict(user.getId());
         
         // Mark token as used
         resetToken.markAsUsed();
@@ -126,7 +132,9 @@ public class PasswordServiceImpl implements PasswordService {
         }
         
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
+        tokenRevocationCache.evict(user.getId());
         
         log.info("Password changed for user: {}", user.getEmail());
     }
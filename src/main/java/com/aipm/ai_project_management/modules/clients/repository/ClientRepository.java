@@ -5,11 +5,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
@@ -78,4 +85,22 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(c.industry) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Client> globalSearch(@Param("search") String search, Pageable pageable);
+    
+    // Search index rows as [id, name, industry, email, website]
+    @Query("SELECT c.id, c.name, c.industry, c.email, c.website FROM Client c WHERE c.id IN :ids")
+    List<Object[]> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.name, c.industry, c.email, c.website FROM Client c")
+    Stream<Object[]> streamSearchRows();
+
+    // Typeahead rows as [id, name, industry]
+    @Query("SELECT c.id, c.name, c.industry FROM Client c")
+    List<Object[]> findTypeaheadRows();
+
+    @Query("SELECT c.id, c.name, c.industry FROM Client c WHERE c.id IN :ids")
+    List<Object[]> findTypeaheadRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
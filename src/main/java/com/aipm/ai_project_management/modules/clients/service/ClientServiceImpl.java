@@ -4,9 +4,12 @@ import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundExceptio
 import com.aipm.ai_project_management.modules.clients.dto.*;
 import com.aipm.ai_project_management.modules.clients.entity.*;
 import com.aipm.ai_project_management.modules.clients.repository.*;
+import com.aipm.ai_project_management.shared.events.ClientChangedEvent;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -36,6 +39,9 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     private ClientCustomFieldRepository clientCustomFieldRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     @Override
     public ClientDTO createClient(CreateClientRequest request) {
         logger.info("Creating new client with name: {}", request.getName());
@@ -52,6 +58,7 @@ public class ClientServiceImpl implements ClientService {
         // Save client
         Client savedClient = clientRepository.save(client);
         logger.info("Created client with ID: {}", savedClient.getId());
+        eventPublisher.publishEvent(new ClientChangedEvent(savedClient.getId(), EntityChangeType.CREATED));
         
         // Add contacts if provided
         if (request.getContacts() != null && !request.getContacts().isEmpty()) {
@@ -117,6 +124,7 @@ public class ClientServiceImpl implements ClientService {
             updateClientCustomFields(updatedClient, request.getCustomFields());
         }
         
+        eventPublisher.publishEvent(new ClientChangedEvent(id, EntityChangeType.UPDATED));
         logger.info("Updated client with ID: {}", id);
         return mapEntityToDTO(updatedClient, true);
     }
@@ -129,6 +137,7 @@ public class ClientServiceImpl implements ClientService {
             .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
         
         clientRepository.delete(client);
+        eventPublisher.publishEvent(new ClientChangedEvent(id, EntityChangeType.DELETED));
         logger.info("Deleted client with ID: {}", id);
     }
     
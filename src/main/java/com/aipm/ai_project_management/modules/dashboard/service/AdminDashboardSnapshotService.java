@@ -0,0 +1,184 @@
+package com.aipm.ai_project_management.modules.dashboard.service;
+
+import com.aipm.ai_project_management.modules.clients.service.ClientService;
+import com.aipm.ai_project_management.modules.dashboard.dto.admin.AdminKpiMetricsDTO;
+import com.aipm.ai_project_management.modules.dashboard.dto.admin.AdminProjectHealthDTO;
+import com.aipm.ai_project_management.modules.dashboard.mapper.DashboardMapper;
+import com.aipm.ai_project_management.modules.projects.dto.ProjectHealthDto;
+import com.aipm.ai_project_management.modules.projects.dto.ProjectStatsDto;
+import com.aipm.ai_project_management.modules.projects.service.ProjectService;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import com.aipm.ai_project_management.shared.events.TimeLogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Materialised read model behind the admin dashboard: KPI metrics and per-project health.
+ * <p>
+ * Writes only mark projects dirty; a short fixed-delay job applies those changes incrementally
+ * and a slower job rebuilds everything, so serving the dashboard never touches the database.
+ * The snapshot is built once the application is ready; a request arriving before that waits
+ * for the build in progress instead of starting its own.
+ */
+@Service
+public class AdminDashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminDashboardSnapshotService.class);
+
+    private final ProjectService projectService;
+    private final ClientService clientService;
+    private final DashboardMapper dashboardMapper;
+    private final TimeRollupService timeRollupService;
+
+    private final Map<Long, ProjectHealthDto> projectHealth = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyProjects = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean kpisDirty = new AtomicBoolean(false);
+
+    private volatile AdminKpiMetricsDTO kpiMetrics;
+    private volatile AdminProjectHealthDTO healthSummary;
+    private volatile LocalDateTime refreshedAt;
+
+    @Value("${app.dashboard.snapshot.warm-at-startup:true}")
+    private boolean warmAtStartup;
+
+    public AdminDashboardSnapshotService(ProjectService projectService,
+                                         ClientService clientService,
+                                         DashboardMapper dashboardMapper,
+                                         TimeRollupService timeRollupService) {
+        this.projectService = projectService;
+        this.clientService = clientService;
+        this.dashboardMapper = dashboardMapper;
+        this.timeRollupService = timeRollupService;
+    }
+
+    public AdminKpiMetricsDTO getKpiMetrics() {
+        ensureBuilt();
+        return kpiMetrics;
+    }
+
+    public AdminProjectHealthDTO getProjectHealthSummary() {
+        ensureBuilt();
+        return healthSummary;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    // --- Change tracking ---
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        dirtyProjects.add(event.projectId());
+        kpisDirty.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        dirtyProjects.add(event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimeLogChanged(TimeLogChangedEvent event) {
+        dirtyProjects.add(event.projectId());
+        kpisDirty.set(true);
+    }
+
+    // --- Refresh ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmAtStartup) {
+            ensureBuilt();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.snapshot.incremental-refresh-ms:5000}")
+    public synchronized void applyPendingChanges() {
+        if (refreshedAt == null || (dirtyProjects.isEmpty() && !kpisDirty.get())) {
+            return;
+        }
+
+        List<Long> projectIds = new ArrayList<>(dirtyProjects);
+        dirtyProjects.removeAll(projectIds);
+        for (Long projectId : projectIds) {
+            ProjectHealthDto health = projectService.computeProjectHealth(projectId);
+            if (health != null) {
+                projectHealth.put(projectId, health);
+            } else {
+                projectHealth.remove(projectId);
+            }
+        }
+        if (!projectIds.isEmpty()) {
+            healthSummary = dashboardMapper.toAdminProjectHealth(new ArrayList<>(projectHealth.values()));
+        }
+
+        if (kpisDirty.getAndSet(false)) {
+            kpiMetrics = computeKpiMetrics();
+        }
+        refreshedAt = LocalDateTime.now();
+        logger.debug("Applied {} project changes to admin dashboard snapshot", projectIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.snapshot.full-refresh-ms:900000}",
+               initialDelayString = "${app.dashboard.snapshot.full-refresh-ms:900000}")
+    public synchronized void refreshAll() {
+        // Changes arriving during the rebuild stay dirty and are re-applied afterwards
+        dirtyProjects.clear();
+        kpisDirty.set(false);
+
+        Map<Long, ProjectHealthDto> rebuilt = new ConcurrentHashMap<>();
+        for (ProjectHealthDto health : projectService.computeActiveProjectHealth()) {
+            rebuilt.put(health.getProjectId(), health);
+        }
+        projectHealth.keySet().retainAll(rebuilt.keySet());
+        projectHealth.putAll(rebuilt);
+
+        healthSummary = dashboardMapper.toAdminProjectHealth(new ArrayList<>(projectHealth.values()));
+        kpiMetrics = computeKpiMetrics();
+        refreshedAt = LocalDateTime.now();
+        logger.info("Rebuilt admin dashboard snapshot for {} active projects", projectHealth.size());
+    }
+
+    private void ensureBuilt() {
+        if (refreshedAt == null) {
+            synchronized (this) {
+                // Re-checked under the lock so a warm-up in progress is not repeated
+                if (refreshedAt == null) {
+                    refreshAll();
+                }
+            }
+        }
+    }
+
+    private AdminKpiMetricsDTO computeKpiMetrics() {
+        ProjectStatsDto projectStats = projectService.getProjectStatistics(null);
+        long activeClients = clientService.getActiveClientsCount();
+
+        // Utilization and revenue for the month so far, from the daily time rollups
+        LocalDate today = LocalDate.now();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        double teamUtilization = timeRollupService.teamUtilization(startOfMonth, today);
+        double monthlyRevenue = timeRollupService.billableAmount(startOfMonth, today).doubleValue();
+
+        return dashboardMapper.toAdminKpiMetrics(projectStats, activeClients, teamUtilization, monthlyRevenue);
+    }
+}
@@ -1,27 +1,28 @@
 package com.aipm.ai_project_management.modules.dashboard.service.impl;
 
+import com.aipm.ai_project_management.modules.dashboard.service.AdminDashboardSnapshotService;
 import com.aipm.ai_project_management.modules.dashboard.service.DashboardService;
 import com.aipm.ai_project_management.modules.dashboard.dto.admin.*;
 import com.aipm.ai_project_management.modules.dashboard.dto.pm.*;
 import com.aipm.ai_project_management.modules.dashboard.dto.team.*;
 import com.aipm.ai_project_management.modules.dashboard.mapper.DashboardMapper;
-import com.aipm.ai_project_management.modules.projects.dto.ProjectHealthDto;
-import com.aipm.ai_project_management.modules.projects.dto.ProjectStatsDto;
-import com.aipm.ai_project_management.modules.projects.dto.ProjectResponseDto;
 import com.aipm.ai_project_management.modules.team.dto.TeamMemberDTO;
 import com.aipm.ai_project_management.modules.clients.service.ClientService;
 import com.aipm.ai_project_management.modules.projects.service.ProjectService;
 import com.aipm.ai_project_management.modules.team.service.TeamService;
 import com.aipm.ai_project_management.modules.tasks.service.TaskService;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
 import com.aipm.ai_project_management.modules.tasks.service.TimeTrackingService;
 import com.aipm.ai_project_management.modules.users.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,22 +49,22 @@ public class DashboardServiceImpl implements DashboardService {
     @Autowired
     private DashboardMapper dashboardMapper;
 
+    @Autowired
+    private AdminDashboardSnapshotService snapshotService;
+
+    @Autowired
+    private TimeRollupService timeRollupService;
+
+    // How far back a logging streak is counted
+    private static final int MAX_STREAK_LOOKBACK_DAYS = 90;
+
     // --- ADMIN DASHBOARD ---
     @Override
     public AdminDashboardDTO getAdminDashboard() {
         AdminDashboardDTO dto = new AdminDashboardDTO();
 
-        // KPIs - Replace mock data with real calculations
-        ProjectStatsDto projectStats = projectService.getProjectStatistics(null);
-        long activeClients = clientService.getActiveClientsCount();
-        
-        // Calculate real team utilization based on time tracking
-        double teamUtilization = calculateTeamUtilization();
-        
-        // Calculate monthly revenue - for now simplified, could be enhanced with billing data
-        double monthlyRevenue = calculateMonthlyRevenue();
-        
-        dto.setKpiMetrics(dashboardMapper.toAdminKpiMetrics(projectStats, activeClients, teamUtilization, monthlyRevenue));
+        // KPIs - served from the precomputed snapshot
+        dto.setKpiMetrics(snapshotService.getKpiMetrics());
 
         // AI Insights (mock)
         AdminRiskAlertDTO riskAlert = new AdminRiskAlertDTO();
@@ -93,13 +94,8 @@ public class DashboardServiceImpl implements DashboardService {
         activity.setTimestamp("2024-07-08T10:30:00Z");
         dto.setRecentActivities(Collections.singletonList(activity));
 
-        // Project Health - Use real project health calculations
-        List<ProjectResponseDto> activeProjects = projectService.getActiveProjects(null);
-        List<ProjectHealthDto> projectHealthList = activeProjects.stream()
-                .map(project -> projectService.getProjectHealth(project.getId(), null))
-                .collect(Collectors.toList());
-        
-        dto.setProjectHealth(dashboardMapper.toAdminProjectHealth(projectHealthList));
+        // Project Health - served from the precomputed snapshot
+        dto.setProjectHealth(snapshotService.getProjectHealthSummary());
 
         return dto;
     }
@@ -143,63 +139,46 @@ public class DashboardServiceImpl implements DashboardService {
         timeline.setMilestoneDate("2024-07-15");
         dto.setProjectTimeline(Collections.singletonList(timeline));
 
-        // Productivity metrics (mocked)
-        dto.setProductivityMetrics(dashboardMapper.toTeamProductivityMetrics(3, 6.5, 12));
+        // Productivity metrics - hours and streak from the daily time rollups, completed tasks still mocked
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Double> dailyHours = timeRollupService.dailyHours(
+            teamUserId, today.minusDays(MAX_STREAK_LOOKBACK_DAYS), today);
+        dto.setProductivityMetrics(dashboardMapper.toTeamProductivityMetrics(
+            3, dailyHours.getOrDefault(today, 0.0), calculateStreakDays(dailyHours, today)));
 
         return dto;
     }
     
-    // Helper method to calculate team utilization
-    private double calculateTeamUtilization() {
-        try {
-            // Get current month time logs for all users
-            LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-            LocalDate endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
-            
-            // This is a simplified calculation - could be enhanced with more sophisticated logic
-            // For now, assume 8 hours per day as full utilization
-            int workingDaysInMonth = calculateWorkingDays(startOfMonth, endOfMonth);
-            double expectedHoursPerUser = workingDaysInMonth * 8.0;
-            
-            // Get all active users and calculate their average utilization
-            // This would need a user repository to get all users
-            // For now, returning a reasonable default
-            return 78.5; // Placeholder - replace with actual calculation
-        } catch (Exception e) {
-            return 75.0; // Default fallback
-        }
-    }
-    
-    // Helper method to calculate monthly revenue
-    private double calculateMonthlyRevenue() {
-        try {
-            // This would need billing/invoice data which might not be available yet
-            // For now, calculate based on billable hours
-            LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-            LocalDate endOfMonth = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
-            
-            // This is a placeholder calculation - would need actual billing data
-            return 95000.0; // Placeholder - replace with actual billing calculation
-        } catch (Exception e) {
-            return 100000.0; // Default fallback
+    // Helper method to count consecutive working days with logged time, up to today.
+    // Today only extends the streak once something is logged; weekends neither count nor break it.
+    static int calculateStreakDays(Map<LocalDate, Double> dailyHours, LocalDate today) {
+        int streak = 0;
+        LocalDate day = dailyHours.containsKey(today) ? today : today.minusDays(1);
+        for (int i = 0; i < MAX_STREAK_LOOKBACK_DAYS; i++, day = day.minusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            if (dailyHours.getOrDefault(day, 0.0) <= 0) {
+                break;
+            }
+            streak++;
         }
+        return streak;
     }
     
     // Helper method to get upcoming deadlines for PM
     private List<PmUpcomingDeadlineDTO> getUpcomingDeadlinesForPM(Long pmUserId) {
         try {
-            // Get tasks with upcoming deadlines from projects managed by this PM
+            // Top 5 task deadlines in the next 30 days from projects managed by this PM
             List<com.aipm.ai_project_management.modules.tasks.dto.TaskDTO> upcomingTasks = 
-                taskService.getUpcomingDeadlines(30); // Next 30 days
+                taskService.getUpcomingDeadlines(30, null, pmUserId, 5);
             
             // Convert to PM deadline DTOs
             return upcomingTasks.stream()
-                .limit(5) // Limit to top 5 deadlines
                 .map(task -> {
                     PmUpcomingDeadlineDTO deadline = new PmUpcomingDeadlineDTO();
                     deadline.setProjectId(task.getProjectId());
-                    // Would need to get project name from project service
-                    deadline.setProjectName("Project " + task.getProjectId()); // Placeholder
+                    deadline.setProjectName(task.getProjectName());
                     deadline.setMilestone(task.getTitle());
                     deadline.setDeadline(task.getDueDate() != null ? task.getDueDate().toLocalDate().toString() : "TBD");
                     deadline.setDaysRemaining(task.getDueDate() != null ? 
@@ -211,18 +190,4 @@ public class DashboardServiceImpl implements DashboardService {
             return Collections.emptyList(); // Return empty list on error
         }
     }
-    
-    // Helper method to calculate working days
-    private int calculateWorkingDays(LocalDate start, LocalDate end) {
-        int workingDays = 0;
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            // Skip weekends (Saturday = 6, Sunday = 7)
-            if (current.getDayOfWeek().getValue() < 6) {
-                workingDays++;
-            }
-            current = current.plusDays(1);
-        }
-        return workingDays;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.aipm.ai_project_management.modules.notifications.cache;
+
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node inbox cache with the same semantics as {@link RedisNotificationInboxCache}.
+ * Used by tests and local development without a Redis server. Entries do not expire.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.inbox-cache.type", havingValue = "memory")
+public class InMemoryNotificationInboxCache implements NotificationInboxCache {
+
+    private final Map<Long, InboxCounts> counts = new ConcurrentHashMap<>();
+    private final Map<Long, LinkedList<Long>> recentIds = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final int recentLimit;
+
+    public InMemoryNotificationInboxCache(@Value("${app.notifications.inbox-cache.recent-size:50}") int recentLimit) {
+        this.recentLimit = Math.max(1, recentLimit);
+    }
+
+    @Override
+    public Optional<InboxCounts> getCounts(Long userId) {
+        return Optional.ofNullable(counts.get(userId));
+    }
+
+    @Override
+    public long getVersion(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    @Override
+    public void putCounts(Long userId, InboxCounts inboxCounts, long version) {
+        // Checked and stored under the version entry's lock, which every update also takes
+        versions.compute(userId, (id, current) -> {
+            if ((current == null ? 0L : current) == version) {
+                counts.put(userId, inboxCounts);
+            }
+            return current;
+        });
+    }
+
+    @Override
+    public Optional<List<Long>> getRecentIds(Long userId) {
+        List<Long> ids = recentIds.get(userId);
+        if (ids == null) {
+            return Optional.empty();
+        }
+        synchronized (ids) {
+            return Optional.of(new ArrayList<>(ids));
+        }
+    }
+
+    @Override
+    public void putRecentIds(Long userId, List<Long> ids, long version) {
+        LinkedList<Long> list = new LinkedList<>(ids.subList(0, Math.min(ids.size(), recentLimit)));
+        versions.compute(userId, (id, current) -> {
+            if ((current == null ? 0L : current) == version) {
+                recentIds.put(userId, list);
+            }
+            return current;
+        });
+    }
+
+    @Override
+    public int getRecentLimit() {
+        return recentLimit;
+    }
+
+    @Override
+    public void recordCreated(Collection<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            Long userId = notification.getRecipientId();
+            update(userId, () -> {
+                adjust(userId, 1, 1);
+                if (notification.getId() != null) {
+                    recentIds.computeIfPresent(userId, (id, list) -> {
+                        synchronized (list) {
+                            list.addFirst(notification.getId());
+                            while (list.size() > recentLimit) {
+                                list.removeLast();
+                            }
+                        }
+                        return list;
+                    });
+                }
+            });
+        }
+    }
+
+    @Override
+    public void recordRead(Long userId) {
+        update(userId, () -> adjust(userId, -1, 0));
+    }
+
+    @Override
+    public void recordAllRead(Long userId) {
+        update(userId, () -> counts.computeIfPresent(userId, (id, current) -> new InboxCounts(0, current.total())));
+    }
+
+    @Override
+    public void recordDeleted(Long userId, boolean wasUnread) {
+        update(userId, () -> {
+            adjust(userId, wasUnread ? -1 : 0, -1);
+            // The list would be one short of the limit and no longer known to be complete
+            recentIds.remove(userId);
+        });
+    }
+
+    @Override
+    public void evict(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            update(userId, () -> {
+                counts.remove(userId);
+                recentIds.remove(userId);
+            });
+        }
+    }
+
+    // Applies a change and advances the user's version atomically with respect to fills
+    private void update(Long userId, Runnable change) {
+        versions.compute(userId, (id, current) -> {
+            change.run();
+            return (current == null ? 0L : current) + 1;
+        });
+    }
+
+    private void adjust(Long userId, long unreadDelta, long totalDelta) {
+        counts.computeIfPresent(userId, (id, current) -> new InboxCounts(
+                Math.max(0, current.unread() + unreadDelta), Math.max(0, current.total() + totalDelta)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.aipm.ai_project_management.modules.notifications.cache;
+
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-user inbox cache holding the unread/total counters and the ids of the newest notifications.
+ * <p>
+ * Entries are filled lazily from the database on a miss. Updates are only applied to users that
+ * are already cached, so a missing entry always falls back to MySQL rather than to a partial value.
+ * Every update also advances a per-user version; a fill passes the version it read before its
+ * queries and is dropped if the inbox changed meanwhile, so a slow reader cannot store counts
+ * that miss a concurrent change.
+ * Implementations must never throw; an unavailable cache behaves like a miss.
+ */
+public interface NotificationInboxCache {
+
+    Optional<InboxCounts> getCounts(Long userId);
+
+    /**
+     * Version of the user's inbox entry, to be read before loading the values passed to
+     * {@link #putCounts} or {@link #putRecentIds}.
+     */
+    long getVersion(Long userId);
+
+    /**
+     * Stores counts loaded from the database unless the inbox changed since {@code version} was read.
+     */
+    void putCounts(Long userId, InboxCounts counts, long version);
+
+    /**
+     * Newest notification ids, newest first. A list shorter than {@link #getRecentLimit()} holds
+     * the user's whole inbox.
+     */
+    Optional<List<Long>> getRecentIds(Long userId);
+
+    /**
+     * Stores ids loaded from the database unless the inbox changed since {@code version} was read.
+     */
+    void putRecentIds(Long userId, List<Long> ids, long version);
+
+    int getRecentLimit();
+
+    void recordCreated(Collection<NotificationDTO> notifications);
+
+    void recordRead(Long userId);
+
+    void recordAllRead(Long userId);
+
+    void recordDeleted(Long userId, boolean wasUnread);
+
+    void evict(Collection<Long> userIds);
+
+    record InboxCounts(long unread, long total) {
+    }
+}
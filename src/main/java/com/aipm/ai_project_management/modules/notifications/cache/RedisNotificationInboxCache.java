@@ -0,0 +1,257 @@
+package com.aipm.ai_project_management.modules.notifications.cache;
+
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Inbox cache stored in Redis.
+ * <p>
+ * Each user has a hash {@code notifications:inbox:{id}:counts} with {@code unread} and
+ * {@code total} fields, a list {@code notifications:inbox:{id}:recent} of the newest ids and a
+ * counter {@code notifications:inbox:{id}:version}. Updates run as small Lua scripts that bump
+ * the version and only touch value keys which already exist, so a key written from the database
+ * is never replaced by a partial count. Fills are a compare-and-set on the version, so values
+ * read before a concurrent update are dropped instead of stored. Keys expire after the
+ * configured TTL, which also bounds how long a missed update can leave a value stale.
+ * <p>
+ * Any Redis error suspends the cache for a short period and callers fall back to MySQL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.inbox-cache.type", havingValue = "redis", matchIfMissing = true)
+public class RedisNotificationInboxCache implements NotificationInboxCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisNotificationInboxCache.class);
+
+    private static final String KEY_PREFIX = "notifications:inbox:";
+
+    // Every update script takes the version key as KEYS[2] and the TTL in seconds as ARGV[1]
+    private static final String BUMP_VERSION =
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[1]) ";
+
+    private static final String ADJUST_SCRIPT =
+            BUMP_VERSION +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "redis.call('HINCRBY', KEYS[1], 'unread', ARGV[2]) " +
+            "redis.call('HINCRBY', KEYS[1], 'total', ARGV[3]) end " +
+            "return 0";
+
+    private static final String ALL_READ_SCRIPT =
+            BUMP_VERSION +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "redis.call('HSET', KEYS[1], 'unread', 0) end " +
+            "return 0";
+
+    private static final String PUSH_SCRIPT =
+            BUMP_VERSION +
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "redis.call('LPUSH', KEYS[1], ARGV[2]) " +
+            "redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[3]) - 1) end " +
+            "return 0";
+
+    private static final String EVICT_SCRIPT =
+            BUMP_VERSION +
+            "redis.call('DEL', KEYS[1], KEYS[3]) " +
+            "return 0";
+
+    // Fills take the value key, the version key, then the expected version and TTL
+    private static final String PUT_COUNTS_SCRIPT =
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('HMSET', KEYS[1], 'unread', ARGV[3], 'total', ARGV[4]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1";
+
+    private static final String PUT_RECENT_SCRIPT =
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "redis.call('RPUSH', KEYS[1], unpack(ARGV, 3)) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1";
+
+    // Returned while Redis is unavailable so the fill that follows is skipped
+    private static final long NO_VERSION = -1;
+
+    private final StringRedisTemplate redisTemplate;
+    // Passed to the scripts as an argument
+    private final String ttlSeconds;
+    private final int recentLimit;
+    private final long suspendMillis;
+
+    private volatile long suspendedUntil;
+
+    public RedisNotificationInboxCache(StringRedisTemplate redisTemplate,
+                                       @Value("${app.notifications.inbox-cache.ttl:PT10M}") Duration ttl,
+                                       @Value("${app.notifications.inbox-cache.recent-size:50}") int recentLimit,
+                                       @Value("${app.notifications.inbox-cache.suspend-on-error:PT30S}") Duration suspendOnError) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = Long.toString(Math.max(1, ttl.getSeconds()));
+        this.recentLimit = Math.max(1, recentLimit);
+        this.suspendMillis = suspendOnError.toMillis();
+    }
+
+    @Override
+    public Optional<InboxCounts> getCounts(Long userId) {
+        return call(() -> {
+            List<Object> values = redisTemplate.opsForHash().multiGet(countsKey(userId), List.of("unread", "total"));
+            if (values.size() < 2 || values.get(0) == null || values.get(1) == null) {
+                return Optional.<InboxCounts>empty();
+            }
+            long unread = Long.parseLong(values.get(0).toString());
+            long total = Long.parseLong(values.get(1).toString());
+            return Optional.of(new InboxCounts(Math.max(0, unread), Math.max(0, total)));
+        }, Optional.empty());
+    }
+
+    @Override
+    public long getVersion(Long userId) {
+        return call(() -> {
+            String version = redisTemplate.opsForValue().get(versionKey(userId));
+            return version != null ? Long.parseLong(version) : 0L;
+        }, NO_VERSION);
+    }
+
+    @Override
+    public void putCounts(Long userId, InboxCounts counts, long version) {
+        if (version == NO_VERSION) {
+            return;
+        }
+        pipelined(connection -> connection.eval(PUT_COUNTS_SCRIPT, ReturnType.INTEGER, 2,
+                countsKey(userId), versionKey(userId), Long.toString(version), ttlSeconds,
+                Long.toString(counts.unread()), Long.toString(counts.total())));
+    }
+
+    @Override
+    public Optional<List<Long>> getRecentIds(Long userId) {
+        return call(() -> {
+            List<String> values = redisTemplate.opsForList().range(recentKey(userId), 0, recentLimit - 1);
+            if (values == null || values.isEmpty()) {
+                return Optional.<List<Long>>empty();
+            }
+            List<Long> ids = new ArrayList<>(values.size());
+            for (String value : values) {
+                ids.add(Long.valueOf(value));
+            }
+            return Optional.of(ids);
+        }, Optional.empty());
+    }
+
+    @Override
+    public void putRecentIds(Long userId, List<Long> ids, long version) {
+        if (ids.isEmpty() || version == NO_VERSION) {
+            return;
+        }
+        List<String> keysAndArgs = new ArrayList<>(4 + Math.min(ids.size(), recentLimit));
+        keysAndArgs.add(recentKey(userId));
+        keysAndArgs.add(versionKey(userId));
+        keysAndArgs.add(Long.toString(version));
+        keysAndArgs.add(ttlSeconds);
+        ids.stream().limit(recentLimit).map(String::valueOf).forEach(keysAndArgs::add);
+        pipelined(connection -> connection.eval(PUT_RECENT_SCRIPT, ReturnType.INTEGER, 2,
+                keysAndArgs.toArray(String[]::new)));
+    }
+
+    @Override
+    public int getRecentLimit() {
+        return recentLimit;
+    }
+
+    @Override
+    public void recordCreated(Collection<NotificationDTO> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        String limit = Integer.toString(recentLimit);
+        pipelined(connection -> {
+            for (NotificationDTO notification : notifications) {
+                Long userId = notification.getRecipientId();
+                connection.eval(ADJUST_SCRIPT, ReturnType.INTEGER, 2, countsKey(userId), versionKey(userId), ttlSeconds, "1", "1");
+                if (notification.getId() != null) {
+                    connection.eval(PUSH_SCRIPT, ReturnType.INTEGER, 2, recentKey(userId), versionKey(userId), ttlSeconds,
+                            notification.getId().toString(), limit);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void recordRead(Long userId) {
+        pipelined(connection -> connection.eval(ADJUST_SCRIPT, ReturnType.INTEGER, 2, countsKey(userId), versionKey(userId),
+                ttlSeconds, "-1", "0"));
+    }
+
+    @Override
+    public void recordAllRead(Long userId) {
+        pipelined(connection -> connection.eval(ALL_READ_SCRIPT, ReturnType.INTEGER, 2, countsKey(userId), versionKey(userId), ttlSeconds));
+    }
+
+    @Override
+    public void recordDeleted(Long userId, boolean wasUnread) {
+        pipelined(connection -> {
+            connection.eval(ADJUST_SCRIPT, ReturnType.INTEGER, 2, countsKey(userId), versionKey(userId),
+                    ttlSeconds, wasUnread ? "-1" : "0", "-1");
+            // The list would be one short of the limit and no longer known to be complete
+            connection.del(recentKey(userId));
+        });
+    }
+
+    @Override
+    public void evict(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        pipelined(connection -> {
+            for (Long userId : userIds) {
+                connection.eval(EVICT_SCRIPT, ReturnType.INTEGER, 3, countsKey(userId), versionKey(userId),
+                        recentKey(userId), ttlSeconds);
+            }
+        });
+    }
+
+    private void pipelined(Consumer<StringRedisConnection> commands) {
+        call(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            commands.accept((StringRedisConnection) connection);
+            return null;
+        }), null);
+    }
+
+    private <T> T call(Supplier<T> operation, T fallback) {
+        if (System.currentTimeMillis() < suspendedUntil) {
+            return fallback;
+        }
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            suspendedUntil = System.currentTimeMillis() + suspendMillis;
+            logger.warn("Notification inbox cache unavailable, using the database for {} ms: {}", suspendMillis, e.getMessage());
+            return fallback;
+        }
+    }
+
+    private static String countsKey(Long userId) {
+        return KEY_PREFIX + userId + ":counts";
+    }
+
+    private static String recentKey(Long userId) {
+        return KEY_PREFIX + userId + ":recent";
+    }
+
+    private static String versionKey(Long userId) {
+        return KEY_PREFIX + userId + ":version";
+    }
+}
@@ -3,6 +3,7 @@ package com.aipm.ai_project_management.modules.notifications.controller;
 import com.aipm.ai_project_management.common.response.ApiResponse;
 import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationFanoutJob;
 import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
 import com.aipm.ai_project_management.modules.notifications.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -106,6 +108,30 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Unread notifications retrieved successfully", pageResponse));
     }
     
+    @GetMapping(value = "/user/{userId}", params = "pagination=cursor")
+    @Operation(summary = "Get notifications for a user with cursor pagination")
+    @PreAuthorize("hasRole('TEAM_MEMBER') or hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PageResponse<NotificationDTO>>> getUserNotificationsWithCursor(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        
+        PageResponse<NotificationDTO> pageResponse = notificationService.getUserNotificationsWithCursor(userId, false, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("User notifications retrieved successfully", pageResponse));
+    }
+    
+    @GetMapping(value = "/user/{userId}/unread", params = "pagination=cursor")
+    @Operation(summary = "Get unread notifications for a user with cursor pagination")
+    @PreAuthorize("hasRole('TEAM_MEMBER') or hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PageResponse<NotificationDTO>>> getUnreadNotificationsWithCursor(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        
+        PageResponse<NotificationDTO> pageResponse = notificationService.getUserNotificationsWithCursor(userId, true, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Unread notifications retrieved successfully", pageResponse));
+    }
+    
     @GetMapping("/user/{userId}/count/unread")
     @Operation(summary = "Get unread notification count for a user")
     @PreAuthorize("hasRole('TEAM_MEMBER') or hasRole('PROJECT_MANAGER') or hasRole('ADMIN')")
@@ -162,12 +188,23 @@ public class NotificationController {
     @PostMapping("/system")
     @Operation(summary = "Send system notification to all users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Void>> sendSystemNotification(
+    public ResponseEntity<ApiResponse<NotificationFanoutJob>> sendSystemNotification(
             @Parameter(description = "Notification title") @RequestParam String title,
             @Parameter(description = "Notification message") @RequestParam String message) {
         
-        notificationService.sendSystemNotification(title, message);
-        return ResponseEntity.ok(ApiResponse.success("System notification sent to all users", null));
+        NotificationFanoutJob job = notificationService.sendSystemNotification(title, message);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("System notification queued for all users", job));
+    }
+    
+    @GetMapping("/system/jobs/{jobId}")
+    @Operation(summary = "Get progress of a system notification fan-out")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationFanoutJob>> getSystemNotificationJob(
+            @Parameter(description = "Fan-out job ID") @PathVariable String jobId) {
+        
+        NotificationFanoutJob job = notificationService.getFanoutJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Fan-out progress retrieved successfully", job));
     }
     
     @GetMapping("/user/{userId}/stats")
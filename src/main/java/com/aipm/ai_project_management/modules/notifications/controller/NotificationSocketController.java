@@ -0,0 +1,41 @@
+package com.aipm.ai_project_management.modules.notifications.controller;
+
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationPushFrame;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationResumeRequest;
+import com.aipm.ai_project_management.modules.notifications.service.NotificationPushService;
+import com.aipm.ai_project_management.modules.notifications.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+
+/**
+ * STOMP handlers for the notification push channel. Clients subscribe to
+ * {@code /user/queue/notifications} and then send their last seen id to
+ * {@code /app/notifications/resume} to receive anything created while they were away.
+ */
+@Controller
+public class NotificationSocketController {
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationPushService notificationPushService;
+    
+    @MessageMapping("/notifications/resume")
+    @SendToUser(value = "/queue/notifications", broadcast = false)
+    public NotificationPushFrame resume(NotificationResumeRequest request, Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("Notification resume requires an authenticated connection");
+        }
+        Long userId = Long.valueOf(principal.getName());
+        
+        // One extra row tells the frame whether the client missed more than fits
+        return notificationPushService.buildResumeFrame(userId, notificationService.getNotificationsAfter(
+                userId, request.getLastSeenId(), notificationPushService.getMaxPerFrame() + 1));
+    }
+}
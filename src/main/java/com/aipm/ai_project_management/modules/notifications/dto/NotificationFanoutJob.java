@@ -0,0 +1,75 @@
+package com.aipm.ai_project_management.modules.notifications.dto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of an asynchronous notification fan-out, as returned by the fan-out status endpoint.
+ */
+public class NotificationFanoutJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String jobId;
+    private final String title;
+    private final long totalRecipients;
+    private final AtomicLong processedRecipients = new AtomicLong();
+    private volatile Status status = Status.QUEUED;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public NotificationFanoutJob(String jobId, String title, long totalRecipients) {
+        this.jobId = jobId;
+        this.title = title;
+        this.totalRecipients = totalRecipients;
+    }
+
+    public void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    public void addProcessed(long count) {
+        processedRecipients.addAndGet(count);
+    }
+
+    public void markCompleted() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getJobId() { return jobId; }
+    public String getTitle() { return title; }
+    public long getTotalRecipients() { return totalRecipients; }
+    public long getProcessedRecipients() { return processedRecipients.get(); }
+    public Status getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+
+    public double getProgressPercentage() {
+        if (totalRecipients == 0) {
+            return isFinished() ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, processedRecipients.get() * 100.0 / totalRecipients);
+    }
+}
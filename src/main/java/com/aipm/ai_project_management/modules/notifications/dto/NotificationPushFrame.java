@@ -0,0 +1,68 @@
+package com.aipm.ai_project_management.modules.notifications.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One WebSocket frame on {@code /user/queue/notifications}. Carries every notification created for
+ * the user since the previous frame, oldest first. Clients remember {@code lastId} and send it back
+ * on reconnect to receive what they missed. When {@code truncated} is set the client should reload
+ * the inbox over REST instead.
+ */
+public class NotificationPushFrame {
+
+    private List<NotificationDTO> notifications;
+    private Long lastId;
+    private boolean truncated;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long unreadCount;
+
+    public NotificationPushFrame() {
+    }
+
+    public NotificationPushFrame(List<NotificationDTO> notifications, boolean truncated, Long unreadCount) {
+        this.notifications = notifications;
+        this.truncated = truncated;
+        this.unreadCount = unreadCount;
+        this.lastId = notifications.stream()
+                .map(NotificationDTO::getId)
+                .filter(id -> id != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    public List<NotificationDTO> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(List<NotificationDTO> notifications) {
+        this.notifications = notifications;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public Long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(Long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
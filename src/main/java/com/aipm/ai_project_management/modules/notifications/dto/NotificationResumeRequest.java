@@ -0,0 +1,18 @@
+package com.aipm.ai_project_management.modules.notifications.dto;
+
+/**
+ * Sent by a client to {@code /app/notifications/resume} after (re)connecting.
+ */
+public class NotificationResumeRequest {
+
+    // Highest notification id the client has already seen; null or 0 for a fresh client
+    private Long lastSeenId;
+
+    public Long getLastSeenId() {
+        return lastSeenId;
+    }
+
+    public void setLastSeenId(Long lastSeenId) {
+        this.lastSeenId = lastSeenId;
+    }
+}
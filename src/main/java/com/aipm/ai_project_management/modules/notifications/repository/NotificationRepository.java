@@ -25,6 +25,21 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
     // Count unread notifications for a user
     long countByRecipientIdAndIsReadFalse(Long recipientId);
 
+    // Count all notifications for a user
+    long countByRecipientId(Long recipientId);
+
+    // Newest notification ids for a user, used to fill the inbox cache
+    @Query("SELECT n.id FROM NotificationEntity n WHERE n.recipientId = :recipientId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Long> findRecentIdsByRecipientId(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    // Newest notifications above an id, used to resume a WebSocket session
+    @Query("SELECT n FROM NotificationEntity n WHERE n.recipientId = :recipientId AND n.id > :afterId ORDER BY n.id DESC")
+    List<NotificationEntity> findNewestAfterId(@Param("recipientId") Long recipientId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Recipients that have notifications older than the cutoff
+    @Query("SELECT DISTINCT n.recipientId FROM NotificationEntity n WHERE n.createdAt < :cutoffDate")
+    List<Long> findRecipientIdsWithNotificationsBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+
     // Find notifications by type
     List<NotificationEntity> findByTypeAndRecipientId(NotificationType type, Long recipientId);
 
@@ -48,4 +63,15 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
 
     // Find notifications by priority
     List<NotificationEntity> findByRecipientIdAndPriorityOrderByCreatedAtDesc(Long recipientId, NotificationEntity.NotificationPriority priority);
-}
\ No newline at end of file
+
+    // Keyset pagination newest first over (createdAt, id); a null cursor id starts from the first row
+    @Query("SELECT n FROM NotificationEntity n WHERE n.recipientId = :recipientId " +
+           "AND (:unreadOnly = false OR n.isRead = false) " +
+           "AND (:cursorId IS NULL OR n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :cursorId)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationEntity> findKeysetByRecipientId(@Param("recipientId") Long recipientId,
+                                                     @Param("unreadOnly") boolean unreadOnly,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Pageable pageable);
+}
@@ -0,0 +1,173 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers outbound broker messages per destination for a short window.
+ * <p>
+ * Within a window only the latest state per entity is kept. Map payloads for the same entity are
+ * merged field by field, so a progress change followed by a status change goes out as a single
+ * delta. When the window closes each entity's update is sent as its own message in the shape it
+ * was submitted, so subscribers see the same frames as without coalescing, only fewer of them.
+ * Updates submitted without an entity key are never merged.
+ */
+@Component
+public class CoalescingMessageDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingMessageDispatcher.class);
+
+    public enum DestinationType {
+        TASK("task"),
+        PROJECT("project"),
+        TYPING("typing"),
+        USER_STATUS("user-status");
+
+        private final String tag;
+
+        DestinationType(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<DestinationType, Long> windows = new EnumMap<>(DestinationType.class);
+    private final Map<DestinationType, Counter> submittedCounters = new EnumMap<>(DestinationType.class);
+    private final Map<DestinationType, Counter> sentCounters = new EnumMap<>(DestinationType.class);
+    private final Map<DestinationType, Counter> savedCounters = new EnumMap<>(DestinationType.class);
+
+    private final Map<String, PendingFrame> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("ws-coalesce-"));
+
+    public CoalescingMessageDispatcher(SimpMessagingTemplate messagingTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.websocket.coalescing.task-window-ms:100}") long taskWindow,
+                                       @Value("${app.websocket.coalescing.project-window-ms:200}") long projectWindow,
+                                       @Value("${app.websocket.coalescing.typing-window-ms:300}") long typingWindow,
+                                       @Value("${app.websocket.coalescing.user-status-window-ms:500}") long userStatusWindow) {
+        this.messagingTemplate = messagingTemplate;
+        windows.put(DestinationType.TASK, taskWindow);
+        windows.put(DestinationType.PROJECT, projectWindow);
+        windows.put(DestinationType.TYPING, typingWindow);
+        windows.put(DestinationType.USER_STATUS, userStatusWindow);
+
+        for (DestinationType type : DestinationType.values()) {
+            submittedCounters.put(type, meterRegistry.counter("websocket.coalescing.submitted", "type", type.tag));
+            sentCounters.put(type, meterRegistry.counter("websocket.coalescing.frames.sent", "type", type.tag));
+            savedCounters.put(type, meterRegistry.counter("websocket.coalescing.frames.saved", "type", type.tag));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flushAll();
+    }
+
+    /**
+     * Queue an update for {@code destination}. A window of zero or less sends immediately.
+     */
+    public void submit(DestinationType type, String destination, Object entityKey, Object payload) {
+        submittedCounters.get(type).increment();
+        long window = windows.get(type);
+        if (window <= 0) {
+            send(type, destination, payload);
+            return;
+        }
+
+        boolean[] created = new boolean[1];
+        pending.compute(destination, (key, frame) -> {
+            PendingFrame target = frame;
+            if (target == null) {
+                target = new PendingFrame(type);
+                created[0] = true;
+            }
+            target.add(entityKey, payload);
+            return target;
+        });
+        if (created[0]) {
+            flusher.schedule(() -> flushSafely(destination), window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void flushAll() {
+        for (String destination : new ArrayList<>(pending.keySet())) {
+            flush(destination);
+        }
+    }
+
+    private void flushSafely(String destination) {
+        try {
+            flush(destination);
+        } catch (RuntimeException e) {
+            logger.error("Failed to send coalesced frame to {}", destination, e);
+        }
+    }
+
+    private void flush(String destination) {
+        PendingFrame frame = pending.remove(destination);
+        if (frame == null) {
+            return;
+        }
+        List<Object> updates = new ArrayList<>(frame.latest.values());
+        for (Object update : updates) {
+            send(frame.type, destination, update);
+        }
+        savedCounters.get(frame.type).increment(frame.submitted - updates.size());
+    }
+
+    private void send(DestinationType type, String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+        sentCounters.get(type).increment();
+    }
+
+    private record Unkeyed(int sequence) {
+    }
+
+    // Only touched inside ConcurrentHashMap.compute/remove for its destination
+    private static final class PendingFrame {
+        private final DestinationType type;
+        private final Map<Object, Object> latest = new LinkedHashMap<>();
+        private int submitted;
+
+        private PendingFrame(DestinationType type) {
+            this.type = type;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void add(Object entityKey, Object payload) {
+            submitted++;
+            if (entityKey == null) {
+                // Distinct event without an identity; its position in the window keeps it apart
+                latest.put(new Unkeyed(submitted), payload);
+                return;
+            }
+            Object previous = latest.get(entityKey);
+            if (previous instanceof Map<?, ?> previousMap && payload instanceof Map<?, ?> update) {
+                Map<Object, Object> merged = new LinkedHashMap<>((Map<Object, Object>) previousMap);
+                merged.putAll(update);
+                latest.put(entityKey, merged);
+            } else {
+                latest.put(entityKey, payload);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationFanoutJob;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the same notification to many recipients.
+ * <p>
+ * Recipients are processed in chunks: ids come from an id-only query, rows are written with one
+ * JDBC batch insert per chunk, and each chunk is handed to {@link NotificationPushService} after it
+ * commits. System-wide broadcasts run asynchronously and report progress through
+ * {@link NotificationFanoutJob}.
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (recipient_id, title, message, type, priority, is_read, created_at, updated_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Finished jobs are kept this long so clients can read the final status
+    private static final long JOB_RETENTION_MINUTES = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final RealTimeMessagingService realTimeMessagingService;
+    private final NotificationInboxCache inboxCache;
+    private final NotificationPushService notificationPushService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor fanoutExecutor;
+    private final int chunkSize;
+
+    private final Map<String, NotificationFanoutJob> jobs = new ConcurrentHashMap<>();
+
+    public NotificationFanoutService(JdbcTemplate jdbcTemplate,
+                                     UserRepository userRepository,
+                                     RealTimeMessagingService realTimeMessagingService,
+                                     NotificationInboxCache inboxCache,
+                                     NotificationPushService notificationPushService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("notificationFanoutExecutor") TaskExecutor fanoutExecutor,
+                                     @Value("${app.notifications.fanout.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.realTimeMessagingService = realTimeMessagingService;
+        this.inboxCache = inboxCache;
+        this.notificationPushService = notificationPushService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fanoutExecutor = fanoutExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Start a system alert to every user in the background.
+     */
+    public NotificationFanoutJob startSystemFanout(String title, String message) {
+        purgeFinishedJobs();
+        NotificationFanoutJob job = new NotificationFanoutJob(UUID.randomUUID().toString(), title, userRepository.count());
+        jobs.put(job.getJobId(), job);
+        fanoutExecutor.execute(() -> runSystemFanout(job, title, message));
+        logger.info("Queued system notification fan-out {} for {} users", job.getJobId(), job.getTotalRecipients());
+        return job;
+    }
+
+    public NotificationFanoutJob getJob(String jobId) {
+        NotificationFanoutJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Notification fan-out job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Synchronous fan-out to an explicit recipient list. Unknown recipients are skipped.
+     * Joins the caller's transaction when there is one.
+     */
+    public List<NotificationDTO> fanOutToRecipients(List<Long> recipientIds, String title, String message,
+                                                    NotificationEntity.NotificationType type) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(recipientIds));
+        List<NotificationDTO> created = new ArrayList<>(distinctIds.size());
+
+        for (int i = 0; i < distinctIds.size(); i += chunkSize) {
+            List<Long> chunk = distinctIds.subList(i, Math.min(distinctIds.size(), i + chunkSize));
+            List<NotificationDTO> inserted = transactionTemplate.execute(tx -> insertChunk(
+                    userRepository.findExistingIds(chunk), title, message, type, NotificationEntity.NotificationPriority.NORMAL));
+            created.addAll(inserted);
+            publishAfterCommit(inserted);
+        }
+
+        if (created.size() < distinctIds.size()) {
+            logger.warn("Skipped {} unknown recipients during bulk notification", distinctIds.size() - created.size());
+        }
+        return created;
+    }
+
+    private void runSystemFanout(NotificationFanoutJob job, String title, String message) {
+        job.markRunning();
+        try {
+            Long afterId = 0L;
+            while (true) {
+                List<Long> userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                List<NotificationDTO> inserted = transactionTemplate.execute(tx -> insertChunk(
+                        userIds, title, message, NotificationEntity.NotificationType.SYSTEM_ALERT,
+                        NotificationEntity.NotificationPriority.HIGH));
+                inboxCache.recordCreated(inserted);
+                job.addProcessed(userIds.size());
+                afterId = userIds.get(userIds.size() - 1);
+            }
+
+            // One broadcast frame reaches every connected client instead of a frame per user
+            NotificationDTO announcement = new NotificationDTO(null, title, message, NotificationEntity.NotificationType.SYSTEM_ALERT);
+            announcement.setPriority(NotificationEntity.NotificationPriority.HIGH);
+            announcement.setCreatedAt(job.getStartedAt());
+            realTimeMessagingService.sendSystemAnnouncement(announcement);
+
+            job.markCompleted();
+            logger.info("System notification fan-out {} completed for {} users", job.getJobId(), job.getProcessedRecipients());
+        } catch (RuntimeException e) {
+            job.markFailed(e.getMessage());
+            logger.error("System notification fan-out {} failed after {} users", job.getJobId(), job.getProcessedRecipients(), e);
+        }
+    }
+
+    private List<NotificationDTO> insertChunk(List<Long> recipientIds, String title, String message,
+                                              NotificationEntity.NotificationType type,
+                                              NotificationEntity.NotificationPriority priority) {
+        if (recipientIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        List<Long> generatedIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Long recipientId : recipientIds) {
+                    statement.setLong(1, recipientId);
+                    statement.setString(2, title);
+                    statement.setString(3, message);
+                    statement.setString(4, type.name());
+                    statement.setString(5, priority.name());
+                    statement.setBoolean(6, false);
+                    statement.setTimestamp(7, timestamp);
+                    statement.setTimestamp(8, timestamp);
+                    statement.setString(9, "system");
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(recipientIds.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+
+        List<NotificationDTO> notifications = new ArrayList<>(recipientIds.size());
+        for (int i = 0; i < recipientIds.size(); i++) {
+            NotificationDTO dto = new NotificationDTO(recipientIds.get(i), title, message, type);
+            dto.setId(generatedIds != null && i < generatedIds.size() ? generatedIds.get(i) : null);
+            dto.setPriority(priority);
+            dto.setIsRead(false);
+            dto.setCreatedAt(now);
+            dto.setUpdatedAt(now);
+            notifications.add(dto);
+        }
+        return notifications;
+    }
+
+    private void publishAfterCommit(List<NotificationDTO> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            inboxCache.recordCreated(notifications);
+            notificationPushService.publish(notifications);
+        });
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,119 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationPushFrame;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes newly created notifications to their recipients over WebSocket.
+ * <p>
+ * Callers hand over notifications after the creating transaction commits. They are buffered per
+ * recipient and flushed on a short fixed tick, so a burst for one user (a bulk assignment, a
+ * fan-out chunk) becomes a single {@link NotificationPushFrame} instead of one frame per row.
+ */
+@Service
+public class NotificationPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushService.class);
+
+    private final RealTimeMessagingService realTimeMessagingService;
+    private final NotificationInboxCache inboxCache;
+    private final long coalesceWindowMs;
+    private final int maxPerFrame;
+
+    private final Map<Long, List<NotificationDTO>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notification-push-"));
+
+    public NotificationPushService(RealTimeMessagingService realTimeMessagingService,
+                                   NotificationInboxCache inboxCache,
+                                   @Value("${app.notifications.push.coalesce-window-ms:100}") long coalesceWindowMs,
+                                   @Value("${app.notifications.push.max-per-frame:50}") int maxPerFrame) {
+        this.realTimeMessagingService = realTimeMessagingService;
+        this.inboxCache = inboxCache;
+        this.coalesceWindowMs = Math.max(1, coalesceWindowMs);
+        this.maxPerFrame = Math.max(1, maxPerFrame);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushSafely, coalesceWindowMs, coalesceWindowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flush();
+    }
+
+    /**
+     * Queue committed notifications for delivery on the next tick.
+     */
+    public void publish(Collection<NotificationDTO> notifications) {
+        for (NotificationDTO notification : notifications) {
+            pending.compute(notification.getRecipientId(), (userId, buffered) -> {
+                List<NotificationDTO> list = buffered != null ? buffered : new ArrayList<>();
+                list.add(notification);
+                return list;
+            });
+        }
+    }
+
+    /**
+     * Frame answering a resume handshake. {@code missed} holds up to one row more than the frame
+     * limit so an overflow can be reported.
+     */
+    public NotificationPushFrame buildResumeFrame(Long userId, List<NotificationDTO> missed) {
+        return toFrame(userId, missed);
+    }
+
+    public int getMaxPerFrame() {
+        return maxPerFrame;
+    }
+
+    void flush() {
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            List<NotificationDTO> buffered = pending.remove(userId);
+            if (buffered != null && !buffered.isEmpty()) {
+                realTimeMessagingService.sendNotificationFrame(userId, toFrame(userId, buffered));
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to push buffered notifications", e);
+        }
+    }
+
+    private NotificationPushFrame toFrame(Long userId, List<NotificationDTO> notifications) {
+        List<NotificationDTO> ordered = new ArrayList<>(notifications);
+        ordered.sort(Comparator.comparing(NotificationDTO::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        boolean truncated = ordered.size() > maxPerFrame;
+        if (truncated) {
+            // Keep the newest; the client reloads the inbox for the rest
+            ordered = new ArrayList<>(ordered.subList(ordered.size() - maxPerFrame, ordered.size()));
+        }
+        Long unreadCount = inboxCache.getCounts(userId).map(NotificationInboxCache.InboxCounts::unread).orElse(null);
+        return new NotificationPushFrame(ordered, truncated, unreadCount);
+    }
+}
@@ -1,6 +1,8 @@
 package com.aipm.ai_project_management.modules.notifications.service;
 
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationFanoutJob;
 import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -38,11 +40,21 @@ public interface NotificationService {
      */
     Page<NotificationDTO> getUnreadNotifications(Long userId, Pageable pageable);
     
+    /**
+     * Get notifications for a user with cursor pagination (newest first, no total count)
+     */
+    PageResponse<NotificationDTO> getUserNotificationsWithCursor(Long userId, boolean unreadOnly, String cursor, int size);
+    
     /**
      * Get notifications by type for a user
      */
     Page<NotificationDTO> getNotificationsByType(Long userId, NotificationEntity.NotificationType type, Pageable pageable);
     
+    /**
+     * Newest notifications with an id above {@code afterId}, newest first, at most {@code limit}
+     */
+    List<NotificationDTO> getNotificationsAfter(Long userId, Long afterId, int limit);
+    
     /**
      * Mark notification as read
      */
@@ -80,9 +92,14 @@ public interface NotificationService {
                                               NotificationEntity.NotificationType type);
     
     /**
-     * Send system notification to all users
+     * Send system notification to all users; runs in the background
+     */
+    NotificationFanoutJob sendSystemNotification(String title, String message);
+    
+    /**
+     * Get progress of a system notification fan-out
      */
-    void sendSystemNotification(String title, String message);
+    NotificationFanoutJob getFanoutJob(String jobId);
     
     /**
      * Clean up old read notifications
@@ -1,6 +1,7 @@
 package com.aipm.ai_project_management.modules.notifications.service;
 
 import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationPushFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,9 @@ public class RealTimeMessagingService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
     
+    @Autowired
+    private CoalescingMessageDispatcher coalescingDispatcher;
+    
     /**
      * Send real-time notification to a specific user
      */
@@ -26,23 +30,41 @@ public class RealTimeMessagingService {
     }
     
     /**
-     * Send real-time update to a project channel
+     * Send a coalesced notification frame to every session of a user
+     */
+    public void sendNotificationFrame(Long userId, NotificationPushFrame frame) {
+        logger.debug("Sending {} real-time notifications to user: {}", frame.getNotifications().size(), userId);
+        
+        messagingTemplate.convertAndSendToUser(userId.toString(), "/queue/notifications", frame);
+    }
+    
+    /**
+     * Send real-time update to a project channel. Updates sent this way are never merged.
      */
     public void sendProjectUpdate(Long projectId, Object updateData) {
-        logger.info("Sending project update to project: {}", projectId);
+        sendProjectUpdate(projectId, null, updateData);
+    }
+    
+    /**
+     * Send real-time update about one entity of a project (e.g. a task) to the project channel.
+     * Rapid updates are coalesced, keeping the latest state per entity key; keys should name the
+     * entity type as well as its id, since several types share the channel.
+     */
+    public void sendProjectUpdate(Long projectId, Object entityKey, Object updateData) {
+        logger.debug("Sending project update to project: {}", projectId);
         
         String destination = "/topic/project/" + projectId + "/updates";
-        messagingTemplate.convertAndSend(destination, updateData);
+        coalescingDispatcher.submit(CoalescingMessageDispatcher.DestinationType.PROJECT, destination, entityKey, updateData);
     }
     
     /**
      * Send real-time task update
      */
     public void sendTaskUpdate(Long taskId, Object taskUpdate) {
-        logger.info("Sending task update for task: {}", taskId);
+        logger.debug("Sending task update for task: {}", taskId);
         
         String destination = "/topic/task/" + taskId + "/updates";
-        messagingTemplate.convertAndSend(destination, taskUpdate);
+        coalescingDispatcher.submit(CoalescingMessageDispatcher.DestinationType.TASK, destination, taskId, taskUpdate);
     }
     
     /**
@@ -73,7 +95,7 @@ public class RealTimeMessagingService {
         
         String destination = "/topic/user/" + userId + "/status";
         UserStatusUpdate statusUpdate = new UserStatusUpdate(userId, status, System.currentTimeMillis());
-        messagingTemplate.convertAndSend(destination, statusUpdate);
+        coalescingDispatcher.submit(CoalescingMessageDispatcher.DestinationType.USER_STATUS, destination, userId, statusUpdate);
     }
     
     /**
@@ -84,7 +106,7 @@ public class RealTimeMessagingService {
         
         String destination = "/topic/chat/" + chatId + "/typing";
         TypingIndicator indicator = new TypingIndicator(userId, isTyping, System.currentTimeMillis());
-        messagingTemplate.convertAndSend(destination, indicator);
+        coalescingDispatcher.submit(CoalescingMessageDispatcher.DestinationType.TYPING, destination, userId, indicator);
     }
     
     // Inner classes for structured data
@@ -1,22 +1,35 @@
 package com.aipm.ai_project_management.modules.notifications.service.impl;
 
 import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.response.PageCursor;
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache.InboxCounts;
 import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationFanoutJob;
 import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
 import com.aipm.ai_project_management.modules.notifications.repository.NotificationRepository;
+import com.aipm.ai_project_management.modules.notifications.service.NotificationFanoutService;
+import com.aipm.ai_project_management.modules.notifications.service.NotificationPushService;
 import com.aipm.ai_project_management.modules.notifications.service.NotificationService;
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,6 +44,15 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+    
+    @Autowired
+    private NotificationInboxCache inboxCache;
+    
+    @Autowired
+    private NotificationPushService notificationPushService;
+    
     @Override
     public NotificationDTO createNotification(NotificationDTO notificationDTO) {
         logger.info("Creating notification for recipient: {}", notificationDTO.getRecipientId());
@@ -51,7 +73,13 @@ public class NotificationServiceImpl implements NotificationService {
         NotificationEntity savedNotification = notificationRepository.save(notification);
         logger.info("Created notification with ID: {}", savedNotification.getId());
         
-        return convertToDTO(savedNotification);
+        NotificationDTO created = convertToDTO(savedNotification);
+        // Cache updates must only reflect committed rows
+        AfterCommit.run(() -> {
+            inboxCache.recordCreated(List.of(created));
+            notificationPushService.publish(List.of(created));
+        });
+        return created;
     }
     
     @Override
@@ -100,6 +128,30 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications.map(this::convertToDTO);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<NotificationDTO> getUserNotificationsWithCursor(Long userId, boolean unreadOnly, String cursor, int size) {
+        logger.info("Fetching notifications for user: {} after cursor: {}", userId, cursor);
+        
+        PageCursor position = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        
+        // The first page of the full inbox usually comes straight from the cached id list
+        List<NotificationEntity> notifications = position == null && !unreadOnly
+                ? findFirstPageFromInboxCache(userId, pageSize).orElse(null)
+                : null;
+        if (notifications == null) {
+            notifications = notificationRepository.findKeysetByRecipientId(
+                    userId, unreadOnly,
+                    position != null ? position.sortKey() : null,
+                    position != null ? position.id() : null,
+                    PageRequest.of(0, pageSize + 1));
+        }
+        return PageResponse.ofKeyset(notifications, pageSize, position == null,
+                rows -> rows.stream().map(this::convertToDTO).collect(Collectors.toList()),
+                notification -> new PageCursor(notification.getCreatedAt(), notification.getId()));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<NotificationDTO> getNotificationsByType(Long userId, NotificationEntity.NotificationType type, Pageable pageable) {
@@ -117,6 +169,17 @@ public class NotificationServiceImpl implements NotificationService {
         return new org.springframework.data.domain.PageImpl<>(notificationDTOs, pageable, notificationDTOs.size());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getNotificationsAfter(Long userId, Long afterId, int limit) {
+        logger.info("Fetching notifications for user: {} after id: {}", userId, afterId);
+        
+        return notificationRepository.findNewestAfterId(userId, afterId != null ? afterId : 0L, PageRequest.of(0, limit))
+            .stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+    
     @Override
     public NotificationDTO markAsRead(Long notificationId) {
         logger.info("Marking notification as read: {}", notificationId);
@@ -128,6 +191,8 @@ public class NotificationServiceImpl implements NotificationService {
             notification.setIsRead(true);
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            Long recipientId = notification.getRecipientId();
+            AfterCommit.run(() -> inboxCache.recordRead(recipientId));
         }
         
         return convertToDTO(notification);
@@ -138,6 +203,7 @@ public class NotificationServiceImpl implements NotificationService {
         logger.info("Marking all notifications as read for user: {}", userId);
         
         notificationRepository.markAllAsReadForUser(userId, LocalDateTime.now());
+        AfterCommit.run(() -> inboxCache.recordAllRead(userId));
     }
     
     @Override
@@ -148,6 +214,10 @@ public class NotificationServiceImpl implements NotificationService {
             .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + notificationId));
         
         notificationRepository.delete(notification);
+        
+        Long recipientId = notification.getRecipientId();
+        boolean wasUnread = !notification.getIsRead();
+        AfterCommit.run(() -> inboxCache.recordDeleted(recipientId, wasUnread));
     }
     
     @Override
@@ -156,6 +226,7 @@ public class NotificationServiceImpl implements NotificationService {
         
         List<NotificationEntity> userNotifications = notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, Pageable.unpaged()).getContent();
         notificationRepository.deleteAll(userNotifications);
+        AfterCommit.run(() -> inboxCache.evict(List.of(userId)));
     }
     
     @Override
@@ -174,7 +245,7 @@ public class NotificationServiceImpl implements NotificationService {
     public long getUnreadCount(Long userId) {
         logger.info("Getting unread count for user: {}", userId);
         
-        return notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+        return loadInboxCounts(userId).unread();
     }
     
     @Override
@@ -182,31 +253,23 @@ public class NotificationServiceImpl implements NotificationService {
                                                       NotificationEntity.NotificationType type) {
         logger.info("Sending bulk notifications to {} recipients", recipientIds.size());
         
-        List<NotificationDTO> createdNotifications = new ArrayList<>();
-        
-        for (Long recipientId : recipientIds) {
-            try {
-                NotificationDTO notification = sendNotification(recipientId, title, message, type);
-                createdNotifications.add(notification);
-            } catch (Exception e) {
-                logger.error("Failed to send notification to user {}: {}", recipientId, e.getMessage());
-            }
-        }
+        List<NotificationDTO> createdNotifications = notificationFanoutService.fanOutToRecipients(recipientIds, title, message, type);
         
         logger.info("Successfully sent {} out of {} bulk notifications", createdNotifications.size(), recipientIds.size());
         return createdNotifications;
     }
     
     @Override
-    public void sendSystemNotification(String title, String message) {
+    public NotificationFanoutJob sendSystemNotification(String title, String message) {
         logger.info("Sending system notification to all users");
         
-        // Get all user IDs (simplified - in production, consider pagination)
-        List<Long> allUserIds = userRepository.findAll().stream()
-            .map(user -> user.getId())
-            .collect(Collectors.toList());
-        
-        sendBulkNotifications(allUserIds, title, message, NotificationEntity.NotificationType.SYSTEM_ALERT);
+        return notificationFanoutService.startSystemFanout(title, message);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationFanoutJob getFanoutJob(String jobId) {
+        return notificationFanoutService.getJob(jobId);
     }
     
     @Override
@@ -214,7 +277,9 @@ public class NotificationServiceImpl implements NotificationService {
         logger.info("Cleaning up notifications older than {} days", daysOld);
         
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
+        List<Long> affectedUsers = notificationRepository.findRecipientIdsWithNotificationsBefore(cutoffDate);
         notificationRepository.deleteOldNotifications(cutoffDate);
+        AfterCommit.run(() -> inboxCache.evict(affectedUsers));
         
         logger.info("Completed cleanup of old notifications");
     }
@@ -224,16 +289,54 @@ public class NotificationServiceImpl implements NotificationService {
     public NotificationStats getUserNotificationStats(Long userId) {
         logger.info("Fetching notification statistics for user: {}", userId);
         
-        long totalNotifications = countTotalNotificationsByUser(userId);
-        long unreadCount = notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+        InboxCounts counts = loadInboxCounts(userId);
+        long totalNotifications = counts.total();
+        long unreadCount = Math.min(counts.unread(), totalNotifications);
         long readCount = totalNotifications - unreadCount;
         
         return new NotificationStats(totalNotifications, unreadCount, readCount);
     }
     
-    // Private helper method for counting total notifications
-    private long countTotalNotificationsByUser(Long userId) {
-        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, Pageable.unpaged()).getTotalElements();
+    // Inbox counters from the cache, falling back to two count queries on a miss
+    private InboxCounts loadInboxCounts(Long userId) {
+        Optional<InboxCounts> cached = inboxCache.getCounts(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        // Read first: the fill is dropped if a change lands while the counts are being queried
+        long version = inboxCache.getVersion(userId);
+        InboxCounts counts = new InboxCounts(
+                notificationRepository.countByRecipientIdAndIsReadFalse(userId),
+                notificationRepository.countByRecipientId(userId));
+        inboxCache.putCounts(userId, counts, version);
+        return counts;
+    }
+    
+    // First page (plus one look-ahead row) of the inbox from the cached newest ids; empty when the
+    // cache cannot answer for this page size
+    private Optional<List<NotificationEntity>> findFirstPageFromInboxCache(Long userId, int pageSize) {
+        int recentLimit = inboxCache.getRecentLimit();
+        if (pageSize >= recentLimit) {
+            return Optional.empty();
+        }
+        List<Long> recentIds = inboxCache.getRecentIds(userId).orElse(null);
+        if (recentIds == null) {
+            long version = inboxCache.getVersion(userId);
+            recentIds = notificationRepository.findRecentIdsByRecipientId(userId, PageRequest.of(0, recentLimit));
+            inboxCache.putRecentIds(userId, recentIds, version);
+        }
+        
+        List<Long> pageIds = recentIds.subList(0, Math.min(recentIds.size(), pageSize + 1));
+        Map<Long, NotificationEntity> byId = notificationRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(NotificationEntity::getId, Function.identity()));
+        if (byId.size() < pageIds.size()) {
+            // Deleted since the ids were cached
+            return Optional.empty();
+        }
+        List<NotificationEntity> page = new ArrayList<>(byId.values());
+        page.sort(Comparator.comparing(NotificationEntity::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(NotificationEntity::getId, Comparator.reverseOrder()));
+        return Optional.of(page);
     }
     
     private NotificationDTO convertToDTO(NotificationEntity entity) {
@@ -1,8 +1,12 @@
 package com.aipm.ai_project_management.modules.projects.controller;
 
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
 import com.aipm.ai_project_management.common.response.ApiResponse;
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.projects.dto.*;
 import com.aipm.ai_project_management.modules.projects.service.ProjectService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,12 +18,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,6 +39,9 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     // CREATE PROJECT
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER')")
@@ -122,6 +132,21 @@ public class ProjectController {
         return ResponseEntity.ok(ApiResponse.success(projects));
     }
     
+    // GET ALL PROJECTS (cursor pagination, no total count)
+    @GetMapping(params = "pagination=cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER')")
+    public ResponseEntity<ApiResponse<PageResponse<ProjectResponseDto>>> getAllProjectsWithCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("GET /api/projects - Fetching projects after cursor (size: {})", size);
+        
+        Long currentUserId = getCurrentUserId();
+        PageResponse<ProjectResponseDto> projects = projectService.getAllProjectsWithCursor(cursor, size, currentUserId);
+        
+        logger.info("Successfully fetched {} projects", projects.getContent().size());
+        return ResponseEntity.ok(ApiResponse.success(projects));
+    }
+    
     // GET PROJECTS BY STATUS
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER')")
@@ -459,6 +484,35 @@ public class ProjectController {
         return ResponseEntity.ok(ApiResponse.success("Project timeline retrieved successfully", timeline));
     }
     
+    @GetMapping(value = "/{projectId}/timeline/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream project timeline", description = "Stream Gantt chart timeline data for very large projects")
+    public ResponseEntity<StreamingResponseBody> streamProjectTimeline(
+            @PathVariable Long projectId) {
+        
+        logger.info("Streaming timeline for project: {}", projectId);
+        // Checked before streaming starts, after which the response status is already committed
+        if (!projectService.projectExists(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        
+        // Same ApiResponse envelope as the timeline endpoint, with the timeline streamed as its data
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "Project timeline retrieved successfully");
+                generator.writeFieldName("data");
+                projectService.writeProjectTimeline(projectId, generator);
+                generator.writeObjectField("timestamp", LocalDateTime.now());
+                generator.writeEndObject();
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
     // Helper method to extract user ID from authentication
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -77,6 +77,10 @@ public class Project {
     @Column(name = "actual_end_date")
     private LocalDate actualEndDate;
     
+    // Running total of hours logged on the project's tasks, maintained by atomic UPDATEs
+    @Column(name = "logged_hours", updatable = false)
+    private Double loggedHours = 0.0;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "priority")
     private ProjectPriority priority;
@@ -277,6 +281,14 @@ public class Project {
         this.actualEndDate = actualEndDate;
     }
     
+    public Double getLoggedHours() {
+        return loggedHours;
+    }
+    
+    public void setLoggedHours(Double loggedHours) {
+        this.loggedHours = loggedHours;
+    }
+    
     public ProjectPriority getPriority() {
         return priority;
     }
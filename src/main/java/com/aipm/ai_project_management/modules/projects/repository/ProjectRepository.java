@@ -5,13 +5,24 @@ import com.aipm.ai_project_management.modules.projects.entity.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -46,6 +57,18 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Count projects by status
     long countByStatus(ProjectStatus status);
     
+    // Count all projects grouped by status - rows are [status, count]
+    @Query("SELECT p.status, COUNT(p) FROM Project p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+    
+    // Count overdue projects without loading them
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.endDate < :currentDate AND p.status IN ('PLANNING', 'IN_PROGRESS')")
+    long countOverdueProjects(@Param("currentDate") LocalDate currentDate);
+    
+    // Active projects (not cancelled or completed) as a plain list
+    @Query("SELECT p FROM Project p WHERE p.status NOT IN ('COMPLETED', 'CANCELLED')")
+    List<Project> findAllActiveProjects();
+    
     // Find projects with team member - FIXED: Added proper join condition
     @Query("SELECT DISTINCT p FROM Project p JOIN p.teamMembers tm WHERE tm.userId = :userId")
     Page<Project> findProjectsByTeamMember(@Param("userId") Long userId, Pageable pageable);
@@ -58,6 +81,9 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p WHERE p.startDate >= :startDate AND p.endDate <= :endDate")
     Page<Project> findProjectsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
     
+    // Check if user is the manager of a project
+    boolean existsByIdAndManagerId(Long id, Long managerId);
+    
     // Check if project exists by name (for validation)
     boolean existsByNameIgnoreCase(String name);
     
@@ -85,4 +111,60 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects by risk level
     @Query("SELECT p FROM Project p WHERE p.aiRiskLevel = :riskLevel")
     List<Project> findProjectsByRiskLevel(@Param("riskLevel") String riskLevel);
-}
\ No newline at end of file
+    
+    // Keyset pagination newest first over (createdAt, id); a null cursor id starts from the first row
+    @Query("SELECT p FROM Project p " +
+           "WHERE (:cursorId IS NULL OR p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :cursorId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findKeysetByCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // Ids of projects in any of the given statuses
+    @Query("SELECT p.id FROM Project p WHERE p.status IN :statuses")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<ProjectStatus> statuses);
+
+    // Apply a logged-hours delta in place so concurrent loggers cannot lose each other's updates
+    @Modifying
+    @Query("UPDATE Project p SET p.loggedHours = COALESCE(p.loggedHours, 0) + :delta WHERE p.id = :projectId")
+    int addLoggedHours(@Param("projectId") Long projectId, @Param("delta") double delta);
+
+    // Reconciliation: projects after a cursor whose running total differs from their tasks' time logs
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId AND ABS(COALESCE(p.loggedHours, 0) - " +
+           "COALESCE((SELECT SUM(t.hours) FROM TimeTracking t WHERE t.task.projectId = p.id), 0)) > :tolerance ORDER BY p.id")
+    List<Long> findIdsWithLoggedHoursDrift(@Param("afterId") Long afterId, @Param("tolerance") double tolerance, Pageable pageable);
+
+    // Reconciliation: recompute running totals from the time logs
+    @Modifying
+    @Query("UPDATE Project p SET p.loggedHours = COALESCE((SELECT SUM(t.hours) FROM TimeTracking t WHERE t.task.projectId = p.id), 0) " +
+           "WHERE p.id IN :ids")
+    int recomputeLoggedHours(@Param("ids") Collection<Long> ids);
+    
+    // Search index rows as [id, clientId, name, description]
+    @Query("SELECT p.id, p.clientId, p.name, p.description FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.clientId, p.name, p.description FROM Project p")
+    Stream<Object[]> streamSearchRows();
+
+    // Typeahead rows as [id, name]
+    @Query("SELECT p.id, p.name FROM Project p")
+    List<Object[]> findTypeaheadRows();
+
+    @Query("SELECT p.id, p.name FROM Project p WHERE p.id IN :ids")
+    List<Object[]> findTypeaheadRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Projects a user manages, created or is a current team member of, as [projectId, clientId]
+    @Query("SELECT p.id, p.clientId FROM Project p WHERE p.managerId = :userId OR p.createdBy = :userId " +
+           "OR EXISTS (SELECT tm.id FROM ProjectTeamMember tm WHERE tm.project = p AND tm.userId = :userId AND tm.leftAt IS NULL)")
+    List<Object[]> findAccessRowsByUserId(@Param("userId") Long userId);
+
+    // Locks the project a task belongs to, so dependency changes within one project run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = (SELECT t.projectId FROM Task t WHERE t.id = :taskId)")
+    Optional<Project> findProjectOfTaskForUpdate(@Param("taskId") Long taskId);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +47,14 @@ public interface ProjectTeamMemberRepository extends JpaRepository<ProjectTeamMe
     @Query("SELECT COUNT(ptm) FROM ProjectTeamMember ptm WHERE ptm.project.id = :projectId AND ptm.leftAt IS NULL")
     long countActiveByProjectId(@Param("projectId") Long projectId);
 
+    // User ids of a project's active members
+    @Query("SELECT ptm.userId FROM ProjectTeamMember ptm WHERE ptm.project.id = :projectId AND ptm.leftAt IS NULL")
+    List<Long> findActiveUserIdsByProjectId(@Param("projectId") Long projectId);
+
+    // Count active team members for a batch of projects - rows are [projectId, count]
+    @Query("SELECT ptm.project.id, COUNT(ptm) FROM ProjectTeamMember ptm WHERE ptm.project.id IN :projectIds AND ptm.leftAt IS NULL GROUP BY ptm.project.id")
+    List<Object[]> countActiveGroupedByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
     // Find team members assigned by user
     List<ProjectTeamMember> findByAssignedBy(Long assignedBy);
 
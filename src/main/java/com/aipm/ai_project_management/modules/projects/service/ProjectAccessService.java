@@ -0,0 +1,167 @@
+package com.aipm.ai_project_management.modules.projects.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
+import com.aipm.ai_project_management.shared.transaction.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Project authorization decisions with a bounded in-memory cache keyed by (projectId, userId).
+ * Entries are evicted after the commit that changes team membership, the project manager or a
+ * user's role/status, and expire after a short TTL as a safety net for changes made outside this
+ * service. A decision whose load overlapped an eviction is returned but not cached, so a reader
+ * that saw the pre-commit state cannot put it back.
+ */
+@Service
+public class ProjectAccessService {
+
+    private final ProjectTeamMemberRepository teamMemberRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<AccessKey, AccessDecision> cache;
+    // Bumped by every eviction; loads that straddle a bump are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public ProjectAccessService(ProjectTeamMemberRepository teamMemberRepository,
+                                ProjectRepository projectRepository,
+                                UserRepository userRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.project-access.cache.max-entries:10000}") int maxEntries,
+                                @Value("${app.project-access.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.teamMemberRepository = teamMemberRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AccessKey, AccessDecision> eldest) {
+                return size() > ProjectAccessService.this.maxEntries;
+            }
+        });
+
+        this.hitCounter = Counter.builder("project.access.cache")
+                .tag("result", "hit")
+                .description("Project access decisions served from cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("project.access.cache")
+                .tag("result", "miss")
+                .description("Project access decisions loaded from the database")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("project.access.cache.evictions")
+                .description("Project access decisions invalidated by membership or role changes")
+                .register(meterRegistry);
+        Gauge.builder("project.access.cache.size", cache, Map::size)
+                .description("Cached project access decisions")
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasProjectAccess(Long projectId, Long userId) {
+        return getDecision(projectId, userId).canView();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean canManageProject(Long projectId, Long userId) {
+        return getDecision(projectId, userId).canManage();
+    }
+
+    /**
+     * Drop the cached decision for one member of a project, e.g. after they are added or removed.
+     */
+    public void evict(Long projectId, Long userId) {
+        // Evict after commit so a concurrent reader cannot re-cache the pre-commit state
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            if (cache.remove(new AccessKey(projectId, userId)) != null) {
+                evictionCounter.increment();
+            }
+        });
+    }
+
+    /**
+     * Drop every cached decision for a project, e.g. after its manager changes or it is deleted.
+     */
+    public void evictProject(Long projectId) {
+        AfterCommit.run(() -> removeWhere(key -> key.projectId().equals(projectId)));
+    }
+
+    /**
+     * Drop every cached decision for a user, e.g. after their role or status changes.
+     */
+    public void evictUser(Long userId) {
+        AfterCommit.run(() -> removeWhere(key -> key.userId().equals(userId)));
+    }
+
+    private AccessDecision getDecision(Long projectId, Long userId) {
+        AccessKey key = new AccessKey(projectId, userId);
+        long now = System.currentTimeMillis();
+
+        AccessDecision cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        missCounter.increment();
+        long loadedAt = generation.get();
+        AccessDecision decision = loadDecision(projectId, userId, now + ttlMillis);
+        synchronized (cache) {
+            if (generation.get() == loadedAt) {
+                cache.put(key, decision);
+            }
+        }
+        return decision;
+    }
+
+    private AccessDecision loadDecision(Long projectId, Long userId, long expiresAt) {
+        boolean admin = userRepository.findRoleById(userId)
+                .map(role -> role == UserRole.ADMIN)
+                .orElse(false);
+
+        // Active roles only (leftAt IS NULL), so a non-empty list means an active member
+        List<UserRole> projectRoles = teamMemberRepository.findUserRolesInProject(projectId, userId);
+        boolean member = !projectRoles.isEmpty();
+        boolean manager = !admin && !member && projectRepository.existsByIdAndManagerId(projectId, userId);
+
+        boolean canView = admin || member || manager;
+        boolean canManage = admin || projectRoles.contains(UserRole.PROJECT_MANAGER) || projectRoles.contains(UserRole.ADMIN);
+        return new AccessDecision(canView, canManage, expiresAt);
+    }
+
+    private void removeWhere(Predicate<AccessKey> predicate) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            int before = cache.size();
+            cache.keySet().removeIf(predicate);
+            evictionCounter.increment(before - cache.size());
+        }
+    }
+
+    private record AccessKey(Long projectId, Long userId) {
+    }
+
+    private record AccessDecision(boolean canView, boolean canManage, long expiresAt) {
+    }
+}
@@ -1,10 +1,13 @@
 package com.aipm.ai_project_management.modules.projects.service;
 
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.projects.dto.*;
 import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,6 +21,7 @@ public interface ProjectService {
 
     // List and search operations
     Page<ProjectResponseDto> getAllProjects(Pageable pageable, Long currentUserId);
+    PageResponse<ProjectResponseDto> getAllProjectsWithCursor(String cursor, int size, Long currentUserId);
     Page<ProjectResponseDto> getProjectsByStatus(String status, Pageable pageable, Long currentUserId);
     Page<ProjectResponseDto> getProjectsByClient(Long clientId, Pageable pageable, Long currentUserId);
     Page<ProjectResponseDto> getProjectsByManager(Long managerId, Pageable pageable, Long currentUserId);
@@ -47,6 +51,14 @@ public interface ProjectService {
     ProjectResponseDto updateProjectProgress(Long projectId, Integer progressPercentage, Long currentUserId);
     ProjectHealthDto getProjectHealth(Long projectId, Long currentUserId);
 
+    // Health for internal read models - no access check
+    List<ProjectHealthDto> computeActiveProjectHealth();
+
+    /**
+     * Health of a single project for internal read models, or null if it no longer exists or is not active.
+     */
+    ProjectHealthDto computeProjectHealth(Long projectId);
+
     // Access control helpers
 
     /**
@@ -70,4 +82,12 @@ public interface ProjectService {
      * Get project timeline data for Gantt chart visualization.
      */
     ProjectTimelineDto getProjectTimeline(Long projectId);
-}
\ No newline at end of file
+    
+    /**
+     * Write the project timeline as one JSON object to the given generator, task rows one at a
+     * time, for very large projects. The generator is left open so the caller can wrap the object.
+     */
+    void writeProjectTimeline(Long projectId, JsonGenerator generator) throws IOException;
+    
+    boolean projectExists(Long projectId);
+}
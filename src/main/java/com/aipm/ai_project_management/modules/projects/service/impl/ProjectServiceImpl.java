@@ -1,8 +1,11 @@
 package com.aipm.ai_project_management.modules.projects.service.impl;
 
 import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
 import com.aipm.ai_project_management.common.enums.UserRole;
-import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.common.response.PageCursor;
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.projects.dto.*;
 import com.aipm.ai_project_management.modules.projects.entity.Project;
 import com.aipm.ai_project_management.modules.projects.entity.ProjectMilestone;
@@ -12,20 +15,31 @@ import com.aipm.ai_project_management.modules.projects.repository.ProjectMilesto
 import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
 import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
 import com.aipm.ai_project_management.modules.tasks.repository.TaskDependencyRepository;
-import com.aipm.ai_project_management.modules.tasks.entity.Task;
-import com.aipm.ai_project_management.modules.tasks.entity.TaskDependency;
+import com.aipm.ai_project_management.modules.projects.service.ProjectAccessService;
 import com.aipm.ai_project_management.modules.projects.service.ProjectService;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -40,15 +54,21 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private ProjectTeamMemberRepository teamMemberRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-    
     @Autowired
     private TaskRepository taskRepository;
     
     @Autowired
     private TaskDependencyRepository taskDependencyRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectAccessService projectAccessService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public ProjectResponseDto createProject(ProjectCreateDto createDto, Long currentUserId) {
     	if (projectRepository.existsByNameIgnoreCase(createDto.getName())) {
@@ -82,8 +102,10 @@ public class ProjectServiceImpl implements ProjectService {
             manager.setJoinedAt(LocalDateTime.now());
             manager.setLeftAt(null); // Active
             teamMemberRepository.save(manager);
+            projectAccessService.evict(savedProject.getId(), manager.getUserId());
         }
 
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId(), EntityChangeType.CREATED));
         return convertToResponseDto(savedProject);
     }
 
@@ -138,12 +160,16 @@ public class ProjectServiceImpl implements ProjectService {
             project.setClientId(updateDto.getClientId());
         }
         if (updateDto.getProjectManagerId() != null) {
+            if (!updateDto.getProjectManagerId().equals(project.getProjectManagerId())) {
+                projectAccessService.evictProject(projectId);
+            }
             project.setProjectManagerId(updateDto.getProjectManagerId());
         }
 
         project.setUpdatedBy(currentUserId);
 
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, EntityChangeType.UPDATED));
         return convertToResponseDto(updatedProject);
     }
 
@@ -170,13 +196,29 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         projectRepository.delete(project);
+        projectAccessService.evictProject(projectId);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, EntityChangeType.DELETED));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProjectResponseDto> getAllProjects(Pageable pageable, Long currentUserId) {
         Page<Project> projects = projectRepository.findAll(pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ProjectResponseDto> getAllProjectsWithCursor(String cursor, int size, Long currentUserId) {
+        PageCursor position = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, 100));
+        
+        List<Project> projects = projectRepository.findKeysetByCreatedAt(
+                position != null ? position.sortKey() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        return PageResponse.ofKeyset(projects, pageSize, position == null, this::convertToResponseDtoList,
+                project -> new PageCursor(project.getCreatedAt(), project.getId()));
     }
 
     @Override
@@ -184,44 +226,42 @@ public class ProjectServiceImpl implements ProjectService {
     public Page<ProjectResponseDto> getProjectsByStatus(String status, Pageable pageable, Long currentUserId) {
         ProjectStatus projectStatus = ProjectStatus.valueOf(status.toUpperCase());
         Page<Project> projects = projectRepository.findByStatus(projectStatus, pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProjectResponseDto> getProjectsByClient(Long clientId, Pageable pageable, Long currentUserId) {
         Page<Project> projects = projectRepository.findByClientId(clientId, pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProjectResponseDto> getProjectsByManager(Long managerId, Pageable pageable, Long currentUserId) {
         Page<Project> projects = projectRepository.findByManagerId(managerId, pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProjectResponseDto> searchProjectsByName(String name, Pageable pageable, Long currentUserId) {
         Page<Project> projects = projectRepository.findByNameContainingIgnoreCase(name, pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProjectResponseDto> getMyProjects(Long userId, Pageable pageable) {
         Page<Project> projects = projectRepository.findProjectsByTeamMember(userId, pageable);
-        return projects.map(this::convertToResponseDto);
+        return convertToResponseDtoPage(projects);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProjectResponseDto> getActiveProjects(Long currentUserId) {
         Page<Project> projects = projectRepository.findActiveProjects(Pageable.unpaged());
-        return projects.getContent().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return convertToResponseDtoList(projects.getContent());
     }
 
     @Override
@@ -231,9 +271,7 @@ public class ProjectServiceImpl implements ProjectService {
         LocalDate endDate = startDate.plusDays(days);
 
         List<Project> projects = projectRepository.findProjectsEndingSoon(startDate, endDate);
-        return projects.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return convertToResponseDtoList(projects);
     }
 
     @Override
@@ -241,9 +279,7 @@ public class ProjectServiceImpl implements ProjectService {
     public List<ProjectResponseDto> getOverdueProjects(Long currentUserId) {
         LocalDate currentDate = LocalDate.now();
         List<Project> projects = projectRepository.findOverdueProjects(currentDate);
-        return projects.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return convertToResponseDtoList(projects);
     }
 
     @Override
@@ -251,15 +287,24 @@ public class ProjectServiceImpl implements ProjectService {
     public ProjectStatsDto getProjectStatistics(Long currentUserId) {
         ProjectStatsDto stats = new ProjectStatsDto();
 
-        stats.setTotalProjects(projectRepository.count());
-        stats.setActiveProjects(projectRepository.countByStatus(ProjectStatus.IN_PROGRESS));
-        stats.setCompletedProjects(projectRepository.countByStatus(ProjectStatus.COMPLETED));
-        stats.setPlanningProjects(projectRepository.countByStatus(ProjectStatus.PLANNING));
-        stats.setOnHoldProjects(projectRepository.countByStatus(ProjectStatus.ON_HOLD));
-        stats.setCancelledProjects(projectRepository.countByStatus(ProjectStatus.CANCELLED));
+        // One grouped count instead of a count query per status
+        Map<ProjectStatus, Long> countsByStatus = new HashMap<>();
+        long totalProjects = 0;
+        for (Object[] row : projectRepository.countGroupedByStatus()) {
+            long count = ((Number) row[1]).longValue();
+            countsByStatus.put((ProjectStatus) row[0], count);
+            totalProjects += count;
+        }
+
+        stats.setTotalProjects(totalProjects);
+        stats.setActiveProjects(countsByStatus.getOrDefault(ProjectStatus.IN_PROGRESS, 0L));
+        stats.setCompletedProjects(countsByStatus.getOrDefault(ProjectStatus.COMPLETED, 0L));
+        stats.setPlanningProjects(countsByStatus.getOrDefault(ProjectStatus.PLANNING, 0L));
+        stats.setOnHoldProjects(countsByStatus.getOrDefault(ProjectStatus.ON_HOLD, 0L));
+        stats.setCancelledProjects(countsByStatus.getOrDefault(ProjectStatus.CANCELLED, 0L));
 
         LocalDate currentDate = LocalDate.now();
-        stats.setOverdueProjects((long) projectRepository.findOverdueProjects(currentDate).size());
+        stats.setOverdueProjects(projectRepository.countOverdueProjects(currentDate));
 
         return stats;
     }
@@ -288,6 +333,7 @@ public class ProjectServiceImpl implements ProjectService {
         teamMember.setLeftAt(null);
 
         ProjectTeamMember savedMember = teamMemberRepository.save(teamMember);
+        projectAccessService.evict(projectId, savedMember.getUserId());
         return convertToTeamMemberDto(savedMember);
     }
 
@@ -316,6 +362,7 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         ProjectTeamMember updatedMember = teamMemberRepository.save(teamMember);
+        projectAccessService.evict(projectId, updatedMember.getUserId());
         return convertToTeamMemberDto(updatedMember);
     }
 
@@ -330,6 +377,7 @@ public class ProjectServiceImpl implements ProjectService {
 
         teamMember.setLeftAt(LocalDateTime.now());
         teamMemberRepository.save(teamMember);
+        projectAccessService.evict(projectId, teamMember.getUserId());
     }
 
     @Override
@@ -454,6 +502,7 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         Project updatedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId, EntityChangeType.UPDATED));
         return convertToResponseDto(updatedProject);
     }
 
@@ -467,8 +516,30 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
+        return buildProjectHealth(project);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectHealthDto> computeActiveProjectHealth() {
+        return projectRepository.findAllActiveProjects().stream()
+                .map(this::buildProjectHealth)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectHealthDto computeProjectHealth(Long projectId) {
+        return projectRepository.findById(projectId)
+                .filter(project -> project.getStatus() != ProjectStatus.COMPLETED
+                        && project.getStatus() != ProjectStatus.CANCELLED)
+                .map(this::buildProjectHealth)
+                .orElse(null);
+    }
+
+    private ProjectHealthDto buildProjectHealth(Project project) {
         ProjectHealthDto health = new ProjectHealthDto();
-        health.setProjectId(projectId);
+        health.setProjectId(project.getId());
         health.setProjectName(project.getName());
 
         LocalDate currentDate = LocalDate.now();
@@ -486,31 +557,17 @@ public class ProjectServiceImpl implements ProjectService {
     
     
 
-    private boolean isAdmin(Long userId) {
-        return userRepository.findById(userId)
-            .map(user -> user.getRole() == UserRole.ADMIN)
-            .orElse(false);
-    }
-
     @Override
     @Transactional(readOnly = true)
     public boolean hasProjectAccess(Long projectId, Long userId) {
-        // Allow if user is active team member
-        if (teamMemberRepository.existsActiveByProjectIdAndUserId(projectId, userId)) return true;
-        // Allow if user is project manager
-        Project project = projectRepository.findById(projectId).orElse(null);
-        if (project != null && userId.equals(project.getProjectManagerId())) return true;
-        // Optionally, check if user is admin...
-        if (isAdmin(userId)) return true;
-        return false;
+        // Active team member, project manager or admin - cached per (project, user)
+        return projectAccessService.hasProjectAccess(projectId, userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean canManageProject(Long projectId, Long userId) {
-        List<UserRole> userRoles = teamMemberRepository.findUserRolesInProject(projectId, userId);
-        if (isAdmin(userId)) return true;
-        return userRoles.contains(UserRole.PROJECT_MANAGER) ||userRoles.contains(UserRole.ADMIN);
+        return projectAccessService.canManageProject(projectId, userId);
     }
 
     @Override
@@ -522,6 +579,39 @@ public class ProjectServiceImpl implements ProjectService {
 
     // Helper conversion methods
     private ProjectResponseDto convertToResponseDto(Project project) {
+        // Set team member count using leftAt IS NULL (active members)
+        return convertToResponseDto(project, teamMemberRepository.countActiveByProjectId(project.getId()));
+    }
+
+    // Listing pages share one grouped count query instead of one count per row
+    private Page<ProjectResponseDto> convertToResponseDtoPage(Page<Project> projects) {
+        Map<Long, Long> teamCounts = countActiveTeamMembers(projects.getContent());
+        return projects.map(project -> convertToResponseDto(project, teamCounts.getOrDefault(project.getId(), 0L)));
+    }
+
+    private List<ProjectResponseDto> convertToResponseDtoList(List<Project> projects) {
+        Map<Long, Long> teamCounts = countActiveTeamMembers(projects);
+        return projects.stream()
+                .map(project -> convertToResponseDto(project, teamCounts.getOrDefault(project.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Long> countActiveTeamMembers(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> projectIds = projects.stream()
+                .map(Project::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : teamMemberRepository.countActiveGroupedByProjectIds(projectIds)) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private ProjectResponseDto convertToResponseDto(Project project, long teamMemberCount) {
         ProjectResponseDto dto = new ProjectResponseDto();
         dto.setId(project.getId());
         dto.setName(project.getName());
@@ -539,9 +629,7 @@ public class ProjectServiceImpl implements ProjectService {
         dto.setCreatedBy(project.getCreatedBy());
         dto.setCreatedAt(project.getCreatedAt());
         dto.setUpdatedAt(project.getUpdatedAt());
-
-        // Set team member count using leftAt IS NULL (active members)
-        dto.setTeamMemberCount((int) teamMemberRepository.countActiveByProjectId(project.getId()));
+        dto.setTeamMemberCount((int) teamMemberCount);
 
         return dto;
     }
@@ -621,14 +709,18 @@ public class ProjectServiceImpl implements ProjectService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public ProjectTimelineDto getProjectTimeline(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
-        // Get project tasks
-        List<Task> tasks = taskRepository.findByProjectId(projectId);
-        List<ProjectTimelineDto.TimelineTask> timelineTasks = tasks.stream()
-                .map(this::convertToTimelineTask)
+        // Bulk-load everything the tasks need: dependencies keyed by dependent task and assignee names
+        Map<Long, List<Long>> dependenciesByTask = loadDependenciesByTask(projectId);
+        Map<Long, String> assigneeNames = loadAssigneeNames(projectId);
+        
+        List<ProjectTimelineDto.TimelineTask> timelineTasks = taskRepository.findTimelineRowsByProjectId(projectId)
+                .stream()
+                .map(row -> convertToTimelineTask(row, dependenciesByTask, assigneeNames))
                 .collect(Collectors.toList());
         
         // Get project milestones
@@ -637,8 +729,8 @@ public class ProjectServiceImpl implements ProjectService {
                 .map(this::convertToTimelineMilestone)
                 .collect(Collectors.toList());
         
-        // Calculate project progress
-        double progress = calculateProjectProgress(project);
+        // Calculate project progress from the tasks already loaded
+        double progress = calculateProjectProgress(timelineTasks);
         
         return new ProjectTimelineDto(
                 project.getId(),
@@ -652,30 +744,89 @@ public class ProjectServiceImpl implements ProjectService {
         );
     }
     
-    private ProjectTimelineDto.TimelineTask convertToTimelineTask(Task task) {
-        // Get task dependencies
-        List<Long> dependencies = taskDependencyRepository.findByDependentTaskId(task.getId())
+    @Override
+    @Transactional(readOnly = true)
+    public void writeProjectTimeline(Long projectId, JsonGenerator generator) throws IOException {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        
+        Map<Long, List<Long>> dependenciesByTask = loadDependenciesByTask(projectId);
+        Map<Long, String> assigneeNames = loadAssigneeNames(projectId);
+        List<ProjectTimelineDto.TimelineMilestone> timelineMilestones = milestoneRepository.findByProjectId(projectId)
                 .stream()
-                .map(dep -> dep.getDependencyTask().getId())
+                .map(this::convertToTimelineMilestone)
                 .collect(Collectors.toList());
+        Double progress = taskRepository.averageProgressByProjectId(projectId);
+        
+        // Same JSON shape as ProjectTimelineDto, but tasks are written one row at a time
+        try (Stream<Object[]> rows = taskRepository.streamTimelineRowsByProjectId(projectId)) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", project.getId());
+            generator.writeStringField("name", project.getName());
+            generator.writeObjectField("start_date", project.getStartDate());
+            generator.writeObjectField("end_date", project.getEndDate());
+            generator.writeStringField("status", project.getStatus().name());
+            generator.writeNumberField("progress", progress != null ? progress : 0.0);
+            
+            generator.writeArrayFieldStart("tasks");
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(convertToTimelineTask(iterator.next(), dependenciesByTask, assigneeNames));
+            }
+            generator.writeEndArray();
+            
+            generator.writeObjectField("milestones", timelineMilestones);
+            generator.writeEndObject();
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public boolean projectExists(Long projectId) {
+        return projectRepository.existsById(projectId);
+    }
+    
+    private Map<Long, List<Long>> loadDependenciesByTask(Long projectId) {
+        Map<Long, List<Long>> dependenciesByTask = new HashMap<>();
+        for (Object[] pair : taskDependencyRepository.findDependencyPairsByProjectId(projectId)) {
+            dependenciesByTask.computeIfAbsent((Long) pair[0], id -> new ArrayList<>()).add((Long) pair[1]);
+        }
+        return dependenciesByTask;
+    }
+    
+    private Map<Long, String> loadAssigneeNames(Long projectId) {
+        Map<Long, String> assigneeNames = new HashMap<>();
+        for (Object[] row : taskRepository.findAssigneeNamesByProjectId(projectId)) {
+            assigneeNames.put((Long) row[0], (String) row[1]);
+        }
+        return assigneeNames;
+    }
+    
+    // Row layout matches TaskRepository.findTimelineRowsByProjectId
+    private ProjectTimelineDto.TimelineTask convertToTimelineTask(Object[] row,
+                                                                  Map<Long, List<Long>> dependenciesByTask,
+                                                                  Map<Long, String> assigneeNames) {
+        Long taskId = (Long) row[0];
+        LocalDateTime dueDate = (LocalDateTime) row[3];
+        TaskStatus status = (TaskStatus) row[4];
+        Integer taskProgress = (Integer) row[5];
+        TaskPriority priority = (TaskPriority) row[6];
+        Long assigneeId = (Long) row[7];
         
-        // Get assigned user name
-        String assignedTo = task.getAssigneeId() != null ? 
-                userRepository.findById(task.getAssigneeId())
-                        .map(user -> user.getName())
-                        .orElse("Unassigned") : "Unassigned";
+        String assignedTo = assigneeId != null ?
+                assigneeNames.getOrDefault(assigneeId, "Unassigned") : "Unassigned";
         
         return new ProjectTimelineDto.TimelineTask(
-                task.getId(),
-                task.getTitle(),
-                task.getDescription(),
+                taskId,
+                (String) row[1],
+                (String) row[2],
                 null, // startDate - Task entity doesn't seem to have this field
-                task.getDueDate() != null ? task.getDueDate().toLocalDate() : null,
-                task.getStatus().name(),
-                task.getProgress() != null ? task.getProgress().doubleValue() : 0.0,
-                task.getPriority().name(),
+                dueDate != null ? dueDate.toLocalDate() : null,
+                status.name(),
+                taskProgress != null ? taskProgress.doubleValue() : 0.0,
+                priority != null ? priority.name() : null,
                 assignedTo,
-                dependencies
+                dependenciesByTask.getOrDefault(taskId, Collections.emptyList())
         );
     }
     
@@ -690,15 +841,13 @@ public class ProjectServiceImpl implements ProjectService {
         );
     }
     
-    private double calculateProjectProgress(Project project) {
-        List<Task> tasks = taskRepository.findByProjectId(project.getId());
+    private double calculateProjectProgress(List<ProjectTimelineDto.TimelineTask> tasks) {
         if (tasks.isEmpty()) {
             return 0.0;
         }
         
         double totalProgress = tasks.stream()
-                .mapToDouble(task -> task.getProgress() != null ? 
-                        task.getProgress().doubleValue() : 0.0)
+                .mapToDouble(ProjectTimelineDto.TimelineTask::getProgress)
                 .sum();
         
         return totalProgress / tasks.size();
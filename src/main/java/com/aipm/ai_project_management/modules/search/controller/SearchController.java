@@ -0,0 +1,83 @@
+package com.aipm.ai_project_management.modules.search.controller;
+
+import com.aipm.ai_project_management.common.response.ApiResponse;
+import com.aipm.ai_project_management.modules.auth.security.UserPrincipal;
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import com.aipm.ai_project_management.modules.search.dto.SearchResultsDTO;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadSuggestionDTO;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadType;
+import com.aipm.ai_project_management.modules.search.service.SearchIndexer;
+import com.aipm.ai_project_management.modules.search.service.SearchService;
+import com.aipm.ai_project_management.modules.search.service.TypeaheadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Full-text search over tasks, projects, clients and comments")
+public class SearchController {
+
+    private final SearchService searchService;
+    private final SearchIndexer searchIndexer;
+    private final TypeaheadService typeaheadService;
+
+    public SearchController(SearchService searchService, SearchIndexer searchIndexer, TypeaheadService typeaheadService) {
+        this.searchService = searchService;
+        this.searchIndexer = searchIndexer;
+        this.typeaheadService = typeaheadService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Search", description = "Ranked search; the last word also matches as a prefix while typing")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<SearchResultsDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        Set<SearchDocumentType> typeFilter = EnumSet.noneOf(SearchDocumentType.class);
+        if (types != null) {
+            types.forEach(type -> typeFilter.add(SearchDocumentType.fromValue(type)));
+        }
+        SearchResultsDTO results = searchService.search(q, typeFilter, projectId, limit,
+                principal.getId(), principal.getRole());
+        return ResponseEntity.ok(ApiResponse.success(results));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete", description = "Users, projects or clients with a word starting with every word typed; "
+            + "projects and clients are limited to those the caller can access")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<TypeaheadSuggestionDTO>>> autocomplete(
+            @RequestParam String type,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+
+        List<TypeaheadSuggestionDTO> suggestions = typeaheadService.suggest(TypeaheadType.fromValue(type), q, limit,
+                principal.getId(), principal.getRole());
+        return ResponseEntity.ok(ApiResponse.success(suggestions));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuild() {
+        int documents = searchIndexer.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(Map.of("documents", documents)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.aipm.ai_project_management.modules.search.dto;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+
+/**
+ * Kinds of records kept in the full-text search index.
+ */
+public enum SearchDocumentType {
+    TASK,
+    PROJECT,
+    CLIENT,
+    COMMENT;
+
+    public static SearchDocumentType fromValue(String value) {
+        for (SearchDocumentType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new ValidationException("types", "Unknown search type: " + value);
+    }
+}
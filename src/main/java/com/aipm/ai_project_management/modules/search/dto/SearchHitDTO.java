@@ -0,0 +1,86 @@
+package com.aipm.ai_project_management.modules.search.dto;
+
+/**
+ * One ranked search match. {@code projectId} and {@code taskId} are set where the record
+ * belongs to a project or task; comments have no title and carry their text in the snippet.
+ */
+public class SearchHitDTO {
+
+    private SearchDocumentType type;
+    private Long id;
+    private Long projectId;
+    private Long taskId;
+    private String title;
+    private String snippet;
+    private float score;
+
+    public SearchHitDTO() {
+    }
+
+    public SearchHitDTO(SearchDocumentType type, Long id, Long projectId, Long taskId,
+                        String title, String snippet, float score) {
+        this.type = type;
+        this.id = id;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    public SearchDocumentType getType() {
+        return type;
+    }
+
+    public void setType(SearchDocumentType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aipm.ai_project_management.modules.search.dto;
+
+import java.util.List;
+
+/**
+ * Best matches for a query, highest score first. {@code totalHits} counts every accessible
+ * match, not just the ones returned.
+ */
+public class SearchResultsDTO {
+
+    private String query;
+    private long totalHits;
+    private List<SearchHitDTO> hits;
+
+    public SearchResultsDTO() {
+    }
+
+    public SearchResultsDTO(String query, long totalHits, List<SearchHitDTO> hits) {
+        this.query = query;
+        this.totalHits = totalHits;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public List<SearchHitDTO> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<SearchHitDTO> hits) {
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,54 @@
+package com.aipm.ai_project_management.modules.search.dto;
+
+/**
+ * One typeahead match. {@code detail} is the user's email or the client's industry, when known.
+ */
+public class TypeaheadSuggestionDTO {
+
+    private TypeaheadType type;
+    private Long id;
+    private String name;
+    private String detail;
+
+    public TypeaheadSuggestionDTO() {
+    }
+
+    public TypeaheadSuggestionDTO(TypeaheadType type, Long id, String name, String detail) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.detail = detail;
+    }
+
+    public TypeaheadType getType() {
+        return type;
+    }
+
+    public void setType(TypeaheadType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
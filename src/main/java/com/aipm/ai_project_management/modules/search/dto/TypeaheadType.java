@@ -0,0 +1,21 @@
+package com.aipm.ai_project_management.modules.search.dto;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+
+/**
+ * Kinds of records offered by the typeahead pickers.
+ */
+public enum TypeaheadType {
+    USER,
+    PROJECT,
+    CLIENT;
+
+    public static TypeaheadType fromValue(String value) {
+        for (TypeaheadType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new ValidationException("type", "Unknown typeahead type: " + value);
+    }
+}
@@ -0,0 +1,184 @@
+package com.aipm.ai_project_management.modules.search.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index of display names behind the typeahead pickers.
+ * <p>
+ * Entries are kept in sorted maps keyed by their whole normalised name and by each word in it,
+ * so a lookup is one seek to the prefix followed by a walk that stops after the requested
+ * number of matches. Names starting with the query come first, then names where another word
+ * does; each group is in alphabetical order. Writers are serialised, readers never block.
+ */
+public class PrefixIndex {
+
+    // Ends the text part of a key; sorts before any character a normalised text can contain
+    private static final char SEPARATOR = '\u0000';
+    private static final char PREFIX_END = '\uffff';
+    // Bounds the walk when later query words filter out most word matches
+    private static final int MAX_SCANNED_KEYS = 1000;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Entry(long id, String name, String detail) {
+    }
+
+    private record Indexed(Entry entry, List<String> nameKeys, List<String> wordKeys, Set<String> words) {
+    }
+
+    private final NavigableMap<String, Indexed> names = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Indexed> words = new ConcurrentSkipListMap<>();
+    private final Map<Long, Indexed> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or replaces an entry, matched by the words of each of the given texts.
+     */
+    public synchronized void put(Entry entry, List<String> texts) {
+        remove(entry.id());
+        List<String> nameKeys = new ArrayList<>(texts.size());
+        Set<String> entryWords = new LinkedHashSet<>();
+        for (String text : texts) {
+            String normalized = normalize(text);
+            if (!normalized.isEmpty()) {
+                nameKeys.add(key(normalized, entry.id()));
+                entryWords.addAll(List.of(normalized.split(" ")));
+            }
+        }
+        List<String> wordKeys = new ArrayList<>(entryWords.size());
+        for (String word : entryWords) {
+            wordKeys.add(key(word, entry.id()));
+        }
+
+        Indexed indexed = new Indexed(entry, nameKeys, wordKeys, entryWords);
+        nameKeys.forEach(key -> names.put(key, indexed));
+        wordKeys.forEach(key -> words.put(key, indexed));
+        entries.put(entry.id(), indexed);
+    }
+
+    public synchronized void remove(long id) {
+        Indexed indexed = entries.remove(id);
+        if (indexed != null) {
+            indexed.nameKeys().forEach(names::remove);
+            indexed.wordKeys().forEach(words::remove);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Up to {@code limit} entries with a word starting with every word of the query.
+     */
+    public List<Entry> lookup(String query, int limit) {
+        return lookup(query, limit, entry -> true);
+    }
+
+    /**
+     * Same as {@link #lookup(String, int)}, skipping entries the filter rejects before they count
+     * towards the limit.
+     */
+    public List<Entry> lookup(String query, int limit, Predicate<Entry> filter) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Entry> matches = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+
+        for (Indexed indexed : withPrefix(names, normalized).values()) {
+            if (seen.add(indexed.entry().id()) && filter.test(indexed.entry())) {
+                matches.add(indexed.entry());
+                if (matches.size() == limit) {
+                    return matches;
+                }
+            }
+        }
+
+        // Walk the longest query word, the most selective, and check the others per entry
+        String[] queryWords = normalized.split(" ");
+        String longest = queryWords[0];
+        for (String word : queryWords) {
+            if (word.length() > longest.length()) {
+                longest = word;
+            }
+        }
+        int scanned = 0;
+        for (Indexed indexed : withPrefix(words, longest).values()) {
+            if (++scanned > MAX_SCANNED_KEYS) {
+                break;
+            }
+            if (!seen.contains(indexed.entry().id()) && matchesAll(indexed.words(), queryWords)) {
+                seen.add(indexed.entry().id());
+                if (!filter.test(indexed.entry())) {
+                    continue;
+                }
+                matches.add(indexed.entry());
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Whether the text has a word starting with every word of the query, as {@link #lookup} matches.
+     */
+    public static boolean matches(String text, String query) {
+        String normalizedText = normalize(text);
+        String normalizedQuery = normalize(query);
+        if (normalizedText.isEmpty() || normalizedQuery.isEmpty()) {
+            return false;
+        }
+        return matchesAll(new HashSet<>(List.of(normalizedText.split(" "))), normalizedQuery.split(" "));
+    }
+
+    /**
+     * Lower-cased words without accents or punctuation, separated by single spaces.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static NavigableMap<String, Indexed> withPrefix(NavigableMap<String, Indexed> map, String prefix) {
+        return map.subMap(prefix, true, prefix + PREFIX_END, false);
+    }
+
+    private static boolean matchesAll(Set<String> entryWords, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean matched = false;
+            for (String word : entryWords) {
+                if (word.startsWith(queryWord)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String key(String text, long id) {
+        return text + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,186 @@
+package com.aipm.ai_project_management.modules.search.index;
+
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Embedded Lucene index over tasks, projects, clients and comments.
+ * <p>
+ * Each node keeps its own index on local disk, or in memory when no directory is configured.
+ * Every document carries the ids it is scoped by, so deleting a project or task removes
+ * everything under it with one term. Searchers see changes once they are committed.
+ */
+@Component
+public class SearchIndex {
+
+    public static final String KEY = "key";
+    public static final String TYPE = "type";
+    public static final String ID = "id";
+    public static final String PROJECT = "project";
+    public static final String CLIENT = "client";
+    public static final String TASK = "task";
+    public static final String TITLE = "title";
+    public static final String BODY = "body";
+    public static final String SNIPPET = "snippet";
+    private static final String GENERATION = "generation";
+
+    private static final int SNIPPET_LENGTH = 240;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public SearchIndex(@Value("${app.search.index-dir:}") String indexDir) throws IOException {
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * A record as indexed. Scope ids that do not apply are null.
+     */
+    public record IndexedDocument(SearchDocumentType type, long id, Long projectId, Long clientId, Long taskId,
+                                  String title, String body) {
+    }
+
+    @FunctionalInterface
+    public interface SearchFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    public Analyzer analyzer() {
+        return analyzer;
+    }
+
+    /**
+     * Adds or replaces a document, stamped with the rebuild generation it was written in.
+     */
+    public void update(IndexedDocument indexed, long generation) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(indexed.type(), indexed.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, indexed.type().name(), Field.Store.YES));
+        document.add(new StoredField(ID, indexed.id()));
+        addScope(document, PROJECT, indexed.projectId());
+        addScope(document, CLIENT, indexed.clientId());
+        addScope(document, TASK, indexed.taskId());
+        if (indexed.title() != null) {
+            document.add(new TextField(TITLE, indexed.title(), Field.Store.YES));
+        }
+        if (indexed.body() != null && !indexed.body().isBlank()) {
+            document.add(new TextField(BODY, indexed.body(), Field.Store.NO));
+            document.add(new StoredField(SNIPPET, snippet(indexed.body())));
+        }
+        document.add(new LongPoint(GENERATION, generation));
+        try {
+            writer.updateDocument(new Term(KEY, key(indexed.type(), indexed.id())), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(SearchDocumentType type, long id) {
+        deleteTerm(new Term(KEY, key(type, id)));
+    }
+
+    /**
+     * Deletes every document scoped to the given project (or task), including the project itself.
+     */
+    public void deleteScope(String scopeField, long id) {
+        deleteTerm(new Term(scopeField, Long.toString(id)));
+    }
+
+    /**
+     * Deletes documents a rebuild did not rewrite, i.e. ones whose records no longer exist.
+     */
+    public void deleteOlderThan(long generation) {
+        try {
+            writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, generation - 1));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes pending changes durable and visible to new searches.
+     */
+    public void commit() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> T search(SearchFunction<T> function) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return function.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int documentCount() {
+        return search(searcher -> searcher.getIndexReader().numDocs());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void deleteTerm(Term term) {
+        try {
+            writer.deleteDocuments(term);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void addScope(Document document, String field, Long id) {
+        if (id != null) {
+            document.add(new StringField(field, id.toString(), Field.Store.YES));
+        }
+    }
+
+    private static String key(SearchDocumentType type, long id) {
+        return type.name() + ":" + id;
+    }
+
+    private static String snippet(String body) {
+        String text = body.strip();
+        return text.length() <= SNIPPET_LENGTH ? text : text.substring(0, SNIPPET_LENGTH - 3) + "...";
+    }
+}
@@ -0,0 +1,264 @@
+package com.aipm.ai_project_management.modules.search.service;
+
+import com.aipm.ai_project_management.modules.clients.repository.ClientRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import com.aipm.ai_project_management.modules.search.index.SearchIndex;
+import com.aipm.ai_project_management.modules.search.index.SearchIndex.IndexedDocument;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskCommentRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.shared.events.ClientChangedEvent;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import com.aipm.ai_project_management.shared.events.TaskCommentChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link SearchIndex} in step with tasks, projects, clients and comments.
+ * <p>
+ * Change events only mark records dirty; a short fixed-delay job reloads them and updates
+ * or deletes their documents, so a burst of edits to one task costs a single reindex. A
+ * record that no longer exists is removed together with everything scoped under it.
+ * <p>
+ * A rebuild streams every record into the index stamped with a new generation and then drops
+ * documents from older generations, so searches keep working on the previous contents until
+ * the rebuild commits. It runs at startup, nightly and on demand; since each node indexes
+ * only its own writes, the nightly run also picks up changes made through other nodes.
+ */
+@Service
+public class SearchIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexer.class);
+
+    private final SearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ClientRepository clientRepository;
+    private final TaskCommentRepository taskCommentRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Set<Long> dirtyTasks = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyProjects = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyClients = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyComments = ConcurrentHashMap.newKeySet();
+
+    private volatile long generation;
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.rebuild.enabled:true}")
+    private boolean scheduledRebuildEnabled;
+
+    public SearchIndexer(SearchIndex searchIndex,
+                         TaskRepository taskRepository,
+                         ProjectRepository projectRepository,
+                         ClientRepository clientRepository,
+                         TaskCommentRepository taskCommentRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.clientRepository = clientRepository;
+        this.taskCommentRepository = taskCommentRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // --- Change tracking ---
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        dirtyTasks.add(event.taskId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        dirtyProjects.add(event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        dirtyClients.add(event.clientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCommentChanged(TaskCommentChangedEvent event) {
+        dirtyComments.add(event.commentId());
+    }
+
+    // --- Incremental updates ---
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-ms:2000}")
+    public synchronized void applyPendingChanges() {
+        List<Long> tasks = drain(dirtyTasks);
+        List<Long> projects = drain(dirtyProjects);
+        List<Long> clients = drain(dirtyClients);
+        List<Long> comments = drain(dirtyComments);
+        if (tasks.isEmpty() && projects.isEmpty() && clients.isEmpty() && comments.isEmpty()) {
+            return;
+        }
+
+        long current = generation;
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                // Projects first, so a deleted project's scope delete cannot remove a task reindexed after it
+                reindex(projects, projectRepository::findSearchRowsByIdIn, this::projectDocument, current,
+                        id -> searchIndex.deleteScope(SearchIndex.PROJECT, id));
+                reindex(tasks, taskRepository::findSearchRowsByIdIn, this::taskDocument, current,
+                        id -> searchIndex.deleteScope(SearchIndex.TASK, id));
+                // A task may have moved project, and its comments are scoped by that project
+                if (!tasks.isEmpty()) {
+                    for (Object[] row : taskCommentRepository.findSearchRowsByTaskIdIn(tasks)) {
+                        searchIndex.update(commentDocument(row), current);
+                    }
+                }
+                reindex(clients, clientRepository::findSearchRowsByIdIn, this::clientDocument, current,
+                        id -> searchIndex.delete(SearchDocumentType.CLIENT, id));
+                reindex(comments, taskCommentRepository::findSearchRowsByIdIn, this::commentDocument, current,
+                        id -> searchIndex.delete(SearchDocumentType.COMMENT, id));
+            });
+            searchIndex.commit();
+        } catch (RuntimeException e) {
+            // Retried on the next run
+            dirtyTasks.addAll(tasks);
+            dirtyProjects.addAll(projects);
+            dirtyClients.addAll(clients);
+            dirtyComments.addAll(comments);
+            throw e;
+        }
+        logger.debug("Reindexed {} tasks, {} projects, {} clients and {} comments",
+                tasks.size(), projects.size(), clients.size(), comments.size());
+    }
+
+    private void reindex(List<Long> ids,
+                         Function<Collection<Long>, List<Object[]>> load,
+                         Function<Object[], IndexedDocument> toDocument,
+                         long current,
+                         Consumer<Long> deleteMissing) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        for (Object[] row : load.apply(ids)) {
+            IndexedDocument document = toDocument.apply(row);
+            searchIndex.update(document, current);
+            missing.remove(document.id());
+        }
+        missing.forEach(deleteMissing);
+    }
+
+    // --- Full rebuild ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAtStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(cron = "${app.search.rebuild.cron:0 15 4 * * *}")
+    public void scheduledRebuild() {
+        if (scheduledRebuildEnabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rewrites every document from the database and drops documents of deleted records.
+     *
+     * @return the number of documents indexed
+     */
+    public synchronized int rebuild() {
+        long started = System.currentTimeMillis();
+        long next = Math.max(started, generation + 1);
+        generation = next;
+
+        int[] indexed = new int[1];
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            indexed[0] += indexAll(projectRepository.streamSearchRows(), this::projectDocument, next);
+            indexed[0] += indexAll(taskRepository.streamSearchRows(), this::taskDocument, next);
+            indexed[0] += indexAll(clientRepository.streamSearchRows(), this::clientDocument, next);
+            indexed[0] += indexAll(taskCommentRepository.streamSearchRows(), this::commentDocument, next);
+        });
+        searchIndex.deleteOlderThan(next);
+        searchIndex.commit();
+        logger.info("Rebuilt search index with {} documents in {} ms", indexed[0], System.currentTimeMillis() - started);
+        return indexed[0];
+    }
+
+    private int indexAll(Stream<Object[]> rows, Function<Object[], IndexedDocument> toDocument, long current) {
+        int count = 0;
+        try (rows) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                searchIndex.update(toDocument.apply(row), current);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // --- Row mapping; layouts match the repositories' search row queries ---
+
+    private IndexedDocument taskDocument(Object[] row) {
+        Long id = (Long) row[0];
+        return new IndexedDocument(SearchDocumentType.TASK, id, (Long) row[1], null, id,
+                (String) row[2], (String) row[3]);
+    }
+
+    private IndexedDocument projectDocument(Object[] row) {
+        Long id = (Long) row[0];
+        return new IndexedDocument(SearchDocumentType.PROJECT, id, id, (Long) row[1], null,
+                (String) row[2], (String) row[3]);
+    }
+
+    private IndexedDocument clientDocument(Object[] row) {
+        Long id = (Long) row[0];
+        return new IndexedDocument(SearchDocumentType.CLIENT, id, null, id, null,
+                (String) row[1], join(row[2], row[3], row[4]));
+    }
+
+    private IndexedDocument commentDocument(Object[] row) {
+        return new IndexedDocument(SearchDocumentType.COMMENT, (Long) row[0], (Long) row[2], null, (Long) row[1],
+                null, (String) row[3]);
+    }
+
+    private static String join(Object... values) {
+        StringBuilder text = new StringBuilder();
+        for (Object value : values) {
+            if (value != null) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(value);
+            }
+        }
+        return text.toString();
+    }
+
+    private static List<Long> drain(Set<Long> dirty) {
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,12 @@
+package com.aipm.ai_project_management.modules.search.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import com.aipm.ai_project_management.modules.search.dto.SearchResultsDTO;
+
+import java.util.Set;
+
+public interface SearchService {
+    SearchResultsDTO search(String query, Set<SearchDocumentType> types, Long projectId, int limit,
+                            Long userId, UserRole role);
+}
@@ -0,0 +1,223 @@
+package com.aipm.ai_project_management.modules.search.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.clients.repository.ClientRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadSuggestionDTO;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadType;
+import com.aipm.ai_project_management.modules.search.index.PrefixIndex;
+import com.aipm.ai_project_management.shared.events.ClientChangedEvent;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Typeahead suggestions for the user, project and client pickers, served from memory.
+ * <p>
+ * Names are loaded into a {@link PrefixIndex} per type at startup, so matching never reaches
+ * the database; only the caller's project access is read, for non-admin project and client
+ * lookups. Change events mark records dirty and a short fixed-delay job reloads
+ * their names, dropping records that were deleted or, for users, deactivated. A nightly
+ * reload picks up changes made through other nodes.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final ClientRepository clientRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Map<TypeaheadType, Set<Long>> dirty = new EnumMap<>(TypeaheadType.class);
+    private volatile Map<TypeaheadType, PrefixIndex> indexes = emptyIndexes();
+
+    @Value("${app.typeahead.max-results:20}")
+    private int maxResults;
+
+    @Value("${app.typeahead.reload.enabled:true}")
+    private boolean scheduledReloadEnabled;
+
+    public TypeaheadService(UserRepository userRepository,
+                            ProjectRepository projectRepository,
+                            ClientRepository clientRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.clientRepository = clientRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        for (TypeaheadType type : TypeaheadType.values()) {
+            dirty.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Suggestions the caller may see. Admins see everything. Other roles only see projects they
+     * manage, created or are on the team of, and those projects' clients; project managers see
+     * every client, as in search. Client users get user names without emails, and a user cannot
+     * be found by an email they are not shown.
+     */
+    public List<TypeaheadSuggestionDTO> suggest(TypeaheadType type, String query, int limit, Long userId, UserRole role) {
+        boolean hideEmails = type == TypeaheadType.USER && role == UserRole.CLIENT;
+        Predicate<PrefixIndex.Entry> visible = switch (type) {
+            case USER -> hideEmails ? entry -> PrefixIndex.matches(entry.name(), query) : entry -> true;
+            case PROJECT -> role == UserRole.ADMIN ? entry -> true : accessible(userId, 0);
+            case CLIENT -> role == UserRole.ADMIN || role == UserRole.PROJECT_MANAGER
+                    ? entry -> true
+                    : accessible(userId, 1);
+        };
+        List<PrefixIndex.Entry> entries = indexes.get(type).lookup(query, Math.min(limit, maxResults), visible);
+        List<TypeaheadSuggestionDTO> suggestions = new ArrayList<>(entries.size());
+        for (PrefixIndex.Entry entry : entries) {
+            suggestions.add(new TypeaheadSuggestionDTO(type, entry.id(), entry.name(), hideEmails ? null : entry.detail()));
+        }
+        return suggestions;
+    }
+
+    // Project (column 0) or client (column 1) ids of the projects the user has access to
+    private Predicate<PrefixIndex.Entry> accessible(Long userId, int column) {
+        Set<Long> ids = new HashSet<>();
+        for (Object[] row : projectRepository.findAccessRowsByUserId(userId)) {
+            if (row[column] != null) {
+                ids.add((Long) row[column]);
+            }
+        }
+        return entry -> ids.contains(entry.id());
+    }
+
+    // --- Change tracking ---
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        dirty.get(TypeaheadType.USER).add(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        dirty.get(TypeaheadType.PROJECT).add(event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        dirty.get(TypeaheadType.CLIENT).add(event.clientId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.typeahead.refresh-ms:1000}")
+    public synchronized void applyPendingChanges() {
+        for (TypeaheadType type : TypeaheadType.values()) {
+            Set<Long> pending = dirty.get(type);
+            List<Long> ids = new ArrayList<>(pending);
+            if (ids.isEmpty()) {
+                continue;
+            }
+            pending.removeAll(ids);
+            try {
+                List<Object[]> rows = readOnlyTransactionTemplate.execute(status -> loadRows(type, ids));
+                PrefixIndex index = indexes.get(type);
+                Set<Long> missing = new HashSet<>(ids);
+                for (Object[] row : rows) {
+                    missing.remove(put(index, type, row));
+                }
+                missing.forEach(index::remove);
+            } catch (RuntimeException e) {
+                // Retried on the next run
+                pending.addAll(ids);
+                throw e;
+            }
+            logger.debug("Refreshed {} {} typeahead entries", ids.size(), type);
+        }
+    }
+
+    // --- Full reload ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAtStartup() {
+        reload();
+    }
+
+    @Scheduled(cron = "${app.typeahead.reload.cron:0 20 4 * * *}")
+    public void scheduledReload() {
+        if (scheduledReloadEnabled) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds every index from the database and swaps them in at once.
+     *
+     * @return the number of entries loaded
+     */
+    public synchronized int reload() {
+        long started = System.currentTimeMillis();
+        Map<TypeaheadType, PrefixIndex> loaded = emptyIndexes();
+        int count = readOnlyTransactionTemplate.execute(status -> {
+            int rows = 0;
+            for (TypeaheadType type : TypeaheadType.values()) {
+                for (Object[] row : loadRows(type, null)) {
+                    put(loaded.get(type), type, row);
+                    rows++;
+                }
+            }
+            return rows;
+        });
+        indexes = loaded;
+        logger.info("Loaded {} typeahead entries in {} ms", count, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    // Rows for the given ids, or for every record when ids is null; layouts match the repositories' typeahead queries
+    private List<Object[]> loadRows(TypeaheadType type, Collection<Long> ids) {
+        return switch (type) {
+            case USER -> ids == null ? userRepository.findTypeaheadRows() : userRepository.findTypeaheadRowsByIdIn(ids);
+            case PROJECT -> ids == null ? projectRepository.findTypeaheadRows() : projectRepository.findTypeaheadRowsByIdIn(ids);
+            case CLIENT -> ids == null ? clientRepository.findTypeaheadRows() : clientRepository.findTypeaheadRowsByIdIn(ids);
+        };
+    }
+
+    private static Long put(PrefixIndex index, TypeaheadType type, Object[] row) {
+        Long id = (Long) row[0];
+        String name = (String) row[1];
+        String detail = row.length > 2 ? (String) row[2] : null;
+        List<String> texts = new ArrayList<>(2);
+        if (name != null) {
+            texts.add(name);
+        }
+        // Users can also be found by email; a client's industry is shown but not matched
+        if (type == TypeaheadType.USER && detail != null) {
+            texts.add(detail);
+        }
+        index.put(new PrefixIndex.Entry(id, name, detail), texts);
+        return id;
+    }
+
+    private static Map<TypeaheadType, PrefixIndex> emptyIndexes() {
+        Map<TypeaheadType, PrefixIndex> indexes = new EnumMap<>(TypeaheadType.class);
+        for (TypeaheadType type : TypeaheadType.values()) {
+            indexes.put(type, new PrefixIndex());
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,193 @@
+package com.aipm.ai_project_management.modules.search.service.impl;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import com.aipm.ai_project_management.modules.search.dto.SearchHitDTO;
+import com.aipm.ai_project_management.modules.search.dto.SearchResultsDTO;
+import com.aipm.ai_project_management.modules.search.index.SearchIndex;
+import com.aipm.ai_project_management.modules.search.service.SearchService;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ranked full-text search over the {@link SearchIndex}.
+ * <p>
+ * Every word of the query must match a title or body (titles weigh more). A word ending in
+ * {@code *}, and the last word while the user is still typing, also matches as a prefix.
+ * Results are limited to projects the user manages, created or is a team member of, plus
+ * their clients; administrators see everything and project managers see every client.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchServiceImpl implements SearchService {
+
+    private static final float TITLE_BOOST = 2.0f;
+    private static final float PREFIX_BOOST = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    private final SearchIndex searchIndex;
+    private final ProjectRepository projectRepository;
+
+    @Value("${app.search.max-results:50}")
+    private int maxResults;
+
+    public SearchServiceImpl(SearchIndex searchIndex, ProjectRepository projectRepository) {
+        this.searchIndex = searchIndex;
+        this.projectRepository = projectRepository;
+    }
+
+    @Override
+    public SearchResultsDTO search(String query, Set<SearchDocumentType> types, Long projectId, int limit,
+                                   Long userId, UserRole role) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(textQuery(query), BooleanClause.Occur.MUST);
+        if (types != null && !types.isEmpty()) {
+            builder.add(termSet(SearchIndex.TYPE, types.stream().map(Enum::name).toList()), BooleanClause.Occur.FILTER);
+        }
+        if (projectId != null) {
+            builder.add(new TermQuery(new Term(SearchIndex.PROJECT, projectId.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (role != UserRole.ADMIN) {
+            builder.add(accessFilter(userId, role), BooleanClause.Occur.FILTER);
+        }
+        Query luceneQuery = builder.build();
+        int size = Math.max(1, Math.min(limit, maxResults));
+
+        return searchIndex.search(searcher -> {
+            TopDocs topDocs = searcher.search(luceneQuery, size);
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHitDTO> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            return new SearchResultsDTO(query, topDocs.totalHits.value, hits);
+        });
+    }
+
+    private Query textQuery(String query) {
+        String text = query != null ? query.strip() : "";
+        // Still typing the last word unless the query ends in a space
+        boolean typing = query != null && !query.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1));
+        String[] words = text.isEmpty() ? new String[0] : text.split("\\s+");
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int terms = 0;
+        for (int w = 0; w < words.length && terms < MAX_QUERY_TERMS; w++) {
+            boolean prefix = words[w].endsWith("*") || (typing && w == words.length - 1);
+            List<String> tokens = analyze(words[w]);
+            for (int t = 0; t < tokens.size() && terms < MAX_QUERY_TERMS; t++, terms++) {
+                boolean lastToken = t == tokens.size() - 1;
+                builder.add(termQuery(tokens.get(t), prefix && lastToken), BooleanClause.Occur.MUST);
+            }
+        }
+        if (terms == 0) {
+            throw new ValidationException("q", "Search query must contain at least one word");
+        }
+        return builder.build();
+    }
+
+    private Query termQuery(String token, boolean prefix) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new BoostQuery(new TermQuery(new Term(SearchIndex.TITLE, token)), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+        builder.add(new TermQuery(new Term(SearchIndex.BODY, token)), BooleanClause.Occur.SHOULD);
+        if (prefix && token.length() >= MIN_PREFIX_LENGTH) {
+            builder.add(new BoostQuery(new PrefixQuery(new Term(SearchIndex.TITLE, token)), TITLE_BOOST * PREFIX_BOOST),
+                    BooleanClause.Occur.SHOULD);
+            builder.add(new BoostQuery(new PrefixQuery(new Term(SearchIndex.BODY, token)), PREFIX_BOOST),
+                    BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    // Tokens as the index sees them: split on word boundaries and lower-cased
+    private List<String> analyze(String word) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = searchIndex.analyzer().tokenStream(SearchIndex.BODY, word)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private Query accessFilter(Long userId, UserRole role) {
+        Set<String> projectIds = new HashSet<>();
+        Set<String> clientIds = new HashSet<>();
+        for (Object[] row : projectRepository.findAccessRowsByUserId(userId)) {
+            projectIds.add(row[0].toString());
+            if (row[1] != null) {
+                clientIds.add(row[1].toString());
+            }
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(termSet(SearchIndex.PROJECT, projectIds), BooleanClause.Occur.SHOULD);
+        Query clientType = new TermQuery(new Term(SearchIndex.TYPE, SearchDocumentType.CLIENT.name()));
+        if (role == UserRole.PROJECT_MANAGER) {
+            builder.add(clientType, BooleanClause.Occur.SHOULD);
+        } else {
+            // Project documents carry their client id too, so match client documents explicitly
+            builder.add(new BooleanQuery.Builder()
+                    .add(clientType, BooleanClause.Occur.FILTER)
+                    .add(termSet(SearchIndex.CLIENT, clientIds), BooleanClause.Occur.FILTER)
+                    .build(), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private static Query termSet(String field, Collection<String> values) {
+        List<BytesRef> terms = new ArrayList<>(values.size());
+        for (String value : values) {
+            terms.add(new BytesRef(value));
+        }
+        return new TermInSetQuery(field, terms);
+    }
+
+    private static SearchHitDTO toHit(Document document, float score) {
+        return new SearchHitDTO(
+                SearchDocumentType.valueOf(document.get(SearchIndex.TYPE)),
+                document.getField(SearchIndex.ID).numericValue().longValue(),
+                longOrNull(document.getField(SearchIndex.PROJECT)),
+                longOrNull(document.getField(SearchIndex.TASK)),
+                document.get(SearchIndex.TITLE),
+                document.get(SearchIndex.SNIPPET),
+                score);
+    }
+
+    private static Long longOrNull(IndexableField field) {
+        return field != null ? Long.valueOf(field.stringValue()) : null;
+    }
+}
@@ -4,6 +4,8 @@ import com.aipm.ai_project_management.common.enums.TaskStatus;
 import com.aipm.ai_project_management.common.response.ApiResponse;
 import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.tasks.dto.*;
+import com.aipm.ai_project_management.modules.tasks.service.TaskBulkService;
+import com.aipm.ai_project_management.modules.tasks.service.TaskDependencyGraphService;
 import com.aipm.ai_project_management.modules.tasks.service.TaskService;
 import jakarta.validation.Valid;
 
@@ -25,9 +27,14 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskDependencyGraphService dependencyGraphService;
     
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBulkService taskBulkService,
+                          TaskDependencyGraphService dependencyGraphService) {
         this.taskService = taskService;
+        this.taskBulkService = taskBulkService;
+        this.dependencyGraphService = dependencyGraphService;
     }
 
     @GetMapping("/projects/{projectId}/tasks")
@@ -41,16 +48,64 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(new PageResponse<>(tasks)));
     }
 
+    @GetMapping(value = "/projects/{projectId}/tasks", params = "pagination=cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
+    public ResponseEntity<ApiResponse<PageResponse<TaskDTO>>> getTasksByProjectWithCursor(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Map<String, String> filters) {
+        
+        PageResponse<TaskDTO> tasks = taskService.getTasksByProjectIdWithCursor(projectId, filters, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+
+    @GetMapping("/users/{userId}/tasks")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
+    public ResponseEntity<ApiResponse<PageResponse<TaskDTO>>> getTasksAssignedToUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Map<String, String> filters,
+            @PageableDefault(size = 20) Pageable pageable) {
+        
+        Page<TaskDTO> tasks = taskService.getTasksAssignedToUser(userId, filters, pageable);
+        return ResponseEntity.ok(ApiResponse.success(new PageResponse<>(tasks)));
+    }
+
+    @GetMapping(value = "/users/{userId}/tasks", params = "pagination=cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
+    public ResponseEntity<ApiResponse<PageResponse<TaskDTO>>> getTasksAssignedToUserWithCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Map<String, String> filters) {
+        
+        PageResponse<TaskDTO> tasks = taskService.getTasksAssignedToUserWithCursor(userId, filters, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(tasks));
+    }
+
     @GetMapping("/projects/{projectId}/tasks/board")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
-    public ResponseEntity<ApiResponse<TaskBoardDTO>> getTaskBoard(
+    public ResponseEntity<ApiResponse<KanbanBoardDto>> getTaskBoard(
             @PathVariable Long projectId,
-            @RequestParam(defaultValue = "kanban") String view) {
+            @RequestParam(defaultValue = "kanban") String view,
+            @RequestParam(defaultValue = "20") int limit) {
         
-        TaskBoardDTO board = taskService.getTaskBoard(projectId, view);
+        KanbanBoardDto board = taskService.getTaskBoard(projectId, view, limit);
         return ResponseEntity.ok(ApiResponse.success(board));
     }
 
+    @GetMapping("/projects/{projectId}/tasks/board/columns/{status}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
+    public ResponseEntity<ApiResponse<KanbanBoardDto.KanbanColumn>> getTaskBoardColumn(
+            @PathVariable Long projectId,
+            @PathVariable TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        KanbanBoardDto.KanbanColumn column = taskService.getTaskBoardColumn(projectId, status, cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(column));
+    }
+
     @GetMapping("/tasks/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
     public ResponseEntity<ApiResponse<TaskDetailDTO>> getTaskById(@PathVariable Long id) {
@@ -89,6 +144,16 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(updatedTask));
     }
 
+    @PatchMapping("/tasks/bulk/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateTaskStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        
+        BulkStatusUpdateResult result = taskBulkService.updateStatus(
+                request.getTaskIds(), request.getStatus(), request.getExpectedStatus());
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @PatchMapping("/tasks/{id}/assign")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
     public ResponseEntity<ApiResponse<TaskDTO>> assignTask(
@@ -109,6 +174,33 @@ public class TaskController {
         return ResponseEntity.ok(ApiResponse.success(updatedTask));
     }
 
+    @GetMapping("/projects/{projectId}/tasks/schedule")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER', 'TEAM_MEMBER')")
+    public ResponseEntity<ApiResponse<TaskScheduleDTO>> getTaskSchedule(@PathVariable Long projectId) {
+        TaskScheduleDTO schedule = dependencyGraphService.getSchedule(projectId);
+        return ResponseEntity.ok(ApiResponse.success(schedule));
+    }
+
+    @PostMapping("/tasks/{id}/dependencies/{dependencyTaskId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<TaskDetailDTO.DependencyDTO>> addDependency(
+            @PathVariable Long id,
+            @PathVariable Long dependencyTaskId) {
+        
+        TaskDetailDTO.DependencyDTO dependency = taskService.addDependency(id, dependencyTaskId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(dependency));
+    }
+
+    @DeleteMapping("/tasks/{id}/dependencies/{dependencyTaskId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<String>> removeDependency(
+            @PathVariable Long id,
+            @PathVariable Long dependencyTaskId) {
+        
+        taskService.removeDependency(id, dependencyTaskId);
+        return ResponseEntity.ok(ApiResponse.success(null, "Dependency removed successfully"));
+    }
+
     @DeleteMapping("/tasks/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
     public ResponseEntity<ApiResponse<String>> deleteTask(@PathVariable Long id) {
@@ -1,16 +1,23 @@
 package com.aipm.ai_project_management.modules.tasks.controller;
 
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
 import com.aipm.ai_project_management.common.response.ApiResponse;
 import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
 import com.aipm.ai_project_management.modules.tasks.dto.TimeTrackingDTO;
+import com.aipm.ai_project_management.modules.tasks.dto.TimesheetExportFormat;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
 import com.aipm.ai_project_management.modules.tasks.service.TimeTrackingService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.time.LocalDate;
@@ -22,10 +29,12 @@ import java.util.Map;
 public class TimeTrackingController {
 
     private final TimeTrackingService timeTrackingService;
+    private final TimeRollupService timeRollupService;
     
     @Autowired
-    public TimeTrackingController(TimeTrackingService timeTrackingService) {
+    public TimeTrackingController(TimeTrackingService timeTrackingService, TimeRollupService timeRollupService) {
         this.timeTrackingService = timeTrackingService;
+        this.timeRollupService = timeRollupService;
     }
 
     @PostMapping("/tasks/{taskId}/time-log")
@@ -84,4 +93,49 @@ public class TimeTrackingController {
         Map<String, Object> summary = timeTrackingService.getTimeTrackingSummary(taskId);
         return ResponseEntity.ok(ApiResponse.success(summary));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/time-tracking/utilization")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER')")
+    public ResponseEntity<ApiResponse<UtilizationReportDTO>> getUtilization(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long projectId) {
+        
+        // Defaults to the month so far
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        UtilizationReportDTO report = timeTrackingService.getUtilization(start, end, projectId);
+        return ResponseEntity.ok(ApiResponse.success(report));
+    }
+
+    @PostMapping("/time-tracking/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildRollups() {
+        int rows = timeRollupService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success(Map.of("rollupRows", rows)));
+    }
+
+    @GetMapping("/time-tracking/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_MANAGER') or (#userId != null and #userId == authentication.principal.id)")
+    public ResponseEntity<StreamingResponseBody> exportTimeLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "csv") String format) {
+        
+        // Checked up front: once streaming has started the status can no longer change
+        if (startDate.isAfter(endDate)) {
+            throw new ValidationException("startDate", "startDate must not be after endDate");
+        }
+        TimesheetExportFormat exportFormat = TimesheetExportFormat.fromValue(format);
+        StreamingResponseBody body = outputStream -> timeTrackingService.exportTimeLogs(
+                userId, projectId, startDate, endDate, exportFormat, outputStream);
+        
+        String filename = "timesheet-" + startDate + "-" + endDate + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
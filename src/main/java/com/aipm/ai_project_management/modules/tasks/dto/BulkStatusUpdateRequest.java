@@ -0,0 +1,58 @@
+package com.aipm.ai_project_management.modules.tasks.dto;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkStatusUpdateRequest {
+    
+    @NotEmpty(message = "Task IDs are required")
+    @JsonProperty("task_ids")
+    private List<Long> taskIds;
+    
+    @NotNull(message = "Target status is required")
+    @JsonProperty("status")
+    private TaskStatus status;
+    
+    // Optional: only move tasks currently in this status, others are reported as conflicts
+    @JsonProperty("expected_status")
+    private TaskStatus expectedStatus;
+    
+    // Default constructor
+    public BulkStatusUpdateRequest() {
+    }
+    
+    public BulkStatusUpdateRequest(List<Long> taskIds, TaskStatus status, TaskStatus expectedStatus) {
+        this.taskIds = taskIds;
+        this.status = status;
+        this.expectedStatus = expectedStatus;
+    }
+    
+    // Getters and setters
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+    
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+    
+    public TaskStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+    
+    public void setExpectedStatus(TaskStatus expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+}
@@ -0,0 +1,97 @@
+package com.aipm.ai_project_management.modules.tasks.dto;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStatusUpdateResult {
+    
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+    
+    private TaskStatus status;
+    
+    @JsonProperty("updated_count")
+    private int updatedCount;
+    
+    @JsonProperty("not_found_count")
+    private int notFoundCount;
+    
+    @JsonProperty("conflict_count")
+    private int conflictCount;
+    
+    private List<TaskOutcome> outcomes = new ArrayList<>();
+    
+    // Default constructor
+    public BulkStatusUpdateResult() {
+    }
+    
+    public BulkStatusUpdateResult(TaskStatus status) {
+        this.status = status;
+    }
+    
+    public void addOutcome(Long taskId, Outcome outcome) {
+        outcomes.add(new TaskOutcome(taskId, outcome));
+        switch (outcome) {
+            case UPDATED -> updatedCount++;
+            case NOT_FOUND -> notFoundCount++;
+            case CONFLICT -> conflictCount++;
+        }
+    }
+    
+    public void merge(BulkStatusUpdateResult other) {
+        for (TaskOutcome outcome : other.getOutcomes()) {
+            addOutcome(outcome.getTaskId(), outcome.getOutcome());
+        }
+    }
+    
+    // Getters and setters
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+    
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+    
+    public int getNotFoundCount() {
+        return notFoundCount;
+    }
+    
+    public int getConflictCount() {
+        return conflictCount;
+    }
+    
+    public List<TaskOutcome> getOutcomes() {
+        return outcomes;
+    }
+    
+    public static class TaskOutcome {
+        @JsonProperty("task_id")
+        private Long taskId;
+        private Outcome outcome;
+        
+        public TaskOutcome() {
+        }
+        
+        public TaskOutcome(Long taskId, Outcome outcome) {
+            this.taskId = taskId;
+            this.outcome = outcome;
+        }
+        
+        public Long getTaskId() { return taskId; }
+        public void setTaskId(Long taskId) { this.taskId = taskId; }
+        
+        public Outcome getOutcome() { return outcome; }
+        public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+    }
+}
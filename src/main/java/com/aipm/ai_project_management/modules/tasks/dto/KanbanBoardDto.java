@@ -84,6 +84,13 @@ public class KanbanBoardDto {
         @JsonProperty("task_count")
         private int taskCount;
         
+        // Opaque position after the last returned card; null when the column is exhausted
+        @JsonProperty("next_cursor")
+        private String nextCursor;
+        
+        @JsonProperty("has_more")
+        private boolean hasMore;
+        
         // Default constructor
         public KanbanColumn() {
         }
@@ -111,6 +118,12 @@ public class KanbanBoardDto {
         
         public int getTaskCount() { return taskCount; }
         public void setTaskCount(int taskCount) { this.taskCount = taskCount; }
+        
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+        
+        public boolean isHasMore() { return hasMore; }
+        public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
     }
     
     // Inner class for Kanban tasks
@@ -0,0 +1,198 @@
+package com.aipm.ai_project_management.modules.tasks.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Critical path schedule of a project's tasks. Hours are counted from {@code computedAt};
+ * when the dependencies contain a cycle only {@code cycle} is filled in.
+ */
+public class TaskScheduleDTO {
+
+    private Long projectId;
+    private LocalDateTime computedAt;
+    private int taskCount;
+    private int dependencyCount;
+    private boolean hasCycle;
+    private List<Long> cycle;
+    private Double projectDurationHours;
+    private LocalDateTime projectedFinish;
+    private List<Long> criticalPath;
+    private List<TaskScheduleEntry> tasks;
+
+    public TaskScheduleDTO() {
+    }
+
+    public TaskScheduleDTO(Long projectId, LocalDateTime computedAt, int taskCount, int dependencyCount) {
+        this.projectId = projectId;
+        this.computedAt = computedAt;
+        this.taskCount = taskCount;
+        this.dependencyCount = dependencyCount;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public int getDependencyCount() {
+        return dependencyCount;
+    }
+
+    public void setDependencyCount(int dependencyCount) {
+        this.dependencyCount = dependencyCount;
+    }
+
+    public boolean isHasCycle() {
+        return hasCycle;
+    }
+
+    public void setHasCycle(boolean hasCycle) {
+        this.hasCycle = hasCycle;
+    }
+
+    public List<Long> getCycle() {
+        return cycle;
+    }
+
+    public void setCycle(List<Long> cycle) {
+        this.cycle = cycle;
+    }
+
+    public Double getProjectDurationHours() {
+        return projectDurationHours;
+    }
+
+    public void setProjectDurationHours(Double projectDurationHours) {
+        this.projectDurationHours = projectDurationHours;
+    }
+
+    public LocalDateTime getProjectedFinish() {
+        return projectedFinish;
+    }
+
+    public void setProjectedFinish(LocalDateTime projectedFinish) {
+        this.projectedFinish = projectedFinish;
+    }
+
+    public List<Long> getCriticalPath() {
+        return criticalPath;
+    }
+
+    public void setCriticalPath(List<Long> criticalPath) {
+        this.criticalPath = criticalPath;
+    }
+
+    public List<TaskScheduleEntry> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskScheduleEntry> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * One task in topological order. {@code floatHours} is how far the task can slip without
+     * delaying the project; {@code dueSlackHours} is the margin to the nearest due date it
+     * affects (negative when late, null when no due date depends on it).
+     */
+    public static class TaskScheduleEntry {
+
+        private Long taskId;
+        private double earliestStartHours;
+        private double earliestFinishHours;
+        private double latestFinishHours;
+        private double floatHours;
+        private Double dueSlackHours;
+        private boolean critical;
+
+        public TaskScheduleEntry() {
+        }
+
+        public TaskScheduleEntry(Long taskId, double earliestStartHours, double earliestFinishHours,
+                                 double latestFinishHours, double floatHours, Double dueSlackHours, boolean critical) {
+            this.taskId = taskId;
+            this.earliestStartHours = earliestStartHours;
+            this.earliestFinishHours = earliestFinishHours;
+            this.latestFinishHours = latestFinishHours;
+            this.floatHours = floatHours;
+            this.dueSlackHours = dueSlackHours;
+            this.critical = critical;
+        }
+
+        public Long getTaskId() {
+            return taskId;
+        }
+
+        public void setTaskId(Long taskId) {
+            this.taskId = taskId;
+        }
+
+        public double getEarliestStartHours() {
+            return earliestStartHours;
+        }
+
+        public void setEarliestStartHours(double earliestStartHours) {
+            this.earliestStartHours = earliestStartHours;
+        }
+
+        public double getEarliestFinishHours() {
+            return earliestFinishHours;
+        }
+
+        public void setEarliestFinishHours(double earliestFinishHours) {
+            this.earliestFinishHours = earliestFinishHours;
+        }
+
+        public double getLatestFinishHours() {
+            return latestFinishHours;
+        }
+
+        public void setLatestFinishHours(double latestFinishHours) {
+            this.latestFinishHours = latestFinishHours;
+        }
+
+        public double getFloatHours() {
+            return floatHours;
+        }
+
+        public void setFloatHours(double floatHours) {
+            this.floatHours = floatHours;
+        }
+
+        public Double getDueSlackHours() {
+            return dueSlackHours;
+        }
+
+        public void setDueSlackHours(Double dueSlackHours) {
+            this.dueSlackHours = dueSlackHours;
+        }
+
+        public boolean isCritical() {
+            return critical;
+        }
+
+        public void setCritical(boolean critical) {
+            this.critical = critical;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.aipm.ai_project_management.modules.tasks.dto;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+
+/**
+ * Formats the timesheet export can be streamed in.
+ */
+public enum TimesheetExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    TimesheetExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TimesheetExportFormat fromValue(String value) {
+        for (TimesheetExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new ValidationException("format", "Unsupported export format: " + value);
+    }
+}
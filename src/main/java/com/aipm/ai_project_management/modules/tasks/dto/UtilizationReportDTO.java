@@ -0,0 +1,224 @@
+package com.aipm.ai_project_management.modules.tasks.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Logged hours against capacity over a date range, read from the daily time rollups.
+ * Capacity is working days times the configured hours per day, per person; percentages
+ * are rounded to one decimal.
+ */
+public class UtilizationReportDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long projectId;
+    private int workingDays;
+    private double capacityHoursPerUser;
+    private long headcount;
+    private double billableHours;
+    private double nonBillableHours;
+    private BigDecimal billableAmount;
+    private BigDecimal nonBillableAmount;
+    private double utilization;
+    private double billableUtilization;
+    private List<UserUtilization> users;
+
+    public UtilizationReportDTO() {
+    }
+
+    public UtilizationReportDTO(LocalDate startDate, LocalDate endDate, Long projectId, int workingDays,
+                                double capacityHoursPerUser) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.projectId = projectId;
+        this.workingDays = workingDays;
+        this.capacityHoursPerUser = capacityHoursPerUser;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getWorkingDays() {
+        return workingDays;
+    }
+
+    public void setWorkingDays(int workingDays) {
+        this.workingDays = workingDays;
+    }
+
+    public double getCapacityHoursPerUser() {
+        return capacityHoursPerUser;
+    }
+
+    public void setCapacityHoursPerUser(double capacityHoursPerUser) {
+        this.capacityHoursPerUser = capacityHoursPerUser;
+    }
+
+    public long getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(long headcount) {
+        this.headcount = headcount;
+    }
+
+    public double getBillableHours() {
+        return billableHours;
+    }
+
+    public void setBillableHours(double billableHours) {
+        this.billableHours = billableHours;
+    }
+
+    public double getNonBillableHours() {
+        return nonBillableHours;
+    }
+
+    public void setNonBillableHours(double nonBillableHours) {
+        this.nonBillableHours = nonBillableHours;
+    }
+
+    public BigDecimal getBillableAmount() {
+        return billableAmount;
+    }
+
+    public void setBillableAmount(BigDecimal billableAmount) {
+        this.billableAmount = billableAmount;
+    }
+
+    public BigDecimal getNonBillableAmount() {
+        return nonBillableAmount;
+    }
+
+    public void setNonBillableAmount(BigDecimal nonBillableAmount) {
+        this.nonBillableAmount = nonBillableAmount;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+
+    public double getBillableUtilization() {
+        return billableUtilization;
+    }
+
+    public void setBillableUtilization(double billableUtilization) {
+        this.billableUtilization = billableUtilization;
+    }
+
+    public List<UserUtilization> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserUtilization> users) {
+        this.users = users;
+    }
+
+    public static class UserUtilization {
+
+        private Long userId;
+        private String userName;
+        private double billableHours;
+        private double nonBillableHours;
+        private BigDecimal billableAmount;
+        private double utilization;
+        private double billableUtilization;
+
+        public UserUtilization() {
+        }
+
+        public UserUtilization(Long userId, String userName, double billableHours, double nonBillableHours,
+                               BigDecimal billableAmount, double utilization, double billableUtilization) {
+            this.userId = userId;
+            this.userName = userName;
+            this.billableHours = billableHours;
+            this.nonBillableHours = nonBillableHours;
+            this.billableAmount = billableAmount;
+            this.utilization = utilization;
+            this.billableUtilization = billableUtilization;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        public double getBillableHours() {
+            return billableHours;
+        }
+
+        public void setBillableHours(double billableHours) {
+            this.billableHours = billableHours;
+        }
+
+        public double getNonBillableHours() {
+            return nonBillableHours;
+        }
+
+        public void setNonBillableHours(double nonBillableHours) {
+            this.nonBillableHours = nonBillableHours;
+        }
+
+        public BigDecimal getBillableAmount() {
+            return billableAmount;
+        }
+
+        public void setBillableAmount(BigDecimal billableAmount) {
+            this.billableAmount = billableAmount;
+        }
+
+        public double getUtilization() {
+            return utilization;
+        }
+
+        public void setUtilization(double utilization) {
+            this.utilization = utilization;
+        }
+
+        public double getBillableUtilization() {
+            return billableUtilization;
+        }
+
+        public void setBillableUtilization(double billableUtilization) {
+            this.billableUtilization = billableUtilization;
+        }
+    }
+}
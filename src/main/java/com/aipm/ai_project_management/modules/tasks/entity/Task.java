@@ -193,7 +193,8 @@ public class Task extends AuditableEntity {
     @Column(name = "estimated_hours")
     private Double estimatedHours;
 
-    @Column(name = "logged_hours")
+    // Maintained by atomic UPDATEs as time is logged, so saving a stale entity must not overwrite it
+    @Column(name = "logged_hours", updatable = false)
     private Double loggedHours = 0.0;
 
     private Integer progress = 0;
@@ -0,0 +1,123 @@
+package com.aipm.ai_project_management.modules.tasks.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Time logged by one user on one project on one day, split into billable and non-billable
+ * hours and amounts. Rows are written with plain SQL increments by {@code TimeRollupService};
+ * the entity is only read.
+ */
+@Entity
+@Table(name = "time_rollups_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uk_time_rollups_daily", columnNames = {"rollup_date", "user_id", "project_id"}),
+       indexes = {
+           @Index(name = "idx_time_rollups_user_date", columnList = "user_id, rollup_date"),
+           @Index(name = "idx_time_rollups_project_date", columnList = "project_id, rollup_date")
+       })
+public class TimeRollupDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "billable_hours", nullable = false)
+    private Double billableHours = 0.0;
+
+    @Column(name = "non_billable_hours", nullable = false)
+    private Double nonBillableHours = 0.0;
+
+    @Column(name = "billable_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal billableAmount = BigDecimal.ZERO;
+
+    @Column(name = "non_billable_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal nonBillableAmount = BigDecimal.ZERO;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount = 0;
+
+    public TimeRollupDaily() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Double getBillableHours() {
+        return billableHours;
+    }
+
+    public void setBillableHours(Double billableHours) {
+        this.billableHours = billableHours;
+    }
+
+    public Double getNonBillableHours() {
+        return nonBillableHours;
+    }
+
+    public void setNonBillableHours(Double nonBillableHours) {
+        this.nonBillableHours = nonBillableHours;
+    }
+
+    public BigDecimal getBillableAmount() {
+        return billableAmount;
+    }
+
+    public void setBillableAmount(BigDecimal billableAmount) {
+        this.billableAmount = billableAmount;
+    }
+
+    public BigDecimal getNonBillableAmount() {
+        return nonBillableAmount;
+    }
+
+    public void setNonBillableAmount(BigDecimal nonBillableAmount) {
+        this.nonBillableAmount = nonBillableAmount;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(Integer entryCount) {
+        this.entryCount = entryCount;
+    }
+}
@@ -0,0 +1,336 @@
+package com.aipm.ai_project_management.modules.tasks.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable finish-to-start dependency graph of one project's tasks.
+ * <p>
+ * Tasks are addressed by index {@code 0..size()-1} in ascending task id order. Edges point from a
+ * dependency to the task that waits for it and are held in compressed adjacency arrays (one offset
+ * array and one target array per direction), so a 50k-task graph costs a few megabytes and the
+ * traversals below run without boxing. A topological order is computed once at build time; tasks
+ * left out of it sit on or behind a cycle.
+ * <p>
+ * Schedules are in hours from a given start instant, using each task's remaining duration.
+ * Float (total slack) is measured against the project's own finish; due slack is measured
+ * against the task's due date and those of everything that waits for it, and goes negative
+ * when the work cannot finish in time.
+ */
+public final class DependencyGraph {
+
+    /** Marker for a task without a due date. */
+    public static final long NO_DUE_DATE = Long.MIN_VALUE;
+
+    private static final double EPSILON = 1e-6;
+
+    private final long[] taskIds;
+    private final double[] durations;
+    private final long[] dueEpochMinutes;
+
+    // Successors (dependents) of i are succ[succStart[i] .. succStart[i + 1])
+    private final int[] succStart;
+    private final int[] succ;
+    // Predecessors (dependencies) of i are pred[predStart[i] .. predStart[i + 1])
+    private final int[] predStart;
+    private final int[] pred;
+
+    private final int[] order;
+    private final int orderedCount;
+
+    private DependencyGraph(long[] taskIds, double[] durations, long[] dueEpochMinutes,
+                            int[] edgeFrom, int[] edgeTo, int edgeCount) {
+        int n = taskIds.length;
+        this.taskIds = taskIds;
+        this.durations = durations;
+        this.dueEpochMinutes = dueEpochMinutes;
+        this.succStart = new int[n + 1];
+        this.succ = new int[edgeCount];
+        this.predStart = new int[n + 1];
+        this.pred = new int[edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            succStart[edgeFrom[e] + 1]++;
+            predStart[edgeTo[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            succStart[i + 1] += succStart[i];
+            predStart[i + 1] += predStart[i];
+        }
+        int[] succFill = Arrays.copyOf(succStart, n);
+        int[] predFill = Arrays.copyOf(predStart, n);
+        for (int e = 0; e < edgeCount; e++) {
+            succ[succFill[edgeFrom[e]]++] = edgeTo[e];
+            pred[predFill[edgeTo[e]]++] = edgeFrom[e];
+        }
+
+        // Kahn's algorithm; the order array doubles as the queue
+        this.order = new int[n];
+        int[] inDegree = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = predStart[i + 1] - predStart[i];
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int node = order[head];
+            for (int k = succStart[node]; k < succStart[node + 1]; k++) {
+                if (--inDegree[succ[k]] == 0) {
+                    order[tail++] = succ[k];
+                }
+            }
+        }
+        this.orderedCount = tail;
+    }
+
+    /**
+     * Build a graph from parallel node arrays and an edge list. Edges whose endpoints are not
+     * among the nodes (dependencies on tasks of another project) are ignored.
+     *
+     * @param taskIds         task ids, in any order, without duplicates
+     * @param durations       remaining hours per task
+     * @param dueEpochMinutes due date per task in epoch minutes, or {@link #NO_DUE_DATE}
+     * @param dependencyIds   for each edge, the task that must finish first
+     * @param dependentIds    for each edge, the task that waits
+     */
+    public static DependencyGraph build(long[] taskIds, double[] durations, long[] dueEpochMinutes,
+                                        long[] dependencyIds, long[] dependentIds) {
+        int n = taskIds.length;
+        long[] sortedIds = taskIds.clone();
+        Arrays.sort(sortedIds);
+        double[] sortedDurations = new double[n];
+        long[] sortedDue = new long[n];
+        for (int i = 0; i < n; i++) {
+            int index = Arrays.binarySearch(sortedIds, taskIds[i]);
+            sortedDurations[index] = Math.max(0, durations[i]);
+            sortedDue[index] = dueEpochMinutes[i];
+        }
+
+        int[] from = new int[dependencyIds.length];
+        int[] to = new int[dependencyIds.length];
+        int edgeCount = 0;
+        for (int e = 0; e < dependencyIds.length; e++) {
+            int dependency = Arrays.binarySearch(sortedIds, dependencyIds[e]);
+            int dependent = Arrays.binarySearch(sortedIds, dependentIds[e]);
+            if (dependency >= 0 && dependent >= 0) {
+                from[edgeCount] = dependency;
+                to[edgeCount] = dependent;
+                edgeCount++;
+            }
+        }
+        return new DependencyGraph(sortedIds, sortedDurations, sortedDue, from, to, edgeCount);
+    }
+
+    public int size() {
+        return taskIds.length;
+    }
+
+    public int edgeCount() {
+        return succ.length;
+    }
+
+    public long taskId(int index) {
+        return taskIds[index];
+    }
+
+    /** Index of a task, or -1 when it is not in the graph. */
+    public int indexOf(long taskId) {
+        int index = Arrays.binarySearch(taskIds, taskId);
+        return index >= 0 ? index : -1;
+    }
+
+    public boolean hasCycle() {
+        return orderedCount < taskIds.length;
+    }
+
+    /**
+     * Task ids in dependency order (every task after all of its dependencies). When the graph
+     * has a cycle, tasks on or behind it are left out.
+     */
+    public long[] topologicalOrder() {
+        long[] ids = new long[orderedCount];
+        for (int i = 0; i < orderedCount; i++) {
+            ids[i] = taskIds[order[i]];
+        }
+        return ids;
+    }
+
+    /**
+     * One dependency cycle as task ids in dependency order, or an empty list.
+     */
+    public List<Long> findCycle() {
+        if (!hasCycle()) {
+            return Collections.emptyList();
+        }
+        boolean[] ordered = new boolean[taskIds.length];
+        for (int i = 0; i < orderedCount; i++) {
+            ordered[order[i]] = true;
+        }
+        int start = 0;
+        while (ordered[start]) {
+            start++;
+        }
+        // Every unordered task has an unordered dependency, so walking those must revisit a task
+        int[] visitedAt = new int[taskIds.length];
+        Arrays.fill(visitedAt, -1);
+        int[] path = new int[taskIds.length];
+        int length = 0;
+        int node = start;
+        while (visitedAt[node] < 0) {
+            visitedAt[node] = length;
+            path[length++] = node;
+            int next = -1;
+            for (int k = predStart[node]; k < predStart[node + 1] && next < 0; k++) {
+                if (!ordered[pred[k]]) {
+                    next = pred[k];
+                }
+            }
+            node = next;
+        }
+        List<Long> cycle = new ArrayList<>(length - visitedAt[node]);
+        for (int i = length - 1; i >= visitedAt[node]; i--) {
+            cycle.add(taskIds[path[i]]);
+        }
+        return cycle;
+    }
+
+    /**
+     * Whether making {@code dependentId} wait for {@code dependencyId} would close a cycle, i.e.
+     * whether {@code dependencyId} already (transitively) waits for {@code dependentId}.
+     */
+    public boolean wouldCreateCycle(long dependentId, long dependencyId) {
+        if (dependentId == dependencyId) {
+            return true;
+        }
+        int source = indexOf(dependentId);
+        int target = indexOf(dependencyId);
+        if (source < 0 || target < 0) {
+            return false;
+        }
+        boolean[] seen = new boolean[taskIds.length];
+        int[] stack = new int[taskIds.length];
+        int top = 0;
+        stack[top++] = source;
+        seen[source] = true;
+        while (top > 0) {
+            int node = stack[--top];
+            for (int k = succStart[node]; k < succStart[node + 1]; k++) {
+                int next = succ[k];
+                if (next == target) {
+                    return true;
+                }
+                if (!seen[next]) {
+                    seen[next] = true;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forward and backward pass over the graph starting at {@code startEpochMinutes}.
+     *
+     * @throws IllegalStateException when the graph has a cycle
+     */
+    public Schedule schedule(long startEpochMinutes) {
+        if (hasCycle()) {
+            throw new IllegalStateException("Dependency graph has a cycle");
+        }
+        int n = taskIds.length;
+        double[] earliestStart = new double[n];
+        double[] earliestFinish = new double[n];
+        double projectFinish = 0;
+        for (int i = 0; i < n; i++) {
+            int node = order[i];
+            double start = 0;
+            for (int k = predStart[node]; k < predStart[node + 1]; k++) {
+                start = Math.max(start, earliestFinish[pred[k]]);
+            }
+            earliestStart[node] = start;
+            earliestFinish[node] = start + durations[node];
+            projectFinish = Math.max(projectFinish, earliestFinish[node]);
+        }
+
+        double[] latestFinish = new double[n];
+        double[] dueLatestFinish = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int node = order[i];
+            double finish = projectFinish;
+            double dueFinish = dueEpochMinutes[node] != NO_DUE_DATE
+                    ? (dueEpochMinutes[node] - startEpochMinutes) / 60.0
+                    : Double.POSITIVE_INFINITY;
+            for (int k = succStart[node]; k < succStart[node + 1]; k++) {
+                int next = succ[k];
+                finish = Math.min(finish, latestFinish[next] - durations[next]);
+                dueFinish = Math.min(dueFinish, dueLatestFinish[next] - durations[next]);
+            }
+            latestFinish[node] = finish;
+            dueLatestFinish[node] = dueFinish;
+        }
+
+        double[] totalFloat = new double[n];
+        double[] dueSlack = new double[n];
+        for (int i = 0; i < n; i++) {
+            totalFloat[i] = latestFinish[i] - earliestFinish[i];
+            dueSlack[i] = Double.isInfinite(dueLatestFinish[i]) ? Double.NaN : dueLatestFinish[i] - earliestFinish[i];
+        }
+        return new Schedule(earliestStart, earliestFinish, latestFinish, totalFloat, dueSlack, projectFinish,
+                criticalPath(earliestStart, earliestFinish, totalFloat, projectFinish));
+    }
+
+    // Walks back from a task finishing last through dependencies that finish exactly when it can start
+    private long[] criticalPath(double[] earliestStart, double[] earliestFinish, double[] totalFloat,
+                                double projectFinish) {
+        int n = taskIds.length;
+        int node = -1;
+        for (int i = 0; i < n && node < 0; i++) {
+            if (Math.abs(earliestFinish[i] - projectFinish) < EPSILON && totalFloat[i] < EPSILON) {
+                node = i;
+            }
+        }
+        if (node < 0) {
+            return new long[0];
+        }
+        long[] reversed = new long[n];
+        int length = 0;
+        while (node >= 0) {
+            reversed[length++] = taskIds[node];
+            int next = -1;
+            for (int k = predStart[node]; k < predStart[node + 1] && next < 0; k++) {
+                int candidate = pred[k];
+                if (totalFloat[candidate] < EPSILON
+                        && Math.abs(earliestFinish[candidate] - earliestStart[node]) < EPSILON) {
+                    next = candidate;
+                }
+            }
+            node = next;
+        }
+        long[] path = new long[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = reversed[length - 1 - i];
+        }
+        return path;
+    }
+
+    /**
+     * Result of {@link #schedule}. Per-task arrays are indexed like the graph; due slack is NaN
+     * for tasks with no due date on or after them.
+     */
+    public record Schedule(double[] earliestStart,
+                           double[] earliestFinish,
+                           double[] latestFinish,
+                           double[] totalFloat,
+                           double[] dueSlack,
+                           double projectDurationHours,
+                           long[] criticalPath) {
+
+        public boolean isCritical(int index) {
+            return totalFloat[index] < EPSILON;
+        }
+    }
+}
@@ -2,12 +2,36 @@ package com.aipm.ai_project_management.modules.tasks.repository;
 
 import com.aipm.ai_project_management.modules.tasks.entity.TaskComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Long> {
     List<TaskComment> findByTaskIdAndParentIdIsNullOrderByCreatedAtAsc(Long taskId);
     List<TaskComment> findByParentIdOrderByCreatedAtAsc(Long parentId);
+    
+    // Search index rows as [id, taskId, projectId, content]
+    @Query("SELECT c.id, c.task.id, c.task.projectId, c.content FROM TaskComment c WHERE c.id IN :ids")
+    List<Object[]> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Search index rows of all comments on the given tasks, same layout as above
+    @Query("SELECT c.id, c.task.id, c.task.projectId, c.content FROM TaskComment c WHERE c.task.id IN :taskIds")
+    List<Object[]> findSearchRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.task.id, c.task.projectId, c.content FROM TaskComment c")
+    Stream<Object[]> streamSearchRows();
 }
@@ -2,6 +2,8 @@ package com.aipm.ai_project_management.modules.tasks.repository;
 
 import com.aipm.ai_project_management.modules.tasks.entity.TaskDependency;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +24,11 @@ public interface TaskDependencyRepository extends JpaRepository<TaskDependency,
     void deleteByDependentTaskIdAndDependencyTaskId(Long dependentTaskId, Long dependencyTaskId);
     
     Integer countByDependentTaskId(Long taskId);
+    
+    /**
+     * All dependency edges of a project as [dependentTaskId, dependencyTaskId] rows.
+     */
+    @Query("SELECT d.dependentTask.id, d.dependencyTask.id FROM TaskDependency d " +
+           "WHERE d.dependentTask.projectId = :projectId")
+    List<Object[]> findDependencyPairsByProjectId(@Param("projectId") Long projectId);
 }
@@ -6,12 +6,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
@@ -35,4 +43,213 @@ public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificat
     Page<Task> searchByProjectId(@Param("projectId") Long projectId, 
                                 @Param("searchTerm") String searchTerm,
                                 Pageable pageable);
+    
+    /**
+     * Timeline projection rows:
+     * [id, title, description, dueDate, status, progress, priority, assigneeId].
+     */
+    @Query("SELECT t.id, t.title, t.description, t.dueDate, t.status, t.progress, t.priority, t.assigneeId " +
+           "FROM Task t WHERE t.projectId = :projectId ORDER BY t.id")
+    List<Object[]> findTimelineRowsByProjectId(@Param("projectId") Long projectId);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.title, t.description, t.dueDate, t.status, t.progress, t.priority, t.assigneeId " +
+           "FROM Task t WHERE t.projectId = :projectId ORDER BY t.id")
+    Stream<Object[]> streamTimelineRowsByProjectId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT COALESCE(AVG(COALESCE(t.progress, 0)), 0) FROM Task t WHERE t.projectId = :projectId")
+    Double averageProgressByProjectId(@Param("projectId") Long projectId);
+    
+    // Assignee display names for a project as [userId, name] rows
+    @Query("SELECT DISTINCT u.id, u.name FROM User u, Task t WHERE t.assigneeId = u.id AND t.projectId = :projectId")
+    List<Object[]> findAssigneeNamesByProjectId(@Param("projectId") Long projectId);
+    
+    /**
+     * Upcoming deadlines as a due-date range scan with the project name joined in.
+     * Rows are [id, title, status, priority, projectId, assigneeId, dueDate, progress, projectName,
+     * description, estimatedHours, loggedHours, createdAt, updatedAt]; pass a Pageable to push the
+     * top-N limit down to the database.
+     */
+    @Query("SELECT t.id, t.title, t.status, t.priority, t.projectId, t.assigneeId, t.dueDate, t.progress, p.name, " +
+           "t.description, t.estimatedHours, t.loggedHours, t.createdAt, t.updatedAt " +
+           "FROM Task t, Project p WHERE p.id = t.projectId " +
+           "AND t.dueDate > :from AND t.dueDate < :to AND t.status NOT IN :excludedStatuses " +
+           "AND (:projectId IS NULL OR t.projectId = :projectId) " +
+           "AND (:managerId IS NULL OR p.managerId = :managerId) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Object[]> findUpcomingDeadlineRows(@Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("excludedStatuses") List<TaskStatus> excludedStatuses,
+                                            @Param("projectId") Long projectId,
+                                            @Param("managerId") Long managerId,
+                                            Pageable pageable);
+    
+    // Labels for a page of tasks as [taskId, label] rows
+    @Query("SELECT t.id, l FROM Task t JOIN t.labels l WHERE t.id IN :taskIds")
+    List<Object[]> findLabelRowsByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+    
+    // Bulk status support - rows are [id, status, projectId]
+    @Query("SELECT t.id, t.status, t.projectId FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findStatusRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now " +
+           "WHERE t.id IN :ids AND (:expectedStatus IS NULL OR t.status = :expectedStatus)")
+    int bulkUpdateStatus(@Param("ids") Collection<Long> ids,
+                         @Param("status") TaskStatus status,
+                         @Param("expectedStatus") TaskStatus expectedStatus,
+                         @Param("now") LocalDateTime now);
+    
+    // Derived progress only touches rows that actually reached the given status
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.progress = 100 WHERE t.id IN :ids AND t.status = :status")
+    int bulkCompleteProgress(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.progress = 10 WHERE t.id IN :ids AND t.status = :status " +
+           "AND (t.progress IS NULL OR t.progress = 0)")
+    int bulkStartProgress(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+    
+    // Kanban board: card counts per column for a project
+    @Query("SELECT t.status, COUNT(t) FROM Task t WHERE t.projectId = :projectId GROUP BY t.status")
+    List<Object[]> countByProjectIdGroupedByStatus(@Param("projectId") Long projectId);
+    
+    /**
+     * First cards of every board column in a single round trip.
+     * Rows are [id, title, description, status, priority, assignee_id, due_date, progress].
+     */
+    @Query(value = "SELECT c.id, c.title, c.description, c.status, c.priority, c.assignee_id, c.due_date, c.progress " +
+                   "FROM (SELECT t.id, t.title, SUBSTRING(t.description, 1, 200) AS description, t.status, t.priority, " +
+                   "t.assignee_id, t.due_date, t.progress, " +
+                   "ROW_NUMBER() OVER (PARTITION BY t.status ORDER BY t.id) AS rn " +
+                   "FROM tasks t WHERE t.project_id = :projectId) c " +
+                   "WHERE c.rn <= :perColumn ORDER BY c.status, c.id",
+           nativeQuery = true)
+    List<Object[]> findBoardHeadRows(@Param("projectId") Long projectId, @Param("perColumn") int perColumn);
+    
+    // Next cards of one board column after the given id, same row shape as findBoardHeadRows
+    @Query("SELECT t.id, t.title, SUBSTRING(t.description, 1, 200), t.status, t.priority, t.assigneeId, t.dueDate, t.progress " +
+           "FROM Task t WHERE t.projectId = :projectId AND t.status = :status AND t.id > :afterId ORDER BY t.id")
+    List<Object[]> findBoardColumnRows(@Param("projectId") Long projectId,
+                                       @Param("status") TaskStatus status,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+    
+    /*
+     * Keyset pagination. Project, assignee and status filters are optional (null = any);
+     * a null cursor id starts from the first row. Callers pass a limit of page size + 1.
+     */
+    
+    // Newest first over (createdAt, id)
+    @Query("SELECT t FROM Task t WHERE (:projectId IS NULL OR t.projectId = :projectId) " +
+           "AND (:assigneeId IS NULL OR t.assigneeId = :assigneeId) AND (:status IS NULL OR t.status = :status) " +
+           "AND (:cursorId IS NULL OR t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :cursorId)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findKeysetByCreatedAt(@Param("projectId") Long projectId,
+                                     @Param("assigneeId") Long assigneeId,
+                                     @Param("status") TaskStatus status,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+    
+    // Earliest due first over (dueDate, id); tasks without a due date follow via findKeysetWithoutDueDate
+    @Query("SELECT t FROM Task t WHERE (:projectId IS NULL OR t.projectId = :projectId) " +
+           "AND (:assigneeId IS NULL OR t.assigneeId = :assigneeId) AND (:status IS NULL OR t.status = :status) " +
+           "AND t.dueDate IS NOT NULL " +
+           "AND (:cursorId IS NULL OR t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :cursorId)) " +
+           "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findKeysetByDueDate(@Param("projectId") Long projectId,
+                                   @Param("assigneeId") Long assigneeId,
+                                   @Param("status") TaskStatus status,
+                                   @Param("dueDate") LocalDateTime dueDate,
+                                   @Param("cursorId") Long cursorId,
+                                   Pageable pageable);
+    
+    @Query("SELECT t FROM Task t WHERE (:projectId IS NULL OR t.projectId = :projectId) " +
+           "AND (:assigneeId IS NULL OR t.assigneeId = :assigneeId) AND (:status IS NULL OR t.status = :status) " +
+           "AND t.dueDate IS NULL AND (:cursorId IS NULL OR t.id > :cursorId) " +
+           "ORDER BY t.id ASC")
+    List<Task> findKeysetWithoutDueDate(@Param("projectId") Long projectId,
+                                        @Param("assigneeId") Long assigneeId,
+                                        @Param("status") TaskStatus status,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // Insight engine: [status, count, estimatedHours, loggedHours] per status for a project
+    @Query("SELECT t.status, COUNT(t), COALESCE(SUM(t.estimatedHours), 0), COALESCE(SUM(t.loggedHours), 0) " +
+           "FROM Task t WHERE t.projectId = :projectId GROUP BY t.status")
+    List<Object[]> aggregateInsightStatsByProjectId(@Param("projectId") Long projectId);
+
+    // Insight engine: last-modified times of tasks in a status since a date, used as completion times for DONE
+    @Query("SELECT t.updatedAt FROM Task t WHERE t.projectId = :projectId AND t.status = :status AND t.updatedAt >= :since")
+    List<LocalDateTime> findUpdatedAtByProjectIdAndStatusSince(@Param("projectId") Long projectId,
+                                                               @Param("status") TaskStatus status,
+                                                               @Param("since") LocalDateTime since);
+
+    // Insight engine: open work per assignee in a project as [assigneeId, openTasks, remainingEstimatedHours]
+    @Query("SELECT t.assigneeId, COUNT(t), " +
+           "COALESCE(SUM(CASE WHEN t.estimatedHours > COALESCE(t.loggedHours, 0) THEN t.estimatedHours - COALESCE(t.loggedHours, 0) ELSE 0 END), 0) " +
+           "FROM Task t WHERE t.projectId = :projectId AND t.assigneeId IS NOT NULL AND t.status NOT IN :closedStatuses " +
+           "GROUP BY t.assigneeId")
+    List<Object[]> aggregateOpenWorkByAssignee(@Param("projectId") Long projectId,
+                                               @Param("closedStatuses") Collection<TaskStatus> closedStatuses);
+
+    // Insight engine: open work across all projects for a set of assignees, same row shape
+    @Query("SELECT t.assigneeId, COUNT(t), " +
+           "COALESCE(SUM(CASE WHEN t.estimatedHours > COALESCE(t.loggedHours, 0) THEN t.estimatedHours - COALESCE(t.loggedHours, 0) ELSE 0 END), 0) " +
+           "FROM Task t WHERE t.assigneeId IN :assigneeIds AND t.status NOT IN :closedStatuses " +
+           "GROUP BY t.assigneeId")
+    List<Object[]> aggregateOpenWorkByAssigneeIn(@Param("assigneeIds") Collection<Long> assigneeIds,
+                                                 @Param("closedStatuses") Collection<TaskStatus> closedStatuses);
+
+    // Insight engine: open tasks per label in a project as [label, count]
+    @Query("SELECT LOWER(l), COUNT(t) FROM Task t JOIN t.labels l " +
+           "WHERE t.projectId = :projectId AND t.status NOT IN :closedStatuses GROUP BY LOWER(l)")
+    List<Object[]> countOpenTasksByLabel(@Param("projectId") Long projectId,
+                                         @Param("closedStatuses") Collection<TaskStatus> closedStatuses);
+
+    // Insight engine: open tasks per label for a set of assignees as [label, count]
+    @Query("SELECT LOWER(l), COUNT(t) FROM Task t JOIN t.labels l " +
+           "WHERE t.assigneeId IN :assigneeIds AND t.status NOT IN :closedStatuses GROUP BY LOWER(l)")
+    List<Object[]> countOpenTasksByLabelForAssignees(@Param("assigneeIds") Collection<Long> assigneeIds,
+                                                     @Param("closedStatuses") Collection<TaskStatus> closedStatuses);
+
+    // Dependency graph nodes of a project as [id, estimatedHours, dueDate, status]
+    @Query("SELECT t.id, t.estimatedHours, t.dueDate, t.status FROM Task t WHERE t.projectId = :projectId")
+    List<Object[]> findGraphNodesByProjectId(@Param("projectId") Long projectId);
+
+    // Forecast: open work of a project as [estimatedHours, loggedHours]
+    @Query("SELECT t.estimatedHours, t.loggedHours FROM Task t WHERE t.projectId = :projectId AND t.status NOT IN :closedStatuses")
+    List<Object[]> findOpenWorkByProjectId(@Param("projectId") Long projectId,
+                                           @Param("closedStatuses") Collection<TaskStatus> closedStatuses);
+
+    // Apply a logged-hours delta in place so concurrent loggers cannot lose each other's updates
+    @Modifying
+    @Query("UPDATE Task t SET t.loggedHours = COALESCE(t.loggedHours, 0) + :delta WHERE t.id = :taskId")
+    int addLoggedHours(@Param("taskId") Long taskId, @Param("delta") double delta);
+
+    // Reconciliation: tasks after a cursor whose logged hours differ from their time logs
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId AND ABS(COALESCE(t.loggedHours, 0) - " +
+           "COALESCE((SELECT SUM(tt.hours) FROM TimeTracking tt WHERE tt.task.id = t.id), 0)) > :tolerance ORDER BY t.id")
+    List<Long> findIdsWithLoggedHoursDrift(@Param("afterId") Long afterId, @Param("tolerance") double tolerance, Pageable pageable);
+
+    // Reconciliation: recompute logged hours from the time logs
+    @Modifying
+    @Query("UPDATE Task t SET t.loggedHours = COALESCE((SELECT SUM(tt.hours) FROM TimeTracking tt WHERE tt.task.id = t.id), 0) " +
+           "WHERE t.id IN :ids")
+    int recomputeLoggedHours(@Param("ids") Collection<Long> ids);
+    
+    // Search index rows as [id, projectId, title, description]
+    @Query("SELECT t.id, t.projectId, t.title, t.description FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.projectId, t.title, t.description FROM Task t")
+    Stream<Object[]> streamSearchRows();
 }
@@ -0,0 +1,38 @@
+package com.aipm.ai_project_management.modules.tasks.repository;
+
+import com.aipm.ai_project_management.modules.tasks.entity.TimeRollupDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TimeRollupRepository extends JpaRepository<TimeRollupDaily, Long> {
+
+    // Per-user totals over a date range, optionally for one project, as
+    // [userId, billableHours, nonBillableHours, billableAmount, nonBillableAmount]
+    @Query("SELECT r.userId, SUM(r.billableHours), SUM(r.nonBillableHours), SUM(r.billableAmount), SUM(r.nonBillableAmount) " +
+           "FROM TimeRollupDaily r WHERE r.rollupDate BETWEEN :from AND :to " +
+           "AND (:projectId IS NULL OR r.projectId = :projectId) GROUP BY r.userId")
+    List<Object[]> sumByUserBetween(@Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    @Param("projectId") Long projectId);
+
+    // Totals over a date range as [billableHours, nonBillableHours, billableAmount, nonBillableAmount]
+    @Query("SELECT SUM(r.billableHours), SUM(r.nonBillableHours), SUM(r.billableAmount), SUM(r.nonBillableAmount) " +
+           "FROM TimeRollupDaily r WHERE r.rollupDate BETWEEN :from AND :to")
+    List<Object[]> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Hours a user logged per day over a date range as [date, hours]
+    @Query("SELECT r.rollupDate, SUM(r.billableHours + r.nonBillableHours) FROM TimeRollupDaily r " +
+           "WHERE r.userId = :userId AND r.rollupDate BETWEEN :from AND :to GROUP BY r.rollupDate")
+    List<Object[]> sumHoursByDateForUser(@Param("userId") Long userId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    // A user's rollup rows over a date range, oldest first
+    List<TimeRollupDaily> findByUserIdAndRollupDateBetweenOrderByRollupDate(Long userId, LocalDate from, LocalDate to);
+}
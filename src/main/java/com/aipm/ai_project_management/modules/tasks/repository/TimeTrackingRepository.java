@@ -1,24 +1,75 @@
 package com.aipm.ai_project_management.modules.tasks.repository;
 
+import com.aipm.ai_project_management.common.enums.TaskStatus;
 import com.aipm.ai_project_management.modules.tasks.entity.TimeTracking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TimeTrackingRepository extends JpaRepository<TimeTracking, Long> {
+
+    // Locks the log for the rest of the transaction, so concurrent edits apply their hour deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TimeTracking t WHERE t.id = :id")
+    Optional<TimeTracking> findByIdForUpdate(@Param("id") Long id);
     
     List<TimeTracking> findByTaskIdOrderByDateDescCreatedAtDesc(Long taskId);
     
-    List<TimeTracking> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+    // Fetches each log's task with it, since the DTO shows the task title
+    @Query("SELECT t FROM TimeTracking t JOIN FETCH t.task WHERE t.userId = :userId AND t.date BETWEEN :startDate AND :endDate")
+    List<TimeTracking> findByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+    
+    // Hours logged per user since a date as [userId, hours]
+    @Query("SELECT t.userId, SUM(t.hours) FROM TimeTracking t WHERE t.userId IN :userIds AND t.date >= :since GROUP BY t.userId")
+    List<Object[]> sumHoursByUserIdInSince(@Param("userIds") Collection<Long> userIds, @Param("since") LocalDate since);
     
     @Query("SELECT SUM(t.hours) FROM TimeTracking t WHERE t.task.id = :taskId")
     Double getTotalHoursByTaskId(@Param("taskId") Long taskId);
     
     @Query("SELECT SUM(t.hours) FROM TimeTracking t WHERE t.task.id = :taskId AND t.billable = true")
     Double getTotalBillableHoursByTaskId(@Param("taskId") Long taskId);
-}
\ No newline at end of file
+    
+    // Forecast: [estimatedHours, hours logged] of a project's estimated tasks in a status
+    @Query("SELECT t.task.estimatedHours, SUM(t.hours) FROM TimeTracking t " +
+           "WHERE t.task.projectId = :projectId AND t.task.status = :status AND t.task.estimatedHours > 0 " +
+           "GROUP BY t.task.id, t.task.estimatedHours")
+    List<Object[]> sumHoursAgainstEstimateByProjectId(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
+    
+    // Forecast: same row shape across all projects, newest tasks first
+    @Query("SELECT t.task.estimatedHours, SUM(t.hours) FROM TimeTracking t " +
+           "WHERE t.task.status = :status AND t.task.estimatedHours > 0 " +
+           "GROUP BY t.task.id, t.task.estimatedHours ORDER BY t.task.id DESC")
+    List<Object[]> sumHoursAgainstEstimate(@Param("status") TaskStatus status, Pageable pageable);
+    
+    // Forecast: hours logged on a project per day since a date as [date, hours]
+    @Query("SELECT t.date, SUM(t.hours) FROM TimeTracking t WHERE t.task.projectId = :projectId AND t.date >= :since GROUP BY t.date")
+    List<Object[]> sumHoursByDateForProjectSince(@Param("projectId") Long projectId, @Param("since") LocalDate since);
+    
+    // Forecast: [cost, hours] of a project's entries that carry an hourly rate
+    @Query("SELECT SUM(t.hours * t.hourlyRate), SUM(t.hours) FROM TimeTracking t WHERE t.task.projectId = :projectId AND t.hourlyRate IS NOT NULL")
+    List<Object[]> sumRatedCostAndHoursByProjectId(@Param("projectId") Long projectId);
+    
+    @Query("SELECT SUM(t.hours) FROM TimeTracking t WHERE t.task.projectId = :projectId")
+    Double getTotalHoursByProjectId(@Param("projectId") Long projectId);
+    
+    // Hours logged on a task per user as [userId, hours]
+    @Query("SELECT t.userId, SUM(t.hours) FROM TimeTracking t WHERE t.task.id = :taskId GROUP BY t.userId")
+    List<Object[]> sumHoursByUserIdForTask(@Param("taskId") Long taskId);
+    
+    // Rollup contributions of a task's logs as [date, userId, billable, hours, amount, entries]
+    @Query("SELECT t.date, t.userId, t.billable, SUM(t.hours), SUM(t.hours * COALESCE(t.hourlyRate, :defaultRate)), COUNT(t) " +
+           "FROM TimeTracking t WHERE t.task.id = :taskId GROUP BY t.date, t.userId, t.billable")
+    List<Object[]> sumRollupContributionsForTask(@Param("taskId") Long taskId, @Param("defaultRate") double defaultRate);
+}
@@ -0,0 +1,124 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Periodically compares the logged-hours running totals kept by {@link LoggedHoursTotals} with
+ * the time logs and repairs rows that drifted, e.g. after a project was deleted along with its
+ * tasks or the tables were edited by hand.
+ * <p>
+ * Drift is found with a read-only scan per table and repaired a chunk at a time. The repairing
+ * UPDATE recomputes each total from the logs while holding the row lock, so it waits for any
+ * logger still holding that row and a repair never undoes an increment. Running it on several
+ * nodes at once is harmless, since recomputing a total is idempotent.
+ */
+@Service
+public class LoggedHoursReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggedHoursReconciliationService.class);
+
+    // Totals and logs are both stored to two decimals; anything closer is rounding
+    private static final double TOLERANCE = 0.005;
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.timetracking.reconcile.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.timetracking.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    public LoggedHoursReconciliationService(TaskRepository taskRepository,
+                                            ProjectRepository projectRepository,
+                                            UserRepository userRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record ReconciliationResult(int tasksRepaired, int projectsRepaired, int usersRepaired) {
+
+        public int total() {
+            return tasksRepaired + projectsRepaired + usersRepaired;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.timetracking.reconcile.interval-ms:3600000}",
+               initialDelayString = "${app.timetracking.reconcile.initial-delay-ms:300000}")
+    public void scheduledRun() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    public ReconciliationResult reconcile() {
+        ReconciliationResult result = new ReconciliationResult(
+                repair("task", taskRepository::findIdsWithLoggedHoursDrift, taskRepository::recomputeLoggedHours),
+                repair("project", projectRepository::findIdsWithLoggedHoursDrift, projectRepository::recomputeLoggedHours),
+                repair("user", userRepository::findIdsWithLoggedHoursDrift, userRepository::recomputeLoggedHours));
+        if (result.total() > 0) {
+            logger.warn("Repaired logged-hours drift on {} tasks, {} projects and {} users",
+                    result.tasksRepaired(), result.projectsRepaired(), result.usersRepaired());
+        }
+        return result;
+    }
+
+    private int repair(String scope, DriftQuery findDrifted, Recompute recompute) {
+        int repaired = 0;
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = readOnlyTransactionTemplate.execute(status ->
+                    findDrifted.find(cursor, TOLERANCE, PageRequest.of(0, chunkSize)));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            Integer updated = transactionTemplate.execute(status -> recompute.apply(ids));
+            repaired += updated != null ? updated : 0;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        if (repaired > 0) {
+            meterRegistry.counter("timetracking.logged_hours.repaired", "scope", scope).increment(repaired);
+        }
+        return repaired;
+    }
+
+    @FunctionalInterface
+    private interface DriftQuery {
+        List<Long> find(Long afterId, double tolerance, Pageable pageable);
+    }
+
+    @FunctionalInterface
+    private interface Recompute {
+        int apply(Collection<Long> ids);
+    }
+}
@@ -0,0 +1,77 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the logged-hours running totals on tasks, projects and users in step with time logs.
+ * <p>
+ * Every change is applied as an in-place increment inside the caller's transaction, so
+ * concurrent loggers on the same task serialise on its row lock instead of overwriting each
+ * other's totals. Rows are always locked task, then project, then user, which keeps loggers
+ * and task deletion from deadlocking. {@code LoggedHoursReconciliationService} repairs drift
+ * from anything that bypasses this class.
+ */
+@Component
+public class LoggedHoursTotals {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final TimeTrackingRepository timeTrackingRepository;
+
+    public LoggedHoursTotals(TaskRepository taskRepository,
+                             ProjectRepository projectRepository,
+                             UserRepository userRepository,
+                             TimeTrackingRepository timeTrackingRepository) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.timeTrackingRepository = timeTrackingRepository;
+    }
+
+    public void apply(Long taskId, Long projectId, Long userId, double delta) {
+        if (delta == 0) {
+            return;
+        }
+        taskRepository.addLoggedHours(taskId, delta);
+        if (projectId != null) {
+            projectRepository.addLoggedHours(projectId, delta);
+        }
+        userRepository.addLoggedHours(userId, delta);
+    }
+
+    /**
+     * Hours logged on a task per user. Read before deleting the task, since the delete
+     * cascades to its time logs.
+     */
+    public Map<Long, Double> hoursByUser(Long taskId) {
+        Map<Long, Double> hours = new LinkedHashMap<>();
+        for (Object[] row : timeTrackingRepository.sumHoursByUserIdForTask(taskId)) {
+            hours.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+        return hours;
+    }
+
+    /**
+     * Takes a deleted task's hours off its project and users. Call after the delete has been
+     * flushed so the task row is locked first.
+     */
+    public void removeTask(Long projectId, Map<Long, Double> hoursByUser) {
+        double total = hoursByUser.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (projectId != null && total != 0) {
+            projectRepository.addLoggedHours(projectId, -total);
+        }
+        hoursByUser.forEach((userId, hours) -> {
+            if (hours != 0) {
+                userRepository.addLoggedHours(userId, -hours);
+            }
+        });
+    }
+}
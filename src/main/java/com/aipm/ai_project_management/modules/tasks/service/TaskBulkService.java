@@ -0,0 +1,12 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.tasks.dto.BulkStatusUpdateResult;
+
+import java.util.List;
+
+public interface TaskBulkService {
+    
+    // Set-based status change, applied in independently committed chunks
+    BulkStatusUpdateResult updateStatus(List<Long> taskIds, TaskStatus status, TaskStatus expectedStatus);
+}
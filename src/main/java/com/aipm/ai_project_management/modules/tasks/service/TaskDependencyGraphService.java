@@ -0,0 +1,19 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.modules.tasks.dto.TaskScheduleDTO;
+import com.aipm.ai_project_management.modules.tasks.graph.DependencyGraph;
+
+public interface TaskDependencyGraphService {
+
+    // Cached per project; rebuilt after task or dependency changes commit
+    DependencyGraph getGraph(Long projectId);
+
+    // Critical path and slack of the project's open work, measured from now
+    TaskScheduleDTO getSchedule(Long projectId);
+
+    // Throws ValidationException when the new dependency would close a cycle; checks a freshly loaded
+    // graph, so run it in the inserting transaction while holding the project's lock
+    void checkNewDependency(Long projectId, Long dependentTaskId, Long dependencyTaskId);
+
+    void evict(Long projectId);
+}
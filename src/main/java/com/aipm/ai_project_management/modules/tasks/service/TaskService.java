@@ -1,6 +1,7 @@
 package com.aipm.ai_project_management.modules.tasks.service;
 
 import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.tasks.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,10 +23,17 @@ public interface TaskService {
     
     Page<TaskDTO> getTasksByProjectId(Long projectId, Map<String, String> filters, Pageable pageable);
     
-    TaskBoardDTO getTaskBoard(Long projectId, String view);
+    KanbanBoardDto getTaskBoard(Long projectId, String view, int cardsPerColumn);
+    
+    KanbanBoardDto.KanbanColumn getTaskBoardColumn(Long projectId, TaskStatus status, String cursor, int limit);
     
     Page<TaskDTO> getTasksAssignedToUser(Long userId, Map<String, String> filters, Pageable pageable);
     
+    // Cursor (keyset) pagination without a count query
+    PageResponse<TaskDTO> getTasksByProjectIdWithCursor(Long projectId, Map<String, String> filters, String cursor, int size);
+    
+    PageResponse<TaskDTO> getTasksAssignedToUserWithCursor(Long userId, Map<String, String> filters, String cursor, int size);
+    
     // Update operations
     TaskDTO updateTask(Long id, UpdateTaskRequest request);
     
@@ -35,6 +43,11 @@ public interface TaskService {
     
     TaskDTO updateTaskProgress(Long taskId, Integer progress);
     
+    // Dependency operations; adding one that would close a cycle is rejected
+    TaskDetailDTO.DependencyDTO addDependency(Long taskId, Long dependencyTaskId);
+    
+    void removeDependency(Long taskId, Long dependencyTaskId);
+    
     // Delete operations
     void deleteTask(Long id);
     
@@ -49,6 +62,9 @@ public interface TaskService {
     
     List<TaskDTO> getUpcomingDeadlines(Integer days);
     
+    // Nearest deadlines first, optionally scoped to a project and/or project manager
+    List<TaskDTO> getUpcomingDeadlines(Integer days, Long projectId, Long managerId, int limit);
+    
     // Kanban board operations
     TaskDTO moveTaskToColumn(Long projectId, MoveTaskRequest moveRequest);
 }
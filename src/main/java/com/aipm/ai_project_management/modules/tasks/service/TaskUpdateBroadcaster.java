@@ -0,0 +1,38 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.modules.notifications.service.RealTimeMessagingService;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pushes committed task changes to the task and project WebSocket topics. Updates are sent as
+ * small maps so the dispatcher can merge successive changes to the same task within a window.
+ */
+@Component
+public class TaskUpdateBroadcaster {
+
+    private final RealTimeMessagingService realTimeMessagingService;
+
+    public TaskUpdateBroadcaster(RealTimeMessagingService realTimeMessagingService) {
+        this.realTimeMessagingService = realTimeMessagingService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("taskId", event.taskId());
+        update.put("projectId", event.projectId());
+        update.put("changeType", event.changeType());
+        update.put("status", event.currentStatus());
+
+        realTimeMessagingService.sendTaskUpdate(event.taskId(), update);
+        if (event.projectId() != null) {
+            realTimeMessagingService.sendProjectUpdate(event.projectId(), "task:" + event.taskId(), update);
+        }
+    }
+}
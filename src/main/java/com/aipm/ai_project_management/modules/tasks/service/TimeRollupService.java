@@ -0,0 +1,441 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO.UserUtilization;
+import com.aipm.ai_project_management.modules.tasks.entity.TimeTracking;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeRollupRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily time rollups: billable and non-billable hours and amounts per user, project and day,
+ * kept in {@code time_rollups_daily} so utilization and revenue reports read O(users x days)
+ * rows instead of every time log.
+ * <p>
+ * Time log writes apply their contribution as an increment inside the writer's transaction,
+ * after the logged-hours totals, so the rollup row is always locked last. A bulk rebuild streams
+ * {@code time_tracking} a month at a time and replaces that month's rows; it runs nightly and
+ * on demand to repair drift. Logs without an hourly rate are valued at the default rate.
+ */
+@Service
+public class TimeRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeRollupService.class);
+
+    private static final List<UserRole> CAPACITY_ROLES = List.of(UserRole.TEAM_MEMBER, UserRole.PROJECT_MANAGER);
+
+    // Longest range a utilization report may cover
+    private static final long MAX_REPORT_DAYS = 366;
+
+    // MySQL upserts in one statement, which avoids gap-lock deadlocks between first writes of the day
+    private static final String UPSERT_SQL =
+            "INSERT INTO time_rollups_daily (billable_hours, non_billable_hours, billable_amount, non_billable_amount, " +
+            "entry_count, rollup_date, user_id, project_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE billable_hours = billable_hours + VALUES(billable_hours), " +
+            "non_billable_hours = non_billable_hours + VALUES(non_billable_hours), " +
+            "billable_amount = billable_amount + VALUES(billable_amount), " +
+            "non_billable_amount = non_billable_amount + VALUES(non_billable_amount), " +
+            "entry_count = entry_count + VALUES(entry_count)";
+
+    private static final String INCREMENT_SQL =
+            "UPDATE time_rollups_daily SET billable_hours = billable_hours + ?, non_billable_hours = non_billable_hours + ?, " +
+            "billable_amount = billable_amount + ?, non_billable_amount = non_billable_amount + ?, " +
+            "entry_count = entry_count + ? WHERE rollup_date = ? AND user_id = ? AND project_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO time_rollups_daily (billable_hours, non_billable_hours, billable_amount, non_billable_amount, " +
+            "entry_count, rollup_date, user_id, project_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM time_rollups_daily WHERE rollup_date = ? AND user_id = ? AND project_id = ? AND entry_count <= 0";
+
+    private static final String STREAM_LOGS_SQL =
+            "SELECT tt.date, tt.user_id, t.project_id, tt.billable, tt.hours, tt.hourly_rate " +
+            "FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id WHERE tt.date BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TimeRollupRepository timeRollupRepository;
+    private final TimeTrackingRepository timeTrackingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean mysql;
+
+    @Value("${app.timetracking.rollups.default-hourly-rate:75}")
+    private double defaultHourlyRate;
+
+    @Value("${app.timetracking.rollups.hours-per-day:8}")
+    private double hoursPerDay;
+
+    @Value("${app.timetracking.rollups.rebuild.enabled:true}")
+    private boolean rebuildEnabled;
+
+    @Value("${app.timetracking.rollups.rebuild.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.timetracking.rollups.rebuild.batch-size:500}")
+    private int batchSize;
+
+    public TimeRollupService(JdbcTemplate jdbcTemplate,
+                             TimeRollupRepository timeRollupRepository,
+                             TimeTrackingRepository timeTrackingRepository,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeRollupRepository = timeRollupRepository;
+        this.timeTrackingRepository = timeTrackingRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * What a set of time logs adds to one rollup row.
+     */
+    public record Contribution(LocalDate date, Long userId, Long projectId, boolean billable,
+                               double hours, BigDecimal amount, int entries) {
+
+        Contribution negate() {
+            return new Contribution(date, userId, projectId, billable, -hours, amount.negate(), -entries);
+        }
+    }
+
+    // --- Incremental maintenance, inside the time log writer's transaction ---
+
+    public Contribution contributionOf(TimeTracking timeLog) {
+        double hours = timeLog.getHours() != null ? timeLog.getHours() : 0.0;
+        double rate = timeLog.getHourlyRate() != null ? timeLog.getHourlyRate() : defaultHourlyRate;
+        return new Contribution(timeLog.getDate(), timeLog.getUserId(), timeLog.getTask().getProjectId(),
+                timeLog.getBillable() == null || timeLog.getBillable(), hours, amount(hours * rate), 1);
+    }
+
+    public void add(Contribution contribution) {
+        apply(contribution);
+    }
+
+    public void remove(Contribution contribution) {
+        apply(contribution.negate());
+    }
+
+    public void replace(Contribution before, Contribution after) {
+        if (!before.equals(after)) {
+            remove(before);
+            add(after);
+        }
+    }
+
+    /**
+     * Contributions of all of a task's logs; read before the task is deleted and pass the
+     * result to {@link #removeAll} once the delete has been flushed.
+     */
+    public List<Contribution> contributionsOfTask(Long taskId, Long projectId) {
+        List<Contribution> contributions = new ArrayList<>();
+        for (Object[] row : timeTrackingRepository.sumRollupContributionsForTask(taskId, defaultHourlyRate)) {
+            contributions.add(new Contribution((LocalDate) row[0], (Long) row[1], projectId,
+                    row[2] == null || (Boolean) row[2], ((Number) row[3]).doubleValue(),
+                    amount(((Number) row[4]).doubleValue()), ((Number) row[5]).intValue()));
+        }
+        return contributions;
+    }
+
+    public void removeAll(List<Contribution> contributions) {
+        for (Contribution contribution : contributions) {
+            remove(contribution);
+        }
+    }
+
+    private void apply(Contribution c) {
+        if (c.projectId() == null || c.date() == null) {
+            return;
+        }
+        Object[] args = {
+                c.billable() ? c.hours() : 0.0,
+                c.billable() ? 0.0 : c.hours(),
+                c.billable() ? c.amount() : BigDecimal.ZERO,
+                c.billable() ? BigDecimal.ZERO : c.amount(),
+                c.entries(),
+                Date.valueOf(c.date()), c.userId(), c.projectId()
+        };
+        if (c.entries() < 0) {
+            // Removing only ever updates an existing row; drop it once its last log is gone
+            jdbcTemplate.update(INCREMENT_SQL, args);
+            jdbcTemplate.update(DELETE_EMPTY_SQL, Date.valueOf(c.date()), c.userId(), c.projectId());
+        } else if (isMysql()) {
+            jdbcTemplate.update(UPSERT_SQL, args);
+        } else if (jdbcTemplate.update(INCREMENT_SQL, args) == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, args);
+            } catch (DuplicateKeyException e) {
+                // Another transaction created the row in between
+                jdbcTemplate.update(INCREMENT_SQL, args);
+            }
+        }
+    }
+
+    // --- Bulk rebuild ---
+
+    @Scheduled(cron = "${app.timetracking.rollups.rebuild.cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        if (rebuildEnabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds every rollup row from the time logs, one month per transaction.
+     *
+     * @return the number of rollup rows written
+     */
+    public int rebuild() {
+        LocalDate[] range = jdbcTemplate.query("SELECT MIN(tt.date), MAX(tt.date) FROM time_tracking tt",
+                rs -> rs.next() && rs.getDate(1) != null
+                        ? new LocalDate[] {rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate()}
+                        : null);
+        if (range == null) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM time_rollups_daily"));
+            return 0;
+        }
+
+        LocalDate first = range[0].withDayOfMonth(1);
+        LocalDate last = YearMonth.from(range[1]).atEndOfMonth();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM time_rollups_daily WHERE rollup_date < ? OR rollup_date > ?",
+                Date.valueOf(first), Date.valueOf(last)));
+
+        int rows = 0;
+        for (YearMonth month = YearMonth.from(first); !month.atDay(1).isAfter(last); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            Integer written = transactionTemplate.execute(status -> rebuildMonth(current));
+            rows += written != null ? written : 0;
+        }
+        logger.info("Rebuilt {} daily time rollup rows from {} to {}", rows, first, last);
+        return rows;
+    }
+
+    private int rebuildMonth(YearMonth month) {
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.atEndOfMonth());
+
+        // Deleting first locks the month against concurrent increments, and the logs read
+        // afterwards include everything those writers committed
+        jdbcTemplate.update("DELETE FROM time_rollups_daily WHERE rollup_date BETWEEN ? AND ?", from, to);
+
+        MonthAccumulator accumulator = new MonthAccumulator();
+        boolean streaming = isMysql();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_LOGS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J only streams row by row with this fetch size
+            statement.setFetchSize(streaming ? Integer.MIN_VALUE : fetchSize);
+            statement.setDate(1, from);
+            statement.setDate(2, to);
+            return statement;
+        }, accumulator);
+
+        // The stream is closed by now, so the connection is free for the inserts
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<RollupKey, double[]> entry : accumulator.rows.entrySet()) {
+            RollupKey key = entry.getKey();
+            double[] sums = entry.getValue();
+            batch.add(new Object[] {sums[0], sums[1], amount(sums[2]), amount(sums[3]), (int) sums[4],
+                    Date.valueOf(key.date()), key.userId(), key.projectId()});
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        return accumulator.rows.size();
+    }
+
+    private record RollupKey(LocalDate date, long userId, long projectId) {
+    }
+
+    // Sums [billable hours, non-billable hours, billable amount, non-billable amount, entries] per key
+    private final class MonthAccumulator implements RowCallbackHandler {
+
+        private final Map<RollupKey, double[]> rows = new LinkedHashMap<>();
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            RollupKey key = new RollupKey(rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3));
+            boolean billable = rs.getBoolean(4) || rs.wasNull();
+            double hours = rs.getDouble(5);
+            double rate = rs.getDouble(6);
+            if (rs.wasNull()) {
+                rate = defaultHourlyRate;
+            }
+            double[] sums = rows.computeIfAbsent(key, k -> new double[5]);
+            sums[billable ? 0 : 1] += hours;
+            sums[billable ? 2 : 3] += amount(hours * rate).doubleValue();
+            sums[4]++;
+        }
+    }
+
+    // --- Reporting ---
+
+    @Transactional(readOnly = true)
+    public UtilizationReportDTO getUtilization(LocalDate from, LocalDate to, Long projectId) {
+        if (from.isAfter(to)) {
+            throw new ValidationException("startDate", "startDate must not be after endDate");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new ValidationException("endDate", "Reports cover at most " + MAX_REPORT_DAYS + " days");
+        }
+
+        int workingDays = workingDays(from, to);
+        double capacity = workingDays * hoursPerDay;
+        UtilizationReportDTO report = new UtilizationReportDTO(from, to, projectId, workingDays, capacity);
+
+        List<Object[]> rows = timeRollupRepository.sumByUserBetween(from, to, projectId);
+        Map<Long, String> names = new HashMap<>();
+        if (!rows.isEmpty()) {
+            List<Long> userIds = rows.stream().map(row -> (Long) row[0]).toList();
+            for (Object[] row : userRepository.findNamesByIdIn(userIds)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        double billableHours = 0;
+        double nonBillableHours = 0;
+        BigDecimal billableAmount = BigDecimal.ZERO;
+        BigDecimal nonBillableAmount = BigDecimal.ZERO;
+        List<UserUtilization> users = new ArrayList<>();
+        for (Object[] row : rows) {
+            double billable = number(row[1]);
+            double nonBillable = number(row[2]);
+            BigDecimal amount = decimal(row[3]);
+            billableHours += billable;
+            nonBillableHours += nonBillable;
+            billableAmount = billableAmount.add(amount);
+            nonBillableAmount = nonBillableAmount.add(decimal(row[4]));
+            users.add(new UserUtilization((Long) row[0], names.get((Long) row[0]), billable, nonBillable, amount,
+                    percentage(billable + nonBillable, capacity), percentage(billable, capacity)));
+        }
+        users.sort(Comparator.comparingDouble(UserUtilization::getUtilization).reversed());
+
+        // Company-wide reports count everyone expected to log time; project reports only contributors
+        long headcount = projectId == null
+                ? Math.max(userRepository.countActiveByRoleIn(CAPACITY_ROLES), users.size())
+                : users.size();
+
+        report.setHeadcount(headcount);
+        report.setBillableHours(billableHours);
+        report.setNonBillableHours(nonBillableHours);
+        report.setBillableAmount(billableAmount);
+        report.setNonBillableAmount(nonBillableAmount);
+        report.setUtilization(percentage(billableHours + nonBillableHours, capacity * headcount));
+        report.setBillableUtilization(percentage(billableHours, capacity * headcount));
+        report.setUsers(users);
+        return report;
+    }
+
+    /**
+     * Percentage of team capacity logged between the two dates.
+     */
+    @Transactional(readOnly = true)
+    public double teamUtilization(LocalDate from, LocalDate to) {
+        Object[] totals = totals(from, to);
+        long headcount = userRepository.countActiveByRoleIn(CAPACITY_ROLES);
+        return percentage(number(totals[0]) + number(totals[1]), workingDays(from, to) * hoursPerDay * headcount);
+    }
+
+    /**
+     * Value of the billable hours logged between the two dates.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal billableAmount(LocalDate from, LocalDate to) {
+        return decimal(totals(from, to)[2]);
+    }
+
+    /**
+     * Hours a user logged per day between the two dates; days without time are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Double> dailyHours(Long userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Double> hours = new HashMap<>();
+        for (Object[] row : timeRollupRepository.sumHoursByDateForUser(userId, from, to)) {
+            hours.put((LocalDate) row[0], number(row[1]));
+        }
+        return hours;
+    }
+
+    public static int workingDays(LocalDate start, LocalDate end) {
+        int workingDays = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                workingDays++;
+            }
+        }
+        return workingDays;
+    }
+
+    private Object[] totals(LocalDate from, LocalDate to) {
+        List<Object[]> rows = timeRollupRepository.sumBetween(from, to);
+        return rows.isEmpty() ? new Object[4] : rows.get(0);
+    }
+
+    private boolean isMysql() {
+        Boolean result = mysql;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql"));
+            mysql = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double number(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    private static BigDecimal decimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : amount(((Number) value).doubleValue());
+    }
+
+    private static double percentage(double hours, double capacity) {
+        if (capacity <= 0) {
+            return 0.0;
+        }
+        return Math.round(hours / capacity * 1000.0) / 10.0;
+    }
+}
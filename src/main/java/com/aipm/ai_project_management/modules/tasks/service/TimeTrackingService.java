@@ -2,7 +2,11 @@ package com.aipm.ai_project_management.modules.tasks.service;
 
 import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
 import com.aipm.ai_project_management.modules.tasks.dto.TimeTrackingDTO;
+import com.aipm.ai_project_management.modules.tasks.dto.TimesheetExportFormat;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -14,4 +18,7 @@ public interface TimeTrackingService {
     TimeTrackingDTO updateTimeLog(Long timeLogId, TimeLogRequest request);
     void deleteTimeLog(Long timeLogId);
     Map<String, Object> getTimeTrackingSummary(Long taskId);
+    UtilizationReportDTO getUtilization(LocalDate startDate, LocalDate endDate, Long projectId);
+    void exportTimeLogs(Long userId, Long projectId, LocalDate startDate, LocalDate endDate,
+                        TimesheetExportFormat format, OutputStream outputStream) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.aipm.ai_project_management.modules.tasks.service.impl;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.tasks.dto.BulkStatusUpdateResult;
+import com.aipm.ai_project_management.modules.tasks.dto.BulkStatusUpdateResult.Outcome;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.service.TaskBulkService;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies a status change to many tasks with a handful of set-based statements per chunk
+ * instead of a load/save round trip per task. Each chunk commits on its own, so locks are
+ * held only for the duration of one chunk and chunks can run in parallel. That holds for a
+ * single chunk on the calling thread too: chunks never join a caller's transaction.
+ */
+@Service
+public class TaskBulkServiceImpl implements TaskBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBulkServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor bulkTaskExecutor;
+    private final int chunkSize;
+
+    public TaskBulkServiceImpl(TaskRepository taskRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("bulkTaskExecutor") TaskExecutor bulkTaskExecutor,
+                               @Value("${app.tasks.bulk.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bulkTaskExecutor = bulkTaskExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public BulkStatusUpdateResult updateStatus(List<Long> taskIds, TaskStatus status, TaskStatus expectedStatus) {
+        if (status == null) {
+            throw new IllegalArgumentException("Target status is required");
+        }
+
+        List<List<Long>> chunks = partition(new ArrayList<>(new LinkedHashSet<>(taskIds)));
+        logger.info("Bulk updating {} tasks to {} in {} chunk(s)", taskIds.size(), status, chunks.size());
+
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult(status);
+        if (chunks.size() == 1) {
+            result.merge(processChunkInTransaction(chunks.get(0), status, expectedStatus));
+            return result;
+        }
+
+        List<CompletableFuture<BulkStatusUpdateResult>> futures = new ArrayList<>(chunks.size());
+        for (List<Long> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> processChunkInTransaction(chunk, status, expectedStatus), bulkTaskExecutor));
+        }
+        // Merge in submission order so outcomes follow the order of the request
+        for (CompletableFuture<BulkStatusUpdateResult> future : futures) {
+            result.merge(future.join());
+        }
+        return result;
+    }
+
+    private BulkStatusUpdateResult processChunkInTransaction(List<Long> ids, TaskStatus status, TaskStatus expectedStatus) {
+        return transactionTemplate.execute(tx -> processChunk(ids, status, expectedStatus));
+    }
+
+    private BulkStatusUpdateResult processChunk(List<Long> ids, TaskStatus status, TaskStatus expectedStatus) {
+        if (ids.isEmpty()) {
+            return new BulkStatusUpdateResult(status);
+        }
+        Map<Long, Object[]> before = loadStatusRows(ids);
+
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Object[] row = before.get(id);
+            if (row != null && (expectedStatus == null || expectedStatus == row[1])) {
+                candidates.add(id);
+            }
+        }
+
+        Set<Long> conflicts = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            int updated = taskRepository.bulkUpdateStatus(candidates, status, expectedStatus, LocalDateTime.now());
+            if (status == TaskStatus.DONE) {
+                taskRepository.bulkCompleteProgress(candidates, status);
+            } else if (status == TaskStatus.IN_PROGRESS) {
+                taskRepository.bulkStartProgress(candidates, status);
+            }
+            // A concurrent writer moved some rows away from the expected status; re-read to classify them
+            if (updated != candidates.size()) {
+                for (Object[] row : loadStatusRows(candidates).values()) {
+                    if (row[1] != status) {
+                        conflicts.add((Long) row[0]);
+                    }
+                }
+            }
+        }
+
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult(status);
+        for (Long id : ids) {
+            Object[] previous = before.get(id);
+            if (previous == null) {
+                result.addOutcome(id, Outcome.NOT_FOUND);
+            } else if (!candidates.contains(id) || conflicts.contains(id)) {
+                result.addOutcome(id, Outcome.CONFLICT);
+            } else {
+                result.addOutcome(id, Outcome.UPDATED);
+                TaskStatus previousStatus = (TaskStatus) previous[1];
+                if (previousStatus != status) {
+                    eventPublisher.publishEvent(new TaskChangedEvent(
+                            id, (Long) previous[2], EntityChangeType.UPDATED, previousStatus, status));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, Object[]> loadStatusRows(Collection<Long> ids) {
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : taskRepository.findStatusRowsByIdIn(ids)) {
+            rows.put((Long) row[0], row);
+        }
+        return rows;
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += chunkSize) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + chunkSize)));
+        }
+        if (chunks.isEmpty()) {
+            chunks.add(List.of());
+        }
+        return chunks;
+    }
+}
@@ -13,8 +13,11 @@ import com.aipm.ai_project_management.modules.tasks.service.TaskCommentService;
 import com.aipm.ai_project_management.modules.auth.entity.User;
 import com.aipm.ai_project_management.common.enums.UserRole;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskCommentChangedEvent;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,15 +32,18 @@ public class TaskCommentServiceImpl implements TaskCommentService {
     private final TaskCommentRepository taskCommentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public TaskCommentServiceImpl(
             TaskCommentRepository taskCommentRepository,
             TaskRepository taskRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.taskCommentRepository = taskCommentRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -65,6 +71,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         
         // Save comment
         TaskComment savedComment = taskCommentRepository.save(comment);
+        publishCommentChanged(savedComment, EntityChangeType.CREATED);
         
         // Convert to DTO and return
         return convertToDTO(savedComment);
@@ -112,6 +119,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         
         // Save reply
         TaskComment savedReply = taskCommentRepository.save(reply);
+        publishCommentChanged(savedReply, EntityChangeType.CREATED);
         
         // Convert to DTO and return
         return convertToDTO(savedReply);
@@ -130,6 +138,7 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         
         // Save updated comment
         TaskComment updatedComment = taskCommentRepository.save(comment);
+        publishCommentChanged(updatedComment, EntityChangeType.UPDATED);
         
         // Convert to DTO and return
         return convertToDTO(updatedComment);
@@ -159,6 +168,13 @@ public class TaskCommentServiceImpl implements TaskCommentService {
         
         // Delete comment
         taskCommentRepository.delete(comment);
+        publishCommentChanged(comment, EntityChangeType.DELETED);
+    }
+    
+    private void publishCommentChanged(TaskComment comment, EntityChangeType changeType) {
+        Task task = comment.getTask();
+        eventPublisher.publishEvent(new TaskCommentChangedEvent(
+                comment.getId(), task.getId(), task.getProjectId(), changeType));
     }
     
     /**
@@ -0,0 +1,174 @@
+package com.aipm.ai_project_management.modules.tasks.service.impl;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.TaskScheduleDTO;
+import com.aipm.ai_project_management.modules.tasks.graph.DependencyGraph;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskDependencyRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.service.TaskDependencyGraphService;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds each project's dependency graph from two set-based queries (tasks and edges) and keeps
+ * it until a task or dependency of the project changes. Every such change publishes a
+ * {@link TaskChangedEvent}, so listening for it after commit is enough to invalidate; the TTL
+ * covers changes committed on other nodes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TaskDependencyGraphServiceImpl implements TaskDependencyGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDependencyGraphServiceImpl.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final ProjectRepository projectRepository;
+    private final Map<Long, CachedGraph> graphs = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a build that raced with a change is not cached
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    @Value("${app.tasks.graph.cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public TaskDependencyGraphServiceImpl(TaskRepository taskRepository,
+                                          TaskDependencyRepository taskDependencyRepository,
+                                          ProjectRepository projectRepository) {
+        this.taskRepository = taskRepository;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @Override
+    public DependencyGraph getGraph(Long projectId) {
+        LocalDateTime now = LocalDateTime.now();
+        CachedGraph cached = graphs.get(projectId);
+        if (cached != null && cached.builtAt().plusSeconds(ttlSeconds).isAfter(now)) {
+            return cached.graph();
+        }
+
+        long generation = generations.getOrDefault(projectId, 0L);
+        DependencyGraph graph = load(projectId);
+        graphs.compute(projectId, (id, existing) ->
+                generations.getOrDefault(projectId, 0L) == generation ? new CachedGraph(graph, now) : existing);
+        return graph;
+    }
+
+    @Override
+    public TaskScheduleDTO getSchedule(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        DependencyGraph graph = getGraph(projectId);
+        LocalDateTime now = LocalDateTime.now();
+        TaskScheduleDTO dto = new TaskScheduleDTO(projectId, now, graph.size(), graph.edgeCount());
+
+        if (graph.hasCycle()) {
+            dto.setHasCycle(true);
+            dto.setCycle(graph.findCycle());
+            return dto;
+        }
+
+        DependencyGraph.Schedule schedule = graph.schedule(toEpochMinutes(now));
+        long[] order = graph.topologicalOrder();
+        List<TaskScheduleDTO.TaskScheduleEntry> tasks = new ArrayList<>(order.length);
+        for (long taskId : order) {
+            int i = graph.indexOf(taskId);
+            double dueSlack = schedule.dueSlack()[i];
+            tasks.add(new TaskScheduleDTO.TaskScheduleEntry(taskId,
+                    schedule.earliestStart()[i], schedule.earliestFinish()[i], schedule.latestFinish()[i],
+                    schedule.totalFloat()[i], Double.isNaN(dueSlack) ? null : dueSlack, schedule.isCritical(i)));
+        }
+
+        List<Long> criticalPath = new ArrayList<>(schedule.criticalPath().length);
+        for (long taskId : schedule.criticalPath()) {
+            criticalPath.add(taskId);
+        }
+        dto.setProjectDurationHours(schedule.projectDurationHours());
+        dto.setProjectedFinish(now.plusMinutes(Math.round(schedule.projectDurationHours() * 60)));
+        dto.setCriticalPath(criticalPath);
+        dto.setTasks(tasks);
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public void checkNewDependency(Long projectId, Long dependentTaskId, Long dependencyTaskId) {
+        // Not the cached graph: it misses edges whose commit has not evicted it yet
+        if (load(projectId).wouldCreateCycle(dependentTaskId, dependencyTaskId)) {
+            throw new ValidationException("dependencyTaskId", "Task " + dependentTaskId + " cannot depend on task "
+                    + dependencyTaskId + ": the dependency would create a cycle");
+        }
+    }
+
+    @Override
+    public void evict(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        generations.merge(projectId, 1L, Long::sum);
+        graphs.remove(projectId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.projectId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        evict(event.projectId());
+    }
+
+    private DependencyGraph load(Long projectId) {
+        List<Object[]> nodes = taskRepository.findGraphNodesByProjectId(projectId);
+        long[] taskIds = new long[nodes.size()];
+        double[] durations = new double[nodes.size()];
+        long[] dueDates = new long[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            Object[] row = nodes.get(i);
+            TaskStatus status = (TaskStatus) row[3];
+            boolean closed = status == TaskStatus.DONE || status == TaskStatus.CANCELLED;
+            taskIds[i] = (Long) row[0];
+            // Finished work no longer takes time; open tasks take their full estimate
+            durations[i] = closed || row[1] == null ? 0 : ((Number) row[1]).doubleValue();
+            dueDates[i] = row[2] != null ? toEpochMinutes((LocalDateTime) row[2]) : DependencyGraph.NO_DUE_DATE;
+        }
+
+        List<Object[]> edges = taskDependencyRepository.findDependencyPairsByProjectId(projectId);
+        long[] dependentIds = new long[edges.size()];
+        long[] dependencyIds = new long[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            dependentIds[i] = (Long) edges.get(i)[0];
+            dependencyIds[i] = (Long) edges.get(i)[1];
+        }
+
+        DependencyGraph graph = DependencyGraph.build(taskIds, durations, dueDates, dependencyIds, dependentIds);
+        logger.debug("Built dependency graph for project {}: {} tasks, {} edges", projectId, graph.size(), graph.edgeCount());
+        return graph;
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private record CachedGraph(DependencyGraph graph, LocalDateTime builtAt) {
+    }
+}
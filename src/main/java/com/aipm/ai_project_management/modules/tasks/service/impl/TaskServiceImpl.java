@@ -1,7 +1,11 @@
 package com.aipm.ai_project_management.modules.tasks.service.impl;
 
+import com.aipm.ai_project_management.common.enums.TaskPriority;
 import com.aipm.ai_project_management.common.enums.TaskStatus;
 import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.common.response.PageCursor;
+import com.aipm.ai_project_management.common.response.PageResponse;
 import com.aipm.ai_project_management.modules.tasks.dto.*;
 import com.aipm.ai_project_management.modules.tasks.entity.Task;
 import com.aipm.ai_project_management.modules.tasks.entity.Subtask;
@@ -9,12 +13,21 @@ import com.aipm.ai_project_management.modules.tasks.entity.TaskDependency;
 import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
 import com.aipm.ai_project_management.modules.tasks.repository.SubtaskRepository;
 import com.aipm.ai_project_management.modules.tasks.repository.TaskDependencyRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
 import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.tasks.service.LoggedHoursTotals;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
+import com.aipm.ai_project_management.modules.tasks.service.TaskBulkService;
+import com.aipm.ai_project_management.modules.tasks.service.TaskDependencyGraphService;
 import com.aipm.ai_project_management.modules.tasks.service.TaskService;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,8 +35,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -32,6 +50,10 @@ import java.util.stream.Collectors;
 public class TaskServiceImpl implements TaskService {
 
     private static final Logger logger = Logger.getLogger(TaskServiceImpl.class.getName());
+    
+    private static final int MAX_BOARD_CARDS_PER_COLUMN = 100;
+    
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Autowired
     private TaskRepository taskRepository;
@@ -47,6 +69,21 @@ public class TaskServiceImpl implements TaskService {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TaskBulkService taskBulkService;
+    
+    @Autowired
+    private TaskDependencyGraphService dependencyGraphService;
+
+    @Autowired
+    private LoggedHoursTotals loggedHoursTotals;
+
+    @Autowired
+    private TimeRollupService timeRollupService;
 
     @Override
     public TaskDTO createTask(CreateTaskRequest request) {
@@ -98,7 +135,7 @@ public class TaskServiceImpl implements TaskService {
             }
         }
         
-        // 7. Create dependencies if provided
+        // 7. Create dependencies if provided. Nothing depends on a new task yet, so these cannot form a cycle
         if (request.getDependencies() != null && !request.getDependencies().isEmpty()) {
             for (Long dependencyTaskId : request.getDependencies()) {
                 Task dependencyTask = taskRepository.findById(dependencyTaskId).orElse(null);
@@ -112,6 +149,7 @@ public class TaskServiceImpl implements TaskService {
             }
         }
         
+        publishTaskChanged(savedTask, EntityChangeType.CREATED, null);
         return convertToTaskDTO(savedTask);
     }
 
@@ -192,6 +230,11 @@ public class TaskServiceImpl implements TaskService {
         return taskDetailDTO;
     }
     
+    private void publishTaskChanged(Task task, EntityChangeType changeType, TaskStatus previousStatus) {
+        eventPublisher.publishEvent(new TaskChangedEvent(
+                task.getId(), task.getProjectId(), changeType, previousStatus, task.getStatus()));
+    }
+    
     // Helper method to convert Task entity to TaskDTO
     private TaskDTO convertToTaskDTO(Task task) {
         TaskDTO dto = new TaskDTO();
@@ -267,16 +310,204 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional(readOnly = true)
-    public TaskBoardDTO getTaskBoard(Long projectId, String view) {
+    public PageResponse<TaskDTO> getTasksByProjectIdWithCursor(Long projectId, Map<String, String> filters,
+                                                               String cursor, int size) {
+        logger.info("Fetching tasks for project: " + projectId + " after cursor: " + cursor);
+        
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return findTasksWithCursor(projectId, null, filters, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<TaskDTO> getTasksAssignedToUserWithCursor(Long userId, Map<String, String> filters,
+                                                                  String cursor, int size) {
+        logger.info("Fetching tasks assigned to user: " + userId + " after cursor: " + cursor);
+        
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return findTasksWithCursor(null, userId, filters, cursor, size);
+    }
+    
+    // Keyset listing over (createdAt, id) newest first, or (dueDate, id) when filters ask for sort=due_date
+    private PageResponse<TaskDTO> findTasksWithCursor(Long projectId, Long assigneeId, Map<String, String> filters,
+                                                      String cursor, int size) {
+        TaskStatus status = filters != null && filters.containsKey("status")
+                ? TaskStatus.valueOf(filters.get("status").toUpperCase()) : null;
+        boolean byDueDate = filters != null && "due_date".equalsIgnoreCase(filters.get("sort"));
+        PageCursor position = PageCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        int limit = pageSize + 1;
+        
+        if (!byDueDate) {
+            List<Task> tasks = taskRepository.findKeysetByCreatedAt(projectId, assigneeId, status,
+                    position != null ? position.sortKey() : null, position != null ? position.id() : null,
+                    PageRequest.of(0, limit));
+            return PageResponse.ofKeyset(tasks, pageSize, position == null, this::convertToTaskDTOs,
+                    task -> new PageCursor(task.getCreatedAt(), task.getId()));
+        }
+        
+        // Tasks with a due date come first; after them the cursor carries no sort key and continues by id
+        List<Task> tasks = new ArrayList<>();
+        if (position == null || position.sortKey() != null) {
+            tasks.addAll(taskRepository.findKeysetByDueDate(projectId, assigneeId, status,
+                    position != null ? position.sortKey() : null, position != null ? position.id() : null,
+                    PageRequest.of(0, limit)));
+        }
+        if (tasks.size() < limit) {
+            Long afterId = position != null && position.sortKey() == null ? position.id() : null;
+            tasks.addAll(taskRepository.findKeysetWithoutDueDate(projectId, assigneeId, status, afterId,
+                    PageRequest.of(0, limit - tasks.size())));
+        }
+        return PageResponse.ofKeyset(tasks, pageSize, position == null, this::convertToTaskDTOs,
+                task -> new PageCursor(task.getDueDate(), task.getId()));
+    }
+    
+    private List<TaskDTO> convertToTaskDTOs(List<Task> tasks) {
+        return tasks.stream()
+                .map(this::convertToTaskDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KanbanBoardDto getTaskBoard(Long projectId, String view, int cardsPerColumn) {
         logger.info("Fetching task board for project: " + projectId + " with view: " + view);
         
-        // TODO: Implement task board logic
-        TaskBoardDTO taskBoard = new TaskBoardDTO();
-        taskBoard.setProjectId(projectId);
-        taskBoard.setView(view);
-        taskBoard.setColumns(new ArrayList<>());
+        String projectName = projectRepository.findById(projectId)
+                .map(Project::getName)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        int limit = clampBoardLimit(cardsPerColumn);
+        
+        // 1. Column totals with one grouped query
+        Map<TaskStatus, Long> counts = countBoardColumns(projectId);
+        
+        // 2. First N cards of every column in one round trip
+        Map<TaskStatus, List<Object[]>> headRows = new EnumMap<>(TaskStatus.class);
+        List<Object[]> allRows = counts.isEmpty() ? List.of() : taskRepository.findBoardHeadRows(projectId, limit);
+        for (Object[] row : allRows) {
+            headRows.computeIfAbsent(TaskStatus.valueOf(row[3].toString()), key -> new ArrayList<>()).add(row);
+        }
+        Map<Long, String> assigneeNames = loadAssigneeNames(allRows);
+        
+        List<KanbanBoardDto.KanbanColumn> columns = new ArrayList<>();
+        for (TaskStatus status : TaskStatus.values()) {
+            List<Object[]> rows = headRows.getOrDefault(status, List.of());
+            long total = counts.getOrDefault(status, 0L);
+            columns.add(buildKanbanColumn(status, rows, assigneeNames, total, rows.size() < total));
+        }
+        
+        return new KanbanBoardDto(projectId, projectName, columns);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public KanbanBoardDto.KanbanColumn getTaskBoardColumn(Long projectId, TaskStatus status, String cursor, int limit) {
+        logger.info("Fetching board column " + status + " for project: " + projectId + " after cursor: " + cursor);
+        
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        int pageSize = clampBoardLimit(limit);
+        PageCursor position = PageCursor.decode(cursor);
+        
+        // One extra row tells whether the column continues; the total is the board's column count
+        List<Object[]> rows = new ArrayList<>(taskRepository.findBoardColumnRows(
+                projectId, status, position != null ? position.id() : 0L, PageRequest.of(0, pageSize + 1)));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        long total = countBoardColumns(projectId).getOrDefault(status, 0L);
         
-        return taskBoard;
+        return buildKanbanColumn(status, rows, loadAssigneeNames(rows), total, hasMore);
+    }
+    
+    private Map<TaskStatus, Long> countBoardColumns(Long projectId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countByProjectIdGroupedByStatus(projectId)) {
+            counts.put((TaskStatus) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+    
+    private KanbanBoardDto.KanbanColumn buildKanbanColumn(TaskStatus status, List<Object[]> rows,
+                                                          Map<Long, String> assigneeNames,
+                                                          long total, boolean hasMore) {
+        List<KanbanBoardDto.KanbanTask> cards = rows.stream()
+                .map(row -> convertToKanbanTask(row, assigneeNames))
+                .collect(Collectors.toList());
+        
+        KanbanBoardDto.KanbanColumn column = new KanbanBoardDto.KanbanColumn();
+        column.setName(formatStatusName(status));
+        column.setStatus(status.name());
+        column.setTasks(cards);
+        column.setTaskCount((int) total);
+        column.setHasMore(hasMore);
+        if (hasMore && !cards.isEmpty()) {
+            // Column pages are ordered by id alone, so the cursor carries no sort key
+            column.setNextCursor(new PageCursor(null, cards.get(cards.size() - 1).getId()).encode());
+        }
+        return column;
+    }
+    
+    // Board rows are [id, title, description, status, priority, assigneeId, dueDate, progress],
+    // either from the native head query or the JPQL column query
+    private KanbanBoardDto.KanbanTask convertToKanbanTask(Object[] row, Map<Long, String> assigneeNames) {
+        Long assigneeId = row[5] != null ? ((Number) row[5]).longValue() : null;
+        
+        KanbanBoardDto.KanbanTask card = new KanbanBoardDto.KanbanTask();
+        card.setId(((Number) row[0]).longValue());
+        card.setTitle((String) row[1]);
+        card.setDescription(row[2] != null ? row[2].toString() : null);
+        card.setStatus(row[3].toString());
+        card.setPriority(row[4] != null ? row[4].toString() : null);
+        card.setAssignedTo(assigneeId != null ? assigneeNames.get(assigneeId) : null);
+        card.setDueDate(formatBoardDate(row[6]));
+        card.setProgress(row[7] != null ? ((Number) row[7]).intValue() : 0);
+        card.setTags(List.of());
+        return card;
+    }
+    
+    private Map<Long, String> loadAssigneeNames(List<Object[]> rows) {
+        Set<Long> assigneeIds = rows.stream()
+                .filter(row -> row[5] != null)
+                .map(row -> ((Number) row[5]).longValue())
+                .collect(Collectors.toSet());
+        if (assigneeIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findNamesByIdIn(assigneeIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (String) row[1]));
+    }
+    
+    private String formatBoardDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate().toString();
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toLocalDate().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+    
+    private String formatStatusName(TaskStatus status) {
+        return Arrays.stream(status.name().split("_"))
+                .map(word -> word.charAt(0) + word.substring(1).toLowerCase())
+                .collect(Collectors.joining(" "));
+    }
+    
+    private int clampBoardLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_BOARD_CARDS_PER_COLUMN));
     }
 
     @Override
@@ -313,6 +544,7 @@ public class TaskServiceImpl implements TaskService {
         // 1. Find existing task
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        TaskStatus previousStatus = task.getStatus();
         
         // 2. Update fields if provided
         if (request.getTitle() != null) {
@@ -349,6 +581,7 @@ public class TaskServiceImpl implements TaskService {
         
         // 3. Save to database
         Task updatedTask = taskRepository.save(task);
+        publishTaskChanged(updatedTask, EntityChangeType.UPDATED, previousStatus);
         
         return convertToTaskDTO(updatedTask);
     }
@@ -359,6 +592,7 @@ public class TaskServiceImpl implements TaskService {
         
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+        TaskStatus previousStatus = task.getStatus();
         
         task.setStatus(status);
         
@@ -370,6 +604,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task updatedTask = taskRepository.save(task);
+        publishTaskChanged(updatedTask, EntityChangeType.UPDATED, previousStatus);
         return convertToTaskDTO(updatedTask);
     }
 
@@ -387,6 +622,7 @@ public class TaskServiceImpl implements TaskService {
         
         task.setAssigneeId(userId);
         Task updatedTask = taskRepository.save(task);
+        publishTaskChanged(updatedTask, EntityChangeType.UPDATED, updatedTask.getStatus());
         
         return convertToTaskDTO(updatedTask);
     }
@@ -397,6 +633,7 @@ public class TaskServiceImpl implements TaskService {
         
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        TaskStatus previousStatus = task.getStatus();
         
         task.setProgress(progress);
         
@@ -408,9 +645,62 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task updatedTask = taskRepository.save(task);
+        publishTaskChanged(updatedTask, EntityChangeType.UPDATED, previousStatus);
         return convertToTaskDTO(updatedTask);
     }
 
+    @Override
+    public TaskDetailDTO.DependencyDTO addDependency(Long taskId, Long dependencyTaskId) {
+        logger.info("Adding dependency of task " + taskId + " on task " + dependencyTaskId);
+        
+        // Taken before anything else is read, so the cycle check below sees every edge committed by
+        // whoever held the lock before us
+        projectRepository.findProjectOfTaskForUpdate(taskId);
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        Task dependencyTask = taskRepository.findById(dependencyTaskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + dependencyTaskId));
+        
+        if (!Objects.equals(task.getProjectId(), dependencyTask.getProjectId())) {
+            throw new ValidationException("dependencyTaskId", "A task can only depend on tasks of the same project");
+        }
+        if (taskDependencyRepository.findByDependentTaskIdAndDependencyTaskId(taskId, dependencyTaskId).isPresent()) {
+            throw new ValidationException("dependencyTaskId", "Task " + taskId + " already depends on task " + dependencyTaskId);
+        }
+        dependencyGraphService.checkNewDependency(task.getProjectId(), taskId, dependencyTaskId);
+        
+        TaskDependency dependency = new TaskDependency();
+        dependency.setDependentTask(task);
+        dependency.setDependencyTask(dependencyTask);
+        dependency.setDependencyType("FINISH_TO_START");
+        TaskDependency saved = taskDependencyRepository.save(dependency);
+        
+        // Also invalidates the project's cached dependency graph once committed
+        publishTaskChanged(task, EntityChangeType.UPDATED, task.getStatus());
+        
+        TaskDetailDTO.DependencyDTO dto = new TaskDetailDTO.DependencyDTO();
+        dto.setId(saved.getId());
+        dto.setTaskId(dependencyTask.getId());
+        dto.setTitle(dependencyTask.getTitle());
+        dto.setStatus(dependencyTask.getStatus());
+        dto.setDependencyType(saved.getDependencyType());
+        return dto;
+    }
+
+    @Override
+    public void removeDependency(Long taskId, Long dependencyTaskId) {
+        logger.info("Removing dependency of task " + taskId + " on task " + dependencyTaskId);
+        
+        TaskDependency dependency = taskDependencyRepository.findByDependentTaskIdAndDependencyTaskId(taskId, dependencyTaskId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Task " + taskId + " does not depend on task " + dependencyTaskId));
+        
+        Task task = dependency.getDependentTask();
+        task.getDependencies().remove(dependency);
+        taskDependencyRepository.delete(dependency);
+        publishTaskChanged(task, EntityChangeType.UPDATED, task.getStatus());
+    }
+
     @Override
     public void deleteTask(Long id) {
         logger.info("Deleting task: " + id);
@@ -419,26 +709,32 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
         
         // The cascade settings in the entity will handle deletion of subtasks, comments, etc.
+        // Time logs go with it, so their hours come off the project and user totals and the rollups afterwards
+        Map<Long, Double> loggedByUser = loggedHoursTotals.hoursByUser(id);
+        List<TimeRollupService.Contribution> rollups = timeRollupService.contributionsOfTask(id, task.getProjectId());
         taskRepository.delete(task);
+        taskRepository.flush();
+        loggedHoursTotals.removeTask(task.getProjectId(), loggedByUser);
+        timeRollupService.removeAll(rollups);
+        publishTaskChanged(task, EntityChangeType.DELETED, task.getStatus());
     }
 
     @Override
     public List<TaskDTO> bulkUpdateTaskStatus(List<Long> taskIds, TaskStatus status) {
         logger.info("Bulk updating " + taskIds.size() + " tasks to status: " + status);
         
-        List<TaskDTO> updatedTasks = new ArrayList<>();
-        
-        for (Long taskId : taskIds) {
-            try {
-                TaskDTO task = updateTaskStatus(taskId, status);
-                updatedTasks.add(task);
-            } catch (ResourceNotFoundException e) {
-                logger.warning("Task not found during bulk update: " + taskId);
-                // Continue with other tasks
-            }
+        BulkStatusUpdateResult result = taskBulkService.updateStatus(taskIds, status, null);
+        List<Long> updatedIds = result.getOutcomes().stream()
+                .filter(outcome -> outcome.getOutcome() == BulkStatusUpdateResult.Outcome.UPDATED)
+                .map(BulkStatusUpdateResult.TaskOutcome::getTaskId)
+                .collect(Collectors.toList());
+        if (result.getNotFoundCount() > 0) {
+            logger.warning("Tasks not found during bulk update: " + result.getNotFoundCount());
         }
         
-        return updatedTasks;
+        return taskRepository.findAllById(updatedIds).stream()
+                .map(this::convertToTaskDTO)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -479,22 +775,57 @@ public class TaskServiceImpl implements TaskService {
     @Transactional(readOnly = true)
     public List<TaskDTO> getUpcomingDeadlines(Integer days) {
         logger.info("Fetching tasks with deadlines in next " + days + " days");
-        
+        return findUpcomingDeadlines(days, null, null, Pageable.unpaged());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getUpcomingDeadlines(Integer days, Long projectId, Long managerId, int limit) {
+        logger.info("Fetching top " + limit + " task deadlines in next " + days + " days for project " + projectId + ", manager " + managerId);
+        return findUpcomingDeadlines(days, projectId, managerId, PageRequest.of(0, limit));
+    }
+    
+    private List<TaskDTO> findUpcomingDeadlines(Integer days, Long projectId, Long managerId, Pageable pageable) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime futureDate = now.plusDays(days);
         
-        // We'll need to add this method to the repository
-        // For now, let's use a simple approach
-        List<Task> allTasks = taskRepository.findAll();
-        List<Task> upcomingTasks = allTasks.stream()
-                .filter(task -> task.getDueDate() != null)
-                .filter(task -> task.getDueDate().isAfter(now) && task.getDueDate().isBefore(futureDate))
-                .filter(task -> task.getStatus() != TaskStatus.DONE && task.getStatus() != TaskStatus.CANCELLED)
+        List<TaskDTO> deadlines = taskRepository.findUpcomingDeadlineRows(now, futureDate,
+                        Arrays.asList(TaskStatus.DONE, TaskStatus.CANCELLED), projectId, managerId, pageable)
+                .stream()
+                .map(this::convertDeadlineRowToTaskDTO)
                 .collect(Collectors.toList());
+        if (deadlines.isEmpty()) {
+            return deadlines;
+        }
         
-        return upcomingTasks.stream()
-                .map(this::convertToTaskDTO)
-                .collect(Collectors.toList());
+        // One query for the labels of the whole page
+        Map<Long, TaskDTO> byId = new HashMap<>();
+        deadlines.forEach(dto -> byId.put(dto.getId(), dto));
+        for (Object[] row : taskRepository.findLabelRowsByTaskIdIn(byId.keySet())) {
+            byId.get((Long) row[0]).getLabels().add((String) row[1]);
+        }
+        return deadlines;
+    }
+    
+    // Row layout matches TaskRepository.findUpcomingDeadlineRows
+    private TaskDTO convertDeadlineRowToTaskDTO(Object[] row) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId((Long) row[0]);
+        dto.setTitle((String) row[1]);
+        dto.setStatus((TaskStatus) row[2]);
+        dto.setPriority((TaskPriority) row[3]);
+        dto.setProjectId((Long) row[4]);
+        dto.setAssigneeId((Long) row[5]);
+        dto.setDueDate((LocalDateTime) row[6]);
+        dto.setProgress((Integer) row[7]);
+        dto.setProjectName((String) row[8]);
+        dto.setDescription((String) row[9]);
+        dto.setEstimatedHours((Double) row[10]);
+        dto.setLoggedHours((Double) row[11]);
+        dto.setCreatedAt((LocalDateTime) row[12]);
+        dto.setUpdatedAt((LocalDateTime) row[13]);
+        dto.setLabels(new HashSet<>());
+        return dto;
     }
     
     @Override
@@ -519,6 +850,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         // Update the task status
+        TaskStatus previousStatus = task.getStatus();
         task.setStatus(targetStatus);
         
         // If moving to DONE, set completion date
@@ -527,6 +859,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        publishTaskChanged(savedTask, EntityChangeType.UPDATED, previousStatus);
         
         logger.info("Task " + task.getId() + " moved to status " + targetStatus + " successfully");
         return convertToTaskDTO(savedTask);
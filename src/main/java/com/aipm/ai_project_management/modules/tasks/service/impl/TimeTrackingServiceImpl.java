@@ -3,28 +3,69 @@ package com.aipm.ai_project_management.modules.tasks.service.impl;
 import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
 import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
 import com.aipm.ai_project_management.modules.tasks.dto.TimeTrackingDTO;
+import com.aipm.ai_project_management.modules.tasks.dto.TimesheetExportFormat;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO;
 import com.aipm.ai_project_management.modules.tasks.entity.Task;
 import com.aipm.ai_project_management.modules.tasks.entity.TimeTracking;
 import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
 import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.tasks.service.LoggedHoursTotals;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
 import com.aipm.ai_project_management.modules.tasks.service.TimeTrackingService;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TimeLogChangedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TimeTrackingServiceImpl implements TimeTrackingService {
 
+    private static final String[] EXPORT_COLUMNS = {
+            "id", "date", "userId", "userName", "projectId", "projectName",
+            "taskId", "taskTitle", "hours", "billable", "hourlyRate", "description"
+    };
+
+    private static final String EXPORT_SQL =
+            "SELECT tt.id, tt.date, tt.user_id, u.name, t.project_id, p.name, t.id, t.title, tt.hours, tt.billable, " +
+            "tt.hourly_rate, tt.description FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id " +
+            "LEFT JOIN projects p ON p.id = t.project_id LEFT JOIN users u ON u.id = tt.user_id " +
+            "WHERE tt.date BETWEEN ? AND ?";
+
+    // Values in EXPORT_COLUMNS order
+    private static final RowMapper<Object[]> EXPORT_ROW_MAPPER = (rs, rowNum) -> new Object[] {
+            rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getLong(3), rs.getString(4),
+            rs.getObject(5, Long.class), rs.getString(6), rs.getLong(7), rs.getString(8),
+            rs.getDouble(9), rs.getBoolean(10), rs.getObject(11, Double.class), rs.getString(12)
+    };
+
     @Autowired
     private TimeTrackingRepository timeTrackingRepository;
     
@@ -33,6 +74,24 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private LoggedHoursTotals loggedHoursTotals;
+    
+    @Autowired
+    private TimeRollupService timeRollupService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.timetracking.export.fetch-size:1000}")
+    private int exportFetchSize;
 
     @Override
     public TimeTrackingDTO logTime(TimeLogRequest request) {
@@ -59,8 +118,9 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
         
         TimeTracking savedTimeLog = timeTrackingRepository.save(timeLog);
         
-        // Update task's logged hours
-        updateTaskLoggedHours(task);
+        loggedHoursTotals.apply(task.getId(), task.getProjectId(), savedTimeLog.getUserId(), savedTimeLog.getHours());
+        timeRollupService.add(timeRollupService.contributionOf(savedTimeLog));
+        publishTimeLogChanged(savedTimeLog, EntityChangeType.CREATED);
         
         return convertToTimeTrackingDTO(savedTimeLog);
     }
@@ -97,9 +157,12 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
 
     @Override
     public TimeTrackingDTO updateTimeLog(Long timeLogId, TimeLogRequest request) {
-        TimeTracking timeLog = timeTrackingRepository.findById(timeLogId)
+        TimeTracking timeLog = timeTrackingRepository.findByIdForUpdate(timeLogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + timeLogId));
         
+        double previousHours = timeLog.getHours();
+        TimeRollupService.Contribution previous = timeRollupService.contributionOf(timeLog);
+        
         // Update fields if provided
         if (request.getHours() != null) {
             timeLog.setHours(request.getHours());
@@ -119,22 +182,26 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
         
         TimeTracking updatedTimeLog = timeTrackingRepository.save(timeLog);
         
-        // Update task's logged hours
-        updateTaskLoggedHours(timeLog.getTask());
+        Task task = updatedTimeLog.getTask();
+        loggedHoursTotals.apply(task.getId(), task.getProjectId(), updatedTimeLog.getUserId(),
+                updatedTimeLog.getHours() - previousHours);
+        timeRollupService.replace(previous, timeRollupService.contributionOf(updatedTimeLog));
+        publishTimeLogChanged(updatedTimeLog, EntityChangeType.UPDATED);
         
         return convertToTimeTrackingDTO(updatedTimeLog);
     }
 
     @Override
     public void deleteTimeLog(Long timeLogId) {
-        TimeTracking timeLog = timeTrackingRepository.findById(timeLogId)
+        TimeTracking timeLog = timeTrackingRepository.findByIdForUpdate(timeLogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + timeLogId));
         
         Task task = timeLog.getTask();
         timeTrackingRepository.delete(timeLog);
         
-        // Update task's logged hours
-        updateTaskLoggedHours(task);
+        loggedHoursTotals.apply(task.getId(), task.getProjectId(), timeLog.getUserId(), -timeLog.getHours());
+        timeRollupService.remove(timeRollupService.contributionOf(timeLog));
+        publishTimeLogChanged(timeLog, EntityChangeType.DELETED);
     }
 
     @Override
@@ -158,6 +225,107 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
         return summary;
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public UtilizationReportDTO getUtilization(LocalDate startDate, LocalDate endDate, Long projectId) {
+        return timeRollupService.getUtilization(startDate, endDate, projectId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTimeLogs(Long userId, Long projectId, LocalDate startDate, LocalDate endDate,
+                               TimesheetExportFormat format, OutputStream outputStream) throws IOException {
+        // Rows are written as they come off the cursor, so memory stays flat however long the range
+        try (Stream<Object[]> rows = streamExportRows(userId, projectId, startDate, endDate)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            if (format == TimesheetExportFormat.CSV) {
+                writeCsv(iterator, outputStream);
+            } else {
+                writeNdjson(iterator, outputStream);
+            }
+        }
+    }
+    
+    private Stream<Object[]> streamExportRows(Long userId, Long projectId, LocalDate startDate, LocalDate endDate) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(startDate), Date.valueOf(endDate)));
+        if (userId != null) {
+            sql.append(" AND tt.user_id = ?");
+            args.add(userId);
+        }
+        if (projectId != null) {
+            sql.append(" AND t.project_id = ?");
+            args.add(projectId);
+        }
+        sql.append(" ORDER BY tt.date, tt.id");
+
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Connector/J only streams row by row with this fetch size
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : exportFetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, EXPORT_ROW_MAPPER);
+    }
+    
+    // Row layout matches EXPORT_ROW_MAPPER
+    private void writeCsv(Iterator<Object[]> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(String.join(",", EXPORT_COLUMNS));
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvCell(row[i]));
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+    
+    private void writeNdjson(Iterator<Object[]> rows, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                Object[] row = rows.next();
+                generator.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    generator.writeFieldName(EXPORT_COLUMNS[i]);
+                    if (row[i] instanceof LocalDate date) {
+                        generator.writeString(date.toString());
+                    } else {
+                        generator.writeObject(row[i]);
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    
+    // Quotes cells per RFC 4180 and defuses values a spreadsheet would evaluate as formulas
+    private String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+    
     // Helper method to convert TimeTracking entity to TimeTrackingDTO
     private TimeTrackingDTO convertToTimeTrackingDTO(TimeTracking timeLog) {
         TimeTrackingDTO dto = new TimeTrackingDTO();
@@ -170,10 +338,9 @@ public class TimeTrackingServiceImpl implements TimeTrackingService {
         return dto;
     }
     
-    // Helper method to update task's logged hours
-    private void updateTaskLoggedHours(Task task) {
-        Double totalHours = timeTrackingRepository.getTotalHoursByTaskId(task.getId());
-        task.setLoggedHours(totalHours != null ? totalHours : 0.0);
-        taskRepository.save(task);
+    private void publishTimeLogChanged(TimeTracking timeLog, EntityChangeType changeType) {
+        Task task = timeLog.getTask();
+        eventPublisher.publishEvent(new TimeLogChangedEvent(
+                timeLog.getId(), task.getId(), task.getProjectId(), timeLog.getUserId(), changeType));
     }
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -19,4 +21,8 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     Optional<TeamMember> findByTeamAndUser(Team team, User user);
 
     List<TeamMember> findByStatus(TeamMember.Status status);
+
+    // User ids of a team's members in the given status
+    @Query("SELECT tm.user.id FROM TeamMember tm WHERE tm.team.id = :teamId AND tm.status = :status")
+    List<Long> findUserIdsByTeamIdAndStatus(@Param("teamId") Long teamId, @Param("status") TeamMember.Status status);
 }
\ No newline at end of file
@@ -3,9 +3,12 @@ package com.aipm.ai_project_management.modules.team.repository;
 import com.aipm.ai_project_management.modules.auth.entity.User;
 import com.aipm.ai_project_management.modules.team.entity.UserSkill;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +20,8 @@ public interface UserSkillRepository extends JpaRepository<UserSkill, Long> {
     List<UserSkill> findByNameIgnoreCase(String name);
 
     List<UserSkill> findByUserIdAndNameIgnoreCase(Long userId, String name);
+
+    // Skills of a set of users as [userId, lower-cased name, level]
+    @Query("SELECT s.user.id, LOWER(s.name), s.level FROM UserSkill s WHERE s.user.id IN :userIds")
+    List<Object[]> findSkillRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -3,16 +3,21 @@ package com.aipm.ai_project_management.modules.users.service;
 import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
 import com.aipm.ai_project_management.modules.auth.entity.User;
 import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.auth.security.TokenRevocationCache;
+import com.aipm.ai_project_management.modules.projects.service.ProjectAccessService;
 import com.aipm.ai_project_management.modules.users.dto.UserDTO;
 import com.aipm.ai_project_management.modules.users.dto.UserSettingsDTO;
 import com.aipm.ai_project_management.modules.users.dto.UpdateUserSettingsRequest;
 import com.aipm.ai_project_management.modules.users.entity.UserPreference;
 import com.aipm.ai_project_management.modules.users.repository.UserPreferenceRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.UserChangedEvent;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +39,15 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserPreferenceRepository userPreferenceRepository;
     
+    @Autowired
+    private ProjectAccessService projectAccessService;
+    
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Override
@@ -63,6 +77,7 @@ public class UserServiceImpl implements UserService {
         if (userUpdated) {
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId, EntityChangeType.UPDATED));
             logger.info("Updated user profile for user ID: {}", userId);
         }
 
@@ -125,6 +140,7 @@ public class UserServiceImpl implements UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), EntityChangeType.CREATED));
         
         // Create default preferences for new user
         createDefaultPreferences(savedUser);
@@ -142,6 +158,9 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedAt(LocalDateTime.now());
         
         User updatedUser = userRepository.save(user);
+        projectAccessService.evictUser(userId);
+        tokenRevocationCache.evict(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, EntityChangeType.UPDATED));
         logger.info("Successfully updated user status for user ID: {}", userId);
         
         return updatedUser;
@@ -158,6 +177,9 @@ public class UserServiceImpl implements UserService {
         
         // Delete user
         userRepository.delete(user);
+        projectAccessService.evictUser(userId);
+        tokenRevocationCache.evict(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, EntityChangeType.DELETED));
         
         logger.info("Successfully deleted user with ID: {}", userId);
     }
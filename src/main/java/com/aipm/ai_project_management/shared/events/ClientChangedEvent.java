@@ -0,0 +1,7 @@
+package com.aipm.ai_project_management.shared.events;
+
+/**
+ * Published by the client service whenever a client is created, updated or deleted.
+ */
+public record ClientChangedEvent(Long clientId, EntityChangeType changeType) {
+}
@@ -0,0 +1,7 @@
+package com.aipm.ai_project_management.shared.events;
+
+public enum EntityChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,8 @@
+package com.aipm.ai_project_management.shared.events;
+
+/**
+ * Published by the project service whenever a project or its team changes.
+ * Listeners that read committed state should use {@code @TransactionalEventListener}.
+ */
+public record ProjectChangedEvent(Long projectId, EntityChangeType changeType) {
+}
@@ -0,0 +1,14 @@
+package com.aipm.ai_project_management.shared.events;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+
+/**
+ * Published by the task service whenever a task is created, updated or deleted.
+ * {@code previousStatus} is null for newly created tasks.
+ */
+public record TaskChangedEvent(Long taskId,
+                               Long projectId,
+                               EntityChangeType changeType,
+                               TaskStatus previousStatus,
+                               TaskStatus currentStatus) {
+}
@@ -0,0 +1,10 @@
+package com.aipm.ai_project_management.shared.events;
+
+/**
+ * Published by the comment service whenever a task comment or reply is created, updated or deleted.
+ */
+public record TaskCommentChangedEvent(Long commentId,
+                                      Long taskId,
+                                      Long projectId,
+                                      EntityChangeType changeType) {
+}
@@ -0,0 +1,11 @@
+package com.aipm.ai_project_management.shared.events;
+
+/**
+ * Published by the time tracking service whenever a time log is created, updated or deleted.
+ */
+public record TimeLogChangedEvent(Long timeLogId,
+                                  Long taskId,
+                                  Long projectId,
+                                  Long userId,
+                                  EntityChangeType changeType) {
+}
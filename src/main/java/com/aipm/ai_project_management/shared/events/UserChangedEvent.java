@@ -0,0 +1,8 @@
+package com.aipm.ai_project_management.shared.events;
+
+/**
+ * Published by the user and auth services whenever a user is created, renamed, changes
+ * status or is deleted.
+ */
+public record UserChangedEvent(Long userId, EntityChangeType changeType) {
+}
@@ -0,0 +1,31 @@
+-- Progress of the scheduled insight batch. window_start is the change watermark;
+-- while a run is in flight window_end, phase and cursor_id record how far it got so a
+-- restart resumes the same window. The lease keeps the job to one node at a time.
+CREATE TABLE ai_insight_batch_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    window_start TIMESTAMP NOT NULL,
+    window_end TIMESTAMP NULL,
+    phase ENUM('PROJECT', 'TEAM', 'TASK'),
+    cursor_id BIGINT,
+    status ENUM('RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'COMPLETED',
+    lease_owner VARCHAR(64),
+    lease_until TIMESTAMP NULL,
+    last_started_at TIMESTAMP NULL,
+    last_finished_at TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    entities_processed INT NOT NULL DEFAULT 0,
+    insights_upserted INT NOT NULL DEFAULT 0,
+    insights_expired INT NOT NULL DEFAULT 0
+);
+
+-- One insight per (type, entity): keep the newest row where earlier on-demand runs left
+-- duplicates, then let the database reject a concurrent second insert
+DELETE older FROM ai_insights older
+JOIN ai_insights newer
+  ON newer.type = older.type
+ AND newer.related_entity_type = older.related_entity_type
+ AND newer.related_entity_id = older.related_entity_id
+ AND newer.id > older.id;
+
+ALTER TABLE ai_insights
+    ADD CONSTRAINT uk_ai_insights_type_entity UNIQUE (type, related_entity_type, related_entity_id);
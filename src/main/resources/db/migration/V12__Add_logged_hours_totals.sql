@@ -0,0 +1,12 @@
+-- Running totals of logged hours per project and per user, kept in step with
+-- time_tracking by atomic increments (tasks.logged_hours already exists).
+-- Seeded from the existing logs; the reconciliation job repairs any later drift.
+ALTER TABLE projects ADD COLUMN logged_hours DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+ALTER TABLE users ADD COLUMN logged_hours DECIMAL(12,2) NOT NULL DEFAULT 0.00;
+
+UPDATE tasks t SET logged_hours = COALESCE((SELECT SUM(tt.hours) FROM time_tracking tt WHERE tt.task_id = t.id), 0);
+
+UPDATE projects p SET logged_hours = COALESCE((
+    SELECT SUM(tt.hours) FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id WHERE t.project_id = p.id), 0);
+
+UPDATE users u SET logged_hours = COALESCE((SELECT SUM(tt.hours) FROM time_tracking tt WHERE tt.user_id = u.id), 0);
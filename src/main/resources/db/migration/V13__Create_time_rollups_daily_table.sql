@@ -0,0 +1,30 @@
+-- Daily time-tracking aggregates per user and project, maintained alongside every
+-- time log write so utilization and revenue reports read O(users x days) rows.
+-- Logs without an hourly rate are valued at the configured default rate.
+CREATE TABLE time_rollups_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    user_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    billable_hours DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    non_billable_hours DECIMAL(12,2) NOT NULL DEFAULT 0.00,
+    billable_amount DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    non_billable_amount DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    entry_count INT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_time_rollups_daily (rollup_date, user_id, project_id),
+    INDEX idx_time_rollups_user_date (user_id, rollup_date),
+    INDEX idx_time_rollups_project_date (project_id, rollup_date),
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE
+);
+
+INSERT INTO time_rollups_daily (rollup_date, user_id, project_id, billable_hours, non_billable_hours,
+                                billable_amount, non_billable_amount, entry_count)
+SELECT tt.date, tt.user_id, t.project_id,
+       SUM(CASE WHEN COALESCE(tt.billable, TRUE) THEN tt.hours ELSE 0 END),
+       SUM(CASE WHEN COALESCE(tt.billable, TRUE) THEN 0 ELSE tt.hours END),
+       SUM(CASE WHEN COALESCE(tt.billable, TRUE) THEN tt.hours * COALESCE(tt.hourly_rate, 75) ELSE 0 END),
+       SUM(CASE WHEN COALESCE(tt.billable, TRUE) THEN 0 ELSE tt.hours * COALESCE(tt.hourly_rate, 75) END),
+       COUNT(*)
+FROM time_tracking tt
+JOIN tasks t ON t.id = tt.task_id
+GROUP BY tt.date, tt.user_id, t.project_id;
@@ -0,0 +1,8 @@
+-- Composite indexes backing cursor (keyset) pagination: each listing seeks
+-- directly to (sort key, id) instead of scanning past an offset.
+CREATE INDEX idx_tasks_project_created ON tasks (project_id, created_at, id);
+CREATE INDEX idx_tasks_project_due ON tasks (project_id, due_date, id);
+CREATE INDEX idx_tasks_assignee_created ON tasks (assignee_id, created_at, id);
+CREATE INDEX idx_tasks_assignee_due ON tasks (assignee_id, due_date, id);
+CREATE INDEX idx_projects_created ON projects (created_at, id);
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at, id);
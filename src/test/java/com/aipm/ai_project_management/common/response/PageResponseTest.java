@@ -0,0 +1,49 @@
+package com.aipm.ai_project_management.common.response;
+
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResponseTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 5, 1, 10, 30, 15), 42L);
+        
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+        assertEquals(new PageCursor(null, 7L), PageCursor.decode(new PageCursor(null, 7L).encode()));
+        assertNull(PageCursor.decode(null));
+    }
+    
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not-a-cursor"));
+    }
+    
+    @Test
+    void testKeysetPageTrimsLookaheadRow() {
+        // Three rows fetched for a page size of two: the extra row only signals a next page
+        PageResponse<String> page = PageResponse.ofKeyset(List.of(3L, 2L, 1L), 2, true,
+                rows -> rows.stream().map(String::valueOf).toList(),
+                id -> new PageCursor(null, id));
+        
+        assertEquals(List.of("3", "2"), page.getContent());
+        assertFalse(page.isLast());
+        assertEquals(-1L, page.getTotalElements());
+        assertEquals(2L, PageCursor.decode(page.getNextCursor()).id());
+    }
+    
+    @Test
+    void testKeysetLastPageHasNoCursor() {
+        PageResponse<String> page = PageResponse.ofKeyset(List.of(1L), 2, false,
+                rows -> rows.stream().map(String::valueOf).toList(),
+                id -> new PageCursor(null, id));
+        
+        assertTrue(page.isLast());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,177 @@
+package com.aipm.ai_project_management.integration.email;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.email.dispatch.batch-size=10",
+        "app.email.dispatch.initial-backoff-ms=200",
+        "app.email.dispatch.poll-interval-ms=100"
+})
+@ActiveProfiles("test")
+class EmailDispatcherTest {
+
+    private static final FakeSmtpServer smtpServer = startServer();
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtpServer::getPort);
+    }
+
+    @AfterAll
+    static void stopServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboundEmailRepository.deleteAll();
+        smtpServer.getMessages().clear();
+    }
+
+    @Test
+    void testQueuedEmailsAreDelivered() {
+        for (int i = 0; i < 5; i++) {
+            emailService.sendEmail("user" + i + "@example.com", "Subject " + i, "Body " + i);
+        }
+
+        awaitCondition(() -> outboundEmailRepository.countByStatus(OutboundEmail.Status.SENT) == 5);
+        assertEquals(5, smtpServer.getMessages().size());
+    }
+
+    @Test
+    void testBatchIsSentOverOneConnection() {
+        // Not due yet, so the poller leaves them alone and the batch is driven directly
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OutboundEmail email = new OutboundEmail("batch" + i + "@example.com", "Batch " + i, "Body", false);
+            email.setNextAttemptAt(LocalDateTime.now().plusHours(1));
+            ids.add(outboundEmailRepository.save(email).getId());
+        }
+        int connectionsBefore = smtpServer.getConnectionCount();
+
+        emailDispatcher.deliverBatch(ids);
+
+        assertEquals(5, outboundEmailRepository.countByStatus(OutboundEmail.Status.SENT));
+        assertEquals(5, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount() - connectionsBefore);
+    }
+
+    @Test
+    void testTransientFailureIsRetriedWithBackoff() {
+        smtpServer.rejectNextMessages(1);
+
+        emailService.sendEmail("retry@example.com", "Retry", "Body");
+
+        awaitCondition(() -> outboundEmailRepository.countByStatus(OutboundEmail.Status.SENT) == 1);
+        OutboundEmail email = outboundEmailRepository.findAll().get(0);
+        assertEquals(2, email.getAttempts());
+        assertNull(email.getLastError());
+        assertEquals(1, smtpServer.getMessages().size());
+    }
+
+    @Test
+    void testPendingEmailsFromOutboxArePickedUp() {
+        // Simulates a message persisted before a restart that never reached the in-memory queue
+        OutboundEmail email = new OutboundEmail("restart@example.com", "Restart", "Body", false);
+        email.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+        outboundEmailRepository.save(email);
+
+        awaitCondition(() -> outboundEmailRepository.countByStatus(OutboundEmail.Status.SENT) == 1);
+        assertEquals(1, smtpServer.getMessages().size());
+    }
+
+    @Test
+    void testOutcomeDoesNotOverwriteAReclaimedRow() {
+        OutboundEmail email = new OutboundEmail("slow@example.com", "Slow", "Body", false);
+        email.setNextAttemptAt(LocalDateTime.now().plusHours(1));
+        Long id = outboundEmailRepository.save(email).getId();
+        claim(id, "slow-batch");
+        OutboundEmail claimedBySlowBatch = outboundEmailRepository.findByClaimToken("slow-batch").get(0);
+
+        // The slow batch's claim goes stale and another batch takes the row
+        transactionTemplate.executeWithoutResult(tx -> outboundEmailRepository.releaseStaleClaims(
+                LocalDateTime.now().plusMinutes(1), OutboundEmail.Status.SENDING, OutboundEmail.Status.PENDING));
+        claim(id, "next-batch");
+
+        emailDispatcher.recordOutcome(List.of(claimedBySlowBatch), "slow-batch", Map.of());
+
+        OutboundEmail stored = outboundEmailRepository.findById(id).orElseThrow();
+        assertEquals(OutboundEmail.Status.SENDING, stored.getStatus());
+        assertEquals("next-batch", stored.getClaimToken());
+        assertNull(stored.getSentAt());
+    }
+
+    @Test
+    void testBackoffGrowsExponentiallyUpToCap() {
+        assertEquals(200, emailDispatcher.backoffMillis(1));
+        assertEquals(400, emailDispatcher.backoffMillis(2));
+        assertEquals(800, emailDispatcher.backoffMillis(3));
+        assertEquals(3600000, emailDispatcher.backoffMillis(40));
+    }
+
+    private void claim(Long id, String token) {
+        transactionTemplate.executeWithoutResult(tx -> outboundEmailRepository.claim(List.of(id), token,
+                LocalDateTime.now(), OutboundEmail.Status.SENDING, OutboundEmail.Status.PENDING));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+
+    private static FakeSmtpServer startServer() {
+        try {
+            return new FakeSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start fake SMTP server", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.aipm.ai_project_management.integration.websocket;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Minimal in-process Redis stand-in for tests. Speaks RESP2 and supports just enough for
+ * pub/sub: PING, SUBSCRIBE, UNSUBSCRIBE, PUBLISH and QUIT. HELLO is rejected so clients fall
+ * back to RESP2, and any other command is acknowledged with OK.
+ */
+class FakeRedisServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Set<Client>> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    FakeRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "fake-redis");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int getSubscriberCount(String channel) {
+        return subscribers.getOrDefault(channel, Set.of()).size();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Client client = new Client(serverSocket.accept());
+                Thread handler = new Thread(client::run, "fake-redis-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    private class Client {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        void run() {
+            try (socket) {
+                List<byte[]> command;
+                while ((command = readCommand()) != null) {
+                    if (!handle(command)) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // Client went away
+            } finally {
+                channels.forEach(channel -> subscribers.getOrDefault(channel, Set.of()).remove(this));
+            }
+        }
+
+        private boolean handle(List<byte[]> command) throws IOException {
+            String name = text(command.get(0)).toUpperCase();
+            switch (name) {
+                case "HELLO" -> write("-ERR unknown command 'HELLO'\r\n".getBytes(StandardCharsets.UTF_8));
+                case "PING" -> write("+PONG\r\n".getBytes(StandardCharsets.UTF_8));
+                case "QUIT" -> {
+                    write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+                    return false;
+                }
+                case "SUBSCRIBE" -> {
+                    for (int i = 1; i < command.size(); i++) {
+                        String channel = text(command.get(i));
+                        channels.add(channel);
+                        subscribers.computeIfAbsent(channel, key -> new CopyOnWriteArraySet<>()).add(this);
+                        write(array(bulk("subscribe"), bulk(channel), integer(channels.size())));
+                    }
+                }
+                case "UNSUBSCRIBE" -> {
+                    List<String> targets = new ArrayList<>();
+                    for (int i = 1; i < command.size(); i++) {
+                        targets.add(text(command.get(i)));
+                    }
+                    if (targets.isEmpty()) {
+                        targets.addAll(channels);
+                    }
+                    for (String channel : targets) {
+                        channels.remove(channel);
+                        subscribers.getOrDefault(channel, Set.of()).remove(this);
+                        write(array(bulk("unsubscribe"), bulk(channel), integer(channels.size())));
+                    }
+                }
+                case "PUBLISH" -> {
+                    String channel = text(command.get(1));
+                    Set<Client> targets = subscribers.getOrDefault(channel, Set.of());
+                    byte[] frame = array(bulk("message"), bulk(channel), bulk(command.get(2)));
+                    for (Client target : targets) {
+                        target.write(frame);
+                    }
+                    write(integer(targets.size()));
+                }
+                default -> write("+OK\r\n".getBytes(StandardCharsets.UTF_8));
+            }
+            return true;
+        }
+
+        private synchronized void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            out.flush();
+        }
+
+        private List<byte[]> readCommand() throws IOException {
+            String header = readLine();
+            if (header == null) {
+                return null;
+            }
+            if (header.charAt(0) != '*') {
+                // Inline command
+                List<byte[]> parts = new ArrayList<>();
+                for (String part : header.trim().split("\\s+")) {
+                    parts.add(part.getBytes(StandardCharsets.UTF_8));
+                }
+                return parts;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<byte[]> parts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(readLine().substring(1));
+                byte[] data = in.readNBytes(length);
+                in.readNBytes(2);
+                parts.add(data);
+            }
+            return parts;
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    in.read();
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            return null;
+        }
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bulk(String value) {
+        return bulk(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bulk(byte[] value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("$" + value.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(value);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static byte[] integer(long value) {
+        return (":" + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] array(byte[]... elements) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("*" + elements.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+        for (byte[] element : elements) {
+            out.writeBytes(element);
+        }
+        return out.toByteArray();
+    }
+}
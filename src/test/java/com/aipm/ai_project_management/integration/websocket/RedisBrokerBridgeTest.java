@@ -0,0 +1,101 @@
+package com.aipm.ai_project_management.integration.websocket;
+
+import com.aipm.ai_project_management.AiProjectManagementSoftwareApplication;
+import com.aipm.ai_project_management.modules.notifications.service.RealTimeMessagingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two application nodes in one JVM against a fake Redis and checks that a broadcast sent on
+ * one node reaches the broker of the other exactly once.
+ */
+class RedisBrokerBridgeTest {
+
+    private static final String CHANNEL = "test:websocket:broadcast";
+
+    private static FakeRedisServer redis;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        redis = new FakeRedisServer();
+        nodeA = startNode("bridge-a");
+        nodeB = startNode("bridge-b");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (redis.getSubscriberCount(CHANNEL) < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(2, redis.getSubscriberCount(CHANNEL));
+    }
+
+    @AfterAll
+    static void stopNodes() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        redis.close();
+    }
+
+    @Test
+    void testProjectUpdateReachesOtherNode() throws Exception {
+        List<Message<?>> receivedOnA = capture(nodeA, "/topic/project/42/updates");
+        List<Message<?>> receivedOnB = capture(nodeB, "/topic/project/42/updates");
+
+        nodeA.getBean(RealTimeMessagingService.class).sendProjectUpdate(42L, "moved");
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (receivedOnB.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        // Give a stray echo time to arrive before counting
+        Thread.sleep(200);
+
+        assertEquals(1, receivedOnA.size());
+        assertEquals(1, receivedOnB.size());
+        // Whatever frame the sending node delivered locally, byte for byte
+        assertArrayEquals((byte[]) receivedOnA.get(0).getPayload(), (byte[]) receivedOnB.get(0).getPayload());
+        assertTrue(new String((byte[]) receivedOnB.get(0).getPayload(), StandardCharsets.UTF_8).contains("moved"));
+        assertTrue(receivedOnB.get(0).getHeaders().containsKey(RedisBrokerBridge.BRIDGED_HEADER));
+        assertNotEquals(nodeA.getBean(RedisBrokerBridge.class).getNodeId(), nodeB.getBean(RedisBrokerBridge.class).getNodeId());
+    }
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        return new SpringApplicationBuilder(AiProjectManagementSoftwareApplication.class)
+                .profiles("test")
+                // Arguments rather than default properties, which application.properties would override
+                .run("--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.data.redis.host=localhost",
+                        "--spring.data.redis.port=" + redis.getPort(),
+                        "--app.websocket.broker.mode=redis",
+                        "--app.websocket.broker.redis.channel=" + CHANNEL);
+    }
+
+    private static List<Message<?>> capture(ConfigurableApplicationContext node, String destination) {
+        List<Message<?>> received = new CopyOnWriteArrayList<>();
+        AbstractSubscribableChannel brokerChannel = node.getBean("brokerChannel", AbstractSubscribableChannel.class);
+        brokerChannel.subscribe(message -> {
+            if (destination.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                received.add(message);
+            }
+        });
+        return received;
+    }
+}
@@ -0,0 +1,212 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity.RuleType;
+import com.aipm.ai_project_management.modules.ai.repository.AutomationRuleRepository;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AutomationRuleCompilerTest {
+
+    private final AutomationRuleCompiler compiler = new AutomationRuleCompiler(new ObjectMapper());
+
+    @Test
+    void statusChangeRuleMatchesAndNotifiesWithTemplate() {
+        CompiledRule rule = compiler.compile(rule(RuleType.STATUS_CHANGE_TRIGGER,
+                "{\"conditions\": {\"all\": ["
+                        + "{\"field\": \"task.status\", \"op\": \"eq\", \"value\": \"done\"},"
+                        + "{\"not\": {\"field\": \"task.labels\", \"op\": \"contains\", \"value\": \"chore\"}}]}}",
+                "[{\"type\": \"notify\", \"to\": [\"reporter\", 7], \"title\": \"Done\","
+                        + " \"message\": \"{task.title} moved from {task.previousStatus}\"}]"));
+
+        assertEquals(EnumSet.of(RuleEvent.TASK_STATUS_CHANGED), rule.events());
+
+        Map<String, Object> task = task(TaskStatus.DONE);
+        task.put("previousStatus", TaskStatus.IN_PROGRESS);
+        RuleFacts facts = facts(task, null);
+        assertTrue(rule.condition().test(facts));
+
+        RecordingActions actions = new RecordingActions();
+        rule.actions().forEach(action -> action.execute(facts, actions));
+        assertEquals(List.of("notify [5, 7] Done: Write docs moved from IN_PROGRESS"), actions.calls);
+
+        task.put("labels", Set.of("chore"));
+        assertFalse(rule.condition().test(facts(task, null)));
+    }
+
+    @Test
+    void numericComparisonsUseProjectFactsAndLoadSectionsLazily() {
+        CompiledRule rule = compiler.compile(rule(RuleType.BUDGET_ALERT,
+                "{\"conditions\": {\"any\": [{\"field\": \"project.burnRatio\", \"op\": \"gte\", \"value\": 0.9},"
+                        + "{\"field\": \"project.budget\", \"op\": \"in\", \"value\": [0]}]}}",
+                "[{\"type\": \"notify\", \"to\": \"projectManager\", \"message\": \"Budget at {project.burnRatio}\"}]"));
+
+        Map<String, Object> project = new HashMap<>();
+        project.put("burnRatio", new BigDecimal("0.95"));
+        project.put("budget", new BigDecimal("1000.00"));
+        project.put("managerId", 3L);
+
+        int[] taskLoads = {0};
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        loaders.put(RuleFacts.TASK, () -> {
+            taskLoads[0]++;
+            return Map.of();
+        });
+        loaders.put(RuleFacts.PROJECT, () -> project);
+        assertTrue(rule.condition().test(new RuleFacts(EnumSet.of(RuleEvent.PROJECT_UPDATED), 1L, loaders)));
+        assertEquals(0, taskLoads[0]);
+
+        project.put("burnRatio", new BigDecimal("0.5"));
+        assertFalse(rule.condition().test(facts(null, project)));
+        project.put("budget", BigDecimal.ZERO);
+        assertTrue(rule.condition().test(facts(null, project)));
+    }
+
+    @Test
+    void dueDateWindowAndTaskActions() {
+        CompiledRule rule = compiler.compile(rule(RuleType.DEADLINE_NOTIFICATION,
+                "{\"events\": [\"TASK_UPDATED\"], \"conditions\": {\"field\": \"task.dueDate\", \"op\": \"within_days\", \"value\": 2}}",
+                "[{\"type\": \"set_priority\", \"value\": \"urgent\"}, {\"type\": \"add_label\", \"value\": \"due-soon\"}]"));
+
+        Map<String, Object> task = task(TaskStatus.IN_PROGRESS);
+        task.put("dueDate", LocalDateTime.now().plusDays(1));
+        RuleFacts facts = facts(task, null);
+        assertTrue(rule.condition().test(facts));
+
+        RecordingActions actions = new RecordingActions();
+        rule.actions().forEach(action -> action.execute(facts, actions));
+        assertEquals(List.of("priority 11 URGENT", "label 11 due-soon"), actions.calls);
+
+        task.put("dueDate", LocalDateTime.now().plusDays(5));
+        assertFalse(rule.condition().test(facts(task, null)));
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThrows(ValidationException.class, () -> compiler.compile(rule(RuleType.STATUS_CHANGE_TRIGGER,
+                "{\"conditions\": {\"field\": \"task.colour\", \"op\": \"eq\", \"value\": \"red\"}}",
+                "[{\"type\": \"add_label\", \"value\": \"x\"}]")));
+        assertThrows(ValidationException.class, () -> compiler.compile(rule(RuleType.STATUS_CHANGE_TRIGGER,
+                "{\"conditions\": {\"field\": \"task.status\", \"op\": \"like\", \"value\": \"x\"}}",
+                "[{\"type\": \"add_label\", \"value\": \"x\"}]")));
+        // Task actions make no sense for project events
+        assertThrows(ValidationException.class, () -> compiler.compile(rule(RuleType.BUDGET_ALERT,
+                "{}", "[{\"type\": \"assign\", \"userId\": 4}]")));
+        // No default events for this type
+        assertThrows(ValidationException.class, () -> compiler.compile(rule(RuleType.RISK_ASSESSMENT,
+                "{}", "[{\"type\": \"add_label\", \"value\": \"x\"}]")));
+        assertThrows(ValidationException.class, () -> compiler.compile(rule(RuleType.TASK_AUTO_ASSIGNMENT,
+                "not json", "[]")));
+
+        CompiledRule invalid = compiler.compileOrInvalid(rule(RuleType.TASK_AUTO_ASSIGNMENT, "{}", "[]"));
+        assertFalse(invalid.isValid());
+        assertFalse(invalid.handles(EnumSet.allOf(RuleEvent.class)));
+    }
+
+    @Test
+    void cacheRecompilesOnlyChangedRules() {
+        AutomationRuleRepository repository = mock(AutomationRuleRepository.class);
+        AutomationRuleCompiler spyCompiler = spy(compiler);
+        AutomationRuleCache cache = new AutomationRuleCache(repository, spyCompiler);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+
+        AutomationRuleEntity global = rule(RuleType.TASK_AUTO_ASSIGNMENT, "{}", "[{\"type\": \"assign\", \"userId\": 4}]");
+        global.setId(1L);
+        AutomationRuleEntity local = rule(RuleType.TASK_AUTO_ASSIGNMENT, "{}", "[{\"type\": \"assign\", \"userId\": 5}]");
+        local.setId(2L);
+        local.setProjectId(10L);
+        when(repository.findApplicableRulesForProject(10L)).thenReturn(List.of(local, global));
+        when(repository.findApplicableRulesForProject(20L)).thenReturn(List.of(global));
+
+        assertEquals(2, cache.rulesFor(10L).size());
+        assertEquals(1, cache.rulesFor(20L).size());
+        cache.rulesFor(10L);
+        verify(repository, times(1)).findApplicableRulesForProject(10L);
+        verify(spyCompiler, times(2)).compileOrInvalid(any());
+
+        // Editing the project rule reloads that project only and recompiles just the edited rule
+        local.setUpdatedAt(local.getUpdatedAt().plusMinutes(1));
+        cache.evictRule(2L, 10L);
+        cache.rulesFor(10L);
+        cache.rulesFor(20L);
+        verify(repository, times(2)).findApplicableRulesForProject(10L);
+        verify(repository, times(1)).findApplicableRulesForProject(20L);
+        verify(spyCompiler, times(3)).compileOrInvalid(any());
+    }
+
+    private static AutomationRuleEntity rule(RuleType type, String trigger, String actions) {
+        AutomationRuleEntity rule = new AutomationRuleEntity();
+        rule.setName("rule");
+        rule.setType(type);
+        rule.setTriggerConditions(trigger);
+        rule.setActions(actions);
+        rule.setUpdatedAt(LocalDateTime.of(2026, 1, 1, 9, 0));
+        return rule;
+    }
+
+    private static Map<String, Object> task(TaskStatus status) {
+        Map<String, Object> task = new HashMap<>();
+        task.put("id", 11L);
+        task.put("title", "Write docs");
+        task.put("status", status);
+        task.put("reporterId", 5L);
+        task.put("labels", Set.of());
+        return task;
+    }
+
+    private static RuleFacts facts(Map<String, Object> task, Map<String, Object> project) {
+        Map<String, Supplier<Map<String, Object>>> loaders = new HashMap<>();
+        if (task != null) {
+            loaders.put(RuleFacts.TASK, () -> task);
+        }
+        if (project != null) {
+            loaders.put(RuleFacts.PROJECT, () -> project);
+        }
+        return new RuleFacts(EnumSet.of(RuleEvent.TASK_UPDATED), 1L, loaders);
+    }
+
+    private static class RecordingActions implements AutomationActions {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void notify(Collection<Long> recipientIds, String title, String message,
+                           NotificationEntity.NotificationType type) {
+            calls.add("notify " + recipientIds + " " + title + ": " + message);
+        }
+
+        @Override
+        public void assignTask(Long taskId, Long assigneeId) {
+            calls.add("assign " + taskId + " " + assigneeId);
+        }
+
+        @Override
+        public void setTaskPriority(Long taskId, TaskPriority priority) {
+            calls.add("priority " + taskId + " " + priority);
+        }
+
+        @Override
+        public void addTaskLabel(Long taskId, String label) {
+            calls.add("label " + taskId + " " + label);
+        }
+    }
+}
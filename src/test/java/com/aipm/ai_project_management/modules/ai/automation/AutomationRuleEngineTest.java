@@ -0,0 +1,277 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AutomationRuleEntity.RuleType;
+import com.aipm.ai_project_management.modules.ai.repository.AutomationRuleRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AutomationRuleEngineTest {
+
+    @Autowired
+    private AutomationRuleEngine engine;
+
+    @Autowired
+    private RuleExecutionCounters counters;
+
+    @Autowired
+    private AutomationRuleRepository automationRuleRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("automationExecutor")
+    private ThreadPoolTaskExecutor automationExecutor;
+
+    private Long projectId;
+    private final List<Long> ruleIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        projectId = projectRepository.save(new Project("Automation project", null, ProjectStatus.IN_PROGRESS)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        awaitIdle();
+        counters.flush();
+        automationRuleRepository.deleteAllById(ruleIds);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        projectRepository.deleteById(projectId);
+    }
+
+    @Test
+    void evaluatesCommittedChangesOffTheCallingThread() throws Exception {
+        createRule(RuleType.STATUS_CHANGE_TRIGGER,
+                "{\"conditions\": {\"field\": \"task.status\", \"op\": \"eq\", \"value\": \"done\"}}",
+                "[{\"type\": \"set_priority\", \"value\": \"urgent\"}]");
+        Long taskId = createTask(TaskStatus.IN_PROGRESS);
+
+        // Occupy every automation thread so the evaluation can only wait in the queue
+        CountDownLatch release = new CountDownLatch(1);
+        occupyWorkers(release);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            task.setStatus(TaskStatus.DONE);
+            taskRepository.save(task);
+            eventPublisher.publishEvent(new TaskChangedEvent(taskId, projectId, EntityChangeType.UPDATED,
+                    TaskStatus.IN_PROGRESS, TaskStatus.DONE));
+        });
+        assertEquals(TaskPriority.MEDIUM, priorityOf(taskId));
+
+        release.countDown();
+        awaitCondition(() -> priorityOf(taskId) == TaskPriority.URGENT);
+    }
+
+    @Test
+    void fullQueueEvaluatesOnThePublishingThreadAndKeepsTheAction() throws Exception {
+        createRule(RuleType.STATUS_CHANGE_TRIGGER,
+                "{\"conditions\": {\"field\": \"task.status\", \"op\": \"eq\", \"value\": \"done\"}}",
+                "[{\"type\": \"set_priority\", \"value\": \"urgent\"}]");
+        Long taskId = createTask(TaskStatus.IN_PROGRESS);
+        double rejectedBefore = meterRegistry.counter("automation.rules.rejected").count();
+
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            occupyWorkers(release);
+            BlockingQueue<Runnable> queue = automationExecutor.getThreadPoolExecutor().getQueue();
+            while (queue.remainingCapacity() > 0) {
+                automationExecutor.execute(() -> { });
+            }
+
+            // The rule runs in this transaction's commit callback, which can no longer write
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Task task = taskRepository.findById(taskId).orElseThrow();
+                task.setStatus(TaskStatus.DONE);
+                taskRepository.save(task);
+                eventPublisher.publishEvent(new TaskChangedEvent(taskId, projectId, EntityChangeType.UPDATED,
+                        TaskStatus.IN_PROGRESS, TaskStatus.DONE));
+            });
+
+            assertEquals(TaskPriority.URGENT, priorityOf(taskId));
+            assertEquals(rejectedBefore + 1, meterRegistry.counter("automation.rules.rejected").count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void evaluateAsyncLoadsFactsFromTheEventData() {
+        createRule(RuleType.DEADLINE_NOTIFICATION,
+                "{\"events\": [\"TASK_UPDATED\"], \"conditions\": {\"field\": \"task.status\", \"op\": \"eq\", \"value\": \"todo\"}}",
+                "[{\"type\": \"set_priority\", \"value\": \"high\"}]");
+        Long taskId = createTask(TaskStatus.TODO);
+
+        engine.evaluateAsync("task_updated", Map.of("taskId", taskId.toString(), "projectId", projectId));
+
+        awaitCondition(() -> priorityOf(taskId) == TaskPriority.HIGH);
+    }
+
+    @Test
+    void changesMadeByActionsDoNotTriggerRulesAgain() {
+        // Matches every update, including the one its own action makes
+        Long ruleId = createRule(RuleType.DEADLINE_NOTIFICATION, "{\"events\": [\"TASK_UPDATED\"]}",
+                "[{\"type\": \"set_priority\", \"value\": \"urgent\"}]");
+        Long taskId = createTask(TaskStatus.TODO);
+
+        eventPublisher.publishEvent(new TaskChangedEvent(taskId, projectId, EntityChangeType.UPDATED,
+                TaskStatus.TODO, TaskStatus.TODO));
+        awaitCondition(() -> priorityOf(taskId) == TaskPriority.URGENT);
+        awaitIdle();
+        counters.flush();
+
+        assertEquals(1L, storedCounts(ruleId).get("execution_count"));
+    }
+
+    @Test
+    void flushAddsBufferedCountsToTheStoredRow() {
+        Long ruleId = createRule(RuleType.STATUS_CHANGE_TRIGGER, "{}", "[{\"type\": \"add_label\", \"value\": \"x\"}]");
+        jdbcTemplate.update("UPDATE automation_rules SET execution_count = 5, success_count = 5, failure_count = NULL " +
+                "WHERE id = ?", ruleId);
+
+        counters.recordSuccess(ruleId);
+        counters.recordSuccess(ruleId);
+        counters.recordFailure(ruleId, "Task not found with id: 42");
+        assertEquals(3, counters.pending(ruleId).executions());
+
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        counters.flush();
+
+        assertNull(counters.pending(ruleId));
+        Map<String, Object> row = storedCounts(ruleId);
+        assertEquals(8L, row.get("execution_count"));
+        assertEquals(7L, row.get("success_count"));
+        assertEquals(1L, row.get("failure_count"));
+        assertEquals("Task not found with id: 42", row.get("last_error"));
+        assertTrue(((Timestamp) row.get("last_executed_at")).toLocalDateTime().isAfter(before));
+
+        // A later success keeps the last error
+        counters.recordSuccess(ruleId);
+        counters.flush();
+        row = storedCounts(ruleId);
+        assertEquals(9L, row.get("execution_count"));
+        assertEquals("Task not found with id: 42", row.get("last_error"));
+    }
+
+    private Long createRule(RuleType type, String trigger, String actions) {
+        AutomationRuleEntity rule = new AutomationRuleEntity();
+        rule.setName(type.name().toLowerCase() + " rule");
+        rule.setType(type);
+        rule.setTriggerConditions(trigger);
+        rule.setActions(actions);
+        rule.setRuleCreatedBy(1L);
+        rule.setProjectId(projectId);
+        Long id = automationRuleRepository.save(rule).getId();
+        ruleIds.add(id);
+        return id;
+    }
+
+    private Long createTask(TaskStatus status) {
+        Task task = new Task();
+        task.setTitle("Automated task");
+        task.setStatus(status);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setProjectId(projectId);
+        task.setReporterId(1L);
+        return taskRepository.save(task).getId();
+    }
+
+    private TaskPriority priorityOf(Long taskId) {
+        return taskRepository.findById(taskId).orElseThrow().getPriority();
+    }
+
+    private Map<String, Object> storedCounts(Long ruleId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT execution_count, success_count, failure_count, " +
+                "last_error, last_executed_at FROM automation_rules WHERE id = ?", ruleId);
+        row.replaceAll((column, value) -> value instanceof Number number ? Long.valueOf(number.longValue()) : value);
+        return row;
+    }
+
+    private void occupyWorkers(CountDownLatch release) throws InterruptedException {
+        CountDownLatch busy = new CountDownLatch(automationExecutor.getMaxPoolSize());
+        for (int i = 0; i < automationExecutor.getMaxPoolSize(); i++) {
+            automationExecutor.execute(() -> {
+                busy.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        busy.await();
+    }
+
+    // Waits until every submitted evaluation, including any it queued, has finished
+    private void awaitIdle() {
+        ThreadPoolExecutor pool = automationExecutor.getThreadPoolExecutor();
+        awaitCondition(() -> pool.getActiveCount() == 0 && pool.getQueue().isEmpty()
+                && pool.getCompletedTaskCount() == pool.getTaskCount());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.aipm.ai_project_management.modules.ai.automation;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RuleExecutionCountersTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RuleExecutionCounters counters = new RuleExecutionCounters(jdbcTemplate);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushWritesOneBatchRowPerRule() {
+        counters.recordSuccess(1L);
+        counters.recordSuccess(1L);
+        counters.recordFailure(2L, "x".repeat(1500));
+
+        counters.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), (List<Object[]>) argThat(args -> {
+            List<Object[]> rows = (List<Object[]>) args;
+            Object[] first = rows.stream().filter(row -> row[5].equals(1L)).findFirst().orElseThrow();
+            Object[] second = rows.stream().filter(row -> row[5].equals(2L)).findFirst().orElseThrow();
+            return rows.size() == 2
+                    && first[0].equals(2L) && first[1].equals(2L) && first[2].equals(0L) && first[4] == null
+                    && second[2].equals(1L) && ((String) second[4]).length() == 1000;
+        }));
+        assertNull(counters.pending(1L));
+
+        counters.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void failedFlushKeepsCountsForTheNextOne() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[] {1});
+        counters.recordSuccess(1L);
+        counters.flush();
+
+        // Recorded while the database was down; merged with the counts put back
+        counters.recordFailure(1L, "boom");
+        RuleExecutionCounters.Pending pending = counters.pending(1L);
+        assertEquals(2, pending.executions());
+        assertEquals(1, pending.successes());
+        assertEquals(1, pending.failures());
+        assertEquals("boom", pending.lastError());
+
+        counters.flush();
+        assertNull(counters.pending(1L));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+}
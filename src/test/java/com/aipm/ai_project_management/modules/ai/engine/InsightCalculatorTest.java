@@ -0,0 +1,171 @@
+package com.aipm.ai_project_management.modules.ai.engine;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.AssigneeLoad;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.ProjectMetrics;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.SkillInventory;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.StatusStats;
+import com.aipm.ai_project_management.modules.ai.engine.InsightCalculator.TaskMetrics;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightPriority;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity.InsightType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InsightCalculatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    private final InsightCalculator calculator = new InsightCalculator(new ObjectMapper());
+
+    @Test
+    void forecastsBudgetOverrunFromCostPerformance() {
+        // 40 of 100 estimated hours done, 60% of the budget spent: forecast 150% of budget
+        ProjectMetrics project = project(new BigDecimal("10000"), new BigDecimal("6000"),
+                TODAY.plusMonths(2), Map.of(TaskStatus.DONE, new StatusStats(4, 40, 40),
+                        TaskStatus.TODO, new StatusStats(6, 60, 0)), List.of());
+
+        AiInsightEntity insight = calculator.budgetBurn(project).orElseThrow();
+
+        assertEquals(InsightType.BUDGET_FORECAST, insight.getType());
+        assertEquals(InsightPriority.HIGH, insight.getPriority());
+        assertTrue(insight.getDescription().contains("15,000"));
+        assertTrue(insight.getConfidenceScore() > 0.45 && insight.getConfidenceScore() < 0.95);
+        assertTrue(insight.getInsightData().contains("\"forecastAtCompletion\":15000.0"));
+    }
+
+    @Test
+    void projectAlreadyOverBudgetIsCritical() {
+        ProjectMetrics project = project(new BigDecimal("1000"), new BigDecimal("1200"),
+                TODAY.plusMonths(1), Map.of(TaskStatus.TODO, new StatusStats(3, 0, 0)), List.of());
+
+        AiInsightEntity insight = calculator.budgetBurn(project).orElseThrow();
+
+        assertEquals(InsightType.PROJECT_RISK_ALERT, insight.getType());
+        assertEquals(InsightPriority.CRITICAL, insight.getPriority());
+    }
+
+    @Test
+    void onTrackBudgetProducesNoInsight() {
+        ProjectMetrics project = project(new BigDecimal("10000"), new BigDecimal("5000"),
+                TODAY.plusMonths(1), Map.of(TaskStatus.DONE, new StatusStats(5, 50, 50),
+                        TaskStatus.TODO, new StatusStats(5, 50, 0)), List.of());
+
+        assertTrue(calculator.budgetBurn(project).isEmpty());
+    }
+
+    @Test
+    void predictsSlippageFromWeeklyThroughput() {
+        // Two completions a week for six weeks, 20 open tasks, two weeks left: ten weeks needed
+        List<LocalDateTime> completions = new ArrayList<>();
+        for (int week = 0; week < InsightCalculator.VELOCITY_WEEKS; week++) {
+            completions.add(TODAY.minusWeeks(week).minusDays(1).atTime(10, 0));
+            completions.add(TODAY.minusWeeks(week).minusDays(2).atTime(10, 0));
+        }
+        ProjectMetrics project = project(null, null, TODAY.plusWeeks(2),
+                Map.of(TaskStatus.DONE, new StatusStats(12, 0, 0), TaskStatus.TODO, new StatusStats(20, 0, 0)),
+                completions);
+
+        AiInsightEntity insight = calculator.scheduleSlippage(project).orElseThrow();
+
+        assertEquals(InsightType.DEADLINE_PREDICTION, insight.getType());
+        assertEquals(InsightPriority.CRITICAL, insight.getPriority());
+        assertTrue(insight.getInsightData().contains("\"slippageDays\":56"));
+        // Perfectly regular weeks with a decent sample give the top of the range
+        assertEquals(0.9, insight.getConfidenceScore());
+    }
+
+    @Test
+    void noSlippageWhenVelocityCoversRemainingWork() {
+        List<LocalDateTime> completions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            completions.add(TODAY.minusDays(i % 40).atStartOfDay());
+        }
+        ProjectMetrics project = project(null, null, TODAY.plusWeeks(4),
+                Map.of(TaskStatus.TODO, new StatusStats(5, 0, 0)), completions);
+
+        assertTrue(calculator.scheduleSlippage(project).isEmpty());
+    }
+
+    @Test
+    void flagsOverloadedAssignee() {
+        List<AssigneeLoad> loads = List.of(
+                new AssigneeLoad(1L, "Ana", 3, 10, 20),
+                new AssigneeLoad(2L, "Ben", 4, 12, 25),
+                new AssigneeLoad(3L, "Cho", 3, 8, 18),
+                new AssigneeLoad(4L, "Dev", 12, 60, 40));
+
+        AiInsightEntity insight = calculator.workloadImbalance("TEAM", 7L, "Platform", loads).orElseThrow();
+
+        assertEquals(InsightType.WORKLOAD_BALANCE, insight.getType());
+        assertEquals("TEAM", insight.getRelatedEntityType());
+        assertTrue(insight.getDescription().startsWith("Dev has 60 hours of open work"));
+        assertTrue(insight.getDescription().contains("Cho has the least"));
+    }
+
+    @Test
+    void evenWorkloadIsNotFlagged() {
+        List<AssigneeLoad> loads = List.of(
+                new AssigneeLoad(1L, "Ana", 4, 0, 0),
+                new AssigneeLoad(2L, "Ben", 5, 0, 0),
+                new AssigneeLoad(3L, "Cho", 4, 0, 0));
+
+        assertTrue(calculator.workloadImbalance("PROJECT", 1L, "Apollo", loads).isEmpty());
+    }
+
+    @Test
+    void reportsMissingAndSingleExpertSkills() {
+        SkillInventory inventory = new SkillInventory(
+                Map.of("react", 4L, "java", 6L, "docs", 1L),
+                Map.of("java", 1),
+                3);
+
+        Optional<AiInsightEntity> insight = calculator.skillGaps("PROJECT", 1L, "Apollo", inventory);
+
+        assertTrue(insight.isPresent());
+        assertEquals(InsightType.SKILL_GAP_ANALYSIS, insight.get().getType());
+        assertTrue(insight.get().getDescription().contains("react"));
+        assertTrue(insight.get().getDescription().contains("Only one person covers java"));
+        assertFalse(insight.get().getDescription().contains("docs"));
+    }
+
+    @Test
+    void taskBehindScheduleAndOverEstimate() {
+        LocalDateTime now = TODAY.atTime(12, 0);
+        TaskMetrics task = new TaskMetrics(9L, "Checkout flow", TaskStatus.IN_PROGRESS,
+                now.minusDays(8), now.plusDays(2), 20, 10.0, 8.0, now);
+
+        List<AiInsightEntity> insights = calculator.taskInsights(task);
+
+        assertEquals(2, insights.size());
+        assertEquals(InsightType.DEADLINE_PREDICTION, insights.get(0).getType());
+        assertEquals(InsightType.PERFORMANCE_ANALYSIS, insights.get(1).getType());
+        // 8 hours for 20% projects 40 hours against an estimate of 10
+        assertEquals(InsightPriority.HIGH, insights.get(1).getPriority());
+    }
+
+    @Test
+    void completedTaskHasNoInsights() {
+        LocalDateTime now = TODAY.atStartOfDay();
+        TaskMetrics task = new TaskMetrics(9L, "Done", TaskStatus.DONE, now.minusDays(10), now.minusDays(1), 100, 2.0, 5.0, now);
+
+        assertTrue(calculator.taskInsights(task).isEmpty());
+    }
+
+    private ProjectMetrics project(BigDecimal budget, BigDecimal spent, LocalDate endDate,
+                                   Map<TaskStatus, StatusStats> stats, List<LocalDateTime> completions) {
+        return new ProjectMetrics(1L, "Apollo", budget, spent, TODAY.minusMonths(2), endDate,
+                new EnumMap<>(stats), completions, TODAY);
+    }
+}
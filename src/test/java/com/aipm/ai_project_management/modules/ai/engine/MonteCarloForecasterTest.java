@@ -0,0 +1,111 @@
+package com.aipm.ai_project_management.modules.ai.engine;
+
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster.ForecastInput;
+import com.aipm.ai_project_management.modules.ai.engine.MonteCarloForecaster.ForecastResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloForecasterTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final MonteCarloForecaster forecaster = new MonteCarloForecaster(POOL);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void exactEstimatesAndSteadyThroughputGiveAPointForecast() {
+        // 100 hours left at 40 hours a week, nothing uncertain
+        ForecastInput input = new ForecastInput(new double[] {60, 50}, new double[] {10, 0},
+                new double[] {1.0}, new double[] {40}, 100, 2000, 10000);
+
+        ForecastResult result = forecaster.simulate(input, 1000, 1);
+
+        assertEquals(100, result.remainingHours().p10(), 1e-9);
+        assertEquals(100, result.remainingHours().p90(), 1e-9);
+        assertEquals(2.5, result.weeksToComplete().p50(), 1e-9);
+        assertEquals(12000, result.costAtCompletion().p50(), 1e-9);
+        assertEquals(1.0, result.overrunProbability(), 1e-9);
+    }
+
+    @Test
+    void workAlreadyLoggedBeyondTheScaledEstimateIsNotCountedTwice() {
+        ForecastInput input = new ForecastInput(new double[] {10}, new double[] {30},
+                new double[] {0.5, 2.0}, new double[] {20}, 50, 0, 0);
+
+        ForecastResult result = forecaster.simulate(input, 500, 3);
+
+        assertEquals(0, result.remainingHours().p90(), 1e-9);
+        assertEquals(0, result.weeksToComplete().p90(), 1e-9);
+        assertEquals(0, result.overrunProbability(), 1e-9);
+    }
+
+    @Test
+    void uncertaintyWidensTheRangeAndSameSeedRepeats() {
+        ForecastInput input = new ForecastInput(new double[] {8, 16, 24, 40}, new double[4],
+                new double[] {0.8, 1.0, 1.3, 2.0}, new double[] {10, 25, 40}, 80, 0, 7000);
+
+        ForecastResult first = forecaster.simulate(input, 5000, 42);
+        ForecastResult second = forecaster.simulate(input, 5000, 42);
+
+        assertEquals(first, second);
+        assertTrue(first.remainingHours().p10() < first.remainingHours().p50());
+        assertTrue(first.remainingHours().p50() < first.remainingHours().p90());
+        assertTrue(first.weeksToComplete().p10() <= first.weeksToComplete().p80());
+        assertTrue(first.weeksToComplete().p80() <= first.weeksToComplete().p90());
+        assertTrue(first.remainingHours().p10() >= 88 * 0.8 - 1e-9);
+        assertTrue(first.remainingHours().p90() <= 88 * 2.0 + 1e-9);
+        assertTrue(first.overrunProbability() > 0 && first.overrunProbability() < 1);
+    }
+
+    @Test
+    void idleWeeksAreCappedInsteadOfLoopingForever() {
+        ForecastInput input = new ForecastInput(new double[] {1000}, new double[1],
+                new double[] {1.0}, new double[] {0, 0, 1}, 10, 0, 0);
+
+        ForecastResult result = forecaster.simulate(input, 200, 5);
+
+        assertEquals(MonteCarloForecaster.MAX_WEEKS, result.weeksToComplete().p90(), 1e-9);
+    }
+
+    @Test
+    void rejectsInputsWithoutHistory() {
+        ForecastInput noThroughput = new ForecastInput(new double[] {8}, new double[1],
+                new double[] {1.0}, new double[] {0, 0}, 10, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> forecaster.simulate(noThroughput, 100, 1));
+    }
+
+    @Test
+    void tenThousandSimulationsOfALargeProjectFinishWithinASecond() {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] estimates = new double[2000];
+        for (int i = 0; i < estimates.length; i++) {
+            estimates[i] = 1 + random.nextInt(40);
+        }
+        double[] ratios = new double[500];
+        for (int i = 0; i < ratios.length; i++) {
+            ratios[i] = 0.5 + random.nextDouble() * 1.5;
+        }
+        double[] weeks = new double[12];
+        Arrays.fill(weeks, 400);
+        ForecastInput input = new ForecastInput(estimates, new double[estimates.length], ratios, weeks, 90, 0, 1_000_000);
+
+        forecaster.simulate(input, 1000, 1); // warm up
+        long started = System.nanoTime();
+        ForecastResult result = forecaster.simulate(input, 10_000, 2);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(10_000, result.simulations());
+        assertTrue(elapsedMs < 1000, "10k simulations took " + elapsedMs + " ms");
+    }
+}
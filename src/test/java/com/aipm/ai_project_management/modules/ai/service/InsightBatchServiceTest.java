@@ -0,0 +1,194 @@
+package com.aipm.ai_project_management.modules.ai.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.ai.entity.AiInsightEntity;
+import com.aipm.ai_project_management.modules.ai.entity.InsightBatchCheckpoint;
+import com.aipm.ai_project_management.modules.ai.repository.AiInsightRepository;
+import com.aipm.ai_project_management.modules.ai.repository.InsightBatchCheckpointRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InsightBatchServiceTest {
+
+    @Autowired
+    private InsightBatchService insightBatchService;
+
+    @Autowired
+    private InsightGenerationService insightGenerationService;
+
+    @Autowired
+    private AiInsightRepository aiInsightRepository;
+
+    @Autowired
+    private InsightBatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<Long> projectIds = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        aiInsightRepository.deleteAll(aiInsightRepository.findByRelatedEntityTypeAndRelatedEntityIdIn(
+                InsightGenerationService.ENTITY_PROJECT, projectIds));
+        aiInsightRepository.deleteAll(aiInsightRepository.findByRelatedEntityTypeAndRelatedEntityIdIn(
+                InsightGenerationService.ENTITY_TASK, taskIds));
+        checkpointRepository.deleteById(InsightBatchService.JOB_NAME);
+        taskRepository.deleteAllById(taskIds);
+        projectRepository.deleteAllById(projectIds);
+    }
+
+    @Test
+    void upsertsInsteadOfDuplicatingAndExpiresResolvedFindings() {
+        Project project = overBudgetProject("Batch project");
+
+        InsightBatchCheckpoint first = insightBatchService.runBatch();
+        assertEquals(InsightBatchCheckpoint.Status.COMPLETED, first.getStatus());
+        List<AiInsightEntity> insights = insightsFor(project);
+        assertEquals(1, insights.size());
+        assertEquals(AiInsightEntity.InsightType.PROJECT_RISK_ALERT, insights.get(0).getType());
+        assertEquals(AiInsightEntity.InsightStatus.ACTIVE, insights.get(0).getStatus());
+
+        // Nothing changed since the previous window
+        InsightBatchCheckpoint second = insightBatchService.runBatch();
+        assertEquals(0, second.getEntitiesProcessed());
+        assertTrue(second.getWindowStart().isAfter(first.getWindowStart()));
+
+        // On-demand generation refreshes the same row
+        insightGenerationService.generateForProject(project.getId());
+        assertEquals(1, insightsFor(project).size());
+
+        project.setSpent(new BigDecimal("100.00"));
+        projectRepository.save(project);
+        InsightBatchCheckpoint third = insightBatchService.runBatch();
+
+        assertEquals(1, third.getEntitiesProcessed());
+        insights = insightsFor(project);
+        assertEquals(1, insights.size());
+        assertEquals(AiInsightEntity.InsightStatus.EXPIRED, insights.get(0).getStatus());
+    }
+
+    @Test
+    void interruptedRunResumesFromSavedPhase() {
+        Project project = overBudgetProject("Resumed project");
+        LocalDateTime windowEnd = LocalDateTime.now();
+
+        // A run that finished the project phase and then died
+        InsightBatchCheckpoint interrupted = new InsightBatchCheckpoint(InsightBatchService.JOB_NAME, windowEnd.minusDays(1));
+        interrupted.setWindowEnd(windowEnd);
+        interrupted.setPhase(InsightBatchCheckpoint.Phase.TASK);
+        interrupted.setCursorId(0L);
+        interrupted.setStatus(InsightBatchCheckpoint.Status.FAILED);
+        interrupted.setEntitiesProcessed(3);
+        checkpointRepository.save(interrupted);
+
+        InsightBatchCheckpoint resumed = insightBatchService.runBatch();
+
+        assertEquals(InsightBatchCheckpoint.Status.COMPLETED, resumed.getStatus());
+        assertEquals(windowEnd.withNano(0), resumed.getWindowStart().withNano(0));
+        assertNull(resumed.getLeaseOwner());
+        // Counts carry over from before the interruption and the project phase is not repeated
+        assertTrue(resumed.getEntitiesProcessed() >= 3);
+        assertTrue(insightsFor(project).isEmpty());
+    }
+
+    @Test
+    void heldLeaseSkipsTheRun() {
+        InsightBatchCheckpoint held = new InsightBatchCheckpoint(InsightBatchService.JOB_NAME, LocalDateTime.now().minusHours(1));
+        held.setLeaseOwner("other-node");
+        held.setLeaseUntil(LocalDateTime.now().plusMinutes(5));
+        checkpointRepository.save(held);
+
+        assertNull(insightBatchService.runBatch());
+    }
+
+    @Test
+    void databaseRejectsSecondInsightOfSameTypeForEntity() {
+        Project project = overBudgetProject("Unique project");
+        insightGenerationService.generateForProject(project.getId());
+
+        AiInsightEntity duplicate = new AiInsightEntity();
+        duplicate.setType(AiInsightEntity.InsightType.PROJECT_RISK_ALERT);
+        duplicate.setTitle("Duplicate");
+        duplicate.setDescription("Duplicate");
+        duplicate.setRelatedEntityType(InsightGenerationService.ENTITY_PROJECT);
+        duplicate.setRelatedEntityId(project.getId());
+
+        assertThrows(DataIntegrityViolationException.class, () -> aiInsightRepository.saveAndFlush(duplicate));
+        assertEquals(1, insightsFor(project).size());
+    }
+
+    @Test
+    void concurrentGenerationKeepsOneRowPerType() throws Exception {
+        Project project = overBudgetProject("Raced project");
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<AiInsightEntity>>> runs = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                runs.add(pool.submit(() -> {
+                    start.await();
+                    return insightGenerationService.generateForProject(project.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<List<AiInsightEntity>> run : runs) {
+                assertEquals(1, run.get(30, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<AiInsightEntity> insights = insightsFor(project);
+        assertEquals(1, insights.size());
+        assertEquals(AiInsightEntity.InsightStatus.ACTIVE, insights.get(0).getStatus());
+    }
+
+    private Project overBudgetProject(String name) {
+        Project project = new Project(name, null, ProjectStatus.IN_PROGRESS);
+        project.setBudget(new BigDecimal("1000.00"));
+        project.setSpent(new BigDecimal("1500.00"));
+        project = projectRepository.save(project);
+        projectIds.add(project.getId());
+
+        Task task = new Task();
+        task.setTitle("Open work");
+        task.setStatus(TaskStatus.TODO);
+        task.setProjectId(project.getId());
+        task.setReporterId(1L);
+        taskIds.add(taskRepository.save(task).getId());
+        return project;
+    }
+
+    private List<AiInsightEntity> insightsFor(Project project) {
+        return aiInsightRepository.findByRelatedEntityTypeAndRelatedEntityIdIn("PROJECT", List.of(project.getId()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.aipm.ai_project_management.modules.auth.security;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of {@link JwtAuthenticationFilter} per request, before and after parsing with a
+ * cached key and building the principal from claims.
+ * <p>
+ * Both run {@code doFilterInternal} on a mock request. {@code perRequestKeyAndUserLoad}
+ * reproduces the old path: the token is parsed twice, by {@code validateToken} and then
+ * {@code getUserIdFromJWT}, each deriving a fresh HMAC key and parser, and the user is
+ * resolved through a {@code UserDetailsService}. The user load is served from memory here,
+ * so the database round trip it costs in production is not part of the figure.
+ * {@code statelessFromClaims} runs the filter as configured by default, with the revocation
+ * state already cached.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.aipm.ai_project_management.modules.auth.security.JwtAuthenticationFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private String token;
+    private JwtAuthenticationFilter perRequestKeyFilter;
+    private JwtAuthenticationFilter statelessFilter;
+
+    @Setup(Level.Trial)
+    public void createToken() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        user.setName("Bench User");
+        user.setRole(UserRole.TEAM_MEMBER);
+        user.setPermissions(Set.of("task:read", "task:write", "project:read"));
+
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpirationInMs", 604_800_000L);
+        tokenProvider.init();
+        token = tokenProvider.generateToken(user);
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> method.getName().equals("findAuthenticationStateById")
+                        ? List.<Object[]>of(new Object[]{true, null, LocalDateTime.now().minusDays(1)})
+                        : null);
+        statelessFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(statelessFilter, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(statelessFilter, "tokenRevocationCache",
+                new TokenRevocationCache(userRepository, 3600, 1000));
+        ReflectionTestUtils.setField(statelessFilter, "statelessAuthentication", true);
+
+        // Stands in for CustomUserDetailsService without the query
+        UserDetailsService userDetailsService = username ->
+                username.equals(user.getId().toString()) ? UserPrincipal.create(user) : null;
+        perRequestKeyFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(perRequestKeyFilter, "tokenProvider", new PerRequestKeyTokenProvider());
+        ReflectionTestUtils.setField(perRequestKeyFilter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(perRequestKeyFilter, "statelessAuthentication", false);
+    }
+
+    @Benchmark
+    public Object perRequestKeyAndUserLoad() throws Exception {
+        return authenticate(perRequestKeyFilter);
+    }
+
+    @Benchmark
+    public Object statelessFromClaims() throws Exception {
+        return authenticate(statelessFilter);
+    }
+
+    private Object authenticate(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilterInternal(request, new MockHttpServletResponse(), (req, res) -> { });
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    // The provider as the filter used it: validateToken and then getUserIdFromJWT, each parsing
+    // the token with a freshly derived key
+    private static final class PerRequestKeyTokenProvider extends JwtTokenProvider {
+
+        @Override
+        public Claims parseValidClaims(String authToken) {
+            parseWithFreshKey(authToken);
+            return parseWithFreshKey(authToken);
+        }
+
+        private static Claims parseWithFreshKey(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,200 @@
+package com.aipm.ai_project_management.modules.auth.security;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.response.ApiResponse;
+import com.aipm.ai_project_management.modules.auth.controller.AuthController;
+import com.aipm.ai_project_management.modules.auth.dto.UserDto;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.auth.service.PasswordService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+
+    private static final String PASSWORD = "Old#Passw0rd1";
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenRevocationCache tokenRevocationCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordService passwordService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthController authController;
+
+    @Value("${app.jwt.secret}")
+    private String jwtSecret;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("jwt-" + System.nanoTime() + "@example.com");
+        user.setName("Token Holder");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setAvatar("https://cdn.example.com/avatars/holder.png");
+        user.setRole(UserRole.TEAM_MEMBER);
+        user.setPermissions(new HashSet<>(Set.of("task:write")));
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        tokenRevocationCache.evict(user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void testValidTokenBuildsPrincipalFromClaims() {
+        UserPrincipal principal = authenticate(tokenProvider.generateToken(user));
+
+        assertNotNull(principal);
+        assertNull(principal.getUser());
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(user.getEmail(), principal.getEmail());
+        assertEquals("Token Holder", principal.getName());
+        assertEquals(UserRole.TEAM_MEMBER, principal.getRole());
+        Set<String> authorities = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("ROLE_TEAM_MEMBER", "task:write"), authorities);
+    }
+
+    @Test
+    void testTamperedAndExpiredTokensAreRejected() {
+        String token = tokenProvider.generateToken(user);
+        String[] parts = token.split("\\.");
+        User other = new User();
+        other.setId(user.getId() + 1);
+        other.setEmail("someone-else@example.com");
+        other.setName("Someone Else");
+        other.setRole(UserRole.ADMIN);
+        String forgedPayload = tokenProvider.generateToken(other).split("\\.")[1];
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertNull(tokenProvider.parseValidClaims(tampered));
+        assertNull(authenticate(tampered));
+
+        long past = System.currentTimeMillis() - 7_200_000L;
+        String expired = signedToken(new Date(past), new Date(past + 3_600_000L));
+        assertFalse(tokenProvider.validateToken(expired));
+        assertNull(authenticate(expired));
+        assertNull(authenticate("not-a-token"));
+    }
+
+    @Test
+    void testDeactivatedAndLockedUsersAreRejectedOnceEvicted() {
+        String token = tokenProvider.generateToken(user);
+        assertNotNull(authenticate(token));
+
+        user.setActive(false);
+        userRepository.save(user);
+        tokenRevocationCache.evict(user.getId());
+        assertNull(authenticate(token));
+
+        user.setActive(true);
+        user.setLockedUntil(LocalDateTime.now().plusMinutes(15));
+        userRepository.save(user);
+        tokenRevocationCache.evict(user.getId());
+        assertNull(authenticate(token));
+
+        user.setLockedUntil(null);
+        userRepository.save(user);
+        tokenRevocationCache.evict(user.getId());
+        assertNotNull(authenticate(token));
+    }
+
+    @Test
+    void testChangePasswordRevokesEarlierTokens() {
+        long issued = System.currentTimeMillis() - 5_000L;
+        String earlier = signedToken(new Date(issued), new Date(issued + 3_600_000L));
+        // Caches the state from before the change
+        assertNotNull(authenticate(earlier));
+
+        passwordService.changePassword(user.getId(), PASSWORD, "New#Passw0rd2");
+
+        assertNull(authenticate(earlier));
+        assertNotNull(authenticate(tokenProvider.generateToken(userRepository.findById(user.getId()).orElseThrow())));
+    }
+
+    @Test
+    void testCurrentUserLoadsAvatarForStatelessPrincipal() {
+        UserPrincipal principal = authenticate(tokenProvider.generateToken(user));
+        assertNull(principal.getAvatar());
+
+        ApiResponse<UserDto> response = authController.getCurrentUser(principal).getBody();
+
+        assertNotNull(response);
+        assertEquals("https://cdn.example.com/avatars/holder.png", response.getData().getAvatar());
+        assertEquals(user.getEmail(), response.getData().getEmail());
+    }
+
+    private UserPrincipal authenticate(String token) {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? (UserPrincipal) authentication.getPrincipal() : null;
+    }
+
+    // Same claims as JwtTokenProvider.generateToken, with chosen timestamps
+    private String signedToken(Date issuedAt, Date expiration) {
+        return Jwts.builder()
+                .setSubject(Long.toString(user.getId()))
+                .claim("id", user.getId())
+                .claim("email", user.getEmail())
+                .claim("name", user.getName())
+                .claim("role", user.getRole().name())
+                .claim("permissions", user.getPermissions())
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -0,0 +1,101 @@
+package com.aipm.ai_project_management.modules.dashboard.service;
+
+import com.aipm.ai_project_management.modules.clients.service.ClientService;
+import com.aipm.ai_project_management.modules.dashboard.dto.admin.AdminKpiMetricsDTO;
+import com.aipm.ai_project_management.modules.dashboard.mapper.DashboardMapper;
+import com.aipm.ai_project_management.modules.projects.dto.ProjectHealthDto;
+import com.aipm.ai_project_management.modules.projects.dto.ProjectStatsDto;
+import com.aipm.ai_project_management.modules.projects.service.ProjectService;
+import com.aipm.ai_project_management.modules.tasks.service.TimeRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AdminDashboardSnapshotServiceTest {
+
+    @Autowired
+    private AdminDashboardSnapshotService snapshotService;
+
+    @Autowired
+    private ScheduledAnnotationBeanPostProcessor scheduledAnnotationProcessor;
+
+    @Autowired
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    @Qualifier("messageBrokerTaskScheduler")
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Test
+    void testSnapshotIsBuiltOnceTheApplicationIsReady() {
+        assertNotNull(snapshotService.getRefreshedAt());
+        assertNotNull(snapshotService.getKpiMetrics());
+        assertNotNull(snapshotService.getProjectHealthSummary());
+    }
+
+    @Test
+    void testScheduledJobsDoNotRunOnTheBrokerScheduler() {
+        ScheduledTaskRegistrar registrar =
+                (ScheduledTaskRegistrar) ReflectionTestUtils.getField(scheduledAnnotationProcessor, "registrar");
+
+        assertNotNull(registrar);
+        assertSame(taskScheduler, registrar.getScheduler());
+        assertNotSame(messageBrokerTaskScheduler, registrar.getScheduler());
+    }
+
+    @Test
+    void testConcurrentColdRequestsShareOneBuild() throws Exception {
+        ProjectService projectService = mock(ProjectService.class);
+        DashboardMapper dashboardMapper = mock(DashboardMapper.class);
+        TimeRollupService timeRollupService = mock(TimeRollupService.class);
+        when(timeRollupService.billableAmount(any(), any())).thenReturn(BigDecimal.ZERO);
+        AdminKpiMetricsDTO metrics = new AdminKpiMetricsDTO();
+        when(dashboardMapper.toAdminKpiMetrics(any(), anyLong(), anyDouble(), anyDouble())).thenReturn(metrics);
+        when(projectService.getProjectStatistics(null)).thenReturn(new ProjectStatsDto());
+
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch releaseBuild = new CountDownLatch(1);
+        when(projectService.computeActiveProjectHealth()).thenAnswer(invocation -> {
+            buildStarted.countDown();
+            releaseBuild.await(5, TimeUnit.SECONDS);
+            return List.<ProjectHealthDto>of();
+        });
+
+        AdminDashboardSnapshotService coldService = new AdminDashboardSnapshotService(
+                projectService, mock(ClientService.class), dashboardMapper, timeRollupService);
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            Future<AdminKpiMetricsDTO> first = requests.submit(coldService::getKpiMetrics);
+            assertTrue(buildStarted.await(5, TimeUnit.SECONDS));
+            Future<AdminKpiMetricsDTO> second = requests.submit(coldService::getKpiMetrics);
+            releaseBuild.countDown();
+
+            assertSame(metrics, first.get(5, TimeUnit.SECONDS));
+            assertSame(metrics, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            requests.shutdownNow();
+        }
+        verify(projectService, times(1)).computeActiveProjectHealth();
+    }
+}
@@ -0,0 +1,47 @@
+package com.aipm.ai_project_management.modules.dashboard.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardStreakTest {
+
+    // Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 14);
+
+    @Test
+    void weekendHoursDoNotExtendTheStreak() {
+        Map<LocalDate, Double> hours = hours("2026-10-08", 0, "2026-10-09", 6, "2026-10-10", 3, "2026-10-11", 2,
+                "2026-10-12", 8, "2026-10-13", 7, "2026-10-14", 4);
+
+        // Friday, Monday, Tuesday and Wednesday; Thursday has nothing logged
+        assertEquals(4, DashboardServiceImpl.calculateStreakDays(hours, TODAY));
+    }
+
+    @Test
+    void emptyWeekendDoesNotBreakTheStreak() {
+        Map<LocalDate, Double> hours = hours("2026-10-09", 6, "2026-10-12", 8, "2026-10-13", 7);
+
+        // Nothing logged yet today, so the streak runs up to Tuesday
+        assertEquals(3, DashboardServiceImpl.calculateStreakDays(hours, TODAY));
+    }
+
+    @Test
+    void loggingOnASaturdayOnlyKeepsTheWeekdayStreak() {
+        Map<LocalDate, Double> hours = hours("2026-10-16", 5, "2026-10-17", 2);
+
+        assertEquals(1, DashboardServiceImpl.calculateStreakDays(hours, LocalDate.of(2026, 10, 17)));
+    }
+
+    private static Map<LocalDate, Double> hours(Object... dayAndHours) {
+        Map<LocalDate, Double> hours = new HashMap<>();
+        for (int i = 0; i < dayAndHours.length; i += 2) {
+            hours.put(LocalDate.parse((String) dayAndHours[i]), ((Number) dayAndHours[i + 1]).doubleValue());
+        }
+        return hours;
+    }
+}
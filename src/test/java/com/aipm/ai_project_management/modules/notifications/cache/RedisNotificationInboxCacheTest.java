@@ -0,0 +1,130 @@
+package com.aipm.ai_project_management.modules.notifications.cache;
+
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache.InboxCounts;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.github.fppt.jedismock.RedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Lua scripts and pipelines against jedis-mock, an in-process Redis with a Lua engine.
+ */
+class RedisNotificationInboxCacheTest {
+
+    private static final Long USER_ID = 7L;
+
+    private RedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisNotificationInboxCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        redis = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getBindPort()),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(1)).build());
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        cache = new RedisNotificationInboxCache(redisTemplate, Duration.ofMinutes(10), 3, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        if (redis.isRunning()) {
+            redis.stop();
+        }
+    }
+
+    @Test
+    void testUpdatesOnlyApplyToFilledCounters() {
+        cache.recordCreated(List.of(notification(1L)));
+        assertEquals(Optional.empty(), cache.getCounts(USER_ID));
+
+        cache.putCounts(USER_ID, new InboxCounts(2, 5), cache.getVersion(USER_ID));
+        assertTrue(redisTemplate.getExpire("notifications:inbox:" + USER_ID + ":counts") > 0);
+        cache.recordCreated(List.of(notification(2L)));
+        assertEquals(Optional.of(new InboxCounts(3, 6)), cache.getCounts(USER_ID));
+
+        cache.recordRead(USER_ID);
+        cache.recordDeleted(USER_ID, false);
+        assertEquals(Optional.of(new InboxCounts(2, 5)), cache.getCounts(USER_ID));
+
+        cache.recordAllRead(USER_ID);
+        assertEquals(Optional.of(new InboxCounts(0, 5)), cache.getCounts(USER_ID));
+    }
+
+    @Test
+    void testFillOverlappingAnUpdateIsDropped() {
+        long version = cache.getVersion(USER_ID);
+        // A notification commits while the reader is still counting rows
+        cache.recordCreated(List.of(notification(1L)));
+        cache.putCounts(USER_ID, new InboxCounts(0, 0), version);
+        cache.putRecentIds(USER_ID, List.of(), version);
+
+        assertEquals(Optional.empty(), cache.getCounts(USER_ID));
+
+        cache.putCounts(USER_ID, new InboxCounts(1, 1), cache.getVersion(USER_ID));
+        assertEquals(Optional.of(new InboxCounts(1, 1)), cache.getCounts(USER_ID));
+    }
+
+    @Test
+    void testRecentIdsArePushedTrimmedAndDropped() {
+        long version = cache.getVersion(USER_ID);
+        cache.putRecentIds(USER_ID, List.of(30L, 20L, 10L, 5L), version);
+        assertEquals(Optional.of(List.of(30L, 20L, 10L)), cache.getRecentIds(USER_ID));
+
+        cache.recordCreated(List.of(notification(40L)));
+        assertEquals(Optional.of(List.of(40L, 30L, 20L)), cache.getRecentIds(USER_ID));
+
+        cache.putRecentIds(USER_ID, List.of(50L), version);
+        assertEquals(Optional.of(List.of(40L, 30L, 20L)), cache.getRecentIds(USER_ID));
+
+        cache.recordDeleted(USER_ID, true);
+        assertEquals(Optional.empty(), cache.getRecentIds(USER_ID));
+    }
+
+    @Test
+    void testEvictDropsEntriesAndInvalidatesPendingFills() {
+        cache.putCounts(USER_ID, new InboxCounts(1, 1), cache.getVersion(USER_ID));
+        cache.putRecentIds(USER_ID, List.of(1L), cache.getVersion(USER_ID));
+        long version = cache.getVersion(USER_ID);
+
+        cache.evict(List.of(USER_ID));
+        cache.putCounts(USER_ID, new InboxCounts(9, 9), version);
+
+        assertEquals(Optional.empty(), cache.getCounts(USER_ID));
+        assertEquals(Optional.empty(), cache.getRecentIds(USER_ID));
+    }
+
+    @Test
+    void testUnavailableRedisBehavesLikeAMiss() throws IOException {
+        cache.putCounts(USER_ID, new InboxCounts(1, 1), cache.getVersion(USER_ID));
+        redis.stop();
+
+        assertEquals(Optional.empty(), cache.getCounts(USER_ID));
+        long version = cache.getVersion(USER_ID);
+        assertDoesNotThrow(() -> cache.putCounts(USER_ID, new InboxCounts(2, 2), version));
+        assertDoesNotThrow(() -> cache.recordCreated(List.of(notification(1L))));
+    }
+
+    private static NotificationDTO notification(Long id) {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setId(id);
+        notification.setRecipientId(USER_ID);
+        return notification;
+    }
+}
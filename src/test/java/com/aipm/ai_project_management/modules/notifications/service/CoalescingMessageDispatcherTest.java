@@ -0,0 +1,152 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.modules.notifications.service.CoalescingMessageDispatcher.DestinationType;
+import com.aipm.ai_project_management.modules.tasks.service.TaskUpdateBroadcaster;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CoalescingMessageDispatcherTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private MeterRegistry meterRegistry;
+    private CoalescingMessageDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Long windows for task/project so only explicit flushes send; typing is sent immediately
+        dispatcher = new CoalescingMessageDispatcher(messagingTemplate, meterRegistry, 60_000, 60_000, 0, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void testUpdatesForOneEntityMergeIntoSingleDelta() {
+        String destination = "/topic/task/7/updates";
+        dispatcher.submit(DestinationType.TASK, destination, 7L, Map.of("progress", 40));
+        dispatcher.submit(DestinationType.TASK, destination, 7L, Map.of("progress", 60));
+        dispatcher.submit(DestinationType.TASK, destination, 7L, Map.of("status", "DONE"));
+
+        dispatcher.flushAll();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq(destination), payload.capture());
+        assertEquals(Map.of("progress", 60, "status", "DONE"), payload.getValue());
+        assertEquals(2.0, meterRegistry.counter("websocket.coalescing.frames.saved", "type", "task").count());
+        assertEquals(1.0, meterRegistry.counter("websocket.coalescing.frames.sent", "type", "task").count());
+    }
+
+    @Test
+    void testSeveralEntitiesOnOneDestinationAreSentSeparately() {
+        String destination = "/topic/project/3/updates";
+        dispatcher.submit(DestinationType.PROJECT, destination, "task:1", Map.of("taskId", 1, "status", "TODO"));
+        dispatcher.submit(DestinationType.PROJECT, destination, "task:2", Map.of("taskId", 2, "status", "DONE"));
+        dispatcher.submit(DestinationType.PROJECT, destination, "task:1", Map.of("taskId", 1, "status", "IN_PROGRESS"));
+
+        dispatcher.flushAll();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(destination), payload.capture());
+        assertEquals(List.of(Map.of("taskId", 1, "status", "IN_PROGRESS"), Map.of("taskId", 2, "status", "DONE")),
+                payload.getAllValues());
+        assertEquals(1.0, meterRegistry.counter("websocket.coalescing.frames.saved", "type", "project").count());
+    }
+
+    @Test
+    void testUpdatesWithoutEntityKeyAreNeverMerged() {
+        String destination = "/topic/project/3/updates";
+        dispatcher.submit(DestinationType.PROJECT, destination, null, Map.of("event", "milestone-reached"));
+        dispatcher.submit(DestinationType.PROJECT, destination, null, Map.of("event", "member-added"));
+
+        dispatcher.flushAll();
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(destination), payload.capture());
+        assertEquals(List.of(Map.of("event", "milestone-reached"), Map.of("event", "member-added")),
+                payload.getAllValues());
+    }
+
+    @Test
+    void testProjectChannelFramesKeepTheirShapeOnTheWire() throws IOException {
+        // Real template, converter and channel: what a STOMP subscriber of the project topic receives
+        List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+        channel.subscribe(sent::add);
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        CoalescingMessageDispatcher wireDispatcher =
+                new CoalescingMessageDispatcher(template, new SimpleMeterRegistry(), 60_000, 60_000, 0, 60_000);
+        RealTimeMessagingService messaging = new RealTimeMessagingService();
+        ReflectionTestUtils.setField(messaging, "messagingTemplate", template);
+        ReflectionTestUtils.setField(messaging, "coalescingDispatcher", wireDispatcher);
+        TaskUpdateBroadcaster broadcaster = new TaskUpdateBroadcaster(messaging);
+
+        broadcaster.onTaskChanged(new TaskChangedEvent(1L, 3L, EntityChangeType.UPDATED, TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        broadcaster.onTaskChanged(new TaskChangedEvent(2L, 3L, EntityChangeType.UPDATED, TaskStatus.TODO, TaskStatus.DONE));
+        broadcaster.onTaskChanged(new TaskChangedEvent(1L, 3L, EntityChangeType.UPDATED, TaskStatus.IN_PROGRESS, TaskStatus.DONE));
+        messaging.sendProjectUpdate(3L, Map.of("event", "milestone-reached"));
+        messaging.sendProjectUpdate(3L, Map.of("event", "member-added"));
+        wireDispatcher.flushAll();
+        wireDispatcher.stop();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<JsonNode> frames = new ArrayList<>();
+        for (Message<?> message : sent) {
+            if ("/topic/project/3/updates".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                frames.add(objectMapper.readTree((byte[]) message.getPayload()));
+            }
+        }
+
+        assertEquals(4, frames.size());
+        assertEquals(1, frames.get(0).get("taskId").asLong());
+        assertEquals("DONE", frames.get(0).get("status").asText());
+        assertEquals(2, frames.get(1).get("taskId").asLong());
+        assertEquals("milestone-reached", frames.get(2).get("event").asText());
+        assertEquals("member-added", frames.get(3).get("event").asText());
+        frames.forEach(frame -> {
+            assertTrue(frame.isObject());
+            assertFalse(frame.has("coalesced"));
+            assertFalse(frame.has("updates"));
+        });
+    }
+
+    @Test
+    void testZeroWindowSendsImmediately() {
+        dispatcher.submit(DestinationType.TYPING, "/topic/chat/1/typing", 5L, "typing");
+        dispatcher.submit(DestinationType.TYPING, "/topic/chat/1/typing", 5L, "stopped");
+
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/chat/1/typing"), any(Object.class));
+        dispatcher.flushAll();
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+}
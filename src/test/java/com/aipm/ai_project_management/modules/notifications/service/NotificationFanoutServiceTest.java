@@ -0,0 +1,79 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationFanoutJob;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.aipm.ai_project_management.modules.notifications.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.notifications.fanout.chunk-size=2")
+@ActiveProfiles("test")
+class NotificationFanoutServiceTest {
+
+    @Autowired
+    private NotificationFanoutService fanoutService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        userIds.clear();
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setEmail("fanout" + i + "-" + System.nanoTime() + "@example.com");
+            user.setName("Fanout User " + i);
+            user.setPassword("hash");
+            user.setRole(UserRole.TEAM_MEMBER);
+            userIds.add(userRepository.save(user).getId());
+        }
+    }
+
+    @Test
+    void testBulkFanOutSkipsUnknownRecipientsAndReturnsIds() {
+        List<Long> recipients = new ArrayList<>(userIds);
+        recipients.add(999999L);
+        recipients.add(userIds.get(0));
+
+        List<NotificationDTO> created = fanoutService.fanOutToRecipients(
+                recipients, "Release", "New release", NotificationEntity.NotificationType.SYSTEM_ALERT);
+
+        assertEquals(5, created.size());
+        assertTrue(created.stream().allMatch(dto -> dto.getId() != null));
+        assertEquals(5, notificationRepository.count());
+    }
+
+    @Test
+    void testSystemFanOutReachesEveryUserInChunks() throws InterruptedException {
+        long totalUsers = userRepository.count();
+
+        NotificationFanoutJob job = fanoutService.startSystemFanout("Maintenance", "Down at midnight");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(NotificationFanoutJob.Status.COMPLETED, job.getStatus());
+        assertEquals(totalUsers, job.getProcessedRecipients());
+        assertEquals(totalUsers, notificationRepository.count());
+        assertSame(job, fanoutService.getJob(job.getJobId()));
+    }
+}
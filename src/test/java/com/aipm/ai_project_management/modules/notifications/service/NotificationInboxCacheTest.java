@@ -0,0 +1,127 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.response.PageResponse;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import com.aipm.ai_project_management.modules.notifications.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationInboxCacheTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationInboxCache inboxCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("inbox-" + System.nanoTime() + "@example.com");
+        user.setName("Inbox User");
+        user.setPassword("hash");
+        user.setRole(UserRole.TEAM_MEMBER);
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void testCountersFollowCreateReadAndDelete() {
+        NotificationDTO first = notify("First");
+        notify("Second");
+
+        // Fills the cache from the database
+        assertEquals(2, notificationService.getUnreadCount(userId));
+        assertTrue(inboxCache.getCounts(userId).isPresent());
+
+        NotificationDTO third = notify("Third");
+        assertEquals(3, notificationService.getUnreadCount(userId));
+
+        notificationService.markAsRead(first.getId());
+        notificationService.markAsRead(first.getId());
+        assertEquals(2, notificationService.getUnreadCount(userId));
+
+        notificationService.deleteNotification(third.getId());
+        NotificationService.NotificationStats stats = notificationService.getUserNotificationStats(userId);
+        assertEquals(2, stats.getTotalNotifications());
+        assertEquals(1, stats.getUnreadCount());
+
+        notificationService.markAllAsRead(userId);
+        assertEquals(0, notificationService.getUnreadCount(userId));
+        assertEquals(notificationRepository.countByRecipientIdAndIsReadFalse(userId), notificationService.getUnreadCount(userId));
+    }
+
+    @Test
+    void testBulkFanOutUpdatesCachedCounters() {
+        notify("Existing");
+        assertEquals(1, notificationService.getUnreadCount(userId));
+
+        notificationService.sendBulkNotifications(List.of(userId), "Bulk", "Message",
+                NotificationEntity.NotificationType.SYSTEM_ALERT);
+
+        assertEquals(2, notificationService.getUnreadCount(userId));
+        assertEquals(2, notificationRepository.countByRecipientIdAndIsReadFalse(userId));
+    }
+
+    @Test
+    void testFirstCursorPageServedFromRecentIds() {
+        for (int i = 0; i < 4; i++) {
+            notify("Message " + i);
+        }
+
+        PageResponse<NotificationDTO> first = notificationService.getUserNotificationsWithCursor(userId, false, null, 2);
+        assertTrue(inboxCache.getRecentIds(userId).isPresent());
+
+        NotificationDTO newest = notify("Newest");
+        PageResponse<NotificationDTO> refreshed = notificationService.getUserNotificationsWithCursor(userId, false, null, 2);
+
+        assertEquals(2, first.getContent().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(newest.getId(), refreshed.getContent().get(0).getId());
+
+        PageResponse<NotificationDTO> second = notificationService.getUserNotificationsWithCursor(
+                userId, false, refreshed.getNextCursor(), 2);
+        List<Long> seen = refreshed.getContent().stream().map(NotificationDTO::getId).collect(Collectors.toList());
+        second.getContent().forEach(dto -> assertFalse(seen.contains(dto.getId())));
+    }
+
+    @Test
+    void testFillOverlappingANewNotificationIsDropped() {
+        notify("Existing");
+        long version = inboxCache.getVersion(userId);
+        long staleUnread = notificationRepository.countByRecipientIdAndIsReadFalse(userId);
+
+        // Commits between the reader's count query and its cache fill
+        notify("Concurrent");
+        inboxCache.putCounts(userId, new NotificationInboxCache.InboxCounts(staleUnread, staleUnread), version);
+
+        assertTrue(inboxCache.getCounts(userId).isEmpty());
+        assertEquals(2, notificationService.getUnreadCount(userId));
+    }
+
+    private NotificationDTO notify(String title) {
+        return notificationService.sendNotification(userId, title, "Body", NotificationEntity.NotificationType.MENTION);
+    }
+}
@@ -0,0 +1,88 @@
+package com.aipm.ai_project_management.modules.notifications.service;
+
+import com.aipm.ai_project_management.modules.notifications.cache.InMemoryNotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.cache.NotificationInboxCache;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationDTO;
+import com.aipm.ai_project_management.modules.notifications.dto.NotificationPushFrame;
+import com.aipm.ai_project_management.modules.notifications.entity.NotificationEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationPushServiceTest {
+
+    private RealTimeMessagingService messagingService;
+    private NotificationInboxCache inboxCache;
+    private NotificationPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        messagingService = mock(RealTimeMessagingService.class);
+        inboxCache = new InMemoryNotificationInboxCache(50);
+        // Long window so only explicit flushes send frames
+        pushService = new NotificationPushService(messagingService, inboxCache, 60_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pushService.stop();
+    }
+
+    @Test
+    void testBurstForOneUserBecomesSingleFrame() {
+        inboxCache.putCounts(1L, new NotificationInboxCache.InboxCounts(7, 10), inboxCache.getVersion(1L));
+        pushService.publish(List.of(notification(12L, 1L), notification(10L, 1L), notification(20L, 2L)));
+        pushService.publish(List.of(notification(11L, 1L)));
+
+        pushService.flush();
+
+        ArgumentCaptor<NotificationPushFrame> frame = ArgumentCaptor.forClass(NotificationPushFrame.class);
+        verify(messagingService).sendNotificationFrame(eq(1L), frame.capture());
+        verify(messagingService).sendNotificationFrame(eq(2L), any());
+
+        assertEquals(List.of(10L, 11L, 12L), frame.getValue().getNotifications().stream().map(NotificationDTO::getId).toList());
+        assertEquals(12L, frame.getValue().getLastId());
+        assertEquals(7L, frame.getValue().getUnreadCount());
+        assertFalse(frame.getValue().isTruncated());
+
+        pushService.flush();
+        verifyNoMoreInteractions(messagingService);
+    }
+
+    @Test
+    void testOversizedBurstKeepsNewestAndFlagsTruncation() {
+        pushService.publish(List.of(notification(1L, 5L), notification(2L, 5L), notification(3L, 5L), notification(4L, 5L)));
+
+        pushService.flush();
+
+        ArgumentCaptor<NotificationPushFrame> frame = ArgumentCaptor.forClass(NotificationPushFrame.class);
+        verify(messagingService).sendNotificationFrame(eq(5L), frame.capture());
+        assertTrue(frame.getValue().isTruncated());
+        assertEquals(List.of(2L, 3L, 4L), frame.getValue().getNotifications().stream().map(NotificationDTO::getId).toList());
+        assertEquals(4L, frame.getValue().getLastId());
+        assertNull(frame.getValue().getUnreadCount());
+    }
+
+    @Test
+    void testResumeFrameReportsMissedNotifications() {
+        NotificationPushFrame frame = pushService.buildResumeFrame(1L, List.of(notification(9L, 1L), notification(8L, 1L)));
+
+        assertEquals(List.of(8L, 9L), frame.getNotifications().stream().map(NotificationDTO::getId).toList());
+        assertEquals(9L, frame.getLastId());
+        assertFalse(frame.isTruncated());
+    }
+
+    private NotificationDTO notification(Long id, Long recipientId) {
+        NotificationDTO dto = new NotificationDTO(recipientId, "Title " + id, "Message", NotificationEntity.NotificationType.MENTION);
+        dto.setId(id);
+        return dto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.aipm.ai_project_management.modules.projects.service;
+
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProjectAccessServiceTest {
+
+    private static final Long PROJECT_ID = 10L;
+    private static final Long USER_ID = 20L;
+
+    private ProjectTeamMemberRepository teamMemberRepository;
+    private MeterRegistry meterRegistry;
+    private ProjectAccessService accessService;
+
+    @BeforeEach
+    void setUp() {
+        teamMemberRepository = mock(ProjectTeamMemberRepository.class);
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findRoleById(USER_ID)).thenReturn(Optional.of(UserRole.TEAM_MEMBER));
+        when(teamMemberRepository.findUserRolesInProject(PROJECT_ID, USER_ID)).thenReturn(List.of(UserRole.TEAM_MEMBER));
+
+        meterRegistry = new SimpleMeterRegistry();
+        accessService = new ProjectAccessService(teamMemberRepository, projectRepository, userRepository,
+                meterRegistry, 100, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testDecisionsAreCachedPerProjectAndUser() {
+        assertTrue(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+        assertTrue(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+        assertFalse(accessService.canManageProject(PROJECT_ID, USER_ID));
+
+        verify(teamMemberRepository, times(1)).findUserRolesInProject(PROJECT_ID, USER_ID);
+        assertEquals(2.0, meterRegistry.counter("project.access.cache", "result", "hit").count());
+    }
+
+    @Test
+    void testEvictionWaitsForCommit() {
+        assertTrue(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+        when(teamMemberRepository.findUserRolesInProject(PROJECT_ID, USER_ID)).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        accessService.evict(PROJECT_ID, USER_ID);
+        // Still inside the removing transaction: the old decision stands
+        assertTrue(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertFalse(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+    }
+
+    @Test
+    void testLoadOverlappingAnEvictionIsNotCached() {
+        // The membership is removed and evicted while this load is still reading the old state
+        when(teamMemberRepository.findUserRolesInProject(PROJECT_ID, USER_ID)).thenAnswer(invocation -> {
+            accessService.evictProject(PROJECT_ID);
+            return List.of(UserRole.TEAM_MEMBER);
+        });
+        assertTrue(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+
+        when(teamMemberRepository.findUserRolesInProject(PROJECT_ID, USER_ID)).thenReturn(List.of());
+        assertFalse(accessService.hasProjectAccess(PROJECT_ID, USER_ID));
+    }
+
+    @Test
+    void testUserEvictionDropsEveryProjectOfThatUser() {
+        when(teamMemberRepository.findUserRolesInProject(11L, USER_ID)).thenReturn(List.of(UserRole.TEAM_MEMBER));
+        accessService.hasProjectAccess(PROJECT_ID, USER_ID);
+        accessService.hasProjectAccess(11L, USER_ID);
+
+        accessService.evictUser(USER_ID);
+        accessService.hasProjectAccess(PROJECT_ID, USER_ID);
+        accessService.hasProjectAccess(11L, USER_ID);
+
+        verify(teamMemberRepository, times(2)).findUserRolesInProject(PROJECT_ID, USER_ID);
+        verify(teamMemberRepository, times(2)).findUserRolesInProject(11L, USER_ID);
+        assertEquals(2.0, meterRegistry.counter("project.access.cache.evictions").count());
+    }
+}
@@ -0,0 +1,89 @@
+package com.aipm.ai_project_management.modules.projects.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.projects.dto.ProjectResponseDto;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.entity.ProjectTeamMember;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectTeamMemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProjectListingQueryCountTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectTeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 30; i++) {
+            Project project = projectRepository.save(new Project("Listing project " + i, null, ProjectStatus.IN_PROGRESS));
+            for (long userId = 1; userId <= 2; userId++) {
+                ProjectTeamMember member = new ProjectTeamMember();
+                member.setProject(project);
+                member.setUserId(userId);
+                member.setRole(UserRole.TEAM_MEMBER);
+                member.setJoinedAt(LocalDateTime.now());
+                teamMemberRepository.save(member);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithPageSize() {
+        Page<ProjectResponseDto> smallPage = projectService.getAllProjects(PageRequest.of(0, 5), 1L);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Page<ProjectResponseDto> largePage = projectService.getAllProjects(PageRequest.of(0, 25), 1L);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(5, smallPage.getContent().size());
+        assertEquals(25, largePage.getContent().size());
+        // page select + total count + one grouped team-count query
+        assertTrue(smallPageStatements <= 3, "Expected at most 3 statements but was " + smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        largePage.getContent().forEach(dto -> assertEquals(Integer.valueOf(2), dto.getTeamMemberCount()));
+    }
+
+    @Test
+    void testStatusListingUsesGroupedTeamCount() {
+        Page<ProjectResponseDto> page = projectService.getProjectsByStatus("IN_PROGRESS", PageRequest.of(0, 20), 1L);
+
+        assertEquals(20, page.getContent().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements but was " + statistics.getPrepareStatementCount());
+    }
+}
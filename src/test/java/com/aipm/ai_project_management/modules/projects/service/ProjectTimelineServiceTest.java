@@ -1,20 +1,92 @@
 package com.aipm.ai_project_management.modules.projects.service;
 
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.controller.ProjectController;
 import com.aipm.ai_project_management.modules.projects.dto.ProjectTimelineDto;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.entity.TaskDependency;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskDependencyRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @ActiveProfiles("test")
+@Transactional
 class ProjectTimelineServiceTest {
 
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectController projectController;
+
+    private Long assigneeId;
+    private Long projectId;
+    private Task design;
+    private Task build;
+    private Task launch;
+
+    @BeforeEach
+    void setUp() {
+        User assignee = new User();
+        assignee.setEmail("timeline-" + System.nanoTime() + "@example.com");
+        assignee.setName("Timeline Assignee");
+        assignee.setPassword("hash");
+        assignee.setRole(UserRole.TEAM_MEMBER);
+        assigneeId = userRepository.save(assignee).getId();
+
+        projectId = projectRepository.save(new Project("Timeline project", null, ProjectStatus.IN_PROGRESS)).getId();
+        design = createTask(projectId, "Design", 100, assigneeId);
+        build = createTask(projectId, "Build", 50, assigneeId);
+        launch = createTask(projectId, "Launch", 0, null);
+        addDependency(build, design);
+        addDependency(launch, build);
+        addDependency(launch, design);
+    }
+
     @Test
     void testGetProjectTimelineWithInvalidId() {
         // Test that invalid project ID throws exception
@@ -22,4 +94,94 @@ class ProjectTimelineServiceTest {
             projectService.getProjectTimeline(99999L);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTimelineCarriesDependenciesAssigneesAndProgress() {
+        ProjectTimelineDto timeline = projectService.getProjectTimeline(projectId);
+        Map<Long, ProjectTimelineDto.TimelineTask> tasks = timeline.getTasks().stream()
+                .collect(Collectors.toMap(ProjectTimelineDto.TimelineTask::getId, Function.identity()));
+
+        assertEquals(3, tasks.size());
+        assertEquals(List.of(), tasks.get(design.getId()).getDependencies());
+        assertEquals(List.of(design.getId()), tasks.get(build.getId()).getDependencies());
+        assertEquals(2, tasks.get(launch.getId()).getDependencies().size());
+        assertTrue(tasks.get(launch.getId()).getDependencies().containsAll(List.of(design.getId(), build.getId())));
+
+        assertEquals("Timeline Assignee", tasks.get(design.getId()).getAssignedTo());
+        assertEquals("Unassigned", tasks.get(launch.getId()).getAssignedTo());
+        assertEquals("TODO", tasks.get(launch.getId()).getStatus());
+        assertEquals(50.0, timeline.getProgress(), 1e-9);
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithTaskCount() {
+        Long largeProjectId = projectRepository.save(new Project("Large timeline project", null, ProjectStatus.IN_PROGRESS)).getId();
+        Task previous = null;
+        for (int i = 0; i < 40; i++) {
+            Task task = createTask(largeProjectId, "Step " + i, i, assigneeId);
+            if (previous != null) {
+                addDependency(task, previous);
+            }
+            previous = task;
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        projectService.getProjectTimeline(projectId);
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ProjectTimelineDto large = projectService.getProjectTimeline(largeProjectId);
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(40, large.getTasks().size());
+        assertEquals(smallStatements, largeStatements);
+        // dependencies + assignee names + task rows + milestones
+        assertTrue(largeStatements <= 4, "Expected at most 4 statements but was " + largeStatements);
+    }
+
+    @Test
+    void testStreamedTimelineMatchesAssembledTimeline() throws Exception {
+        ProjectTimelineDto timeline = projectService.getProjectTimeline(projectId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        projectController.streamProjectTimeline(projectId).getBody().writeTo(out);
+
+        // Wrapped in the same envelope as the assembled timeline endpoint
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+        assertTrue(response.get("success").asBoolean());
+        assertEquals("Project timeline retrieved successfully", response.get("message").asText());
+        assertNotNull(response.get("timestamp"));
+        JsonNode streamed = response.get("data");
+        JsonNode assembled = objectMapper.readTree(objectMapper.writeValueAsBytes(timeline));
+        assertEquals(assembled.get("id"), streamed.get("id"));
+        assertEquals(assembled.get("name"), streamed.get("name"));
+        assertEquals(assembled.get("tasks"), streamed.get("tasks"));
+        assertEquals(assembled.get("milestones"), streamed.get("milestones"));
+        assertEquals(timeline.getProgress(), streamed.get("progress").asDouble(), 1e-9);
+    }
+
+    @Test
+    void testStreamingUnknownProjectFailsBeforeTheBodyIsWritten() {
+        assertThrows(ResourceNotFoundException.class, () -> projectController.streamProjectTimeline(99999L));
+    }
+
+    private Task createTask(Long project, String title, int progress, Long assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setProjectId(project);
+        task.setProgress(progress);
+        task.setAssigneeId(assignee);
+        task.setReporterId(assigneeId);
+        return taskRepository.save(task);
+    }
+
+    private void addDependency(Task dependent, Task dependency) {
+        TaskDependency link = new TaskDependency();
+        link.setDependentTask(dependent);
+        link.setDependencyTask(dependency);
+        link.setDependencyType("FINISH_TO_START");
+        taskDependencyRepository.save(link);
+    }
+}
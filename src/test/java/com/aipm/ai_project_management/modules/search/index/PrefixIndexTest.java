@@ -0,0 +1,72 @@
+package com.aipm.ai_project_management.modules.search.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        put(1, "Anna Smith", "anna.smith@acme.com");
+        put(2, "John Smithers", "john@acme.com");
+        put(3, "Smita Patel", "smita@example.com");
+        put(4, "José Álvarez", "jose@example.com");
+    }
+
+    @Test
+    void wholeNameMatchesComeBeforeLaterWordMatches() {
+        assertEquals(List.of(3L, 1L, 2L), ids("smi", 10));
+        assertEquals(List.of(3L, 1L), ids("smi", 2));
+    }
+
+    @Test
+    void everyQueryWordMustMatchSomeWord() {
+        assertEquals(List.of(2L), ids("smith jo", 10));
+        assertEquals(List.of(1L), ids("Anna  Smith", 10));
+        assertEquals(List.of(), ids("anna patel", 10));
+        assertEquals(List.of(1L, 2L), ids("acme", 10));
+    }
+
+    @Test
+    void ignoresCaseAccentsAndPunctuation() {
+        assertEquals(List.of(4L), ids("jose alv", 10));
+        assertEquals(List.of(4L), ids("ÁLVAREZ,", 10));
+        assertEquals(List.of(), ids(" -- ", 10));
+    }
+
+    @Test
+    void replacesAndRemovesEntries() {
+        put(3, "Priya Patel", "priya@example.com");
+        assertEquals(List.of(1L, 2L), ids("smi", 10));
+        assertEquals(List.of(3L), ids("pri", 10));
+
+        index.remove(1);
+        assertEquals(List.of(2L), ids("smi", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void filteredEntriesDoNotCountTowardsTheLimit() {
+        List<Long> ids = index.lookup("smi", 2, entry -> entry.id() != 3).stream().map(PrefixIndex.Entry::id).toList();
+        assertEquals(List.of(1L, 2L), ids);
+
+        assertTrue(PrefixIndex.matches("John Smithers", "smith jo"));
+        assertFalse(PrefixIndex.matches("John Smithers", "acme"));
+        assertFalse(PrefixIndex.matches(null, "jo"));
+    }
+
+    private void put(long id, String name, String email) {
+        index.put(new PrefixIndex.Entry(id, name, email), List.of(name, email));
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.lookup(query, limit).stream().map(PrefixIndex.Entry::id).toList();
+    }
+}
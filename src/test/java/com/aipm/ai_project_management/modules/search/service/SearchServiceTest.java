@@ -0,0 +1,140 @@
+package com.aipm.ai_project_management.modules.search.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.clients.entity.Client;
+import com.aipm.ai_project_management.modules.clients.repository.ClientRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.search.dto.SearchDocumentType;
+import com.aipm.ai_project_management.modules.search.dto.SearchHitDTO;
+import com.aipm.ai_project_management.modules.search.dto.SearchResultsDTO;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.TaskChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchServiceTest {
+
+    private static final long OWNER_ID = 9001L;
+    private static final long OTHER_USER_ID = 9002L;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SearchIndexer searchIndexer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Long clientId;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client("Quantumleaf Industries");
+        client.setIndustry("Manufacturing");
+        clientId = clientRepository.save(client).getId();
+
+        Project project = new Project("Warehouse robotics", "Pick-and-place rollout", ProjectStatus.IN_PROGRESS);
+        project.setClientId(clientId);
+        project.setManagerId(OWNER_ID);
+        projectId = projectRepository.save(project).getId();
+
+        taskId = createTask("Calibrate gripper sensors", "Tune the quantumleaf gripper torque limits");
+        searchIndexer.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(taskRepository.findByProjectId(projectId));
+        projectRepository.deleteById(projectId);
+        clientRepository.deleteById(clientId);
+        searchIndexer.rebuild();
+    }
+
+    @Test
+    void matchesEveryWordAndRanksTitlesFirst() {
+        SearchResultsDTO results = search("quantumleaf ", null, OWNER_ID, UserRole.ADMIN);
+
+        assertEquals(2, results.getTotalHits());
+        assertEquals(SearchDocumentType.CLIENT, results.getHits().get(0).getType());
+        assertEquals(SearchDocumentType.TASK, results.getHits().get(1).getType());
+
+        assertEquals(0, search("quantumleaf robotics ", null, OWNER_ID, UserRole.ADMIN).getTotalHits());
+        assertThrows(ValidationException.class, () -> search("  ", null, OWNER_ID, UserRole.ADMIN));
+    }
+
+    @Test
+    void lastWordMatchesAsPrefixWhileTyping() {
+        SearchResultsDTO results = search("gripper calib", Set.of(SearchDocumentType.TASK), OWNER_ID, UserRole.ADMIN);
+
+        assertEquals(1, results.getTotalHits());
+        SearchHitDTO hit = results.getHits().get(0);
+        assertEquals(taskId, hit.getId());
+        assertEquals(projectId, hit.getProjectId());
+        assertEquals("Calibrate gripper sensors", hit.getTitle());
+
+        assertEquals(0, search("gripper calib ", null, OWNER_ID, UserRole.ADMIN).getTotalHits());
+    }
+
+    @Test
+    void restrictsResultsToAccessibleProjects() {
+        assertEquals(2, search("quantumleaf", null, OWNER_ID, UserRole.TEAM_MEMBER).getTotalHits());
+        assertEquals(1, search("robotics", null, OWNER_ID, UserRole.TEAM_MEMBER).getTotalHits());
+
+        assertEquals(0, search("gripper", null, OTHER_USER_ID, UserRole.TEAM_MEMBER).getTotalHits());
+        assertEquals(0, search("quantumleaf", null, OTHER_USER_ID, UserRole.TEAM_MEMBER).getTotalHits());
+        // Project managers see every client, but still only their own projects' tasks
+        assertEquals(1, search("quantumleaf", null, OTHER_USER_ID, UserRole.PROJECT_MANAGER).getTotalHits());
+    }
+
+    @Test
+    void appliesTaskChangesIncrementally() {
+        Long newTaskId = createTask("Install conveyor", null);
+        searchIndexer.onTaskChanged(new TaskChangedEvent(newTaskId, projectId, EntityChangeType.CREATED, null, TaskStatus.TODO));
+        searchIndexer.applyPendingChanges();
+        assertEquals(1, search("conveyor", null, OWNER_ID, UserRole.ADMIN).getTotalHits());
+
+        taskRepository.deleteById(newTaskId);
+        searchIndexer.onTaskChanged(new TaskChangedEvent(newTaskId, projectId, EntityChangeType.DELETED, TaskStatus.TODO, null));
+        searchIndexer.applyPendingChanges();
+        assertEquals(0, search("conveyor", null, OWNER_ID, UserRole.ADMIN).getTotalHits());
+    }
+
+    private SearchResultsDTO search(String query, Set<SearchDocumentType> types, Long userId, UserRole role) {
+        return searchService.search(query, types, null, 20, userId, role);
+    }
+
+    private Long createTask(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(TaskStatus.TODO);
+        task.setProjectId(projectId);
+        task.setReporterId(OWNER_ID);
+        return taskRepository.save(task).getId();
+    }
+}
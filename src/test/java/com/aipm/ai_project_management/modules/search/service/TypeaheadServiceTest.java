@@ -0,0 +1,138 @@
+package com.aipm.ai_project_management.modules.search.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.clients.entity.Client;
+import com.aipm.ai_project_management.modules.clients.repository.ClientRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadSuggestionDTO;
+import com.aipm.ai_project_management.modules.search.dto.TypeaheadType;
+import com.aipm.ai_project_management.shared.events.EntityChangeType;
+import com.aipm.ai_project_management.shared.events.ProjectChangedEvent;
+import com.aipm.ai_project_management.shared.events.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TypeaheadServiceTest {
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Long userId;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("zelda.quill-" + System.nanoTime() + "@example.com");
+        user.setName("Zelda Quill");
+        user.setPassword("hash");
+        user.setRole(UserRole.TEAM_MEMBER);
+        userId = userRepository.save(user).getId();
+
+        projectId = projectRepository.save(new Project("Zephyr migration", null, ProjectStatus.IN_PROGRESS)).getId();
+        typeaheadService.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteById(projectId);
+        userRepository.findById(userId).ifPresent(userRepository::delete);
+        typeaheadService.reload();
+    }
+
+    @Test
+    void suggestsUsersByNameOrEmailAndProjectsByName() {
+        List<TypeaheadSuggestionDTO> users = suggest(TypeaheadType.USER, "quil", UserRole.ADMIN);
+        assertEquals(1, users.size());
+        assertEquals(userId, users.get(0).getId());
+        assertEquals("Zelda Quill", users.get(0).getName());
+        assertTrue(users.get(0).getDetail().startsWith("zelda.quill-"));
+
+        assertEquals(1, suggest(TypeaheadType.USER, "zelda quill", UserRole.ADMIN).size());
+        assertEquals(List.of(projectId), ids(suggest(TypeaheadType.PROJECT, "zeph mig", UserRole.ADMIN)));
+        assertTrue(suggest(TypeaheadType.CLIENT, "zeph", UserRole.ADMIN).isEmpty());
+    }
+
+    @Test
+    void appliesChangeEvents() {
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        project.setName("Zircon rollout");
+        projectRepository.save(project);
+        typeaheadService.onProjectChanged(new ProjectChangedEvent(projectId, EntityChangeType.UPDATED));
+
+        User user = userRepository.findById(userId).orElseThrow();
+        user.setActive(false);
+        userRepository.save(user);
+        typeaheadService.onUserChanged(new UserChangedEvent(userId, EntityChangeType.UPDATED));
+
+        typeaheadService.applyPendingChanges();
+
+        assertTrue(suggest(TypeaheadType.PROJECT, "zephyr", UserRole.ADMIN).isEmpty());
+        assertEquals(List.of(projectId), ids(suggest(TypeaheadType.PROJECT, "zirc", UserRole.ADMIN)));
+        // Deactivated users are no longer offered
+        assertTrue(suggest(TypeaheadType.USER, "zelda", UserRole.ADMIN).isEmpty());
+    }
+
+    @Test
+    void limitsProjectsAndClientsToAccessibleOnesAndHidesEmailsFromClients() {
+        Client client = clientRepository.save(new Client("Zenith Freight"));
+        Client otherClient = clientRepository.save(new Client("Zenith Mining"));
+        Project project = projectRepository.findById(projectId).orElseThrow();
+        project.setManagerId(userId);
+        project.setClientId(client.getId());
+        projectRepository.save(project);
+        Long otherProjectId = projectRepository.save(new Project("Zephyr audit", null, ProjectStatus.IN_PROGRESS)).getId();
+        try {
+            typeaheadService.reload();
+
+            assertEquals(2, suggest(TypeaheadType.PROJECT, "zeph", UserRole.ADMIN).size());
+            assertEquals(List.of(projectId), ids(suggest(TypeaheadType.PROJECT, "zeph", UserRole.TEAM_MEMBER)));
+            assertEquals(List.of(client.getId()), ids(suggest(TypeaheadType.CLIENT, "zenith", UserRole.CLIENT)));
+            // Project managers see every client, like in search
+            assertEquals(2, suggest(TypeaheadType.CLIENT, "zenith", UserRole.PROJECT_MANAGER).size());
+
+            List<TypeaheadSuggestionDTO> users = suggest(TypeaheadType.USER, "zelda", UserRole.CLIENT);
+            assertEquals(List.of(userId), ids(users));
+            assertNull(users.get(0).getDetail());
+            // Only the email has a word starting with "zelda exam"
+            assertTrue(suggest(TypeaheadType.USER, "zelda exam", UserRole.CLIENT).isEmpty());
+            assertEquals(List.of(userId), ids(suggest(TypeaheadType.USER, "zelda exam", UserRole.TEAM_MEMBER)));
+        } finally {
+            projectRepository.deleteById(otherProjectId);
+            project.setClientId(null);
+            projectRepository.save(project);
+            clientRepository.deleteAllById(List.of(client.getId(), otherClient.getId()));
+        }
+    }
+
+    private List<TypeaheadSuggestionDTO> suggest(TypeaheadType type, String query, UserRole role) {
+        return typeaheadService.suggest(type, query, 10, userId, role);
+    }
+
+    private static List<Long> ids(List<TypeaheadSuggestionDTO> suggestions) {
+        return suggestions.stream().map(TypeaheadSuggestionDTO::getId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.aipm.ai_project_management.modules.tasks.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build, cycle check and schedule costs of {@link DependencyGraph} on synthetic projects.
+ * Tasks are layered like a real plan: each depends on up to {@code fanIn} earlier tasks from a
+ * recent window, so critical paths are long and the graph is acyclic.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.aipm.ai_project_management.modules.tasks.graph.DependencyGraphBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    private static final long START = 29_000_000L; // epoch minutes, early 2025
+
+    @Param({"50000"})
+    private int tasks;
+
+    @Param({"2"})
+    private int fanIn;
+
+    private long[] taskIds;
+    private double[] durations;
+    private long[] dueDates;
+    private long[] dependencyIds;
+    private long[] dependentIds;
+    private DependencyGraph graph;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void createProject() {
+        SplittableRandom seed = new SplittableRandom(42);
+        taskIds = new long[tasks];
+        durations = new double[tasks];
+        dueDates = new long[tasks];
+        for (int i = 0; i < tasks; i++) {
+            taskIds[i] = 1_000_000L + i;
+            durations[i] = 1 + seed.nextInt(40);
+            dueDates[i] = seed.nextInt(10) == 0 ? START + seed.nextLong(60L * 24 * 365) : DependencyGraph.NO_DUE_DATE;
+        }
+
+        int edges = 0;
+        dependencyIds = new long[tasks * fanIn];
+        dependentIds = new long[tasks * fanIn];
+        for (int i = 1; i < tasks; i++) {
+            for (int k = 0; k < fanIn; k++) {
+                int dependency = Math.max(0, i - 1 - seed.nextInt(Math.min(i, 200)));
+                dependencyIds[edges] = taskIds[dependency];
+                dependentIds[edges] = taskIds[i];
+                edges++;
+            }
+        }
+        dependencyIds = Arrays.copyOf(dependencyIds, edges);
+        dependentIds = Arrays.copyOf(dependentIds, edges);
+
+        graph = DependencyGraph.build(taskIds, durations, dueDates, dependencyIds, dependentIds);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public DependencyGraph build() {
+        return DependencyGraph.build(taskIds, durations, dueDates, dependencyIds, dependentIds);
+    }
+
+    @Benchmark
+    public DependencyGraph.Schedule schedule() {
+        return graph.schedule(START);
+    }
+
+    @Benchmark
+    public void buildAndSchedule(Blackhole blackhole) {
+        DependencyGraph built = DependencyGraph.build(taskIds, durations, dueDates, dependencyIds, dependentIds);
+        blackhole.consume(built.schedule(START));
+    }
+
+    // Worst case for the insert check: a late task that would make an early one wait for it
+    @Benchmark
+    public boolean cycleCheckOnInsert() {
+        int early = random.nextInt(100);
+        int late = tasks - 1 - random.nextInt(100);
+        return graph.wouldCreateCycle(taskIds[early], taskIds[late]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DependencyGraphBenchmark.class.getSimpleName()).build()).run();
+    }
+}
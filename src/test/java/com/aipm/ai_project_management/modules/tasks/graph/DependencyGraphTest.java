@@ -0,0 +1,107 @@
+package com.aipm.ai_project_management.modules.tasks.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static final long START = 1_000_000L;
+    private static final long NONE = DependencyGraph.NO_DUE_DATE;
+
+    /*
+     * 10 (8h) -> 20 (4h) -> 40 (2h)
+     * 10      -> 30 (1h) -> 40
+     * 50 (3h) stands alone
+     */
+    private static DependencyGraph plan(long dueOf40) {
+        return DependencyGraph.build(
+                new long[] {40, 10, 30, 20, 50},
+                new double[] {2, 8, 1, 4, 3},
+                new long[] {dueOf40, NONE, NONE, NONE, NONE},
+                new long[] {10, 20, 10, 30},
+                new long[] {20, 40, 30, 40});
+    }
+
+    @Test
+    void ordersTasksAfterTheirDependencies() {
+        DependencyGraph graph = plan(NONE);
+        long[] order = graph.topologicalOrder();
+
+        assertFalse(graph.hasCycle());
+        assertEquals(5, order.length);
+        assertTrue(position(order, 10) < position(order, 20));
+        assertTrue(position(order, 20) < position(order, 40));
+        assertTrue(position(order, 30) < position(order, 40));
+        assertEquals(List.of(), graph.findCycle());
+    }
+
+    @Test
+    void computesCriticalPathAndFloat() {
+        DependencyGraph graph = plan(NONE);
+        DependencyGraph.Schedule schedule = graph.schedule(START);
+
+        assertEquals(14.0, schedule.projectDurationHours(), 1e-9);
+        assertArrayEquals(new long[] {10, 20, 40}, schedule.criticalPath());
+        assertEquals(12.0, schedule.earliestStart()[graph.indexOf(40)], 1e-9);
+        // 30 can slip until 20 finishes; 50 until the project ends
+        assertEquals(3.0, schedule.totalFloat()[graph.indexOf(30)], 1e-9);
+        assertEquals(11.0, schedule.totalFloat()[graph.indexOf(50)], 1e-9);
+        assertTrue(schedule.isCritical(graph.indexOf(20)));
+        assertFalse(schedule.isCritical(graph.indexOf(30)));
+        assertTrue(Double.isNaN(schedule.dueSlack()[graph.indexOf(10)]));
+    }
+
+    @Test
+    void dueDatesPropagateToDependencies() {
+        // 40 is due 10 hours from the start but cannot finish before hour 14
+        DependencyGraph graph = plan(START + 10 * 60);
+        DependencyGraph.Schedule schedule = graph.schedule(START);
+
+        assertEquals(-4.0, schedule.dueSlack()[graph.indexOf(40)], 1e-9);
+        assertEquals(-4.0, schedule.dueSlack()[graph.indexOf(10)], 1e-9);
+        assertEquals(-1.0, schedule.dueSlack()[graph.indexOf(30)], 1e-9);
+        assertTrue(Double.isNaN(schedule.dueSlack()[graph.indexOf(50)]));
+    }
+
+    @Test
+    void detectsCyclesOnInsert() {
+        DependencyGraph graph = plan(NONE);
+
+        assertTrue(graph.wouldCreateCycle(10, 40));
+        assertTrue(graph.wouldCreateCycle(20, 20));
+        assertFalse(graph.wouldCreateCycle(40, 50));
+        assertFalse(graph.wouldCreateCycle(30, 20));
+        // Tasks outside the graph (e.g. another project) cannot close a cycle here
+        assertFalse(graph.wouldCreateCycle(10, 999));
+    }
+
+    @Test
+    void reportsExistingCycleAndIgnoresForeignEdges() {
+        DependencyGraph graph = DependencyGraph.build(
+                new long[] {1, 2, 3, 4},
+                new double[] {1, 1, 1, 1},
+                new long[] {NONE, NONE, NONE, NONE},
+                new long[] {1, 2, 3, 3, 77},
+                new long[] {2, 3, 2, 4, 1});
+
+        assertEquals(4, graph.edgeCount());
+        assertTrue(graph.hasCycle());
+        assertArrayEquals(new long[] {1}, graph.topologicalOrder());
+        List<Long> cycle = graph.findCycle();
+        assertEquals(2, cycle.size());
+        assertTrue(cycle.containsAll(List.of(2L, 3L)));
+        assertThrows(IllegalStateException.class, () -> graph.schedule(START));
+    }
+
+    private static int position(long[] order, long taskId) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] == taskId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,202 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
+import com.aipm.ai_project_management.modules.tasks.dto.TimeTrackingDTO;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeTrackingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoggedHoursTotalsTest {
+
+    private static final int LOGGERS = 8;
+    private static final int LOGS_PER_LOGGER = 25;
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private LoggedHoursReconciliationService reconciliationService;
+
+    @Autowired
+    private TimeTrackingRepository timeTrackingRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("hours-" + System.nanoTime() + "@example.com");
+        user.setName("Hours User");
+        user.setPassword("hash");
+        user.setRole(UserRole.TEAM_MEMBER);
+        userId = userRepository.save(user).getId();
+
+        projectId = projectRepository.save(new Project("Hours project", null, ProjectStatus.IN_PROGRESS)).getId();
+        taskId = createTask("Logged task");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM time_tracking WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        projectRepository.deleteById(projectId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void parallelLoggersDoNotLoseUpdates() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(LOGGERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < LOGGERS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < LOGS_PER_LOGGER; n++) {
+                        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 0.25, "work", LocalDate.now(), true));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double expected = LOGGERS * LOGS_PER_LOGGER * 0.25;
+        assertEquals(expected, timeTrackingRepository.getTotalHoursByTaskId(taskId), 1e-9);
+        assertTotals(expected, expected, expected);
+    }
+
+    @Test
+    void updatesAndDeletesApplyTheirDifference() {
+        TimeTrackingDTO first = timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 3.0, null, null, true));
+        TimeTrackingDTO second = timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.0, null, null, true));
+
+        TimeLogRequest change = new TimeLogRequest();
+        change.setHours(4.5);
+        timeTrackingService.updateTimeLog(first.getId(), change);
+        timeTrackingService.deleteTimeLog(second.getId());
+        assertTotals(4.5, 4.5, 4.5);
+
+        // Deleting the task takes its hours off the project and user
+        Long other = createTask("Other task");
+        timeTrackingService.logTime(new TimeLogRequest(other, userId, 1.5, null, null, true));
+        taskService.deleteTask(taskId);
+        assertEquals(1.5, projectRepository.findById(projectId).orElseThrow().getLoggedHours(), 1e-9);
+        assertEquals(1.5, userRepository.findById(userId).orElseThrow().getLoggedHours(), 1e-9);
+    }
+
+    @Test
+    void concurrentEditsOfOneLogKeepTotalsInStep() throws Exception {
+        Long logId = timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 1.0, null, null, true)).getId();
+        ExecutorService pool = Executors.newFixedThreadPool(LOGGERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < LOGGERS; i++) {
+                double hours = 2.0 + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    TimeLogRequest change = new TimeLogRequest();
+                    change.setHours(hours);
+                    timeTrackingService.updateTimeLog(logId, change);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Whichever edit landed last, the totals hold exactly its hours
+        double finalHours = timeTrackingRepository.findById(logId).orElseThrow().getHours();
+        assertTotals(finalHours, finalHours, finalHours);
+    }
+
+    @Test
+    void reconciliationRepairsDrift() {
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.0, null, null, true));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskRepository.addLoggedHours(taskId, 7.0);
+            projectRepository.addLoggedHours(projectId, -1.0);
+        });
+
+        LoggedHoursReconciliationService.ReconciliationResult result = reconciliationService.reconcile();
+
+        assertEquals(1, result.tasksRepaired());
+        assertEquals(1, result.projectsRepaired());
+        assertEquals(0, result.usersRepaired());
+        assertTotals(2.0, 2.0, 2.0);
+        assertEquals(0, reconciliationService.reconcile().total());
+    }
+
+    private Long createTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setProjectId(projectId);
+        task.setReporterId(userId);
+        return taskRepository.save(task).getId();
+    }
+
+    private void assertTotals(double task, double project, double user) {
+        assertEquals(task, taskRepository.findById(taskId).orElseThrow().getLoggedHours(), 1e-9);
+        assertEquals(project, projectRepository.findById(projectId).orElseThrow().getLoggedHours(), 1e-9);
+        assertEquals(user, userRepository.findById(userId).orElseThrow().getLoggedHours(), 1e-9);
+    }
+}
@@ -0,0 +1,133 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.BulkStatusUpdateResult;
+import com.aipm.ai_project_management.modules.tasks.dto.TaskDTO;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.service.impl.TaskBulkServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskBulkServiceTest {
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("bulkTaskExecutor")
+    private TaskExecutor bulkTaskExecutor;
+
+    private Long reporterId;
+    private Long projectId;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User reporter = new User();
+        reporter.setEmail("bulk-" + System.nanoTime() + "@example.com");
+        reporter.setName("Bulk Reporter");
+        reporter.setPassword("hash");
+        reporter.setRole(UserRole.PROJECT_MANAGER);
+        reporterId = userRepository.save(reporter).getId();
+        projectId = projectRepository.save(new Project("Bulk project", null, ProjectStatus.IN_PROGRESS)).getId();
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setTitle("Bulk task " + i);
+            task.setStatus(TaskStatus.TODO);
+            task.setProjectId(projectId);
+            task.setReporterId(reporterId);
+            taskIds.add(taskRepository.save(task).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllById(taskIds);
+        projectRepository.deleteById(projectId);
+        userRepository.deleteById(reporterId);
+    }
+
+    @Test
+    void testSingleChunkCommitsIndependentlyOfTheCaller() {
+        // The caller's transaction rolls back; the chunk ran in its own and stays committed
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            BulkStatusUpdateResult result = taskBulkService.updateStatus(taskIds, TaskStatus.IN_PROGRESS, TaskStatus.TODO);
+            assertEquals(5, result.getUpdatedCount());
+            status.setRollbackOnly();
+        });
+
+        assertAllInStatus(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void testPooledChunksCommitIndependentlyOfTheCaller() {
+        TaskBulkService chunked = new TaskBulkServiceImpl(taskRepository, eventPublisher, transactionManager,
+                bulkTaskExecutor, 2);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            BulkStatusUpdateResult result = chunked.updateStatus(taskIds, TaskStatus.DONE, null);
+            assertEquals(5, result.getUpdatedCount());
+            assertEquals(taskIds, result.getOutcomes().stream().map(BulkStatusUpdateResult.TaskOutcome::getTaskId).toList());
+            status.setRollbackOnly();
+        });
+
+        assertAllInStatus(TaskStatus.DONE);
+        taskRepository.findAllById(taskIds).forEach(task -> assertEquals(100, task.getProgress()));
+    }
+
+    @Test
+    void testBulkUpdateFromTransactionalTaskService() {
+        List<TaskDTO> updated = taskService.bulkUpdateTaskStatus(taskIds, TaskStatus.IN_REVIEW);
+
+        assertEquals(5, updated.size());
+        updated.forEach(dto -> assertEquals(TaskStatus.IN_REVIEW, dto.getStatus()));
+        assertAllInStatus(TaskStatus.IN_REVIEW);
+    }
+
+    private void assertAllInStatus(TaskStatus expected) {
+        List<Task> tasks = taskRepository.findAllById(taskIds);
+        assertEquals(5, tasks.size());
+        tasks.forEach(task -> assertEquals(expected, task.getStatus(), "task " + task.getId()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskDependencyRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskDependencyTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskDependencyGraphService dependencyGraphService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = projectRepository.save(new Project("Dependency project", null, ProjectStatus.IN_PROGRESS)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM task_dependencies WHERE dependent_task_id IN " +
+                "(SELECT id FROM tasks WHERE project_id = ?)", projectId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        projectRepository.deleteById(projectId);
+    }
+
+    @Test
+    void rejectsDependencyClosingACycle() {
+        Long first = createTask("First");
+        Long second = createTask("Second");
+        Long third = createTask("Third");
+
+        taskService.addDependency(second, first);
+        taskService.addDependency(third, second);
+
+        assertThrows(ValidationException.class, () -> taskService.addDependency(first, third));
+        assertEquals(2, taskDependencyRepository.findDependencyPairsByProjectId(projectId).size());
+    }
+
+    @Test
+    void concurrentOppositeDependenciesLetOnlyOneThrough() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 5; round++) {
+                Long first = createTask("First " + round);
+                Long second = createTask("Second " + round);
+                // Both requests would pass against this cached graph, which has neither edge
+                dependencyGraphService.getGraph(projectId);
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> adds = new ArrayList<>();
+                adds.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.addDependency(first, second);
+                }));
+                adds.add(pool.submit(() -> {
+                    start.await();
+                    return taskService.addDependency(second, first);
+                }));
+                start.countDown();
+
+                int rejected = 0;
+                for (Future<?> add : adds) {
+                    try {
+                        add.get(30, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(ValidationException.class, e.getCause());
+                        rejected++;
+                    }
+                }
+                assertEquals(1, rejected);
+                assertFalse(dependencyGraphService.getGraph(projectId).hasCycle());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long createTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setProjectId(projectId);
+        task.setReporterId(1L);
+        return taskRepository.save(task).getId();
+    }
+}
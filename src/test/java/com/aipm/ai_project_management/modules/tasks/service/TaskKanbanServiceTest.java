@@ -1,20 +1,73 @@
 package com.aipm.ai_project_management.modules.tasks.service;
 
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.common.exceptions.ResourceNotFoundException;
+import com.aipm.ai_project_management.common.exceptions.ValidationException;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.KanbanBoardDto;
 import com.aipm.ai_project_management.modules.tasks.dto.MoveTaskRequest;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @ActiveProfiles("test")
+@Transactional
 class TaskKanbanServiceTest {
 
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long assigneeId;
+    private Long projectId;
+    private final List<Long> todoIds = new ArrayList<>();
+    private Long inProgressId;
+
+    @BeforeEach
+    void setUp() {
+        User assignee = new User();
+        assignee.setEmail("kanban-" + System.nanoTime() + "@example.com");
+        assignee.setName("Board Assignee");
+        assignee.setPassword("hash");
+        assignee.setRole(UserRole.TEAM_MEMBER);
+        assigneeId = userRepository.save(assignee).getId();
+
+        projectId = projectRepository.save(new Project("Kanban project", null, ProjectStatus.IN_PROGRESS)).getId();
+        for (int i = 0; i < 5; i++) {
+            todoIds.add(createTask("Todo " + i, TaskStatus.TODO, i == 0 ? assigneeId : null).getId());
+        }
+        inProgressId = createTask("Doing", TaskStatus.IN_PROGRESS, assigneeId).getId();
+        createTask("Finished", TaskStatus.DONE, null);
+        taskRepository.flush();
+    }
+
     @Test
     void testMoveTaskToColumnWithInvalidTask() {
         // Test that invalid task ID throws exception
@@ -34,4 +87,90 @@ class TaskKanbanServiceTest {
             taskService.moveTaskToColumn(1L, moveRequest);
         });
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testTaskBoardForMissingProject() {
+        // Test that the board is not built for an unknown project
+        assertThrows(ResourceNotFoundException.class, () -> {
+            taskService.getTaskBoard(99999L, "kanban", 20);
+        });
+    }
+    
+    @Test
+    void testTaskBoardColumnForMissingProject() {
+        // Test that loading more cards requires an existing project
+        assertThrows(ResourceNotFoundException.class, () -> {
+            taskService.getTaskBoardColumn(99999L, TaskStatus.TODO, null, 20);
+        });
+    }
+    
+    @Test
+    void testTaskBoardShowsHeadOfEveryColumnWithTotals() {
+        KanbanBoardDto board = taskService.getTaskBoard(projectId, "kanban", 2);
+        Map<String, KanbanBoardDto.KanbanColumn> columns = board.getColumns().stream()
+                .collect(Collectors.toMap(KanbanBoardDto.KanbanColumn::getStatus, Function.identity()));
+        
+        assertEquals("Kanban project", board.getProjectName());
+        assertEquals(TaskStatus.values().length, columns.size());
+        
+        KanbanBoardDto.KanbanColumn todo = columns.get("TODO");
+        assertEquals(5, todo.getTaskCount());
+        assertEquals(todoIds.subList(0, 2), cardIds(todo));
+        assertTrue(todo.isHasMore());
+        assertNotNull(todo.getNextCursor());
+        assertEquals("Board Assignee", todo.getTasks().get(0).getAssignedTo());
+        assertNull(todo.getTasks().get(1).getAssignedTo());
+        
+        KanbanBoardDto.KanbanColumn inProgress = columns.get("IN_PROGRESS");
+        assertEquals(List.of(inProgressId), cardIds(inProgress));
+        assertFalse(inProgress.isHasMore());
+        assertNull(inProgress.getNextCursor());
+        
+        assertEquals(1, columns.get("DONE").getTaskCount());
+        assertEquals(0, columns.get("BACKLOG").getTaskCount());
+        assertTrue(columns.get("BACKLOG").getTasks().isEmpty());
+    }
+    
+    @Test
+    void testColumnCursorPagesThroughEveryCardOnce() {
+        String cursor = taskService.getTaskBoard(projectId, "kanban", 2).getColumns().stream()
+                .filter(column -> column.getStatus().equals("TODO"))
+                .findFirst().orElseThrow()
+                .getNextCursor();
+        List<Long> seen = new ArrayList<>(todoIds.subList(0, 2));
+        
+        int pages = 0;
+        while (cursor != null) {
+            KanbanBoardDto.KanbanColumn page = taskService.getTaskBoardColumn(projectId, TaskStatus.TODO, cursor, 2);
+            seen.addAll(cardIds(page));
+            assertEquals(5, page.getTaskCount());
+            cursor = page.isHasMore() ? page.getNextCursor() : null;
+            pages++;
+        }
+        
+        assertEquals(2, pages);
+        assertEquals(todoIds, seen);
+    }
+    
+    @Test
+    void testTaskBoardColumnRejectsMalformedCursor() {
+        assertThrows(ValidationException.class, () -> {
+            taskService.getTaskBoardColumn(projectId, TaskStatus.TODO, "not a cursor!", 2);
+        });
+    }
+    
+    private Task createTask(String title, TaskStatus status, Long assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Card " + title);
+        task.setStatus(status);
+        task.setProjectId(projectId);
+        task.setAssigneeId(assignee);
+        task.setReporterId(assigneeId);
+        return taskRepository.save(task);
+    }
+    
+    private static List<Long> cardIds(KanbanBoardDto.KanbanColumn column) {
+        return column.getTasks().stream().map(KanbanBoardDto.KanbanTask::getId).toList();
+    }
+}
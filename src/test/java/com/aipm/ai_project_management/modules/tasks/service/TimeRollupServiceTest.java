@@ -0,0 +1,183 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
+import com.aipm.ai_project_management.modules.tasks.dto.TimeTrackingDTO;
+import com.aipm.ai_project_management.modules.tasks.dto.UtilizationReportDTO;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.entity.TimeRollupDaily;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.aipm.ai_project_management.modules.tasks.repository.TimeRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeRollupServiceTest {
+
+    // A Monday; the week has five working days
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate FRIDAY = MONDAY.plusDays(4);
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TimeRollupService timeRollupService;
+
+    @Autowired
+    private TimeRollupRepository timeRollupRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("rollups-" + System.nanoTime() + "@example.com");
+        user.setName("Rollup User");
+        user.setPassword("hash");
+        user.setRole(UserRole.TEAM_MEMBER);
+        userId = userRepository.save(user).getId();
+
+        projectId = projectRepository.save(new Project("Rollup project", null, ProjectStatus.IN_PROGRESS)).getId();
+        taskId = createTask("Rolled up task");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM time_tracking WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM time_rollups_daily WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ?", projectId);
+        projectRepository.deleteById(projectId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void timeLogWritesKeepDailyRowsInStep() {
+        TimeTrackingDTO first = timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 3.0, null, MONDAY, true));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.0, null, MONDAY, false));
+        TimeTrackingDTO tuesday = timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 4.0, null, MONDAY.plusDays(1), true));
+
+        List<TimeRollupDaily> rows = rollups();
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), MONDAY, 3.0, 2.0, "225.00", 2);
+        assertRow(rows.get(1), MONDAY.plusDays(1), 4.0, 0.0, "300.00", 1);
+
+        // Moving a log to another day and making it non-billable moves its contribution
+        TimeLogRequest change = new TimeLogRequest();
+        change.setDate(MONDAY.plusDays(1));
+        change.setBillable(false);
+        timeTrackingService.updateTimeLog(first.getId(), change);
+        timeTrackingService.deleteTimeLog(tuesday.getId());
+
+        rows = rollups();
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), MONDAY, 0.0, 2.0, "0.00", 1);
+        assertRow(rows.get(1), MONDAY.plusDays(1), 0.0, 3.0, "0.00", 1);
+
+        // Deleting the task removes what its logs contributed
+        taskService.deleteTask(taskId);
+        assertTrue(rollups().isEmpty());
+    }
+
+    @Test
+    void rebuildRestoresRowsFromTheLogs() {
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 1.5, null, MONDAY, true));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.5, null, MONDAY, false));
+        timeTrackingService.logTime(new TimeLogRequest(createTask("Next month"), userId, 6.0, null, MONDAY.plusMonths(1), true));
+        List<TimeRollupDaily> expected = rollups();
+
+        jdbcTemplate.update("UPDATE time_rollups_daily SET billable_hours = 99 WHERE user_id = ?", userId);
+        jdbcTemplate.update("INSERT INTO time_rollups_daily (rollup_date, user_id, project_id, billable_hours, " +
+                "non_billable_hours, billable_amount, non_billable_amount, entry_count) VALUES (?, ?, ?, 5, 0, 0, 0, 1)",
+                Date.valueOf(MONDAY.plusDays(2)), userId, projectId);
+
+        assertTrue(timeRollupService.rebuild() >= expected.size());
+
+        List<TimeRollupDaily> rebuilt = rollups();
+        assertEquals(expected.size(), rebuilt.size());
+        for (int i = 0; i < expected.size(); i++) {
+            TimeRollupDaily row = expected.get(i);
+            assertRow(rebuilt.get(i), row.getRollupDate(), row.getBillableHours(), row.getNonBillableHours(),
+                    row.getBillableAmount().toPlainString(), row.getEntryCount());
+        }
+    }
+
+    @Test
+    void utilizationReportComparesHoursWithCapacity() {
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 8.0, null, MONDAY, true));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.0, null, FRIDAY, false));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 5.0, null, FRIDAY.plusDays(3), true));
+
+        UtilizationReportDTO report = timeTrackingService.getUtilization(MONDAY, FRIDAY.plusDays(2), projectId);
+
+        assertEquals(5, report.getWorkingDays());
+        assertEquals(40.0, report.getCapacityHoursPerUser(), 1e-9);
+        assertEquals(1, report.getHeadcount());
+        assertEquals(8.0, report.getBillableHours(), 1e-9);
+        assertEquals(2.0, report.getNonBillableHours(), 1e-9);
+        assertEquals(0, new BigDecimal("600.00").compareTo(report.getBillableAmount()));
+        assertEquals(25.0, report.getUtilization(), 1e-9);
+        assertEquals(20.0, report.getBillableUtilization(), 1e-9);
+        assertEquals(1, report.getUsers().size());
+        assertEquals("Rollup User", report.getUsers().get(0).getUserName());
+    }
+
+    private Long createTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setProjectId(projectId);
+        task.setReporterId(userId);
+        return taskRepository.save(task).getId();
+    }
+
+    private List<TimeRollupDaily> rollups() {
+        return timeRollupRepository.findByUserIdAndRollupDateBetweenOrderByRollupDate(
+                userId, MONDAY.minusYears(1), MONDAY.plusYears(1));
+    }
+
+    private void assertRow(TimeRollupDaily row, LocalDate date, double billableHours, double nonBillableHours,
+                           String billableAmount, int entries) {
+        assertEquals(date, row.getRollupDate());
+        assertEquals(billableHours, row.getBillableHours(), 1e-9);
+        assertEquals(nonBillableHours, row.getNonBillableHours(), 1e-9);
+        assertEquals(0, new BigDecimal(billableAmount).compareTo(row.getBillableAmount()));
+        assertEquals(entries, row.getEntryCount());
+    }
+}
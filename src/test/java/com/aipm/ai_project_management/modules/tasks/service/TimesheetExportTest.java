@@ -0,0 +1,130 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.TimeLogRequest;
+import com.aipm.ai_project_management.modules.tasks.dto.TimesheetExportFormat;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TimesheetExportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 6);
+
+    @Autowired
+    private TimeTrackingService timeTrackingService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long projectId;
+    private Long otherProjectId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("export-" + System.nanoTime() + "@example.com");
+        user.setName("Export User");
+        user.setPassword("hash");
+        user.setRole(UserRole.TEAM_MEMBER);
+        userId = userRepository.save(user).getId();
+
+        projectId = projectRepository.save(new Project("Export project", null, ProjectStatus.IN_PROGRESS)).getId();
+        otherProjectId = projectRepository.save(new Project("Other project", null, ProjectStatus.IN_PROGRESS)).getId();
+
+        Long taskId = createTask("Design, \"v2\"", projectId);
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 2.5, "=SUM(A1)", DAY, true));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 1.0, "Review", DAY.plusDays(1), false));
+        timeTrackingService.logTime(new TimeLogRequest(createTask("Elsewhere", otherProjectId), userId, 3.0, null, DAY, true));
+        timeTrackingService.logTime(new TimeLogRequest(taskId, userId, 4.0, "Too late", DAY.plusDays(30), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM time_tracking WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM time_rollups_daily WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id IN (?, ?)", projectId, otherProjectId);
+        projectRepository.deleteAllById(List.of(projectId, otherProjectId));
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void csvExportQuotesCellsAndAppliesFilters() throws Exception {
+        String csv = export(userId, projectId, TimesheetExportFormat.CSV);
+        String[] lines = csv.split("\r\n");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,date,userId,userName,projectId,projectName,taskId,taskTitle"));
+        assertTrue(lines[1].contains(",2024-05-06," + userId + ",Export User," + projectId + ",Export project,"));
+        assertTrue(lines[1].contains(",\"Design, \"\"v2\"\"\",2.5,true,,'=SUM(A1)"));
+        assertTrue(lines[2].contains(",2024-05-07,"));
+        assertTrue(lines[2].endsWith(",1.0,false,,Review"));
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        String ndjson = export(userId, null, TimesheetExportFormat.NDJSON);
+        String[] lines = ndjson.split("\n");
+
+        assertEquals(3, lines.length);
+        double hours = 0;
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertEquals(userId, row.get("userId").asLong());
+            hours += row.get("hours").asDouble();
+        }
+        assertEquals(6.5, hours, 1e-9);
+        assertEquals("2024-05-06", objectMapper.readTree(lines[0]).get("date").asText());
+    }
+
+    private String export(Long user, Long project, TimesheetExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        timeTrackingService.exportTimeLogs(user, project, DAY, DAY.plusDays(7), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Long createTask(String title, Long project) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setProjectId(project);
+        task.setReporterId(userId);
+        return taskRepository.save(task).getId();
+    }
+}
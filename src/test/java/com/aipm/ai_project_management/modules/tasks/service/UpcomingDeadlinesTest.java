@@ -0,0 +1,117 @@
+package com.aipm.ai_project_management.modules.tasks.service;
+
+import com.aipm.ai_project_management.common.enums.ProjectStatus;
+import com.aipm.ai_project_management.common.enums.TaskPriority;
+import com.aipm.ai_project_management.common.enums.TaskStatus;
+import com.aipm.ai_project_management.common.enums.UserRole;
+import com.aipm.ai_project_management.modules.auth.entity.User;
+import com.aipm.ai_project_management.modules.auth.repository.UserRepository;
+import com.aipm.ai_project_management.modules.projects.entity.Project;
+import com.aipm.ai_project_management.modules.projects.repository.ProjectRepository;
+import com.aipm.ai_project_management.modules.tasks.dto.TaskDTO;
+import com.aipm.ai_project_management.modules.tasks.entity.Task;
+import com.aipm.ai_project_management.modules.tasks.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UpcomingDeadlinesTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long managerId;
+    private Long projectId;
+    private Task soonest;
+    private Task later;
+
+    @BeforeEach
+    void setUp() {
+        User manager = new User();
+        manager.setEmail("deadlines-" + System.nanoTime() + "@example.com");
+        manager.setName("Deadline Manager");
+        manager.setPassword("hash");
+        manager.setRole(UserRole.PROJECT_MANAGER);
+        managerId = userRepository.save(manager).getId();
+
+        Project project = new Project("Deadline project", null, ProjectStatus.IN_PROGRESS);
+        project.setManagerId(managerId);
+        projectId = projectRepository.save(project).getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        soonest = createTask("Ship release", TaskStatus.IN_PROGRESS, now.plusDays(1), Set.of("release", "backend"));
+        later = createTask("Write notes", TaskStatus.TODO, now.plusDays(3), Set.of());
+        createTask("Already done", TaskStatus.DONE, now.plusDays(2), Set.of());
+        createTask("Out of range", TaskStatus.TODO, now.plusDays(30), Set.of());
+        taskRepository.flush();
+    }
+
+    @Test
+    void testDeadlinesCarryTheFullTaskFields() {
+        List<TaskDTO> deadlines = taskService.getUpcomingDeadlines(7, projectId, null, 10);
+
+        assertEquals(List.of(soonest.getId(), later.getId()), deadlines.stream().map(TaskDTO::getId).toList());
+        TaskDTO dto = deadlines.get(0);
+        assertEquals("Ship release", dto.getTitle());
+        assertEquals("Details for Ship release", dto.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, dto.getStatus());
+        assertEquals(TaskPriority.HIGH, dto.getPriority());
+        assertEquals(projectId, dto.getProjectId());
+        assertEquals("Deadline project", dto.getProjectName());
+        assertEquals(8.0, dto.getEstimatedHours());
+        assertEquals(2.5, dto.getLoggedHours());
+        assertEquals(Set.of("release", "backend"), dto.getLabels());
+        // The column keeps microseconds, the saved entity nanoseconds
+        assertNotNull(dto.getCreatedAt());
+        assertEquals(soonest.getCreatedAt().truncatedTo(ChronoUnit.MILLIS), dto.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertEquals(soonest.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS), dto.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS));
+
+        assertNotNull(deadlines.get(1).getLabels());
+        assertTrue(deadlines.get(1).getLabels().isEmpty());
+    }
+
+    @Test
+    void testLimitAndManagerScopeArePushedDown() {
+        assertEquals(List.of(soonest.getId()),
+                taskService.getUpcomingDeadlines(7, null, managerId, 1).stream().map(TaskDTO::getId).toList());
+        assertTrue(taskService.getUpcomingDeadlines(7, null, managerId + 1000, 10).stream()
+                .noneMatch(dto -> dto.getProjectId().equals(projectId)));
+    }
+
+    private Task createTask(String title, TaskStatus status, LocalDateTime dueDate, Set<String> labels) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Details for " + title);
+        task.setStatus(status);
+        task.setPriority(TaskPriority.HIGH);
+        task.setProjectId(projectId);
+        task.setReporterId(managerId);
+        task.setDueDate(dueDate);
+        task.setEstimatedHours(8.0);
+        task.setLoggedHours(2.5);
+        task.getLabels().addAll(labels);
+        return taskRepository.save(task);
+    }
+}